@@ -2,15 +2,17 @@ package com.example.userauth.data.api
 
 import com.example.userauth.data.api.dto.AuthResponse
 import com.example.userauth.data.api.dto.LoginRequest
+import com.example.userauth.data.api.dto.RefreshTokenRequest
 import com.example.userauth.data.api.dto.RegisterRequest
 import com.example.userauth.data.api.dto.UserResponse
+import retrofit2.Call
 import retrofit2.Response
 import retrofit2.http.Body
 import retrofit2.http.POST
 
 /**
  * API service interface for authentication endpoints
- * Handles user registration and login operations
+ * Handles user registration, login and token refresh operations
  */
 interface AuthApiService {
 
@@ -27,4 +29,12 @@ interface AuthApiService {
      */
     @POST("auth/login")
     suspend fun login(@Body request: LoginRequest): Response<AuthResponse>
-}
\ No newline at end of file
+
+    /**
+     * Exchange a refresh token for a new access token and refresh token
+     * POST /auth/refresh
+     * Blocking call: it runs on the OkHttp thread of the request that received the 401
+     */
+    @POST("auth/refresh")
+    fun refresh(@Body request: RefreshTokenRequest): Call<AuthResponse>
+}
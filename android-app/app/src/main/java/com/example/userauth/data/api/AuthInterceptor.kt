@@ -2,6 +2,7 @@ package com.example.userauth.data.api
 
 import com.example.userauth.data.local.PreferencesManager
 import okhttp3.Interceptor
+import okhttp3.Request
 import okhttp3.Response
 import javax.inject.Inject
 import javax.inject.Singleton
@@ -9,15 +10,26 @@ import javax.inject.Singleton
 /**
  * OkHttp interceptor that adds JWT token to requests
  * Automatically adds Authorization header with Bearer token for authenticated requests
+ * and retries once with a refreshed token when the server answers 401
  */
 @Singleton
 class AuthInterceptor @Inject constructor(
-    private val preferencesManager: PreferencesManager
+    private val preferencesManager: PreferencesManager,
+    private val tokenRefresher: TokenRefresher
 ) : Interceptor {
 
+    companion object {
+        private const val REFRESH_PATH = "auth/refresh"
+    }
+
     override fun intercept(chain: Interceptor.Chain): Response {
         val originalRequest = chain.request()
         
+        // The refresh call itself is authenticated by its body, never by the stale access token
+        if (originalRequest.url.encodedPath.endsWith(REFRESH_PATH)) {
+            return chain.proceed(originalRequest)
+        }
+        
         // Get the auth token from preferences
         val token = preferencesManager.getAuthToken()
         
@@ -27,10 +39,20 @@ class AuthInterceptor @Inject constructor(
         }
         
         // Add Authorization header with Bearer token
-        val authenticatedRequest = originalRequest.newBuilder()
+        val response = chain.proceed(originalRequest.withBearer(token))
+        if (response.code != 401) {
+            return response
+        }
+        
+        // Access token expired or revoked: renew it once and replay the request
+        val freshToken = tokenRefresher.refresh(token) ?: return response
+        response.close()
+        return chain.proceed(originalRequest.withBearer(freshToken))
+    }
+
+    private fun Request.withBearer(token: String): Request {
+        return newBuilder()
             .header("Authorization", "Bearer $token")
             .build()
-        
-        return chain.proceed(authenticatedRequest)
     }
-}
\ No newline at end of file
+}
@@ -5,15 +5,31 @@ import retrofit2.http.POST
 import retrofit2.http.PUT
 import retrofit2.http.DELETE
 import retrofit2.http.Path
+import retrofit2.http.Query
 import retrofit2.http.Body
 import retrofit2.http.Multipart
 import retrofit2.http.Part
+import retrofit2.http.Header
+import retrofit2.http.Streaming
 import retrofit2.Response
+import okhttp3.ResponseBody
 import com.example.userauth.data.api.dto.*
 
 interface CompetitionApi {
     @GET("competitions")
     suspend fun getAllCompetitions(): Response<List<CompetitionDto>>
+
+    /**
+     * One page of competitions, newest first; null filters are left out of the query
+     * GET /competitions?limit=&cursor=&status=&q=
+     */
+    @GET("competitions")
+    suspend fun getCompetitionPage(
+        @Query("limit") limit: Int,
+        @Query("cursor") cursor: String?,
+        @Query("status") status: String? = null,
+        @Query("q") query: String? = null
+    ): Response<PageDto<CompetitionDto>>
     
     @GET("competitions/{id}")
     suspend fun getCompetitionById(@Path("id") id: Long): Response<CompetitionDto>
@@ -35,12 +51,26 @@ interface CompetitionApi {
     suspend fun submitEntry(
         @Path("id") competitionId: Long,
         @Part("entry") request: EntryRequestDto,
-        @Part file: okhttp3.MultipartBody.Part?
+        @Part file: okhttp3.MultipartBody.Part?,
+        @Header("Idempotency-Key") idempotencyKey: String? = null
     ): Response<EntrySubmitResponseDto>
 
     @GET("competitions/{id}/entries")
     suspend fun getCompetitionEntries(@Path("id") competitionId: Long): Response<List<EntryDto>>
 
+    /**
+     * One page of a competition's entries in display order (Admin only)
+     * GET /competitions/{id}/entries?limit=&cursor=&status=&q=
+     */
+    @GET("competitions/{id}/entries")
+    suspend fun getCompetitionEntryPage(
+        @Path("id") competitionId: Long,
+        @Query("limit") limit: Int,
+        @Query("cursor") cursor: String?,
+        @Query("status") status: String? = null,
+        @Query("q") query: String? = null
+    ): Response<PageDto<EntryDto>>
+
     @PUT("competitions/{competitionId}/entries/{entryId}/status")
     suspend fun updateEntryStatus(
         @Path("competitionId") competitionId: Long,
@@ -68,4 +98,26 @@ interface CompetitionApi {
 
     @DELETE("competitions/{id}/judges/{judgeId}")
     suspend fun removeJudge(@Path("id") id: Long, @Path("judgeId") judgeId: Long): Response<Void>
+
+    /**
+     * Start a background CSV export, or join the running one for unchanged data (Admin only)
+     * POST /competitions/{id}/exports
+     */
+    @POST("competitions/{id}/exports")
+    suspend fun startExportJob(@Path("id") competitionId: Long): Response<ExportJobDto>
+
+    @GET("competitions/{id}/exports/{jobId}")
+    suspend fun getExportJob(@Path("id") competitionId: Long, @Path("jobId") jobId: Long): Response<ExportJobDto>
+
+    /**
+     * Download a finished export; pass Range to resume an interrupted download
+     * GET /competitions/{id}/exports/{jobId}/file
+     */
+    @Streaming
+    @GET("competitions/{id}/exports/{jobId}/file")
+    suspend fun downloadExportFile(
+        @Path("id") competitionId: Long,
+        @Path("jobId") jobId: Long,
+        @Header("Range") range: String?
+    ): Response<ResponseBody>
 }
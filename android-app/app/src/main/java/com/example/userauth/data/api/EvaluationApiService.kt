@@ -47,6 +47,16 @@ interface EvaluationApiService {
     @GET("competitions")
     suspend fun getCompetitions(): Response<List<CompetitionDto>>
 
+    /**
+     * Get one page of competitions, newest first
+     * GET /competitions?limit=&cursor=
+     */
+    @GET("competitions")
+    suspend fun getCompetitionPage(
+        @Query("limit") limit: Int,
+        @Query("cursor") cursor: String?
+    ): Response<PageDto<CompetitionDto>>
+
     @POST("competitions")
     suspend fun createCompetition(@Body request: CompetitionRequest): Response<CompetitionDto>
 
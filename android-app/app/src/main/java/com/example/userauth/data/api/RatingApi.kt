@@ -15,7 +15,17 @@ interface RatingApi {
      * POST /api/ratings
      */
     @POST("ratings")
-    suspend fun submitRating(@Body request: RatingRequestDto): Response<RatingResponseDto>
+    suspend fun submitRating(
+        @Body request: RatingRequestDto,
+        @Header("Idempotency-Key") idempotencyKey: String? = null
+    ): Response<RatingResponseDto>
+    
+    /**
+     * Submit ratings for several entries at once
+     * POST /api/ratings/batch
+     */
+    @POST("ratings/batch")
+    suspend fun submitRatings(@Body request: BatchRatingRequestDto): Response<BatchRatingResponseDto>
     
     /**
      * Get all ratings for a specific competition entry
@@ -51,4 +61,11 @@ interface RatingApi {
      */
     @GET("ratings/{competitionId}")
     suspend fun getCompetitionRatingData(@Path("competitionId") competitionId: Long): Response<CompetitionRatingDataResponseDto>
+    
+    /**
+     * Get which judges have finished which entries of a competition
+     * GET /api/ratings/{competitionId}/completion
+     */
+    @GET("ratings/{competitionId}/completion")
+    suspend fun getCompletionMatrix(@Path("competitionId") competitionId: Long): Response<CompletionMatrixResponseDto>
 }
@@ -0,0 +1,141 @@
+package com.example.userauth.data.api
+
+import com.example.userauth.data.api.dto.ScoreUpdateEventDto
+import com.google.gson.Gson
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.callbackFlow
+import kotlinx.coroutines.flow.flow
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.sse.EventSource
+import okhttp3.sse.EventSourceListener
+import okhttp3.sse.EventSources
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Events received on a competition's live score stream
+ */
+sealed class ScoreStreamEvent {
+    /** Current scores of one entry */
+    data class Update(val update: ScoreUpdateEventDto) : ScoreStreamEvent()
+
+    /** Updates were missed and cannot be replayed: reload the full rating data */
+    object Resync : ScoreStreamEvent()
+}
+
+/**
+ * Thrown when the server refuses a score stream for good (no permission, unknown competition)
+ */
+class ScoreStreamRejectedException(val code: Int) : IOException("Score stream rejected: $code")
+
+/**
+ * Client for the live score stream (Server-Sent Events)
+ * GET /api/ratings/{competitionId}/stream
+ * Reconnects after a dropped connection and sends Last-Event-ID so the server replays missed updates
+ */
+@Singleton
+class ScoreStreamClient @Inject constructor(
+    okHttpClient: OkHttpClient,
+    private val gson: Gson,
+    private val apiBaseUrl: String
+) {
+
+    companion object {
+        private const val EVENT_SCORE_UPDATE = "score-update"
+        private const val EVENT_RESYNC = "resync"
+
+        // The server sends a heartbeat every 15 seconds; four missed heartbeats mean the connection is dead
+        private const val STREAM_READ_TIMEOUT = 60L
+        private const val INITIAL_RETRY_DELAY_MS = 1_000L
+        private const val MAX_RETRY_DELAY_MS = 30_000L
+    }
+
+    // Event streams never go through the HTTP cache
+    private val streamClient: OkHttpClient = okHttpClient.newBuilder()
+        .cache(null)
+        .readTimeout(STREAM_READ_TIMEOUT, TimeUnit.SECONDS)
+        .build()
+
+    /**
+     * Score updates of a competition until the collector is cancelled
+     * Completes with [ScoreStreamRejectedException] when the server answers 4xx
+     */
+    fun scoreUpdates(competitionId: Long): Flow<ScoreStreamEvent> = flow {
+        var lastEventId: String? = null
+        var retryDelayMs = INITIAL_RETRY_DELAY_MS
+        while (true) {
+            var serverRetryAfterMs: Long? = null
+            try {
+                connect(competitionId, lastEventId).collect { message ->
+                    retryDelayMs = INITIAL_RETRY_DELAY_MS
+                    message.id?.let { lastEventId = it }
+                    when (message.type) {
+                        EVENT_SCORE_UPDATE -> emit(
+                            ScoreStreamEvent.Update(gson.fromJson(message.data, ScoreUpdateEventDto::class.java))
+                        )
+                        EVENT_RESYNC -> emit(ScoreStreamEvent.Resync)
+                    }
+                }
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: ScoreStreamRejectedException) {
+                throw e
+            } catch (e: RetryLaterException) {
+                serverRetryAfterMs = e.retryAfterMs
+            } catch (e: Exception) {
+                // Network error or stream closed: reconnect below
+            }
+            delay(serverRetryAfterMs ?: retryDelayMs)
+            retryDelayMs = (retryDelayMs * 2).coerceAtMost(MAX_RETRY_DELAY_MS)
+        }
+    }
+
+    private fun connect(competitionId: Long, lastEventId: String?): Flow<StreamMessage> = callbackFlow {
+        val request = Request.Builder()
+            .url("${apiBaseUrl}ratings/$competitionId/stream")
+            .header("Accept", "text/event-stream")
+            .apply { lastEventId?.let { header("Last-Event-ID", it) } }
+            .build()
+
+        val listener = object : EventSourceListener() {
+            override fun onEvent(eventSource: EventSource, id: String?, type: String?, data: String) {
+                trySend(StreamMessage(id, type, data))
+            }
+
+            override fun onClosed(eventSource: EventSource) {
+                close()
+            }
+
+            override fun onFailure(eventSource: EventSource, t: Throwable?, response: Response?) {
+                close(failureCause(t, response))
+            }
+        }
+        val eventSource = EventSources.createFactory(streamClient).newEventSource(request, listener)
+        awaitClose { eventSource.cancel() }
+    }.buffer(Channel.UNLIMITED)
+
+    private fun failureCause(t: Throwable?, response: Response?): Throwable {
+        val code = response?.code ?: return t ?: IOException("Score stream failed")
+        return when {
+            code == 503 || code == 429 -> RetryLaterException(
+                response.header("Retry-After")?.toLongOrNull()?.let { it * 1000 }
+            )
+            code in 400..499 -> ScoreStreamRejectedException(code)
+            else -> IOException("Score stream failed: $code")
+        }
+    }
+
+    private data class StreamMessage(val id: String?, val type: String?, val data: String)
+
+    // Server is at its stream limit; retry after the delay it asked for
+    private class RetryLaterException(val retryAfterMs: Long?) : IOException("Score stream busy")
+}
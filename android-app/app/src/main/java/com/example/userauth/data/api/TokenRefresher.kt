@@ -0,0 +1,57 @@
+package com.example.userauth.data.api
+
+import com.example.userauth.data.api.dto.RefreshTokenRequest
+import com.example.userauth.data.local.PreferencesManager
+import dagger.Lazy
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Renews the access token with the stored refresh token
+ * Single-flight: concurrent requests that hit 401 with the same stale token wait for one
+ * refresh call and then reuse its result, so the rotated refresh token is never replayed
+ */
+@Singleton
+open class TokenRefresher @Inject constructor(
+    private val preferencesManager: PreferencesManager,
+    // Lazy breaks the cycle AuthApiService -> OkHttpClient -> AuthInterceptor -> TokenRefresher
+    private val authApiService: Lazy<AuthApiService>
+) {
+    private val lock = Any()
+
+    /**
+     * Get a fresh access token to replace the one rejected with 401
+     * @param staleToken Access token the failed request was sent with
+     * @return New access token, or null if the session cannot be renewed
+     */
+    open fun refresh(staleToken: String): String? = synchronized(lock) {
+        // Another request already refreshed while this one was waiting
+        val currentToken = preferencesManager.getAuthToken()
+        if (currentToken != null && currentToken != staleToken) {
+            return currentToken
+        }
+
+        val refreshToken = preferencesManager.getRefreshToken() ?: return null
+        val response = try {
+            authApiService.get().refresh(RefreshTokenRequest(refreshToken)).execute()
+        } catch (e: IOException) {
+            // Keep the session; the next request can try again once the network is back
+            return null
+        }
+
+        val body = response.body()
+        if (!response.isSuccessful || body == null) {
+            if (response.code() == 401) {
+                // Refresh token expired or its family was revoked: the user must log in again
+                preferencesManager.clearAll()
+            }
+            return null
+        }
+
+        preferencesManager.saveAuthToken(body.token)
+        body.refreshToken?.let { preferencesManager.saveRefreshToken(it) }
+        preferencesManager.saveUserInfo(body.username, body.roles.contains("ADMIN"))
+        body.token
+    }
+}
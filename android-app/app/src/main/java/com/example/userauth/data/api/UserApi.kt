@@ -1,6 +1,7 @@
 package com.example.userauth.data.api
 
 import com.example.userauth.data.api.dto.UserDto
+import com.example.userauth.data.api.dto.PageDto
 import com.example.userauth.data.api.dto.AdminCreateUserRequestDto
 import com.example.userauth.data.api.dto.UserRoleUpdateRequestDto
 import retrofit2.Response
@@ -10,11 +11,23 @@ import retrofit2.http.GET
 import retrofit2.http.POST
 import retrofit2.http.PUT
 import retrofit2.http.Path
+import retrofit2.http.Query
 
 interface UserApi {
     @GET("users")
     suspend fun getAllUsers(): Response<List<UserDto>>
 
+    /**
+     * One page of users, newest first; q matches usernames
+     * GET /users?limit=&cursor=&q=
+     */
+    @GET("users")
+    suspend fun getUserPage(
+        @Query("limit") limit: Int,
+        @Query("cursor") cursor: String?,
+        @Query("q") query: String? = null
+    ): Response<PageDto<UserDto>>
+
     @POST("users")
     suspend fun createUser(@Body request: AdminCreateUserRequestDto): Response<UserDto>
 
@@ -20,13 +20,20 @@ data class LoginRequest(
     val password: String
 )
 
+data class RefreshTokenRequest(
+    @SerializedName("refreshToken")
+    val refreshToken: String
+)
+
 data class AuthResponse(
     @SerializedName("token")
     val token: String,
     @SerializedName("username")
     val username: String,
     @SerializedName("roles")
-    val roles: List<String>
+    val roles: List<String>,
+    @SerializedName("refreshToken")
+    val refreshToken: String? = null
 )
 
 data class UserResponse(
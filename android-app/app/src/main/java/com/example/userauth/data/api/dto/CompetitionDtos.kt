@@ -68,3 +68,20 @@ data class EntrySubmitResponseDto(
     val entryId: Long?,
     val message: String?
 )
+
+/**
+ * Background export job of a competition's ratings
+ * status: PENDING, RUNNING, COMPLETED or FAILED
+ */
+data class ExportJobDto(
+    val id: Long,
+    val competitionId: Long,
+    val status: String,
+    val rowsWritten: Long?,
+    val totalRows: Long?,
+    val fileSize: Long?,
+    val downloadUrl: String?,
+    val errorMessage: String?,
+    val createdAt: String?,
+    val completedAt: String?
+)
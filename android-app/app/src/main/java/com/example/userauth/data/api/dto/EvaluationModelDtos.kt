@@ -8,6 +8,7 @@ data class EvaluationModelDto(
     val name: String,
     val description: String?,
     val parameters: List<EvaluationParameterDto>,
+    val aggregationMethod: String? = null,
     val createdAt: String? = null,
     val updatedAt: String? = null
 )
@@ -22,7 +23,8 @@ data class EvaluationParameterDto(
 data class EvaluationModelRequest(
     val name: String,
     val description: String? = null,
-    val parameters: List<EvaluationParameterRequest>
+    val parameters: List<EvaluationParameterRequest>,
+    val aggregationMethod: String? = null
 )
 
 data class EvaluationParameterRequest(
@@ -0,0 +1,10 @@
+package com.example.userauth.data.api.dto
+
+/**
+ * One page of a keyset-paginated list
+ * Matches backend CursorPageResponse; nextCursor is null on the last page
+ */
+data class PageDto<T>(
+    val items: List<T>?,
+    val nextCursor: String?
+)
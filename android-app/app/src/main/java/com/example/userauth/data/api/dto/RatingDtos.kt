@@ -16,6 +16,44 @@ data class ScoreRequestDto(
     val score: Double
 )
 
+/**
+ * DTO for submitting ratings of several entries at once
+ * Matches backend BatchRatingRequest
+ */
+data class BatchRatingRequestDto(
+    val competitionId: Long,
+    val items: List<BatchRatingItemDto>
+)
+
+/**
+ * One entry of a batch; keep the idempotency key when the batch is retried
+ */
+data class BatchRatingItemDto(
+    val idempotencyKey: String,
+    val entryId: Long,
+    val scores: List<ScoreRequestDto>,
+    val note: String? = null
+)
+
+/**
+ * DTO for batch rating response
+ * Matches backend BatchRatingResponse
+ */
+data class BatchRatingResponseDto(
+    val competitionId: Long,
+    val submitted: Int,
+    val alreadySubmitted: Int,
+    val rejected: Int,
+    val results: List<BatchRatingItemResultDto>
+)
+
+data class BatchRatingItemResultDto(
+    val idempotencyKey: String,
+    val entryId: Long,
+    val status: String,  // SUBMITTED / ALREADY_SUBMITTED / REJECTED
+    val message: String? = null
+)
+
 /**
  * DTO for rating response
  * Matches backend RatingResponse
@@ -56,6 +94,7 @@ data class CompetitionRatingDataResponseDto(
     val competitionName: String,
     val modelId: Long?,
     val totalJudges: Int?,
+    val aggregationMethod: String? = null,  // MEAN / MEDIAN / TRIMMED_MEAN / Z_SCORE
     val entries: List<EntryRatingDataDto>
 )
 
@@ -68,7 +107,12 @@ data class EntryRatingDataDto(
     val highestScore: Double?,
     val numberOfRatings: Int,
     val totalJudges: Int?,  // 评委总数
-    val parameterScores: List<ParameterAverageScoreDto>
+    val parameterScores: List<ParameterAverageScoreDto>,
+    val rankingScore: Double? = null,  // 按评价模型的聚合方式计算的排名分
+    val medianScore: Double? = null,
+    val scoreStddev: Double? = null,
+    val trimmedMeanScore: Double? = null,  // 去掉最高分和最低分后的平均分
+    val normalizedScore: Double? = null  // 评委标准分
 )
 
 data class ParameterAverageScoreDto(
@@ -77,3 +121,51 @@ data class ParameterAverageScoreDto(
     val averageScore: Double,
     val weight: Int
 )
+
+/**
+ * DTO for one live score update of an entry
+ * Matches backend ScoreUpdateEvent
+ */
+data class ScoreUpdateEventDto(
+    val eventId: Long?,
+    val competitionId: Long,
+    val entryId: Long,
+    val averageTotalScore: Double,
+    val highestScore: Double?,
+    val numberOfRatings: Int,
+    val parameterAverages: List<ParameterAverageUpdateDto>
+)
+
+data class ParameterAverageUpdateDto(
+    val parameterId: Long,
+    val averageScore: Double,
+    val ratingCount: Int
+)
+
+/**
+ * DTO for the rating progress of a competition
+ * Matches backend CompletionMatrixResponse; matrix is a Base64 bitset, see CompletionMatrix
+ */
+data class CompletionMatrixResponseDto(
+    val competitionId: Long,
+    val parameterCount: Long,
+    val entries: List<EntryProgressDto>,
+    val judges: List<JudgeProgressDto>,
+    val matrix: String,
+    val completedCount: Int,
+    val progress: Int  // 整体完成百分比
+)
+
+data class EntryProgressDto(
+    val entryId: Long,
+    val entryName: String,
+    val completedJudges: Int,
+    val progress: Int
+)
+
+data class JudgeProgressDto(
+    val judgeId: Long,
+    val judgeName: String,
+    val completedEntries: Int,
+    val progress: Int
+)
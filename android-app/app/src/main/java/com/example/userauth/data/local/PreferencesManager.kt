@@ -21,6 +21,7 @@ open class PreferencesManager @Inject constructor(
 
     companion object {
         private const val KEY_AUTH_TOKEN = "auth_token"
+        private const val KEY_REFRESH_TOKEN = "refresh_token"
         private const val KEY_USERNAME = "username"
         private const val KEY_IS_ADMIN = "is_admin"
     }
@@ -39,6 +40,20 @@ open class PreferencesManager @Inject constructor(
         return prefs.getString(KEY_AUTH_TOKEN, null)
     }
 
+    /**
+     * Save refresh token used to renew the access token without logging in again
+     */
+    open fun saveRefreshToken(token: String) {
+        prefs.edit().putString(KEY_REFRESH_TOKEN, token).apply()
+    }
+
+    /**
+     * Get refresh token
+     */
+    open fun getRefreshToken(): String? {
+        return prefs.getString(KEY_REFRESH_TOKEN, null)
+    }
+
     /**
      * Save user information
      */
@@ -0,0 +1,22 @@
+package com.example.userauth.data.model
+
+/**
+ * Decoded entry × judge completion bitset.
+ * Bit entryIndex * judgeCount + judgeIndex, least significant bit first within each byte;
+ * trailing zero bytes are left out by the server.
+ */
+class CompletionMatrix(
+    private val bits: ByteArray,
+    val entryCount: Int,
+    val judgeCount: Int
+) {
+
+    fun isComplete(entryIndex: Int, judgeIndex: Int): Boolean {
+        val bit = entryIndex * judgeCount + judgeIndex
+        val byteIndex = bit ushr 3
+        if (byteIndex >= bits.size) {
+            return false
+        }
+        return (bits[byteIndex].toInt() shr (bit and 7)) and 1 == 1
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.userauth.data.model
+
+/**
+ * One page of a server-paginated list.
+ * Pass [nextCursor] back to load the following page; it is null once the list is exhausted.
+ */
+data class Page<T>(
+    val items: List<T>,
+    val nextCursor: String?
+) {
+    companion object {
+        /** Rows requested per page by the list screens */
+        const val DEFAULT_SIZE = 20
+    }
+}
@@ -7,6 +7,7 @@ data class SubmissionScore(
     val imageUrl: String? = null,
     val scores: MutableList<ScoreParameter>,
     val averageTotalScore: Double = 0.0,
+    val rankingScore: Double? = null,  // 按评价模型聚合方式计算的排名分，未评分时为空
     val highestScore: Double = 0.0,
     val numberOfRatings: Int = 0,
     val totalJudges: Int = 0  // 评委总数
@@ -8,7 +8,9 @@ import com.example.userauth.data.api.dto.UserResponse
 import com.example.userauth.data.local.PreferencesManager
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.withContext
+import okhttp3.Cache
 import retrofit2.Response
+import java.io.IOException
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -19,7 +21,9 @@ import javax.inject.Singleton
 @Singleton
 class AuthRepository @Inject constructor(
     private val authApiService: AuthApiService,
-    private val preferencesManager: PreferencesManager
+    private val preferencesManager: PreferencesManager,
+    // HTTP cache shared by all API calls; holds the signed-in user's responses
+    private val httpCache: Cache
 ) {
 
     /**
@@ -66,8 +70,11 @@ class AuthRepository @Inject constructor(
                 
                 if (response.isSuccessful) {
                     response.body()?.let { authResponse ->
+                        // Responses cached for the previous user must not be served to this one
+                        clearHttpCache()
                         // Save token and user info locally
                         saveToken(authResponse.token)
+                        authResponse.refreshToken?.let { preferencesManager.saveRefreshToken(it) }
                         saveUserInfo(authResponse.username, authResponse.roles.contains("ADMIN"))
                         Result.success(authResponse)
                     } ?: Result.failure(Exception("Empty response body"))
@@ -140,5 +147,14 @@ class AuthRepository @Inject constructor(
      */
     fun logout() {
         preferencesManager.clearAll()
+        clearHttpCache()
+    }
+
+    private fun clearHttpCache() {
+        try {
+            httpCache.evictAll()
+        } catch (e: IOException) {
+            // Not worth failing the login or logout over; cached responses are revalidated before use
+        }
     }
 }
\ No newline at end of file
@@ -10,12 +10,22 @@ import com.example.userauth.data.api.dto.EntryDto
 import com.example.userauth.data.api.dto.EntryRequestDto
 import com.example.userauth.data.api.dto.EntryStatusUpdateRequest
 import com.example.userauth.data.api.dto.EntrySubmitResponseDto
+import com.example.userauth.data.api.dto.ExportJobDto
 import com.example.userauth.data.model.Competition
+import com.example.userauth.data.model.Page
 import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.withContext
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.MultipartBody
 import okhttp3.RequestBody.Companion.asRequestBody
+import retrofit2.Response
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
 import java.io.InputStream
+import java.util.UUID
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -38,6 +48,28 @@ class CompetitionRepository @Inject constructor(
         }
     }
     
+    /**
+     * Load one page of competitions; pass the previous page's nextCursor for the next one
+     */
+    suspend fun getCompetitionPage(
+        cursor: String?,
+        status: String? = null,
+        query: String? = null
+    ): Result<Page<Competition>> {
+        return try {
+            val response = api.getCompetitionPage(Page.DEFAULT_SIZE, cursor, status, query)
+            if (response.isSuccessful) {
+                val page = response.body()
+                val competitions = page?.items?.map { it.toDomainModel() } ?: emptyList()
+                Result.success(Page(competitions, page?.nextCursor))
+            } else {
+                Result.failure(Exception("Failed to fetch competitions: ${response.code()}"))
+            }
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+    
     suspend fun getCompetitionById(id: Long): Result<CompetitionDto> {
         return try {
             val response = api.getCompetitionById(id)
@@ -162,7 +194,12 @@ class CompetitionRepository @Inject constructor(
                 }
             }
 
-            val response = api.submitEntry(competitionId, request, filePart)
+            // Every attempt carries the same key, so a retry after a lost response gets the
+            // created entry back instead of uploading the file and creating the entry again
+            val idempotencyKey = UUID.randomUUID().toString()
+            val response = retryingSubmit {
+                api.submitEntry(competitionId, request, filePart, idempotencyKey)
+            }
 
             if (response.isSuccessful) {
                 response.body()?.let {
@@ -213,6 +250,27 @@ class CompetitionRepository @Inject constructor(
         }
     }
 
+    /**
+     * Load one page of a competition's entries in display order
+     */
+    suspend fun getCompetitionEntryPage(
+        competitionId: Long,
+        cursor: String?,
+        status: String? = null
+    ): Result<Page<EntryDto>> {
+        return try {
+            val response = api.getCompetitionEntryPage(competitionId, Page.DEFAULT_SIZE, cursor, status)
+            if (response.isSuccessful) {
+                val page = response.body()
+                Result.success(Page(page?.items ?: emptyList(), page?.nextCursor))
+            } else {
+                Result.failure(Exception("Failed to fetch entries: ${response.code()}"))
+            }
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+
     suspend fun updateEntryStatus(competitionId: Long, entryId: Long, status: String): Result<Unit> {
         return try {
             val request = EntryStatusUpdateRequest(status)
@@ -325,4 +383,85 @@ fun CompetitionDto.toDomainModel(): Competition {
         deadline = deadline?.substring(0, 10) ?: "",
         status = status ?: "ACTIVE"
     )
+
+    suspend fun startExport(competitionId: Long): Result<ExportJobDto> {
+        return try {
+            val response = api.startExportJob(competitionId)
+            if (response.isSuccessful) {
+                response.body()?.let {
+                    Result.success(it)
+                } ?: Result.failure(Exception("Empty response"))
+            } else {
+                Result.failure(Exception("Failed to start export: ${response.code()}"))
+            }
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+
+    suspend fun getExportJob(competitionId: Long, jobId: Long): Result<ExportJobDto> {
+        return try {
+            val response = api.getExportJob(competitionId, jobId)
+            if (response.isSuccessful) {
+                response.body()?.let {
+                    Result.success(it)
+                } ?: Result.failure(Exception("Empty response"))
+            } else {
+                Result.failure(Exception("Failed to fetch export job: ${response.code()}"))
+            }
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+
+    /**
+     * Download a finished export into [target]
+     * Bytes already in [target] from an interrupted attempt are kept and only the rest is requested
+     */
+    suspend fun downloadExport(competitionId: Long, jobId: Long, target: File): Result<File> = withContext(Dispatchers.IO) {
+        try {
+            val existing = if (target.exists()) target.length() else 0L
+            val response = api.downloadExportFile(competitionId, jobId, if (existing > 0) "bytes=$existing-" else null)
+            when {
+                // Requested range starts at the end of the file: nothing left to fetch
+                response.code() == 416 && existing > 0 -> Result.success(target)
+                response.isSuccessful -> {
+                    val body = response.body() ?: return@withContext Result.failure(Exception("Empty response"))
+                    // 206 continues the partial file; 200 means the server sent the whole file again
+                    val append = response.code() == 206
+                    body.byteStream().use { input ->
+                        FileOutputStream(target, append).use { output -> input.copyTo(output) }
+                    }
+                    Result.success(target)
+                }
+                else -> Result.failure(Exception("Failed to download export: ${response.code()}"))
+            }
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+    
+    private suspend fun <T> retryingSubmit(call: suspend () -> Response<T>): Response<T> {
+        var attempt = 1
+        while (true) {
+            try {
+                val response = call()
+                // 409: the first attempt is still being saved
+                if (response.code() != 409 || attempt >= SUBMIT_ATTEMPTS) {
+                    return response
+                }
+            } catch (e: IOException) {
+                if (attempt >= SUBMIT_ATTEMPTS) {
+                    throw e
+                }
+            }
+            delay(SUBMIT_RETRY_DELAY_MS * attempt)
+            attempt++
+        }
+    }
+    
+    private companion object {
+        const val SUBMIT_ATTEMPTS = 3
+        const val SUBMIT_RETRY_DELAY_MS = 1_000L
+    }
 }
@@ -1,27 +1,43 @@
 package com.example.userauth.data.repository
 
 import com.example.userauth.data.api.RatingApi
+import com.example.userauth.data.api.ScoreStreamClient
+import com.example.userauth.data.api.ScoreStreamEvent
 import com.example.userauth.data.api.dto.*
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import retrofit2.Response
+import java.io.IOException
+import java.util.UUID
 import javax.inject.Inject
 import javax.inject.Singleton
 
 @Singleton
 class RatingRepository @Inject constructor(
-    private val api: RatingApi
+    private val api: RatingApi,
+    private val scoreStreamClient: ScoreStreamClient
 ) {
     
+    /**
+     * Submit ratings for one entry.
+     * Every attempt carries the same Idempotency-Key, so a retry after a lost response gets the
+     * saved rating back instead of saving it again.
+     */
     suspend fun submitRating(request: RatingRequestDto): Result<RatingResponseDto> {
-        return try {
-            val response = api.submitRating(request)
-            if (response.isSuccessful) {
-                response.body()?.let {
-                    Result.success(it)
-                } ?: Result.failure(Exception("Empty response"))
-            } else {
-                Result.failure(Exception("Failed to submit rating: ${response.code()}"))
-            }
-        } catch (e: Exception) {
-            Result.failure(e)
+        val idempotencyKey = UUID.randomUUID().toString()
+        return submitWithRetry("Failed to submit rating") {
+            api.submitRating(request, idempotencyKey)
+        }
+    }
+    
+    /**
+     * Submit ratings for several entries in one request.
+     * A lost response or a 409 (the same batch still being saved) is retried with the same
+     * idempotency keys, so entries saved by an earlier attempt are not written twice.
+     */
+    suspend fun submitRatings(request: BatchRatingRequestDto): Result<BatchRatingResponseDto> {
+        return submitWithRetry("Failed to submit ratings") {
+            api.submitRatings(request)
         }
     }
     
@@ -91,4 +107,61 @@ class RatingRepository @Inject constructor(
             Result.failure(e)
         }
     }
+    
+    suspend fun getCompletionMatrix(competitionId: Long): Result<CompletionMatrixResponseDto> {
+        return try {
+            val response = api.getCompletionMatrix(competitionId)
+            if (response.isSuccessful) {
+                response.body()?.let {
+                    Result.success(it)
+                } ?: Result.failure(Exception("Empty response"))
+            } else {
+                Result.failure(Exception("Failed to fetch rating progress: ${response.code()}"))
+            }
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+    
+    /**
+     * Live score updates of a competition, replacing periodic reloads of the rating data
+     */
+    fun observeScoreUpdates(competitionId: Long): Flow<ScoreStreamEvent> {
+        return scoreStreamClient.scoreUpdates(competitionId)
+    }
+    
+    /**
+     * Send a submission, retrying a lost response or a 409 (the same submission still being saved).
+     * The call must send the same idempotency keys on every attempt.
+     */
+    private suspend fun <T> submitWithRetry(failureMessage: String, call: suspend () -> Response<T>): Result<T> {
+        var lastError: Exception? = null
+        repeat(SUBMIT_ATTEMPTS) { attempt ->
+            if (attempt > 0) {
+                delay(SUBMIT_RETRY_DELAY_MS * attempt)
+            }
+            try {
+                val response = call()
+                if (response.isSuccessful) {
+                    return response.body()?.let {
+                        Result.success(it)
+                    } ?: Result.failure(Exception("Empty response"))
+                }
+                lastError = Exception("$failureMessage: ${response.code()}")
+                if (response.code() != 409) {
+                    return Result.failure(lastError!!)
+                }
+            } catch (e: IOException) {
+                lastError = e
+            } catch (e: Exception) {
+                return Result.failure(e)
+            }
+        }
+        return Result.failure(lastError ?: Exception(failureMessage))
+    }
+    
+    private companion object {
+        const val SUBMIT_ATTEMPTS = 3
+        const val SUBMIT_RETRY_DELAY_MS = 1_000L
+    }
 }
@@ -4,6 +4,7 @@ import com.example.userauth.data.api.UserApi
 import com.example.userauth.data.api.dto.UserDto
 import com.example.userauth.data.api.dto.AdminCreateUserRequestDto
 import com.example.userauth.data.api.dto.UserRoleUpdateRequestDto
+import com.example.userauth.data.model.Page
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -25,6 +26,23 @@ class UserRepository @Inject constructor(
         }
     }
 
+    /**
+     * Load one page of users, newest first; query filters by username on the server
+     */
+    suspend fun getUserPage(cursor: String?, query: String? = null): Result<Page<UserDto>> {
+        return try {
+            val response = userApi.getUserPage(Page.DEFAULT_SIZE, cursor, query)
+            if (response.isSuccessful) {
+                val page = response.body()
+                Result.success(Page(page?.items ?: emptyList(), page?.nextCursor))
+            } else {
+                Result.failure(Exception("Failed to fetch users: ${response.code()}"))
+            }
+        } catch (e: Exception) {
+            Result.failure(e)
+        }
+    }
+
     suspend fun createUser(username: String, password: String, isAdmin: Boolean): Result<UserDto> {
         return try {
             val response = userApi.createUser(AdminCreateUserRequestDto(username, password, isAdmin))
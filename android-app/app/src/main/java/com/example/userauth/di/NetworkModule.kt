@@ -13,12 +13,14 @@ import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import okhttp3.Cache
 import okhttp3.Interceptor
 import okhttp3.OkHttpClient
 import okhttp3.logging.HttpLoggingInterceptor
 import okhttp3.MediaType.Companion.toMediaType
 import retrofit2.Retrofit
 import retrofit2.converter.gson.GsonConverterFactory
+import java.io.File
 import java.nio.charset.StandardCharsets
 import java.util.concurrent.TimeUnit
 import javax.inject.Singleton
@@ -52,6 +54,10 @@ object NetworkModule {
     private const val READ_TIMEOUT = 30L
     private const val WRITE_TIMEOUT = 30L
 
+    // HTTP disk cache: competitions, models and fruit data are revalidated with their ETags
+    private const val HTTP_CACHE_DIR = "http_cache"
+    private const val HTTP_CACHE_SIZE = 20L * 1024 * 1024
+
     @Provides
     @Singleton
     fun provideGson(): Gson {
@@ -97,14 +103,22 @@ object NetworkModule {
         }
     }
 
+    @Provides
+    @Singleton
+    fun provideHttpCache(@ApplicationContext context: Context): Cache {
+        return Cache(File(context.cacheDir, HTTP_CACHE_DIR), HTTP_CACHE_SIZE)
+    }
+
     @Provides
     @Singleton
     fun provideOkHttpClient(
         authInterceptor: AuthInterceptor,
         loggingInterceptor: HttpLoggingInterceptor,
-        charsetInterceptor: Interceptor
+        charsetInterceptor: Interceptor,
+        cache: Cache
     ): OkHttpClient {
         return OkHttpClient.Builder()
+            .cache(cache)
             .addInterceptor(authInterceptor)
             .addInterceptor(charsetInterceptor)
             .addInterceptor(loggingInterceptor)
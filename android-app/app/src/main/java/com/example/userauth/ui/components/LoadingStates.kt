@@ -20,6 +20,7 @@ import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.layout.size
 import androidx.compose.foundation.layout.width
 import androidx.compose.foundation.shape.CircleShape
+import androidx.compose.foundation.lazy.LazyListState
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.Inbox
@@ -29,8 +30,11 @@ import androidx.compose.material3.Icon
 import androidx.compose.material3.MaterialTheme
 import androidx.compose.material3.Text
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.LaunchedEffect
 import androidx.compose.runtime.getValue
 import androidx.compose.runtime.remember
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.runtime.snapshotFlow
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.alpha
@@ -48,6 +52,8 @@ import com.example.userauth.ui.theme.Primary
 import com.example.userauth.ui.theme.Secondary
 import com.example.userauth.ui.theme.Spacing
 import com.example.userauth.ui.theme.SurfaceVariant
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.filter
 
 // ============================================
 // Animated Loading Indicator
@@ -255,3 +261,46 @@ fun CompetitionEmptyState(
         }
     )
 }
+
+// ============================================
+// Incremental Loading for Paged Lists
+// ============================================
+/**
+ * Calls [onLoadMore] whenever the list is scrolled to within [threshold] items of its end,
+ * and again after each page has been appended while the end is still in view.
+ */
+@Composable
+fun LoadMoreEffect(
+    listState: LazyListState,
+    threshold: Int = 5,
+    onLoadMore: () -> Unit
+) {
+    val currentOnLoadMore by rememberUpdatedState(onLoadMore)
+    LaunchedEffect(listState, threshold) {
+        snapshotFlow {
+            val layoutInfo = listState.layoutInfo
+            val lastVisible = layoutInfo.visibleItemsInfo.lastOrNull()?.index ?: -1
+            val total = layoutInfo.totalItemsCount
+            (total > 0 && lastVisible >= total - 1 - threshold) to total
+        }
+            .distinctUntilChanged()
+            .filter { (nearEnd, _) -> nearEnd }
+            .collect { currentOnLoadMore() }
+    }
+}
+
+@Composable
+fun LoadMoreIndicator(modifier: Modifier = Modifier) {
+    Box(
+        modifier = modifier
+            .fillMaxWidth()
+            .padding(Spacing.md),
+        contentAlignment = Alignment.Center
+    ) {
+        CircularProgressIndicator(
+            modifier = Modifier.size(24.dp),
+            color = Primary,
+            strokeWidth = 2.dp
+        )
+    }
+}
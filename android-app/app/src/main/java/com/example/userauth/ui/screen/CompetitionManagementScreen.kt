@@ -9,6 +9,7 @@ import androidx.compose.foundation.clickable
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.Add
 import androidx.compose.material.icons.filled.ArrowBack
@@ -25,6 +26,8 @@ import androidx.compose.ui.graphics.vector.ImageVector
 import androidx.compose.ui.unit.dp
 import androidx.hilt.navigation.compose.hiltViewModel
 import com.example.userauth.data.model.Competition
+import com.example.userauth.ui.components.LoadMoreEffect
+import com.example.userauth.ui.components.LoadMoreIndicator
 import com.example.userauth.viewmodel.CompetitionManagementViewModel
 import com.example.userauth.viewmodel.ModelViewModel
 
@@ -40,7 +43,9 @@ fun CompetitionManagementScreen(
     modelViewModel: ModelViewModel = hiltViewModel()
 ) {
     val competitions by viewModel.competitions.collectAsState()
+    val isLoadingMore by viewModel.isLoadingMore.collectAsState()
     val models by modelViewModel.models.collectAsState()
+    val listState = rememberLazyListState()
     var showDeleteConfirm by remember { mutableStateOf(false) }
     var selectedCompetition by remember { mutableStateOf<Competition?>(null) }
 
@@ -50,6 +55,8 @@ fun CompetitionManagementScreen(
         modelViewModel.loadModels()
     }
 
+    LoadMoreEffect(listState = listState, onLoadMore = viewModel::loadMore)
+
     Scaffold(
         topBar = {
             TopAppBar(
@@ -86,10 +93,11 @@ fun CompetitionManagementScreen(
             } else {
                 LazyColumn(
                     modifier = Modifier.fillMaxSize(),
+                    state = listState,
                     contentPadding = PaddingValues(16.dp),
                     verticalArrangement = Arrangement.spacedBy(12.dp)
                 ) {
-                    items(competitions) { competition ->
+                    items(competitions, key = { it.id }) { competition ->
                     val modelName = models.find { it.id == competition.modelId.toString() }?.name ?: "未知模型"
                     CompetitionCard(
                         competition = competition,
@@ -103,6 +111,11 @@ fun CompetitionManagementScreen(
                         }
                     )
                 }
+                    if (isLoadingMore) {
+                        item {
+                            LoadMoreIndicator()
+                        }
+                    }
                 }
             }
         }
@@ -9,6 +9,7 @@ import androidx.compose.foundation.background
 import androidx.compose.foundation.clickable
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.foundation.lazy.items
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
@@ -33,6 +34,8 @@ import androidx.compose.ui.unit.dp
 import androidx.hilt.navigation.compose.hiltViewModel
 import com.example.userauth.data.model.Competition
 import com.example.userauth.ui.components.CompetitionEmptyState
+import com.example.userauth.ui.components.LoadMoreEffect
+import com.example.userauth.ui.components.LoadMoreIndicator
 import com.example.userauth.ui.components.ShimmerCard
 import com.example.userauth.ui.components.StatusChip
 import com.example.userauth.ui.components.StatusType
@@ -51,6 +54,10 @@ fun CompetitionScreen(
     val competitions by viewModel.competitions.collectAsState()
     val isLoading by viewModel.isLoading.collectAsState()
     val errorMessage by viewModel.errorMessage.collectAsState()
+    val isLoadingMore by viewModel.isLoadingMore.collectAsState()
+    val listState = rememberLazyListState()
+
+    LoadMoreEffect(listState = listState, onLoadMore = viewModel::loadMore)
 
     Scaffold(
         topBar = {
@@ -110,10 +117,11 @@ fun CompetitionScreen(
 
                 else -> {
                     LazyColumn(
+                        state = listState,
                         contentPadding = PaddingValues(Spacing.md),
                         verticalArrangement = Arrangement.spacedBy(Spacing.md)
                     ) {
-                        items(competitions) { competition ->
+                        items(competitions, key = { it.id }) { competition ->
                     BrandCompetitionCard(
                         competition = competition,
                         onNavigateToDataDisplay = {
@@ -127,6 +135,11 @@ fun CompetitionScreen(
                         }
                     )
                 }
+                        if (isLoadingMore) {
+                            item {
+                                LoadMoreIndicator()
+                            }
+                        }
                     }
                 }
             }
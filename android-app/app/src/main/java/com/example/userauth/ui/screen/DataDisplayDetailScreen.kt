@@ -305,17 +305,28 @@ fun DataDisplayDetailScreen(
                 ) {
                     // 使用API返回的数据
                     val avgScore = sub.averageTotalScore
+                    val rankingScore = sub.rankingScore
                     val maxScore = sub.highestScore
                     val ratingCount = sub.numberOfRatings
                     val totalJudges = sub.totalJudges
                     val totalWeight = sub.scores.sumOf { it.max }
 
-                    StatCard(
-                        title = "平均分",
-                        value = "%.1f".format(avgScore),
-                        subtitle = "/ ${totalWeight}分",
-                        modifier = Modifier.weight(1f)
-                    )
+                    // Median, trimmed mean or normalised models rank by a score other than the average
+                    if (rankingScore != null && rankingScore != avgScore) {
+                        StatCard(
+                            title = "排名分",
+                            value = "%.1f".format(rankingScore),
+                            subtitle = "均分 ${"%.1f".format(avgScore)}",
+                            modifier = Modifier.weight(1f)
+                        )
+                    } else {
+                        StatCard(
+                            title = "平均分",
+                            value = "%.1f".format(avgScore),
+                            subtitle = "/ ${totalWeight}分",
+                            modifier = Modifier.weight(1f)
+                        )
+                    }
                     StatCard(
                         title = "最高分",
                         value = "%.0f".format(maxScore),
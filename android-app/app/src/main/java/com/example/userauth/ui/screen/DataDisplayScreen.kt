@@ -93,9 +93,10 @@ fun DataDisplayScreen(
                             Text(text = sub.contestant, style = MaterialTheme.typography.titleMedium)
                             Text(text = sub.title, style = MaterialTheme.typography.bodyMedium)
                         }
-                        val avg = sub.averageTotalScore
+                        // Listed by ranking score, so show that; it equals the average for mean-aggregated models
+                        val score = sub.rankingScore ?: sub.averageTotalScore
                         Text(
-                            text = "均分 ${"%.1f".format(avg)}",
+                            text = "得分 ${"%.1f".format(score)}",
                             style = MaterialTheme.typography.titleMedium,
                             color = MaterialTheme.colorScheme.primary
                         )
@@ -4,6 +4,7 @@ import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.ArrowBack
 import androidx.compose.material.icons.filled.CheckCircle
@@ -23,6 +24,8 @@ import androidx.hilt.navigation.compose.hiltViewModel
 import coil.compose.AsyncImage
 import android.content.pm.PackageManager
 import com.example.userauth.data.api.dto.EntryDto
+import com.example.userauth.ui.components.LoadMoreEffect
+import com.example.userauth.ui.components.LoadMoreIndicator
 import com.example.userauth.viewmodel.EntryReviewViewModel
 
 @OptIn(ExperimentalMaterial3Api::class)
@@ -37,6 +40,10 @@ fun EntryReviewScreen(
     val isLoading by viewModel.isLoading.collectAsState()
     val error by viewModel.error.collectAsState()
     val updateSuccess by viewModel.updateSuccess.collectAsState()
+    val isLoadingMore by viewModel.isLoadingMore.collectAsState()
+    val listState = rememberLazyListState()
+
+    LoadMoreEffect(listState = listState, onLoadMore = viewModel::loadMore)
 
     LaunchedEffect(competitionId) {
         viewModel.loadEntries(competitionId)
@@ -125,10 +132,11 @@ fun EntryReviewScreen(
                 // Entries list
                 LazyColumn(
                     modifier = Modifier.fillMaxSize(),
+                    state = listState,
                     contentPadding = PaddingValues(horizontal = 16.dp, vertical = 8.dp),
                     verticalArrangement = Arrangement.spacedBy(12.dp)
                 ) {
-                    items(entries) { entry ->
+                    items(entries, key = { it.id }) { entry ->
                         EntryReviewCard(
                             entry = entry,
                             onApprove = {
@@ -142,6 +150,11 @@ fun EntryReviewScreen(
                             }
                         )
                     }
+                    if (isLoadingMore) {
+                        item {
+                            LoadMoreIndicator()
+                        }
+                    }
                 }
             }
         }
@@ -10,6 +10,7 @@ import androidx.compose.foundation.layout.height
 import androidx.compose.foundation.layout.padding
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.foundation.text.selection.SelectionContainer
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.Add
@@ -42,6 +43,8 @@ import androidx.compose.ui.text.input.PasswordVisualTransformation
 import androidx.compose.ui.unit.dp
 import androidx.hilt.navigation.compose.hiltViewModel
 import com.example.userauth.data.api.dto.UserDto
+import com.example.userauth.ui.components.LoadMoreEffect
+import com.example.userauth.ui.components.LoadMoreIndicator
 import com.example.userauth.viewmodel.UserManagementViewModel
 
 @OptIn(ExperimentalMaterial3Api::class)
@@ -53,6 +56,8 @@ fun UserManagementScreen(
     val users by viewModel.users.collectAsState()
     val isLoading by viewModel.isLoading.collectAsState()
     val error by viewModel.error.collectAsState()
+    val isLoadingMore by viewModel.isLoadingMore.collectAsState()
+    val listState = rememberLazyListState()
 
     var showCreateDialog by remember { mutableStateOf(false) }
     var toDeleteUser by remember { mutableStateOf<UserDto?>(null) }
@@ -62,6 +67,8 @@ fun UserManagementScreen(
         viewModel.loadUsers()
     }
 
+    LoadMoreEffect(listState = listState, onLoadMore = viewModel::loadMore)
+
     LaunchedEffect(error) {
         error?.let {
             snackbarHostState.showSnackbar(it)
@@ -103,9 +110,10 @@ fun UserManagementScreen(
                     .padding(padding)
                     .fillMaxSize()
                     .padding(16.dp),
+                state = listState,
                 verticalArrangement = Arrangement.spacedBy(12.dp)
             ) {
-                items(users) { user ->
+                items(users, key = { it.id }) { user ->
                     UserRow(
                         user = user,
                         currentUsername = viewModel.currentUsername,
@@ -113,6 +121,11 @@ fun UserManagementScreen(
                         onDelete = { toDeleteUser = user }
                     )
                 }
+                if (isLoadingMore) {
+                    item {
+                        LoadMoreIndicator()
+                    }
+                }
             }
         }
     }
@@ -47,6 +47,12 @@ class CompetitionManagementViewModel @Inject constructor(
     private val _searchQuery = MutableStateFlow("")
     val searchQuery: StateFlow<String> = _searchQuery.asStateFlow()
 
+    private val _isLoadingMore = MutableStateFlow(false)
+    val isLoadingMore: StateFlow<Boolean> = _isLoadingMore.asStateFlow()
+
+    // Cursor of the next page of competitions; null once all are loaded
+    private var nextCursor: String? = null
+
     init {
         loadCompetitions()
     }
@@ -56,9 +62,10 @@ class CompetitionManagementViewModel @Inject constructor(
             _isLoading.value = true
             _error.value = null
 
-            repository.getAllCompetitions()
-                .onSuccess { competitions ->
-                    _competitions.value = competitions
+            repository.getCompetitionPage(cursor = null)
+                .onSuccess { page ->
+                    _competitions.value = page.items
+                    nextCursor = page.nextCursor
                 }
                 .onFailure { e ->
                     _error.value = e.message
@@ -68,6 +75,28 @@ class CompetitionManagementViewModel @Inject constructor(
         }
     }
 
+    /**
+     * Append the next page of competitions, if there is one and no load is running
+     */
+    fun loadMore() {
+        val cursor = nextCursor ?: return
+        if (_isLoading.value || _isLoadingMore.value) return
+        viewModelScope.launch {
+            _isLoadingMore.value = true
+
+            repository.getCompetitionPage(cursor)
+                .onSuccess { page ->
+                    _competitions.value = _competitions.value + page.items
+                    nextCursor = page.nextCursor
+                }
+                .onFailure { e ->
+                    _error.value = e.message
+                }
+
+            _isLoadingMore.value = false
+        }
+    }
+
     fun loadCompetitionDetail(competitionId: Long) {
         viewModelScope.launch {
             _isLoading.value = true
@@ -5,6 +5,7 @@ import androidx.lifecycle.viewModelScope
 import com.example.userauth.data.api.EvaluationApiService
 import com.example.userauth.data.api.dto.CompetitionDto
 import com.example.userauth.data.model.Competition
+import com.example.userauth.data.model.Page
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
@@ -26,18 +27,29 @@ class CompetitionViewModel @Inject constructor(
     private val _errorMessage = MutableStateFlow<String?>(null)
     val errorMessage: StateFlow<String?> = _errorMessage.asStateFlow()
 
+    private val _isLoadingMore = MutableStateFlow(false)
+    val isLoadingMore: StateFlow<Boolean> = _isLoadingMore.asStateFlow()
+
+    // Cursor of the next page; null once every competition has been loaded
+    private var nextCursor: String? = null
+
     init {
         loadCompetitions()
     }
 
+    /**
+     * Reload the list from its first page
+     */
     fun loadCompetitions() {
         viewModelScope.launch {
             _isLoading.value = true
             _errorMessage.value = null
             try {
-                val response = evaluationApiService.getCompetitions()
+                val response = evaluationApiService.getCompetitionPage(Page.DEFAULT_SIZE, null)
                 if (response.isSuccessful) {
-                    _competitions.value = response.body()?.map { it.toCompetition() } ?: emptyList()
+                    val page = response.body()
+                    _competitions.value = page?.items?.map { it.toCompetition() } ?: emptyList()
+                    nextCursor = page?.nextCursor
                 } else {
                     _errorMessage.value = "加载赛事列表失败: ${response.code()}"
                 }
@@ -49,6 +61,31 @@ class CompetitionViewModel @Inject constructor(
         }
     }
 
+    /**
+     * Append the next page, if there is one and no load is running
+     */
+    fun loadMore() {
+        val cursor = nextCursor ?: return
+        if (_isLoading.value || _isLoadingMore.value) return
+        viewModelScope.launch {
+            _isLoadingMore.value = true
+            try {
+                val response = evaluationApiService.getCompetitionPage(Page.DEFAULT_SIZE, cursor)
+                if (response.isSuccessful) {
+                    val page = response.body()
+                    _competitions.value = _competitions.value + (page?.items?.map { it.toCompetition() } ?: emptyList())
+                    nextCursor = page?.nextCursor
+                } else {
+                    _errorMessage.value = "加载赛事列表失败: ${response.code()}"
+                }
+            } catch (e: Exception) {
+                _errorMessage.value = "网络错误: ${e.message}"
+            } finally {
+                _isLoadingMore.value = false
+            }
+        }
+    }
+
     fun clearError() {
         _errorMessage.value = null
     }
@@ -9,16 +9,22 @@ import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import com.example.userauth.data.model.SubmissionScore
 import com.example.userauth.data.model.ScoreParameter
+import com.example.userauth.data.api.ScoreStreamEvent
+import com.example.userauth.data.api.ScoreStreamRejectedException
+import com.example.userauth.data.api.dto.ScoreUpdateEventDto
 import com.example.userauth.data.repository.RatingRepository
 import dagger.hilt.android.lifecycle.HiltViewModel
 import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.launch
 import javax.inject.Inject
 import android.content.Context
 
 /**
  * ViewModel for data display screen
- * Loads and displays competition rating data including entry scores and averages
+ * Loads and displays competition rating data including entry scores and averages,
+ * then keeps it current from the competition's live score stream instead of reloading
  */
 @HiltViewModel
 class DataDisplayViewModel @Inject constructor(
@@ -51,6 +57,13 @@ class DataDisplayViewModel @Inject constructor(
 
     private var currentCompetitionId: Long = 0
 
+    // Parameter id -> (name, weight) from the last full load, to apply stream updates
+    private var parameters: Map<Long, Pair<String, Int>> = emptyMap()
+    // How the competition's model turns judge totals into the ranking score
+    private var aggregationMethod: String? = null
+    private var scoreStreamJob: Job? = null
+    private var streamCompetitionId: Long = 0
+
     init {
         _submissions.value = emptyList()
     }
@@ -68,7 +81,11 @@ class DataDisplayViewModel @Inject constructor(
                 val result = ratingRepository.getCompetitionRatingData(competitionId)
                 result.onSuccess { ratingData ->
                     _modelId.value = ratingData.modelId
-                    _submissions.value = ratingData.entries.map { entry ->
+                    aggregationMethod = ratingData.aggregationMethod
+                    parameters = ratingData.entries
+                        .flatMap { it.parameterScores }
+                        .associate { it.parameterId to (it.parameterName to it.weight) }
+                    _submissions.value = rankSubmissions(ratingData.entries.map { entry ->
                         SubmissionScore(
                             id = entry.entryId.toString(),
                             contestant = entry.contestantName,
@@ -82,11 +99,12 @@ class DataDisplayViewModel @Inject constructor(
                                 )
                             }.toMutableList(),
                             averageTotalScore = entry.averageTotalScore,
+                            rankingScore = entry.rankingScore,
                             highestScore = entry.highestScore ?: 0.0,
                             numberOfRatings = entry.numberOfRatings,
                             totalJudges = entry.totalJudges ?: 0
                         )
-                    }
+                    })
                 }.onFailure { exception ->
                     _error.value = exception.message ?: "Failed to load rating data"
                     _submissions.value = emptyList()
@@ -98,6 +116,61 @@ class DataDisplayViewModel @Inject constructor(
                 _isLoading.value = false
             }
         }
+        observeScoreUpdates(competitionId)
+    }
+
+    /**
+     * Follow the competition's live score stream; one stream per competition
+     */
+    private fun observeScoreUpdates(competitionId: Long) {
+        if (streamCompetitionId == competitionId && scoreStreamJob?.isActive == true) {
+            return
+        }
+        scoreStreamJob?.cancel()
+        streamCompetitionId = competitionId
+        scoreStreamJob = viewModelScope.launch {
+            ratingRepository.observeScoreUpdates(competitionId)
+                .catch { e ->
+                    // No permission or unknown competition: keep the loaded data without live updates
+                    if (e !is ScoreStreamRejectedException) throw e
+                }
+                .collect { event ->
+                    when (event) {
+                        is ScoreStreamEvent.Update -> applyScoreUpdate(event.update)
+                        ScoreStreamEvent.Resync -> loadSubmissions(competitionId)
+                    }
+                }
+        }
+    }
+
+    private fun applyScoreUpdate(update: ScoreUpdateEventDto) {
+        val current = _submissions.value
+        val index = current.indexOfFirst { it.id == update.entryId.toString() }
+        // New entry or a parameter rated for the first time: names and weights come from a full load
+        if (index < 0 || update.parameterAverages.any { it.parameterId !in parameters }) {
+            loadSubmissions(currentCompetitionId)
+            return
+        }
+        // Median, trimmed mean and normalised scores need every judge's total, which updates do not carry
+        if (aggregationMethod != null && aggregationMethod != "MEAN") {
+            loadSubmissions(currentCompetitionId)
+            return
+        }
+        val updated = current[index].copy(
+            scores = update.parameterAverages.map { param ->
+                val (name, weight) = parameters.getValue(param.parameterId)
+                ScoreParameter(
+                    name = name,
+                    max = weight,
+                    score = param.averageScore.toInt()
+                )
+            }.toMutableList(),
+            averageTotalScore = update.averageTotalScore,
+            rankingScore = if (update.numberOfRatings > 0) update.averageTotalScore else null,
+            highestScore = update.highestScore ?: 0.0,
+            numberOfRatings = update.numberOfRatings
+        )
+        _submissions.value = rankSubmissions(current.toMutableList().also { it[index] = updated })
     }
 
     /**
@@ -150,4 +223,12 @@ class DataDisplayViewModel @Inject constructor(
             ParameterAverage(name, avg)
         }
     }
+
+    companion object {
+        /**
+         * Order entries by ranking score, highest first; unrated entries keep their display order at the end
+         */
+        fun rankSubmissions(submissions: List<SubmissionScore>): List<SubmissionScore> =
+            submissions.sortedByDescending { it.rankingScore ?: Double.NEGATIVE_INFINITY }
+    }
 }
@@ -28,14 +28,23 @@ class EntryReviewViewModel @Inject constructor(
     private val _updateSuccess = MutableStateFlow(false)
     val updateSuccess: StateFlow<Boolean> = _updateSuccess.asStateFlow()
 
+    private val _isLoadingMore = MutableStateFlow(false)
+    val isLoadingMore: StateFlow<Boolean> = _isLoadingMore.asStateFlow()
+
+    // Competition of the loaded entries and the cursor of its next page (null once all are loaded)
+    private var loadedCompetitionId: Long? = null
+    private var nextCursor: String? = null
+
     fun loadEntries(competitionId: Long) {
         viewModelScope.launch {
             _isLoading.value = true
             _error.value = null
 
-            competitionRepository.getCompetitionEntries(competitionId)
-                .onSuccess { entries ->
-                    _entries.value = entries
+            competitionRepository.getCompetitionEntryPage(competitionId, cursor = null)
+                .onSuccess { page ->
+                    _entries.value = page.items
+                    loadedCompetitionId = competitionId
+                    nextCursor = page.nextCursor
                     _isLoading.value = false
                 }
                 .onFailure { e ->
@@ -45,6 +54,29 @@ class EntryReviewViewModel @Inject constructor(
         }
     }
 
+    /**
+     * Append the next page of entries, if there is one and no load is running
+     */
+    fun loadMore() {
+        val competitionId = loadedCompetitionId ?: return
+        val cursor = nextCursor ?: return
+        if (_isLoading.value || _isLoadingMore.value) return
+        viewModelScope.launch {
+            _isLoadingMore.value = true
+
+            competitionRepository.getCompetitionEntryPage(competitionId, cursor)
+                .onSuccess { page ->
+                    _entries.value = _entries.value + page.items
+                    nextCursor = page.nextCursor
+                }
+                .onFailure { e ->
+                    _error.value = "加载作品列表失败: ${e.message}"
+                }
+
+            _isLoadingMore.value = false
+        }
+    }
+
     fun updateEntryStatus(competitionId: Long, entryId: Long, status: String) {
         viewModelScope.launch {
             _isLoading.value = true
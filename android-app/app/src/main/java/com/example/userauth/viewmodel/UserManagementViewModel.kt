@@ -30,6 +30,12 @@ class UserManagementViewModel @Inject constructor(
     private val _error = MutableStateFlow<String?>(null)
     val error: StateFlow<String?> = _error.asStateFlow()
 
+    private val _isLoadingMore = MutableStateFlow(false)
+    val isLoadingMore: StateFlow<Boolean> = _isLoadingMore.asStateFlow()
+
+    // Cursor of the next page of users; null once all are loaded
+    private var nextCursor: String? = null
+
     val currentUsername: String?
         get() = authRepository.getUsername()
 
@@ -38,27 +44,10 @@ class UserManagementViewModel @Inject constructor(
             _isLoading.value = true
             _error.value = null
 
-            userRepository.getAllUsers()
-                .onSuccess { fetched ->
-                    _users.value = fetched.map { user ->
-                        val resolvedPassword = if (!user.password.isNullOrBlank()) {
-                            user.password
-                        } else {
-                            cachedInitialPasswords[user.id]
-                                ?: user.username?.let { cachedInitialPasswordsByUsername[it] }
-                        }
-
-                        if (!resolvedPassword.isNullOrBlank()) {
-                            cachedInitialPasswords[user.id] = resolvedPassword
-                            user.username?.let { cachedInitialPasswordsByUsername[it] = resolvedPassword }
-                        }
-
-                        if (resolvedPassword != user.password) {
-                            user.copy(password = resolvedPassword)
-                        } else {
-                            user
-                        }
-                    }
+            userRepository.getUserPage(cursor = null)
+                .onSuccess { page ->
+                    _users.value = page.items.map(::withCachedPassword)
+                    nextCursor = page.nextCursor
                 }
                 .onFailure { _error.value = it.message }
 
@@ -66,6 +55,46 @@ class UserManagementViewModel @Inject constructor(
         }
     }
 
+    /**
+     * Append the next page of users, if there is one and no load is running
+     */
+    fun loadMore() {
+        val cursor = nextCursor ?: return
+        if (_isLoading.value || _isLoadingMore.value) return
+        viewModelScope.launch {
+            _isLoadingMore.value = true
+
+            userRepository.getUserPage(cursor)
+                .onSuccess { page ->
+                    _users.value = _users.value + page.items.map(::withCachedPassword)
+                    nextCursor = page.nextCursor
+                }
+                .onFailure { _error.value = it.message }
+
+            _isLoadingMore.value = false
+        }
+    }
+
+    private fun withCachedPassword(user: UserDto): UserDto {
+        val resolvedPassword = if (!user.password.isNullOrBlank()) {
+            user.password
+        } else {
+            cachedInitialPasswords[user.id]
+                ?: user.username?.let { cachedInitialPasswordsByUsername[it] }
+        }
+
+        if (!resolvedPassword.isNullOrBlank()) {
+            cachedInitialPasswords[user.id] = resolvedPassword
+            user.username?.let { cachedInitialPasswordsByUsername[it] = resolvedPassword }
+        }
+
+        return if (resolvedPassword != user.password) {
+            user.copy(password = resolvedPassword)
+        } else {
+            user
+        }
+    }
+
     fun createUser(username: String, password: String, isAdmin: Boolean, onSuccess: () -> Unit = {}) {
         viewModelScope.launch {
             _isLoading.value = true
@@ -2,6 +2,7 @@ package com.example.userauth.data.api
 
 import com.example.userauth.data.local.PreferencesManager
 import okhttp3.Interceptor
+import okhttp3.Protocol
 import okhttp3.Request
 import okhttp3.Response
 import org.junit.Before
@@ -9,10 +10,14 @@ import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.Mock
 import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
 
 /**
  * Unit tests for AuthInterceptor
@@ -24,6 +29,9 @@ class AuthInterceptorTest {
     @Mock
     private lateinit var preferencesManager: PreferencesManager
 
+    @Mock
+    private lateinit var tokenRefresher: TokenRefresher
+
     @Mock
     private lateinit var chain: Interceptor.Chain
 
@@ -37,7 +45,7 @@ class AuthInterceptorTest {
 
     @Before
     fun setup() {
-        authInterceptor = AuthInterceptor(preferencesManager)
+        authInterceptor = AuthInterceptor(preferencesManager, tokenRefresher)
     }
 
     @Test
@@ -88,4 +96,64 @@ class AuthInterceptorTest {
             request.header("Authorization") == null
         })
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `intercept should refresh token and retry once on 401`() {
+        val originalRequest = Request.Builder().url("http://example.com/api/competitions").build()
+        val unauthorized = responseFor(originalRequest, 401)
+        val ok = responseFor(originalRequest, 200)
+
+        whenever(chain.request()).thenReturn(originalRequest)
+        whenever(preferencesManager.getAuthToken()).thenReturn("stale_token")
+        whenever(chain.proceed(org.mockito.kotlin.any())).thenReturn(unauthorized, ok)
+        whenever(tokenRefresher.refresh("stale_token")).thenReturn("fresh_token")
+
+        val result = authInterceptor.intercept(chain)
+
+        assertSame(ok, result)
+        verify(chain).proceed(org.mockito.kotlin.argThat { request ->
+            request.header("Authorization") == "Bearer fresh_token"
+        })
+        verify(chain, times(2)).proceed(org.mockito.kotlin.any())
+    }
+
+    @Test
+    fun `intercept should return 401 response when refresh fails`() {
+        val originalRequest = Request.Builder().url("http://example.com/api/competitions").build()
+        val unauthorized = responseFor(originalRequest, 401)
+
+        whenever(chain.request()).thenReturn(originalRequest)
+        whenever(preferencesManager.getAuthToken()).thenReturn("stale_token")
+        whenever(chain.proceed(org.mockito.kotlin.any())).thenReturn(unauthorized)
+        whenever(tokenRefresher.refresh("stale_token")).thenReturn(null)
+
+        val result = authInterceptor.intercept(chain)
+
+        assertSame(unauthorized, result)
+        verify(chain, times(1)).proceed(org.mockito.kotlin.any())
+    }
+
+    @Test
+    fun `intercept should not authenticate or refresh the refresh call itself`() {
+        val refreshRequest = Request.Builder().url("http://example.com/api/auth/refresh").build()
+        val unauthorized = responseFor(refreshRequest, 401)
+
+        whenever(chain.request()).thenReturn(refreshRequest)
+        whenever(chain.proceed(refreshRequest)).thenReturn(unauthorized)
+
+        val result = authInterceptor.intercept(chain)
+
+        assertSame(unauthorized, result)
+        verify(preferencesManager, never()).getAuthToken()
+        verifyNoInteractions(tokenRefresher)
+    }
+
+    private fun responseFor(request: Request, code: Int): Response {
+        return Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message(if (code == 401) "Unauthorized" else "OK")
+            .build()
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.userauth.data.api
+
+import com.google.gson.Gson
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.JUnit4
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+
+/**
+ * Unit tests for ScoreStreamClient
+ * Tests event parsing and Last-Event-ID reconnection using MockWebServer
+ */
+@RunWith(JUnit4::class)
+class ScoreStreamClientTest {
+
+    private lateinit var mockWebServer: MockWebServer
+    private lateinit var client: ScoreStreamClient
+
+    @Before
+    fun setup() {
+        mockWebServer = MockWebServer()
+        mockWebServer.start()
+        client = ScoreStreamClient(OkHttpClient.Builder().build(), Gson(), mockWebServer.url("/api/").toString())
+    }
+
+    @After
+    fun tearDown() {
+        mockWebServer.shutdown()
+    }
+
+    @Test
+    fun `scoreUpdates should parse updates and resume with Last-Event-ID after disconnect`() = runBlocking {
+        mockWebServer.enqueue(streamResponse("""
+            :connected
+            retry:3000
+
+            id:7
+            event:score-update
+            data:{"eventId":7,"competitionId":1,"entryId":3,"averageTotalScore":42.5,"highestScore":45.0,"numberOfRatings":2,"parameterAverages":[{"parameterId":1,"averageScore":8.5,"ratingCount":2}]}
+
+
+        """.trimIndent()))
+        mockWebServer.enqueue(streamResponse("""
+            id:9
+            event:resync
+            data:{}
+
+
+        """.trimIndent()))
+
+        val events = client.scoreUpdates(1L).take(2).toList()
+
+        val update = (events[0] as ScoreStreamEvent.Update).update
+        assertEquals(3L, update.entryId)
+        assertEquals(42.5, update.averageTotalScore, 0.001)
+        assertEquals(8.5, update.parameterAverages[0].averageScore, 0.001)
+        assertTrue(events[1] is ScoreStreamEvent.Resync)
+
+        val first = mockWebServer.takeRequest()
+        assertEquals("/api/ratings/1/stream", first.path)
+        assertNull(first.getHeader("Last-Event-ID"))
+        assertEquals("7", mockWebServer.takeRequest().getHeader("Last-Event-ID"))
+    }
+
+    @Test
+    fun `scoreUpdates should stop when the server refuses the stream`() = runBlocking {
+        mockWebServer.enqueue(MockResponse().setResponseCode(403))
+
+        try {
+            client.scoreUpdates(1L).toList()
+            fail("Expected ScoreStreamRejectedException")
+        } catch (e: ScoreStreamRejectedException) {
+            assertEquals(403, e.code)
+        }
+    }
+
+    private fun streamResponse(body: String): MockResponse {
+        return MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setBody(body + "\n")
+    }
+}
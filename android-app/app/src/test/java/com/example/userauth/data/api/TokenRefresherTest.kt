@@ -0,0 +1,142 @@
+package com.example.userauth.data.api
+
+import com.example.userauth.data.api.dto.AuthResponse
+import com.example.userauth.data.api.dto.RefreshTokenRequest
+import com.example.userauth.data.local.PreferencesManager
+import dagger.Lazy
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mock
+import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import retrofit2.Call
+import retrofit2.Response
+import java.io.IOException
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
+/**
+ * Unit tests for TokenRefresher
+ * Tests single-flight token refresh and session handling
+ */
+@RunWith(MockitoJUnitRunner::class)
+class TokenRefresherTest {
+
+    @Mock
+    private lateinit var preferencesManager: PreferencesManager
+
+    @Mock
+    private lateinit var authApiService: AuthApiService
+
+    @Mock
+    private lateinit var refreshCall: Call<AuthResponse>
+
+    private lateinit var tokenRefresher: TokenRefresher
+
+    @Before
+    fun setup() {
+        tokenRefresher = TokenRefresher(preferencesManager, Lazy { authApiService })
+    }
+
+    @Test
+    fun `refresh should store and return new tokens`() {
+        whenever(preferencesManager.getAuthToken()).thenReturn("stale_token")
+        whenever(preferencesManager.getRefreshToken()).thenReturn("refresh_1")
+        whenever(authApiService.refresh(RefreshTokenRequest("refresh_1"))).thenReturn(refreshCall)
+        whenever(refreshCall.execute()).thenReturn(
+            Response.success(AuthResponse("fresh_token", "testuser", listOf("USER"), "refresh_2"))
+        )
+
+        val result = tokenRefresher.refresh("stale_token")
+
+        assertEquals("fresh_token", result)
+        verify(preferencesManager).saveAuthToken("fresh_token")
+        verify(preferencesManager).saveRefreshToken("refresh_2")
+        verify(preferencesManager).saveUserInfo("testuser", false)
+    }
+
+    @Test
+    fun `refresh should reuse token already renewed by another request`() {
+        whenever(preferencesManager.getAuthToken()).thenReturn("fresh_token")
+
+        val result = tokenRefresher.refresh("stale_token")
+
+        assertEquals("fresh_token", result)
+        verify(authApiService, never()).refresh(any())
+    }
+
+    @Test
+    fun `refresh should clear session when refresh token is rejected`() {
+        whenever(preferencesManager.getAuthToken()).thenReturn("stale_token")
+        whenever(preferencesManager.getRefreshToken()).thenReturn("refresh_1")
+        whenever(authApiService.refresh(any())).thenReturn(refreshCall)
+        whenever(refreshCall.execute()).thenReturn(Response.error(401, "".toResponseBody()))
+
+        val result = tokenRefresher.refresh("stale_token")
+
+        assertNull(result)
+        verify(preferencesManager).clearAll()
+    }
+
+    @Test
+    fun `refresh should keep session on network error`() {
+        whenever(preferencesManager.getAuthToken()).thenReturn("stale_token")
+        whenever(preferencesManager.getRefreshToken()).thenReturn("refresh_1")
+        whenever(authApiService.refresh(any())).thenReturn(refreshCall)
+        whenever(refreshCall.execute()).thenThrow(IOException("timeout"))
+
+        val result = tokenRefresher.refresh("stale_token")
+
+        assertNull(result)
+        verify(preferencesManager, never()).clearAll()
+    }
+
+    @Test
+    fun `refresh should return null without refresh token`() {
+        whenever(preferencesManager.getAuthToken()).thenReturn("stale_token")
+        whenever(preferencesManager.getRefreshToken()).thenReturn(null)
+
+        assertNull(tokenRefresher.refresh("stale_token"))
+        verify(authApiService, never()).refresh(any())
+    }
+
+    @Test
+    fun `concurrent refreshes should share one refresh call`() {
+        // Stored access token changes once the single refresh call has saved the new one
+        var storedToken = "stale_token"
+        whenever(preferencesManager.getAuthToken()).thenAnswer { storedToken }
+        doAnswer { storedToken = it.getArgument(0); null }.whenever(preferencesManager).saveAuthToken(any())
+        whenever(preferencesManager.getRefreshToken()).thenReturn("refresh_1")
+        whenever(authApiService.refresh(any())).thenReturn(refreshCall)
+        whenever(refreshCall.execute()).thenReturn(
+            Response.success(AuthResponse("fresh_token", "testuser", listOf("USER"), "refresh_2"))
+        )
+
+        val threads = 8
+        val start = CountDownLatch(1)
+        val executor = Executors.newFixedThreadPool(threads)
+        try {
+            val results = executor.invokeAll((1..threads).map {
+                Callable {
+                    start.await()
+                    tokenRefresher.refresh("stale_token")
+                }
+            }.also { start.countDown() })
+
+            results.forEach { assertEquals("fresh_token", it.get()) }
+            verify(refreshCall, times(1)).execute()
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+}
@@ -75,6 +75,21 @@ class PreferencesManagerTest {
         assertNull(token)
     }
 
+    @Test
+    fun `saveRefreshToken should store refresh token in SharedPreferences`() {
+        preferencesManager.saveRefreshToken("test_refresh_token")
+
+        verify(editor).putString("refresh_token", "test_refresh_token")
+        verify(editor).apply()
+    }
+
+    @Test
+    fun `getRefreshToken should return stored refresh token`() {
+        whenever(sharedPreferences.getString("refresh_token", null)).thenReturn("test_refresh_token")
+
+        assertEquals("test_refresh_token", preferencesManager.getRefreshToken())
+    }
+
     @Test
     fun `saveUserInfo should store username and admin status`() {
         val username = "testuser"
@@ -116,4 +116,17 @@ class DataModelTest {
         // Then
         assertEquals(0, param.score)
     }
+
+    @Test
+    fun completionMatrix_readsRowMajorBits() {
+        // Given: 2 entries x 3 judges, bits 0, 4 and 5 set, second byte left out
+        val matrix = CompletionMatrix(byteArrayOf(0b110001), entryCount = 2, judgeCount = 3)
+
+        // Then
+        assertTrue(matrix.isComplete(0, 0))
+        assertFalse(matrix.isComplete(0, 1))
+        assertTrue(matrix.isComplete(1, 1))
+        assertTrue(matrix.isComplete(1, 2))
+        assertFalse(matrix.isComplete(3, 0))
+    }
 }
@@ -12,6 +12,7 @@ import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
 import kotlinx.coroutines.test.runTest
+import okhttp3.Cache
 import org.junit.Assert.*
 import org.junit.Before
 import org.junit.Test
@@ -22,12 +23,14 @@ class AuthRepositoryTest {
     private lateinit var repository: AuthRepository
     private lateinit var apiService: AuthApiService
     private lateinit var preferencesManager: PreferencesManager
+    private lateinit var httpCache: Cache
 
     @Before
     fun setup() {
         apiService = mockk()
         preferencesManager = mockk(relaxed = true)
-        repository = AuthRepository(apiService, preferencesManager)
+        httpCache = mockk(relaxed = true)
+        repository = AuthRepository(apiService, preferencesManager, httpCache)
     }
 
     @Test
@@ -47,6 +50,7 @@ class AuthRepositoryTest {
         coVerify { apiService.login(LoginRequest(username, password)) }
         verify { preferencesManager.saveAuthToken("test-token") }
         verify { preferencesManager.saveUserInfo(username, false) }
+        verify { httpCache.evictAll() }
     }
 
     @Test
@@ -204,6 +208,7 @@ class AuthRepositoryTest {
 
         // Then
         verify { preferencesManager.clearAll() }
+        verify { httpCache.evictAll() }
     }
 
     @Test
@@ -14,14 +14,21 @@ import io.mockk.mockk
 import io.mockk.mockkStatic
 import io.mockk.unmockkStatic
 import kotlinx.coroutines.test.runTest
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.ResponseBody.Companion.toResponseBody
 import org.junit.After
 import org.junit.Assert.*
 import org.junit.Before
+import org.junit.Rule
 import org.junit.Test
+import org.junit.rules.TemporaryFolder
 import retrofit2.Response
 
 class CompetitionRepositoryTest {
 
+    @get:Rule
+    val tempFolder = TemporaryFolder()
+
     private lateinit var repository: CompetitionRepository
     private lateinit var api: CompetitionApi
     private lateinit var context: Context
@@ -208,4 +215,36 @@ class CompetitionRepositoryTest {
         // Then
         assertTrue(result.isSuccess)
     }
+
+    @Test
+    fun downloadExport_partialFile_requestsRemainingBytesAndAppends() = runTest {
+        // Given
+        val target = tempFolder.newFile("export.csv")
+        target.writeText("01234")
+        coEvery { api.downloadExportFile(1L, 5L, "bytes=5-") } returns
+            Response.success(206, "56789".toResponseBody("text/csv".toMediaType()))
+
+        // When
+        val result = repository.downloadExport(1L, 5L, target)
+
+        // Then
+        assertTrue(result.isSuccess)
+        assertEquals("0123456789", target.readText())
+    }
+
+    @Test
+    fun downloadExport_serverSendsWholeFile_replacesPartialFile() = runTest {
+        // Given
+        val target = tempFolder.newFile("export.csv")
+        target.writeText("stale")
+        coEvery { api.downloadExportFile(1L, 5L, "bytes=5-") } returns
+            Response.success(200, "0123456789".toResponseBody("text/csv".toMediaType()))
+
+        // When
+        val result = repository.downloadExport(1L, 5L, target)
+
+        // Then
+        assertTrue(result.isSuccess)
+        assertEquals("0123456789", target.readText())
+    }
 }
@@ -19,7 +19,7 @@ class RatingRepositoryTest {
     @Before
     fun setup() {
         api = mockk()
-        repository = RatingRepository(api)
+        repository = RatingRepository(api, mockk())
     }
 
     @Test
@@ -27,7 +27,7 @@ class RatingRepositoryTest {
         // Given
         val request = RatingRequestDto(1, 100, listOf(ScoreRequestDto(1, 8.5)), "很好")
         val response = RatingResponseDto(1, 1, 100, "作品A", 1, "评委1", null, "很好", "2026-01-01")
-        coEvery { api.submitRating(any()) } returns Response.success(response)
+        coEvery { api.submitRating(any(), any()) } returns Response.success(response)
 
         // When
         val result = repository.submitRating(request)
@@ -35,14 +35,14 @@ class RatingRepositoryTest {
         // Then
         assertTrue(result.isSuccess)
         assertEquals(1L, result.getOrNull()?.id)
-        coVerify { api.submitRating(request) }
+        coVerify { api.submitRating(request, any()) }
     }
 
     @Test
     fun submitRating_emptyBody_returnsError() = runTest {
         // Given
         val request = RatingRequestDto(1, 100, emptyList(), null)
-        coEvery { api.submitRating(any()) } returns Response.success(null)
+        coEvery { api.submitRating(any(), any()) } returns Response.success(null)
 
         // When
         val result = repository.submitRating(request)
@@ -56,7 +56,7 @@ class RatingRepositoryTest {
     fun submitRating_failure_returnsError() = runTest {
         // Given
         val request = RatingRequestDto(1, 100, emptyList(), null)
-        coEvery { api.submitRating(any()) } returns Response.error(400, okhttp3.ResponseBody.create(null, "Bad Request"))
+        coEvery { api.submitRating(any(), any()) } returns Response.error(400, okhttp3.ResponseBody.create(null, "Bad Request"))
 
         // When
         val result = repository.submitRating(request)
@@ -65,6 +65,57 @@ class RatingRepositoryTest {
         assertTrue(result.isFailure)
     }
 
+    @Test
+    fun submitRating_lostResponse_retriesWithSameKey() = runTest {
+        // Given
+        val request = RatingRequestDto(1, 100, listOf(ScoreRequestDto(1, 8.5)), null)
+        val response = RatingResponseDto(1, 1, 100, "作品A", 1, "评委1", null, null, "2026-01-01")
+        val keys = mutableListOf<String>()
+        coEvery { api.submitRating(any(), capture(keys)) } throws java.io.IOException("timeout") andThen Response.success(response)
+
+        // When
+        val result = repository.submitRating(request)
+
+        // Then
+        assertTrue(result.isSuccess)
+        assertEquals(2, keys.size)
+        assertEquals(keys[0], keys[1])
+    }
+
+    @Test
+    fun submitRatings_lostResponse_retriesSameBatch() = runTest {
+        // Given
+        val request = BatchRatingRequestDto(1, listOf(
+            BatchRatingItemDto("k1", 100, listOf(ScoreRequestDto(1, 8.5)))
+        ))
+        val response = BatchRatingResponseDto(1, 0, 1, 0, listOf(
+            BatchRatingItemResultDto("k1", 100, "ALREADY_SUBMITTED")
+        ))
+        coEvery { api.submitRatings(any()) } throws java.io.IOException("timeout") andThen Response.success(response)
+
+        // When
+        val result = repository.submitRatings(request)
+
+        // Then
+        assertTrue(result.isSuccess)
+        assertEquals(1, result.getOrNull()?.alreadySubmitted)
+        coVerify(exactly = 2) { api.submitRatings(request) }
+    }
+
+    @Test
+    fun submitRatings_badRequest_doesNotRetry() = runTest {
+        // Given
+        val request = BatchRatingRequestDto(1, emptyList())
+        coEvery { api.submitRatings(any()) } returns Response.error(400, okhttp3.ResponseBody.create(null, "Bad Request"))
+
+        // When
+        val result = repository.submitRatings(request)
+
+        // Then
+        assertTrue(result.isFailure)
+        coVerify(exactly = 1) { api.submitRatings(request) }
+    }
+
     @Test
     fun getRatingsByEntry_success_returnsRatings() = runTest {
         // Given
@@ -175,7 +226,7 @@ class RatingRepositoryTest {
     fun submitRating_exception_returnsFailure() = runTest {
         // Given
         val request = RatingRequestDto(1, 100, emptyList(), null)
-        coEvery { api.submitRating(any()) } throws Exception("Network error")
+        coEvery { api.submitRating(any(), any()) } throws Exception("Network error")
 
         // When
         val result = repository.submitRating(request)
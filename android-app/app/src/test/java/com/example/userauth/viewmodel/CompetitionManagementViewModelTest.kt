@@ -1,6 +1,7 @@
 package com.example.userauth.viewmodel
 
 import com.example.userauth.data.model.Competition
+import com.example.userauth.data.model.Page
 import com.example.userauth.data.repository.CompetitionRepository
 import io.mockk.coEvery
 import io.mockk.coVerify
@@ -29,7 +30,7 @@ class CompetitionManagementViewModelTest {
         Dispatchers.setMain(testDispatcher)
         repository = mockk()
         // Setup default mock before creating ViewModel since init calls loadCompetitions()
-        coEvery { repository.getAllCompetitions() } returns Result.success(emptyList())
+        coEvery { repository.getCompetitionPage(null) } returns Result.success(Page(emptyList(), null))
         viewModel = CompetitionManagementViewModel(repository)
     }
 
@@ -55,7 +56,7 @@ class CompetitionManagementViewModelTest {
             Competition(id = 1, name = "Test Competition", deadline = "2026-12-31", modelId = 1, creatorId = 1, status = "ACTIVE"),
             Competition(id = 2, name = "Another Competition", deadline = "2026-11-30", modelId = 2, creatorId = 2, status = "ACTIVE")
         )
-        coEvery { repository.getAllCompetitions() } returns Result.success(competitions)
+        coEvery { repository.getCompetitionPage(null) } returns Result.success(Page(competitions, null))
         
         // When
         viewModel.loadCompetitions()
@@ -70,7 +71,7 @@ class CompetitionManagementViewModelTest {
     @Test
     fun loadCompetitions_failure_setsError() = runTest {
         // Given
-        coEvery { repository.getAllCompetitions() } returns Result.failure(Exception("Network error"))
+        coEvery { repository.getCompetitionPage(null) } returns Result.failure(Exception("Network error"))
         
         // When
         viewModel.loadCompetitions()
@@ -100,7 +101,7 @@ class CompetitionManagementViewModelTest {
         // Given
         val createdCompetition = Competition(id = 1, name = "New Competition", deadline = "2026-12-31", modelId = 1, creatorId = 1, status = "ACTIVE")
         coEvery { repository.createCompetition(any(), any(), any(), any()) } returns Result.success(createdCompetition)
-        coEvery { repository.getAllCompetitions() } returns Result.success(emptyList())
+        coEvery { repository.getCompetitionPage(null) } returns Result.success(Page(emptyList(), null))
         
         // When
         viewModel.addCompetition("New Competition", "2026-12-31", 1, "Description")
@@ -108,14 +109,14 @@ class CompetitionManagementViewModelTest {
         
         // Then
         coVerify { repository.createCompetition("New Competition", "2026-12-31", 1, "Description") }
-        coVerify { repository.getAllCompetitions() }
+        coVerify { repository.getCompetitionPage(null) }
     }
     
     @Test
     fun deleteCompetition_success_triggersReload() = runTest {
         // Given
         coEvery { repository.deleteCompetition(1) } returns Result.success(Unit)
-        coEvery { repository.getAllCompetitions() } returns Result.success(emptyList())
+        coEvery { repository.getCompetitionPage(null) } returns Result.success(Page(emptyList(), null))
         
         // When
         viewModel.deleteCompetition(1)
@@ -123,7 +124,7 @@ class CompetitionManagementViewModelTest {
         
         // Then
         coVerify { repository.deleteCompetition(1) }
-        coVerify { repository.getAllCompetitions() }
+        coVerify { repository.getCompetitionPage(null) }
     }
     
     @Test
@@ -133,7 +134,7 @@ class CompetitionManagementViewModelTest {
             Competition(id = 1, name = "Competition 1", deadline = "2026-12-31", modelId = 1, creatorId = 1, status = "ACTIVE"),
             Competition(id = 2, name = "Competition 2", deadline = "2026-11-30", modelId = 2, creatorId = 2, status = "ACTIVE")
         )
-        coEvery { repository.getAllCompetitions() } returns Result.success(competitions)
+        coEvery { repository.getCompetitionPage(null) } returns Result.success(Page(competitions, null))
         viewModel.loadCompetitions()
         testDispatcher.scheduler.advanceUntilIdle()
         
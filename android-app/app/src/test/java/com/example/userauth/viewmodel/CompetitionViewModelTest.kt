@@ -2,6 +2,7 @@ package com.example.userauth.viewmodel
 
 import com.example.userauth.data.api.EvaluationApiService
 import com.example.userauth.data.api.dto.CompetitionDto
+import com.example.userauth.data.api.dto.PageDto
 import io.mockk.coEvery
 import io.mockk.every
 import io.mockk.mockk
@@ -29,7 +30,7 @@ class CompetitionViewModelTest {
     fun setup() {
         Dispatchers.setMain(testDispatcher)
         apiService = mockk()
-        coEvery { apiService.getCompetitions() } returns Response.success(emptyList())
+        coEvery { apiService.getCompetitionPage(any(), any()) } returns Response.success(PageDto(emptyList(), null))
         viewModel = CompetitionViewModel(apiService)
     }
 
@@ -57,7 +58,7 @@ class CompetitionViewModelTest {
                 updatedAt = null
             )
         )
-        coEvery { apiService.getCompetitions() } returns Response.success(competitions)
+        coEvery { apiService.getCompetitionPage(any(), any()) } returns Response.success(PageDto(competitions, null))
 
         viewModel.loadCompetitions()
         testDispatcher.scheduler.advanceUntilIdle()
@@ -71,7 +72,7 @@ class CompetitionViewModelTest {
 
     @Test
     fun loadCompetitions_failure_setsError() = runTest {
-        coEvery { apiService.getCompetitions() } returns Response.error(404, mockk(relaxed = true))
+        coEvery { apiService.getCompetitionPage(any(), any()) } returns Response.error(404, mockk(relaxed = true))
 
         viewModel.loadCompetitions()
         testDispatcher.scheduler.advanceUntilIdle()
@@ -85,7 +86,7 @@ class CompetitionViewModelTest {
 
     @Test
     fun loadCompetitions_exception_setsNetworkError() = runTest {
-        coEvery { apiService.getCompetitions() } throws Exception("Network unavailable")
+        coEvery { apiService.getCompetitionPage(any(), any()) } throws Exception("Network unavailable")
 
         viewModel.loadCompetitions()
         testDispatcher.scheduler.advanceUntilIdle()
@@ -99,7 +100,7 @@ class CompetitionViewModelTest {
 
     @Test
     fun clearError_clearsErrorState() = runTest {
-        coEvery { apiService.getCompetitions() } returns Response.error(404, mockk(relaxed = true))
+        coEvery { apiService.getCompetitionPage(any(), any()) } returns Response.error(404, mockk(relaxed = true))
         viewModel.loadCompetitions()
         testDispatcher.scheduler.advanceUntilIdle()
 
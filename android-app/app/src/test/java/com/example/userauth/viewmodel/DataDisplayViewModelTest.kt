@@ -61,4 +61,20 @@ class DataDisplayViewModelTest {
         val paramAverages = calculateParameterAverages(submissions)
         assertEquals(0, paramAverages.size)
     }
+
+    @Test
+    fun rankSubmissionsOrdersByRankingScoreNotAverage() {
+        // Median model: A has the lower mean but the higher median
+        val submissions = listOf(
+            SubmissionScore(id = "sub-c", contestant = "选手C", title = "作品C", scores = mutableListOf()),
+            SubmissionScore(id = "sub-a", contestant = "选手A", title = "作品A", scores = mutableListOf(),
+                averageTotalScore = 65.0, rankingScore = 90.0),
+            SubmissionScore(id = "sub-b", contestant = "选手B", title = "作品B", scores = mutableListOf(),
+                averageTotalScore = 70.0, rankingScore = 70.0)
+        )
+
+        val ranked = DataDisplayViewModel.rankSubmissions(submissions)
+
+        assertEquals(listOf("sub-a", "sub-b", "sub-c"), ranked.map { it.id })
+    }
 }
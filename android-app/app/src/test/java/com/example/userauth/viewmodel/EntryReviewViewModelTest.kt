@@ -1,6 +1,7 @@
 package com.example.userauth.viewmodel
 
 import com.example.userauth.data.api.dto.EntryDto
+import com.example.userauth.data.model.Page
 import com.example.userauth.data.repository.CompetitionRepository
 import io.mockk.coEvery
 import io.mockk.mockk
@@ -76,7 +77,7 @@ class EntryReviewViewModelTest {
                 updatedAt = null
             )
         )
-        coEvery { repository.getCompetitionEntries(1) } returns Result.success(entries)
+        coEvery { repository.getCompetitionEntryPage(1, null) } returns Result.success(Page(entries, null))
 
         viewModel.loadEntries(1)
         testDispatcher.scheduler.advanceUntilIdle()
@@ -91,7 +92,7 @@ class EntryReviewViewModelTest {
 
     @Test
     fun loadEntries_failure_setsError() = runTest {
-        coEvery { repository.getCompetitionEntries(1) } returns Result.failure(Exception("Not found"))
+        coEvery { repository.getCompetitionEntryPage(1, null) } returns Result.failure(Exception("Not found"))
 
         viewModel.loadEntries(1)
         testDispatcher.scheduler.advanceUntilIdle()
@@ -131,7 +132,7 @@ class EntryReviewViewModelTest {
                 updatedAt = null
             )
         )
-        coEvery { repository.getCompetitionEntries(1) } returns Result.success(entries)
+        coEvery { repository.getCompetitionEntryPage(1, null) } returns Result.success(Page(entries, null))
         coEvery { repository.updateEntryStatus(1, 1, "APPROVED") } returns Result.success(mockk())
 
         viewModel.loadEntries(1)
@@ -163,7 +164,7 @@ class EntryReviewViewModelTest {
                 updatedAt = null
             )
         )
-        coEvery { repository.getCompetitionEntries(1) } returns Result.success(entries)
+        coEvery { repository.getCompetitionEntryPage(1, null) } returns Result.success(Page(entries, null))
         coEvery { repository.updateEntryStatus(1, 1, "REJECTED") } returns Result.success(mockk())
 
         viewModel.loadEntries(1)
@@ -192,7 +193,7 @@ class EntryReviewViewModelTest {
                 updatedAt = null
             )
         )
-        coEvery { repository.getCompetitionEntries(1) } returns Result.success(entries)
+        coEvery { repository.getCompetitionEntryPage(1, null) } returns Result.success(Page(entries, null))
         coEvery { repository.updateEntryStatus(1, 1, "PENDING") } returns Result.success(mockk())
 
         viewModel.loadEntries(1)
@@ -221,7 +222,7 @@ class EntryReviewViewModelTest {
 
     @Test
     fun clearError_clearsErrorState() = runTest {
-        coEvery { repository.getCompetitionEntries(1) } returns Result.failure(Exception("Error"))
+        coEvery { repository.getCompetitionEntryPage(1, null) } returns Result.failure(Exception("Error"))
         viewModel.loadEntries(1)
         testDispatcher.scheduler.advanceUntilIdle()
 
@@ -233,7 +234,7 @@ class EntryReviewViewModelTest {
 
     @Test
     fun clearUpdateSuccess_clearsSuccessState() = runTest {
-        coEvery { repository.getCompetitionEntries(1) } returns Result.success(emptyList())
+        coEvery { repository.getCompetitionEntryPage(1, null) } returns Result.success(Page(emptyList(), null))
         coEvery { repository.updateEntryStatus(any(), any(), any()) } returns Result.success(mockk())
 
         viewModel.loadEntries(1)
@@ -0,0 +1,144 @@
+package com.example.userauth.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to latency with additive increase, multiplicative decrease.
+ * A request that finishes within the latency threshold while at least half the limit is in use
+ * raises the limit by 1/limit, so about one per limit's worth of requests; a slower one cuts it
+ * by the backoff ratio, at most once per round of requests, since the requests that started
+ * before a cut were already admitted under the old limit.
+ * Requests over the limit wait on a bounded queue; new requests do not overtake waiting ones.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long lastDecreaseNanos;
+
+    AdaptiveConcurrencyLimit(AdmissionProperties.ClassLimits limits, double backoffRatio, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, limits.minLimit());
+        this.maxLimit = Math.max(minLimit, limits.maxLimit());
+        this.queueSize = Math.max(0, limits.queueSize());
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(limits.latencyThresholdMs());
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, limits.initialLimit()));
+        this.lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * A slot taken by one request.
+     */
+    final class Permit {
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Give back the slot and adjust the limit by the request's latency.
+         */
+        void release() {
+            AdaptiveConcurrencyLimit.this.release(startNanos);
+        }
+    }
+
+    /**
+     * Take a slot, waiting up to {@code maxWaitNanos} behind earlier requests if the limit is reached.
+     *
+     * @return the slot, or null if none became free in time or the queue is full
+     */
+    Permit acquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (queued == 0 && inFlight < currentLimit()) {
+                inFlight++;
+                return new Permit(nanoClock.getAsLong());
+            }
+            if (queued >= queueSize || maxWaitNanos <= 0) {
+                return null;
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return new Permit(nanoClock.getAsLong());
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long startNanos) {
+        long now = nanoClock.getAsLong();
+        lock.lock();
+        try {
+            int wasInFlight = inFlight--;
+            if (now - startNanos > latencyThresholdNanos) {
+                // Compared as a difference, since nanoTime values may be negative
+                if (startNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (wasInFlight * 2 >= currentLimit()) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            // Several waiters can proceed when the limit grew
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int currentLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
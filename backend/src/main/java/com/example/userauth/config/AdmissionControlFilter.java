@@ -0,0 +1,234 @@
+package com.example.userauth.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for API requests, so that rating writes keep their share of request threads
+ * and database connections when judges rush to finish before a deadline.
+ * Each request class has its own {@link AdaptiveConcurrencyLimit} and queue. Classes are ranked:
+ * while requests of a higher class are queued, requests of lower classes are refused at once
+ * instead of queuing, and every refusal is a 429 with Retry-After.
+ * Authentication (which has its own hashing pool), health checks and event streams are not limited.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    /**
+     * Request classes, highest priority first.
+     */
+    public enum RequestClass {
+        /** Rating submissions and entry changes */
+        RATING_WRITE,
+        /** Everything else a user waits for */
+        INTERACTIVE,
+        /** Exports and imports */
+        BULK
+    }
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<RequestClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> rejectedCounters = new EnumMap<>(RequestClass.class);
+
+    @Autowired
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           LongSupplier nanoClock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                    classLimits(requestClass), properties.backoffRatio(), nanoClock);
+            limits.put(requestClass, limit);
+            String tag = requestClass.name().toLowerCase();
+            Gauge.builder("http.admission.limit", limit, AdaptiveConcurrencyLimit::currentLimit)
+                    .description("Current concurrency limit of the request class")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.admission.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("Admitted requests of the class still running")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.admission.queued", limit, AdaptiveConcurrencyLimit::queued)
+                    .description("Requests of the class waiting for admission")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejectedCounters.put(requestClass, Counter.builder("http.admission.rejected")
+                    .description("Requests of the class refused with 429")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * The class of a request, or null if it is not limited.
+     */
+    static RequestClass classify(String method, String path) {
+        if (!path.startsWith("/api/") || path.startsWith("/api/auth/") || path.startsWith("/api/health")
+                || path.endsWith("/stream")) {
+            return null;
+        }
+        if (isBulk(method, path)) {
+            return RequestClass.BULK;
+        }
+        boolean write = !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+        if (write && (path.startsWith("/api/ratings") || isEntryWrite(path))) {
+            return RequestClass.RATING_WRITE;
+        }
+        return RequestClass.INTERACTIVE;
+    }
+
+    // Imports, synchronous exports, export job starts and export file downloads; polling a
+    // job's progress is cheap and stays interactive
+    private static boolean isBulk(String method, String path) {
+        if (path.contains("/import") || path.endsWith("/export") || path.contains("/export/")) {
+            return true;
+        }
+        if (path.endsWith("/exports")) {
+            return "POST".equals(method);
+        }
+        return path.contains("/exports/") && path.endsWith("/file");
+    }
+
+    private static boolean isEntryWrite(String path) {
+        return path.startsWith("/api/competitions/") && (path.contains("/entries") || path.endsWith("/submit"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.enabled() || classify(request.getMethod(), pathOf(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RequestClass requestClass = classify(request.getMethod(), pathOf(request));
+        AdaptiveConcurrencyLimit.Permit permit = admit(requestClass);
+        if (permit == null) {
+            rejectedCounters.get(requestClass).increment();
+            logger.debug("Refused {} {} ({})", request.getMethod(), request.getRequestURI(), requestClass);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), Map.of("message", "服务器繁忙，请稍后重试"));
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streamed exports keep their slot until the body is written
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Releases a permit once when an async request ends.
+     */
+    private static final class ReleasingAsyncListener implements AsyncListener {
+        private final AdaptiveConcurrencyLimit.Permit permit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingAsyncListener(AdaptiveConcurrencyLimit.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new async cycle fires this listener again at its end
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permit.release();
+            }
+        }
+    }
+
+    private AdaptiveConcurrencyLimit.Permit admit(RequestClass requestClass) {
+        for (RequestClass higher : RequestClass.values()) {
+            if (higher == requestClass) {
+                break;
+            }
+            if (limits.get(higher).queued() > 0) {
+                return null;
+            }
+        }
+        try {
+            return limits.get(requestClass).acquire(
+                    TimeUnit.MILLISECONDS.toNanos(classLimits(requestClass).maxWaitMs()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private AdmissionProperties.ClassLimits classLimits(RequestClass requestClass) {
+        return switch (requestClass) {
+            case RATING_WRITE -> properties.ratingWrite();
+            case INTERACTIVE -> properties.interactive();
+            case BULK -> properties.bulk();
+        };
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.userauth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of {@link AdmissionControlFilter}, one set per request class.
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public record AdmissionProperties(
+    boolean enabled,
+    double backoffRatio,
+    long retryAfterSeconds,
+    ClassLimits ratingWrite,
+    ClassLimits interactive,
+    ClassLimits bulk
+) {
+
+    public AdmissionProperties {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            backoffRatio = 0.9;
+        }
+        if (retryAfterSeconds <= 0) {
+            retryAfterSeconds = 2;
+        }
+        if (ratingWrite == null) {
+            ratingWrite = new ClassLimits(16, 2, 40, 200, 3000, 500);
+        }
+        if (interactive == null) {
+            interactive = new ClassLimits(24, 2, 64, 50, 500, 1000);
+        }
+        if (bulk == null) {
+            bulk = new ClassLimits(2, 1, 4, 0, 0, 30000);
+        }
+    }
+
+    /**
+     * Concurrency limit of one request class. The limit starts at {@code initialLimit} and moves
+     * between {@code minLimit} and {@code maxLimit} with the latency observed against
+     * {@code latencyThresholdMs}; up to {@code queueSize} requests wait at most
+     * {@code maxWaitMs} for a slot.
+     */
+    public record ClassLimits(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        int queueSize,
+        long maxWaitMs,
+        long latencyThresholdMs
+    ) {}
+}
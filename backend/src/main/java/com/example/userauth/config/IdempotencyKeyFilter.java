@@ -0,0 +1,266 @@
+package com.example.userauth.config;
+
+import com.example.userauth.service.IdempotencyStore;
+import com.example.userauth.service.IdempotencyStore.Claim;
+import com.example.userauth.service.IdempotencyStore.ClaimStatus;
+import com.example.userauth.service.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Honours the {@code Idempotency-Key} header on mutating API requests.
+ * The first request with a key runs and its response is kept in the {@link IdempotencyStore};
+ * a retry with the same key, by the same user, method and path, gets that response back
+ * without reaching the controller, so nothing is written or stored twice. A retry while the
+ * first attempt is still running is answered with 409. The key is bound to a hash of the query
+ * string and body, and reusing it for a request with different content is answered with 422.
+ * Server errors are not kept, so a request that failed that way can be retried with its key.
+ */
+@Component
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 64;
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration claimTtl;
+
+    @Autowired
+    public IdempotencyKeyFilter(IdempotencyStore store,
+                                ObjectMapper objectMapper,
+                                @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                                @Value("${app.idempotency.claim-ttl-seconds:120}") long claimTtlSeconds) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.claimTtl = Duration.ofSeconds(claimTtlSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        // Auth responses carry tokens, which must not be kept in the store
+        return request.getHeader(HEADER) == null
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || !path.startsWith("/api/")
+                || path.startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            // Public endpoints have no user to scope the key to
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key 不能为空且不能超过" + MAX_KEY_LENGTH + "个字符");
+            return;
+        }
+
+        String key = authentication.getName() + ":" + request.getMethod() + ":"
+                + request.getRequestURI() + ":" + idempotencyKey;
+        MessageDigest digest = sha256();
+        HttpServletRequest hashedRequest = hashContent(request, digest);
+        String requestHash = HexFormat.of().formatHex(digest.digest());
+
+        Claim claim = store.claim(key, requestHash, claimTtl);
+        if (claim.status() != ClaimStatus.CLAIMED && claim.requestHash() != null
+                && !claim.requestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key 已用于内容不同的请求");
+            return;
+        }
+        switch (claim.status()) {
+            case COMPLETED -> replay(claim.response(), response);
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                writeError(response, HttpStatus.CONFLICT, "相同请求正在处理中，请稍后重试");
+            }
+            case CLAIMED -> execute(key, requestHash, hashedRequest, response, filterChain);
+        }
+    }
+
+    /**
+     * Feed the query string and body into the digest, returning the request to run, whose body
+     * can still be read.
+     */
+    private static HttpServletRequest hashContent(HttpServletRequest request, MessageDigest digest)
+            throws ServletException, IOException {
+        if (request.getQueryString() != null) {
+            digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) '\n');
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            // Parts stay readable for the multipart resolver after being hashed
+            for (Part part : request.getParts()) {
+                digest.update((part.getName() + ":" + part.getSubmittedFileName() + ":")
+                        .getBytes(StandardCharsets.UTF_8));
+                try (InputStream content = part.getInputStream()) {
+                    digest.update(content.readAllBytes());
+                }
+            }
+            return request;
+        }
+        if (contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+            // The container parses form bodies itself, so they are hashed through its parameters
+            request.getParameterMap().forEach((name, values) -> digest.update(
+                    (name + "=" + String.join(",", values) + "&").getBytes(StandardCharsets.UTF_8)));
+            return request;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        digest.update(body);
+        return new CachedBodyRequest(request, body);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void execute(String key, String requestHash, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            // 409 and 429 ask the client to try again later, so they are not the request's outcome
+            if (status < 500 && status != HttpStatus.CONFLICT.value()
+                    && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                store.complete(key, new StoredResponse(status, wrapper.getContentType(),
+                        wrapper.getContentAsByteArray(), requestHash), ttl);
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", message));
+    }
+
+    /**
+     * A request whose body was read up front, served again from memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream content = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return content.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return content.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return content.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available at once
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.userauth.config;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Logback converter that writes the formatted message with sensitive data masked.
+ * Registered as {@code %maskedMsg} in logback-spring.xml; behind an async appender the
+ * masking runs on the appender thread rather than the request thread.
+ *
+ * @author UserAuth Team
+ * @version 1.0
+ */
+public class MaskedMessageConverter extends ClassicConverter {
+
+  @Override
+  public String convert(ILoggingEvent event) {
+    return SensitiveDataMasker.mask(event.getFormattedMessage());
+  }
+}
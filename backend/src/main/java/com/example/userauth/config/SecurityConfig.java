@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -13,12 +14,15 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.FilterConfig;
@@ -42,6 +46,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final AdmissionControlFilter admissionControlFilter;
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
@@ -59,8 +65,12 @@ public class SecurityConfig {
     private int bcryptStrength;
 
     @Autowired
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          IdempotencyKeyFilter idempotencyKeyFilter,
+                          AdmissionControlFilter admissionControlFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.idempotencyKeyFilter = idempotencyKeyFilter;
+        this.admissionControlFilter = admissionControlFilter;
     }
 
     /**
@@ -170,6 +180,12 @@ public class SecurityConfig {
                 .referrerPolicy(ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN)
             )
             
+            // Missing, invalid or expired tokens get 401, which clients answer by refreshing;
+            // 403 stays for authenticated users without the required role
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            
             // Request Authorization
             .authorizeHttpRequests(authz -> authz
                 // Public endpoints
@@ -179,6 +195,8 @@ public class SecurityConfig {
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
                 .requestMatchers("/error").permitAll()
+                // Async dispatches (Server-Sent Events) continue a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 
                 // Admin-only endpoints
                 .requestMatchers("/actuator/**").hasRole("ADMIN")
@@ -207,7 +225,12 @@ public class SecurityConfig {
             
             // Add JWT authentication filter
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(encodingFilter(), JwtAuthenticationFilter.class);
+            .addFilterBefore(encodingFilter(), JwtAuthenticationFilter.class)
+            // Replays only requests that passed authorization, scoped to the authenticated user
+            .addFilterAfter(idempotencyKeyFilter, AuthorizationFilter.class)
+            // Takes a slot only for authorized requests that are not replays; a refused request's
+            // idempotency key is released, so the client can retry with it
+            .addFilterAfter(admissionControlFilter, IdempotencyKeyFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,381 @@
+package com.example.userauth.config;
+
+/**
+ * Single-pass masker for sensitive values in log messages.
+ * Covers the same rules as the original regex chain (password, bearer, token/jwt, card
+ * number, email, phone, api key, secret/private key) with a hand-written scanner that
+ * visits each character once. A message without sensitive data is returned as the same
+ * instance; otherwise one builder of the message's size is allocated.
+ *
+ * <p>Every rule keeps its own resume position so it finds exactly the matches its regex
+ * would find with {@code replaceAll}. All spans are located on the original message and
+ * overlapping spans collapse into one mask, so where a value is claimed by two rules
+ * (e.g. {@code token: Bearer abc}) the whole region is masked at once.
+ *
+ * @author UserAuth Team
+ * @version 1.0
+ */
+public final class SensitiveDataMasker {
+
+  public static final String MASK = "***MASKED***";
+
+  private SensitiveDataMasker() {
+  }
+
+  /**
+   * Masks sensitive data in the given message.
+   *
+   * @param message the original log message
+   * @return the masked message, or the same instance if nothing had to be masked
+   */
+  public static String mask(String message) {
+    if (message == null || message.isEmpty()) {
+      return message;
+    }
+
+    final int length = message.length();
+    StringBuilder masked = null;
+    int copied = 0;
+    int spanStart = -1;
+    int spanEnd = -1;
+
+    // Per-rule resume positions, mirroring replaceAll continuing after its previous match
+    int passwordFrom = 0;
+    int bearerFrom = 0;
+    int tokenFrom = 0;
+    int cardFrom = 0;
+    int emailFrom = 0;
+    int phoneFrom = 0;
+    int apiKeyFrom = 0;
+    int secretFrom = 0;
+
+    for (int i = 0; i < length; i++) {
+      char c = message.charAt(i);
+      int end = -1;
+      int matched;
+
+      switch (c | 0x20) {
+        case 'p':
+          if (i >= passwordFrom && (matched = matchPassword(message, i)) > 0) {
+            passwordFrom = matched;
+            end = Math.max(end, matched);
+          }
+          if (i >= secretFrom && (matched = matchSecret(message, i)) > 0) {
+            secretFrom = matched;
+            end = Math.max(end, matched);
+          }
+          break;
+        case 'b':
+          if (i >= bearerFrom && (matched = matchBearer(message, i)) > 0) {
+            bearerFrom = matched;
+            end = Math.max(end, matched);
+          }
+          break;
+        case 't':
+        case 'j':
+          if (i >= tokenFrom && (matched = matchToken(message, i)) > 0) {
+            tokenFrom = matched;
+            end = Math.max(end, matched);
+          }
+          break;
+        case 'a':
+          if (i >= apiKeyFrom && (matched = matchApiKey(message, i)) > 0) {
+            apiKeyFrom = matched;
+            end = Math.max(end, matched);
+          }
+          break;
+        case 's':
+          if (i >= secretFrom && (matched = matchSecret(message, i)) > 0) {
+            secretFrom = matched;
+            end = Math.max(end, matched);
+          }
+          break;
+        default:
+          break;
+      }
+
+      if (isDigit(c) && !isWordBefore(message, i)) {
+        if (i >= cardFrom && (matched = matchCard(message, i)) > 0) {
+          cardFrom = matched;
+          end = Math.max(end, matched);
+        }
+        if (i >= phoneFrom && (matched = matchPhone(message, i)) > 0) {
+          phoneFrom = matched;
+          end = Math.max(end, matched);
+        }
+      }
+
+      if (i >= emailFrom && isEmailLocal(c)) {
+        int localEnd = skipEmailLocal(message, i);
+        matched = matchEmailDomain(message, localEnd);
+        // Every start inside the same local-part run reaches the same '@', so one try covers the run
+        emailFrom = matched > 0 ? matched : localEnd;
+        end = Math.max(end, matched);
+      }
+
+      if (end > i) {
+        if (spanStart >= 0 && i < spanEnd) {
+          spanEnd = Math.max(spanEnd, end);
+        } else {
+          if (spanStart >= 0) {
+            if (masked == null) {
+              masked = new StringBuilder(length);
+            }
+            masked.append(message, copied, spanStart).append(MASK);
+            copied = spanEnd;
+          }
+          spanStart = i;
+          spanEnd = end;
+        }
+      }
+    }
+
+    if (spanStart < 0) {
+      return message;
+    }
+    if (masked == null) {
+      masked = new StringBuilder(length);
+    }
+    masked.append(message, copied, spanStart).append(MASK);
+    return masked.append(message, spanEnd, length).toString();
+  }
+
+  // (password|passwd|pwd)\s*[:=]\s*\S+
+  private static int matchPassword(String s, int i) {
+    if (startsWithIgnoreCase(s, i, "password")) {
+      return matchAssignment(s, i + 8);
+    }
+    if (startsWithIgnoreCase(s, i, "passwd")) {
+      return matchAssignment(s, i + 6);
+    }
+    if (startsWithIgnoreCase(s, i, "pwd")) {
+      return matchAssignment(s, i + 3);
+    }
+    return -1;
+  }
+
+  // (bearer\s+)\S+
+  private static int matchBearer(String s, int i) {
+    if (!startsWithIgnoreCase(s, i, "bearer")) {
+      return -1;
+    }
+    int valueStart = skipWhitespace(s, i + 6);
+    if (valueStart == i + 6) {
+      return -1;
+    }
+    int valueEnd = skipNonWhitespace(s, valueStart);
+    return valueEnd > valueStart ? valueEnd : -1;
+  }
+
+  // (token|jwt)\s*[:=]\s*\S+
+  private static int matchToken(String s, int i) {
+    if (startsWithIgnoreCase(s, i, "token")) {
+      return matchAssignment(s, i + 5);
+    }
+    if (startsWithIgnoreCase(s, i, "jwt")) {
+      return matchAssignment(s, i + 3);
+    }
+    return -1;
+  }
+
+  // (api[_-]?key|apikey)\s*[:=]\s*\S+
+  private static int matchApiKey(String s, int i) {
+    if (!startsWithIgnoreCase(s, i, "api")) {
+      return -1;
+    }
+    int keyStart = i + 3;
+    if (keyStart < s.length() && (s.charAt(keyStart) == '_' || s.charAt(keyStart) == '-')) {
+      keyStart++;
+    }
+    return startsWithIgnoreCase(s, keyStart, "key") ? matchAssignment(s, keyStart + 3) : -1;
+  }
+
+  // (secret|private[_-]?key)\s*[:=]\s*\S+
+  private static int matchSecret(String s, int i) {
+    if (startsWithIgnoreCase(s, i, "secret")) {
+      return matchAssignment(s, i + 6);
+    }
+    if (!startsWithIgnoreCase(s, i, "private")) {
+      return -1;
+    }
+    int keyStart = i + 7;
+    if (keyStart < s.length() && (s.charAt(keyStart) == '_' || s.charAt(keyStart) == '-')) {
+      keyStart++;
+    }
+    return startsWithIgnoreCase(s, keyStart, "key") ? matchAssignment(s, keyStart + 3) : -1;
+  }
+
+  // \s*[:=]\s*\S+ following a keyword
+  private static int matchAssignment(String s, int i) {
+    int p = skipWhitespace(s, i);
+    if (p >= s.length() || (s.charAt(p) != ':' && s.charAt(p) != '=')) {
+      return -1;
+    }
+    int valueStart = skipWhitespace(s, p + 1);
+    int valueEnd = skipNonWhitespace(s, valueStart);
+    return valueEnd > valueStart ? valueEnd : -1;
+  }
+
+  // \b\d{4}[-\s]?\d{4}[-\s]?\d{4}[-\s]?\d{4,7}\b
+  private static int matchCard(String s, int i) {
+    int p = i;
+    for (int group = 0; group < 3; group++) {
+      if (countDigits(s, p, 4) < 4) {
+        return -1;
+      }
+      p += 4;
+      if (p < s.length() && (s.charAt(p) == '-' || isWhitespace(s.charAt(p)))) {
+        p++;
+      }
+    }
+    // Fewer digits cannot be followed by a boundary, so the last group is the whole digit run
+    int digits = countDigits(s, p, 8);
+    if (digits < 4 || digits > 7 || isWordAt(s, p + digits)) {
+      return -1;
+    }
+    return p + digits;
+  }
+
+  // \b\d{3}[-.]?\d{3}[-.]?\d{4}\b
+  private static int matchPhone(String s, int i) {
+    int p = i;
+    for (int group = 0; group < 2; group++) {
+      if (countDigits(s, p, 3) < 3) {
+        return -1;
+      }
+      p += 3;
+      if (p < s.length() && (s.charAt(p) == '-' || s.charAt(p) == '.')) {
+        p++;
+      }
+    }
+    if (countDigits(s, p, 4) < 4 || isWordAt(s, p + 4)) {
+      return -1;
+    }
+    return p + 4;
+  }
+
+  // @[a-zA-Z0-9.-]+\.[a-zA-Z]{2,} following the local part
+  private static int matchEmailDomain(String s, int at) {
+    if (at >= s.length() || s.charAt(at) != '@') {
+      return -1;
+    }
+    int domainEnd = at + 1;
+    while (domainEnd < s.length() && isEmailDomain(s.charAt(domainEnd))) {
+      domainEnd++;
+    }
+    // The greedy domain gives back characters until a dot followed by two letters is found
+    for (int dot = domainEnd - 1; dot >= at + 2; dot--) {
+      if (s.charAt(dot) == '.' && dot + 2 < domainEnd
+          && isAsciiLetter(s.charAt(dot + 1)) && isAsciiLetter(s.charAt(dot + 2))) {
+        int end = dot + 3;
+        while (end < s.length() && isAsciiLetter(s.charAt(end))) {
+          end++;
+        }
+        return end;
+      }
+    }
+    return -1;
+  }
+
+  private static int skipEmailLocal(String s, int i) {
+    while (i < s.length() && isEmailLocal(s.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * ASCII-only comparison, matching {@code Pattern.CASE_INSENSITIVE} without {@code UNICODE_CASE}.
+   */
+  private static boolean startsWithIgnoreCase(String s, int i, String lowerKeyword) {
+    if (i + lowerKeyword.length() > s.length()) {
+      return false;
+    }
+    for (int k = 0; k < lowerKeyword.length(); k++) {
+      if ((s.charAt(i + k) | 0x20) != lowerKeyword.charAt(k)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int countDigits(String s, int i, int max) {
+    int count = 0;
+    while (count < max && i + count < s.length() && isDigit(s.charAt(i + count))) {
+      count++;
+    }
+    return count;
+  }
+
+  private static int skipWhitespace(String s, int i) {
+    while (i < s.length() && isWhitespace(s.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static int skipNonWhitespace(String s, int i) {
+    while (i < s.length() && !isWhitespace(s.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Word test used by {@code \b}: letters, digits and '_', plus non-spacing marks attached to a word.
+   */
+  private static boolean isWordBefore(String s, int i) {
+    if (i == 0) {
+      return false;
+    }
+    int cp = Character.codePointBefore(s, i);
+    return isWord(cp) || (Character.getType(cp) == Character.NON_SPACING_MARK && hasBaseCharacter(s, i - 1));
+  }
+
+  private static boolean isWordAt(String s, int i) {
+    if (i >= s.length()) {
+      return false;
+    }
+    int cp = s.codePointAt(i);
+    return isWord(cp) || (Character.getType(cp) == Character.NON_SPACING_MARK && hasBaseCharacter(s, i));
+  }
+
+  private static boolean hasBaseCharacter(String s, int i) {
+    for (int x = i; x >= 0; x--) {
+      int cp = s.codePointAt(x);
+      if (Character.isLetterOrDigit(cp)) {
+        return true;
+      }
+      if (Character.getType(cp) != Character.NON_SPACING_MARK) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isWord(int cp) {
+    return cp == '_' || Character.isLetterOrDigit(cp);
+  }
+
+  // \d without UNICODE_CHARACTER_CLASS is ASCII only
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  // \s without UNICODE_CHARACTER_CLASS: [ \t\n\x0B\f\r]
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || (c >= '\t' && c <= '\r');
+  }
+
+  private static boolean isAsciiLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isEmailLocal(char c) {
+    return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+  }
+
+  private static boolean isEmailDomain(char c) {
+    return isAsciiLetter(c) || isDigit(c) || c == '.' || c == '-';
+  }
+}
@@ -1,5 +1,6 @@
 package com.example.userauth.config;
 
+import com.example.userauth.security.CurrentUserArgumentResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -8,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.filter.CharacterEncodingFilter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -18,9 +20,11 @@ import java.util.List;
 public class WebConfig implements WebMvcConfigurer {
 
     private final AppProperties appProperties;
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
 
-    public WebConfig(AppProperties appProperties) {
+    public WebConfig(AppProperties appProperties, CurrentUserArgumentResolver currentUserArgumentResolver) {
         this.appProperties = appProperties;
+        this.currentUserArgumentResolver = currentUserArgumentResolver;
     }
 
     @Bean
@@ -51,6 +55,11 @@ public class WebConfig implements WebMvcConfigurer {
         }
     }
 
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         String[] allowedOrigins = appProperties.cors().allowedOrigins().split(",");
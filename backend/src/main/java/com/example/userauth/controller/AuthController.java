@@ -2,20 +2,25 @@ package com.example.userauth.controller;
 
 import com.example.userauth.dto.AuthResponse;
 import com.example.userauth.dto.LoginRequest;
+import com.example.userauth.dto.RefreshTokenRequest;
 import com.example.userauth.dto.RegisterRequest;
 import com.example.userauth.dto.UserResponse;
+import com.example.userauth.exception.InvalidRefreshTokenException;
+import com.example.userauth.exception.PasswordHashingRejectedException;
+import com.example.userauth.service.RefreshTokenService;
 import com.example.userauth.service.UserService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * REST Controller for authentication operations.
- * Handles user registration and login endpoints.
+ * Handles user registration, login and token refresh endpoints.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -25,10 +30,12 @@ public class AuthController {
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     
     private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
 
     @Autowired
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, RefreshTokenService refreshTokenService) {
         this.userService = userService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -51,6 +58,10 @@ public class AuthController {
             logger.warn("Registration validation failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(createErrorResponse("Registration Error", e.getMessage()));
             
+        } catch (PasswordHashingRejectedException e) {
+            logger.warn("Registration rejected, password hashing pool saturated");
+            return tooManyRequests("Registration Error", e);
+            
         } catch (RuntimeException e) {
             if (e.getMessage().contains("already exists")) {
                 logger.warn("Registration failed - username already exists: {}", registerRequest.getUsername());
@@ -83,6 +94,10 @@ public class AuthController {
             logger.warn("Login validation failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(createErrorResponse("Authentication Error", e.getMessage()));
             
+        } catch (PasswordHashingRejectedException e) {
+            logger.warn("Login rejected, password hashing pool saturated");
+            return tooManyRequests("Authentication Error", e);
+            
         } catch (RuntimeException e) {
             if (e.getMessage().contains("Invalid username or password")) {
                 logger.warn("Authentication failed for username: {}", loginRequest.getUsername());
@@ -96,6 +111,41 @@ public class AuthController {
         }
     }
 
+    /**
+     * Exchange a refresh token for a new access token and a rotated refresh token.
+     * 
+     * @param refreshRequest the request containing the current refresh token
+     * @return ResponseEntity with AuthResponse and 200 OK status
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        try {
+            AuthResponse authResponse = refreshTokenService.refresh(refreshRequest.getRefreshToken());
+            
+            logger.debug("Token refreshed for user: {}", authResponse.getUsername());
+            return ResponseEntity.ok(authResponse);
+            
+        } catch (InvalidRefreshTokenException e) {
+            logger.warn("Token refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(createErrorResponse("Authentication Error", e.getMessage()));
+            
+        } catch (RuntimeException e) {
+            logger.error("Token refresh failed with unexpected error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Authentication Error", "Token refresh failed. Please try again."));
+        }
+    }
+
+    /**
+     * Build a 429 response telling the client when to retry.
+     */
+    private ResponseEntity<ErrorResponse> tooManyRequests(String errorType, PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(createErrorResponse(errorType, e.getMessage()));
+    }
+
     /**
      * Create a standardized error response.
      * 
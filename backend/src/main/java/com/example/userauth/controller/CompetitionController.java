@@ -2,31 +2,47 @@ package com.example.userauth.controller;
 
 import com.example.userauth.dto.CompetitionRequest;
 import com.example.userauth.dto.CompetitionResponse;
+import com.example.userauth.dto.CompetitionSummaryResponse;
+import com.example.userauth.dto.CursorPageResponse;
 import com.example.userauth.dto.EntryRequest;
 import com.example.userauth.dto.EntryStatusUpdateRequest;
 import com.example.userauth.dto.EntrySubmitResponse;
+import com.example.userauth.dto.ExportJobResponse;
+import com.example.userauth.dto.ListPageRequest;
 import com.example.userauth.entity.Competition;
-import com.example.userauth.entity.User;
-import com.example.userauth.repository.CompetitionRepository;
-import com.example.userauth.repository.UserRepository;
+import com.example.userauth.entity.ExportJob;
+import com.example.userauth.exception.ExportJobRejectedException;
+import com.example.userauth.security.AuthenticatedUser;
+import com.example.userauth.security.CurrentUser;
 import com.example.userauth.security.RequireAdmin;
 import com.example.userauth.service.CompetitionService;
+import com.example.userauth.service.ExportArchiveService;
+import com.example.userauth.service.ExportJobService;
 import com.example.userauth.service.RatingDataService;
+import com.example.userauth.service.ResourceVersionService;
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for competition management
@@ -45,29 +61,35 @@ public class CompetitionController {
     private RatingDataService ratingDataService;
     
     @Autowired
-    private UserRepository userRepository;
+    private ExportJobService exportJobService;
     
     @Autowired
-    private CompetitionRepository competitionRepository;
+    private ExportArchiveService exportArchiveService;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
     
     /**
      * Get all competitions
      * For admin: returns all competitions
      * For regular users: returns competitions where user is creator or judge
+     * With any of limit, cursor, status, creatorId or q: returns one page, newest first
      */
     @GetMapping
-    public ResponseEntity<List<CompetitionResponse>> getAllCompetitions() {
+    public ResponseEntity<?> getAllCompetitions(ListPageRequest page, @CurrentUser AuthenticatedUser currentUser) {
         logger.info("GET /api/competitions - Fetching competitions");
+        if (page.isPaged()) {
+            return getCompetitionPage("all", page, currentUser);
+        }
         
         try {
-            User currentUser = getCurrentUser();
             List<CompetitionResponse> competitions = competitionService.getAllCompetitions(
-                    currentUser.getId(), 
-                    currentUser.isAdmin()
+                    currentUser.id(), 
+                    currentUser.admin()
             );
             
             logger.info("Successfully retrieved {} competitions for user: {}", 
-                       competitions.size(), currentUser.getUsername());
+                       competitions.size(), currentUser.username());
             return ResponseEntity.ok(competitions);
         } catch (Exception e) {
             logger.error("Error fetching competitions", e);
@@ -79,15 +101,17 @@ public class CompetitionController {
      * Get competitions created by current user
      */
     @GetMapping("/created")
-    public ResponseEntity<List<CompetitionResponse>> getCreatedCompetitions() {
+    public ResponseEntity<?> getCreatedCompetitions(ListPageRequest page, @CurrentUser AuthenticatedUser currentUser) {
         logger.info("GET /api/competitions/created - Fetching competitions created by current user");
+        if (page.isPaged()) {
+            return getCompetitionPage("created", page, currentUser);
+        }
         
         try {
-            User currentUser = getCurrentUser();
-            List<CompetitionResponse> competitions = competitionService.getCompetitionsByCreator(currentUser.getId());
+            List<CompetitionResponse> competitions = competitionService.getCompetitionsByCreator(currentUser.id());
             
             logger.info("Successfully retrieved {} created competitions for user: {}", 
-                       competitions.size(), currentUser.getUsername());
+                       competitions.size(), currentUser.username());
             return ResponseEntity.ok(competitions);
         } catch (Exception e) {
             logger.error("Error fetching created competitions", e);
@@ -99,15 +123,17 @@ public class CompetitionController {
      * Get competitions where current user is a judge
      */
     @GetMapping("/judged")
-    public ResponseEntity<List<CompetitionResponse>> getJudgedCompetitions() {
+    public ResponseEntity<?> getJudgedCompetitions(ListPageRequest page, @CurrentUser AuthenticatedUser currentUser) {
         logger.info("GET /api/competitions/judged - Fetching competitions where current user is a judge");
+        if (page.isPaged()) {
+            return getCompetitionPage("judged", page, currentUser);
+        }
         
         try {
-            User currentUser = getCurrentUser();
-            List<CompetitionResponse> competitions = competitionService.getCompetitionsByJudge(currentUser.getId());
+            List<CompetitionResponse> competitions = competitionService.getCompetitionsByJudge(currentUser.id());
             
             logger.info("Successfully retrieved {} judged competitions for user: {}", 
-                       competitions.size(), currentUser.getUsername());
+                       competitions.size(), currentUser.username());
             return ResponseEntity.ok(competitions);
         } catch (Exception e) {
             logger.error("Error fetching judged competitions", e);
@@ -115,18 +141,67 @@ public class CompetitionController {
         }
     }
     
+    private ResponseEntity<?> getCompetitionPage(String scope, ListPageRequest page, AuthenticatedUser currentUser) {
+        try {
+            CursorPageResponse<CompetitionResponse> competitions = competitionService.getCompetitionPage(
+                    scope, currentUser.id(), page);
+            
+            logger.info("Successfully retrieved a page of {} {} competitions for user: {}", 
+                       competitions.getItems().size(), scope, currentUser.username());
+            return ResponseEntity.ok(competitions);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid competition page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching {} competition page", scope, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Get competitions for list screens, with entry, judge and rating counts instead of the
+     * judge and entry lists
+     * Endpoint: GET /api/competitions/summaries?scope=all|created|judged
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getCompetitionSummaries(@RequestParam(defaultValue = "all") String scope,
+                                                     @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("GET /api/competitions/summaries - Fetching {} competition summaries", scope);
+        
+        try {
+            List<CompetitionSummaryResponse> summaries = competitionService.getCompetitionSummaries(
+                    scope, currentUser.id());
+            
+            logger.info("Successfully retrieved {} competition summaries for user: {}", 
+                       summaries.size(), currentUser.username());
+            return ResponseEntity.ok(summaries);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid competition summary request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching competition summaries", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Get competition by id
+     * Answers 304 when If-None-Match carries the current ETag; ended competitions may be
+     * reused by clients without revalidating
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CompetitionResponse> getCompetitionById(@PathVariable Long id) {
+    public ResponseEntity<CompetitionResponse> getCompetitionById(@PathVariable Long id, WebRequest request) {
         logger.info("GET /api/competitions/{} - Fetching competition", id);
         
         try {
+            Optional<ResourceVersion> version = resourceVersionService.competitionVersion(id);
+            if (ConditionalGet.isNotModified(request, version)) {
+                return ConditionalGet.notModified(version);
+            }
             Optional<CompetitionResponse> competition = competitionService.getCompetitionById(id);
             if (competition.isPresent()) {
                 logger.info("Successfully retrieved competition with id: {}", id);
-                return ResponseEntity.ok(competition.get());
+                return ConditionalGet.ok(version).body(competition.get());
             } else {
                 logger.warn("Competition not found with id: {}", id);
                 return ResponseEntity.notFound().build();
@@ -143,12 +218,12 @@ public class CompetitionController {
      */
     @PostMapping
     @RequireAdmin(message = "只有管理员可以创建赛事")
-    public ResponseEntity<CompetitionResponse> createCompetition(@Valid @RequestBody CompetitionRequest request) {
+    public ResponseEntity<CompetitionResponse> createCompetition(@Valid @RequestBody CompetitionRequest request,
+                                                                 @CurrentUser AuthenticatedUser currentUser) {
         logger.info("POST /api/competitions - Creating new competition: {}", request.getName());
         
         try {
-            User currentUser = getCurrentUser();
-            CompetitionResponse response = competitionService.createCompetition(request, currentUser.getId());
+            CompetitionResponse response = competitionService.createCompetition(request, currentUser.id());
             
             logger.info("Successfully created competition with id: {}", response.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -167,12 +242,12 @@ public class CompetitionController {
      */
     @PutMapping("/{id}")
     public ResponseEntity<CompetitionResponse> updateCompetition(@PathVariable Long id, 
-                                                               @Valid @RequestBody CompetitionRequest request) {
+                                                               @Valid @RequestBody CompetitionRequest request,
+                                                               @CurrentUser AuthenticatedUser currentUser) {
         logger.info("PUT /api/competitions/{} - Updating competition", id);
         
         try {
-            User currentUser = getCurrentUser();
-            CompetitionResponse response = competitionService.updateCompetition(id, request, currentUser.getId());
+            CompetitionResponse response = competitionService.updateCompetition(id, request, currentUser.id());
             
             logger.info("Successfully updated competition with id: {}", id);
             return ResponseEntity.ok(response);
@@ -190,12 +265,11 @@ public class CompetitionController {
      * Only competition creator can delete
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCompetition(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteCompetition(@PathVariable Long id, @CurrentUser AuthenticatedUser currentUser) {
         logger.info("DELETE /api/competitions/{} - Soft deleting competition", id);
 
         try {
-            User currentUser = getCurrentUser();
-            competitionService.softDeleteCompetition(id, currentUser.getId());
+            competitionService.softDeleteCompetition(id, currentUser.id());
 
             logger.info("Successfully soft deleted competition with id: {}", id);
             return ResponseEntity.noContent().build();
@@ -235,12 +309,12 @@ public class CompetitionController {
      * Only competition creator can remove judges
      */
     @DeleteMapping("/{id}/judges/{judgeId}")
-    public ResponseEntity<Void> removeJudge(@PathVariable Long id, @PathVariable Long judgeId) {
+    public ResponseEntity<Void> removeJudge(@PathVariable Long id, @PathVariable Long judgeId,
+                                            @CurrentUser AuthenticatedUser currentUser) {
         logger.info("DELETE /api/competitions/{}/judges/{} - Removing judge from competition", id, judgeId);
         
         try {
-            User currentUser = getCurrentUser();
-            competitionService.removeJudgeFromCompetition(id, judgeId, currentUser.getId());
+            competitionService.removeJudgeFromCompetition(id, judgeId, currentUser.id());
             
             logger.info("Successfully removed judge {} from competition {}", judgeId, id);
             return ResponseEntity.noContent().build();
@@ -261,12 +335,12 @@ public class CompetitionController {
     @RequireAdmin(message = "只有管理员可以添加参赛作品")
     public ResponseEntity<List<Long>> addEntries(@PathVariable Long id,
                                                @RequestPart("entries") List<EntryRequest> entryRequests,
-                                               @RequestPart(value = "files", required = false) List<MultipartFile> files) {
+                                               @RequestPart(value = "files", required = false) List<MultipartFile> files,
+                                               @CurrentUser AuthenticatedUser currentUser) {
         logger.info("POST /api/competitions/{}/entries - Adding {} entries to competition", id, entryRequests.size());
         
         try {
-            User currentUser = getCurrentUser();
-            List<Long> entryIds = competitionService.addEntriesToCompetition(id, entryRequests, files, currentUser.getId());
+            List<Long> entryIds = competitionService.addEntriesToCompetition(id, entryRequests, files, currentUser.id());
             
             logger.info("Successfully added {} entries to competition {}", entryIds.size(), id);
             return ResponseEntity.status(HttpStatus.CREATED).body(entryIds);
@@ -286,13 +360,13 @@ public class CompetitionController {
     @PostMapping("/{id}/submit")
     public ResponseEntity<?> submitEntry(@PathVariable Long id,
                                         @RequestPart("entry") @Valid EntryRequest request,
-                                        @RequestPart(value = "file", required = false) MultipartFile file) {
+                                        @RequestPart(value = "file", required = false) MultipartFile file,
+                                        @CurrentUser AuthenticatedUser currentUser) {
         logger.info("POST /api/competitions/{}/submit - User submitting entry: {}, file: {}", 
             id, request.getEntryName(), file != null ? file.getOriginalFilename() : "null");
         
         try {
-            User currentUser = getCurrentUser();
-            Long entryId = competitionService.submitEntryToCompetition(id, request, file, currentUser.getId());
+            Long entryId = competitionService.submitEntryToCompetition(id, request, file, currentUser.id());
             
             logger.info("Successfully submitted entry {} to competition {}", entryId, id);
             return ResponseEntity.status(HttpStatus.CREATED).body(new EntrySubmitResponse(entryId, "参赛作品提交成功"));
@@ -308,12 +382,16 @@ public class CompetitionController {
     
     /**
      * Get all entries for a competition (for review)
+     * With any of limit, cursor, status or q: returns one page in display order
      * Requires admin privileges
      */
     @GetMapping("/{id}/entries")
     @RequireAdmin(message = "只有管理员可以查看参赛作品列表")
-    public ResponseEntity<List<CompetitionResponse.EntryResponse>> getCompetitionEntries(@PathVariable Long id) {
+    public ResponseEntity<?> getCompetitionEntries(@PathVariable Long id, ListPageRequest page) {
         logger.info("GET /api/competitions/{}/entries - Fetching entries for competition", id);
+        if (page.isPaged()) {
+            return getCompetitionEntryPage(id, page);
+        }
         
         try {
             List<CompetitionResponse.EntryResponse> entries = competitionService.getCompetitionEntries(id);
@@ -328,6 +406,26 @@ public class CompetitionController {
         }
     }
     
+    private ResponseEntity<?> getCompetitionEntryPage(Long id, ListPageRequest page) {
+        try {
+            Optional<CursorPageResponse<CompetitionResponse.EntryResponse>> entries =
+                    competitionService.getCompetitionEntryPage(id, page);
+            if (entries.isEmpty()) {
+                logger.warn("Competition not found: {}", id);
+                return ResponseEntity.notFound().build();
+            }
+            logger.info("Successfully retrieved a page of {} entries for competition {}",
+                       entries.get().getItems().size(), id);
+            return ResponseEntity.ok(entries.get());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid entry page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching entry page for competition {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Update entry status (approve/reject)
      * Requires admin privileges
@@ -357,12 +455,12 @@ public class CompetitionController {
     @DeleteMapping("/{competitionId}/entries/{entryId}")
     public ResponseEntity<Void> deleteEntry(
             @PathVariable Long competitionId,
-            @PathVariable Long entryId) {
+            @PathVariable Long entryId,
+            @CurrentUser AuthenticatedUser currentUser) {
         logger.info("DELETE /api/competitions/{}/entries/{} - Deleting entry", competitionId, entryId);
 
         try {
-            User currentUser = getCurrentUser();
-            competitionService.deleteEntry(entryId, currentUser.getId(), currentUser.isAdmin());
+            competitionService.deleteEntry(entryId, currentUser.id(), currentUser.admin());
             logger.info("Successfully deleted entry {}", entryId);
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
@@ -379,13 +477,13 @@ public class CompetitionController {
             @PathVariable Long competitionId,
             @PathVariable Long entryId,
             @RequestPart("entry") @Valid EntryRequest request,
-            @RequestPart(value = "file", required = false) MultipartFile file) {
+            @RequestPart(value = "file", required = false) MultipartFile file,
+            @CurrentUser AuthenticatedUser currentUser) {
         logger.info("PUT /api/competitions/{}/entries/{} - Updating entry: {}",
             competitionId, entryId, request.getEntryName());
 
         try {
-            User currentUser = getCurrentUser();
-            competitionService.updateEntry(entryId, request, file, currentUser.getId(), currentUser.isAdmin());
+            competitionService.updateEntry(entryId, request, file, currentUser.id(), currentUser.admin());
             logger.info("Successfully updated entry {}", entryId);
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
@@ -401,35 +499,56 @@ public class CompetitionController {
     /**
      * Export competition rating data as CSV
      * Only competition creator (admin) can export
+     * The file is streamed while it is generated, gzip-compressed when the client accepts it;
+     * error responses carry only the status since the body type is the stream
      * Endpoint: GET /api/competitions/{id}/export
      */
     @GetMapping("/{id}/export")
-    public ResponseEntity<?> exportCompetitionData(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> exportCompetitionData(@PathVariable Long id,
+                                                                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                       @CurrentUser AuthenticatedUser currentUser) {
         logger.info("GET /api/competitions/{}/export - Exporting competition rating data as CSV", id);
         
         try {
-            User currentUser = getCurrentUser();
-            
             // Check if user has permission to export (admin only)
-            if (!ratingDataService.canExportRatingData(id, currentUser.getId())) {
+            if (!ratingDataService.canExportRatingData(id, currentUser.id())) {
                 logger.warn("User {} does not have permission to export data for competition {}", 
-                           currentUser.getUsername(), id);
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(createErrorResponse("只有管理员可以导出评分数据"));
+                           currentUser.username(), id);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
             
-            String csvData = ratingDataService.generateCompetitionCSV(id);
+            boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
             
             // Set response headers for CSV download
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType("text/csv; charset=UTF-8"));
             headers.setContentDispositionFormData("attachment", "competition_" + id + "_ratings.csv");
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
             
-            logger.info("Successfully generated CSV export for competition {} by user {}", 
-                       id, currentUser.getUsername());
+            // Runs after this method returns, on the MVC async executor; the response is already
+            // committed by then, so failures can only be logged
+            StreamingResponseBody body = out -> {
+                try {
+                    if (gzip) {
+                        GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                        ratingDataService.writeCompetitionCsv(id, gzipOut);
+                        gzipOut.finish();
+                    } else {
+                        ratingDataService.writeCompetitionCsv(id, out);
+                    }
+                    logger.info("Successfully streamed CSV export for competition {} by user {}", 
+                               id, currentUser.username());
+                } catch (Exception e) {
+                    logger.error("Error streaming CSV export for competition {}", id, e);
+                    throw e;
+                }
+            };
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(csvData);
+                    .body(body);
             
         } catch (IllegalArgumentException e) {
             logger.warn("Competition not found for export: {}", e.getMessage());
@@ -437,25 +556,183 @@ public class CompetitionController {
             
         } catch (Exception e) {
             logger.error("Error exporting competition data for competition {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Export several competitions as one ZIP archive of CSVs plus a manifest
+     * Either ids=1,2,3 or endedFrom/endedTo (yyyy-MM-dd) for the caller's ended competitions
+     * Endpoint: GET /api/competitions/export/archive
+     */
+    @GetMapping("/export/archive")
+    public ResponseEntity<StreamingResponseBody> exportCompetitionArchive(
+            @RequestParam(value = "ids", required = false) List<Long> ids,
+            @RequestParam(value = "endedFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endedFrom,
+            @RequestParam(value = "endedTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endedTo,
+            @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("GET /api/competitions/export/archive - Exporting competition archive");
+        
+        try {
+            List<Competition> competitions = exportArchiveService.resolveCompetitions(
+                    ids, endedFrom, endedTo, currentUser.id());
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDispositionFormData("attachment", "competitions_ratings.zip");
+            
+            StreamingResponseBody body = out -> {
+                try {
+                    exportArchiveService.writeArchive(competitions, out);
+                    logger.info("Successfully streamed archive of {} competitions for user {}", 
+                               competitions.size(), currentUser.username());
+                } catch (Exception e) {
+                    logger.error("Error streaming competition archive", e);
+                    throw e;
+                }
+            };
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(body);
+            
+        } catch (AccessDeniedException e) {
+            logger.warn("User {} may not export the requested competitions", currentUser.username());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid archive export request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (Exception e) {
+            logger.error("Error exporting competition archive", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Start a background CSV export, or join the one already running for the same data
+     * Only competition creator (admin) can export
+     * Endpoint: POST /api/competitions/{id}/exports
+     */
+    @PostMapping("/{id}/exports")
+    public ResponseEntity<?> startExportJob(@PathVariable Long id, @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("POST /api/competitions/{}/exports - Starting export job", id);
+        
+        try {
+            if (!ratingDataService.canExportRatingData(id, currentUser.id())) {
+                logger.warn("User {} does not have permission to export data for competition {}", 
+                           currentUser.username(), id);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(createErrorResponse("只有管理员可以导出评分数据"));
+            }
+            
+            ExportJob job = exportJobService.startExport(id, currentUser.id());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create(exportJobUrl(job)))
+                    .body(toExportJobResponse(job));
+            
+        } catch (ExportJobRejectedException e) {
+            logger.warn("Export job rejected for competition {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(createErrorResponse(e.getMessage()));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Competition not found for export: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            logger.error("Error starting export job for competition {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("导出数据失败，请稍后重试"));
         }
     }
     
     /**
-     * Get current authenticated user
+     * Get the status and progress of an export job
+     * Endpoint: GET /api/competitions/{id}/exports/{jobId}
      */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found: " + username));
+    @GetMapping("/{id}/exports/{jobId}")
+    public ResponseEntity<?> getExportJob(@PathVariable Long id, @PathVariable Long jobId,
+                                          @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            if (!ratingDataService.canExportRatingData(id, currentUser.id())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(createErrorResponse("只有管理员可以导出评分数据"));
+            }
+            
+            Optional<ExportJob> job = exportJobService.findJob(id, jobId);
+            if (job.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(toExportJobResponse(job.get()));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            logger.error("Error fetching export job {} for competition {}", jobId, id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
     
     /**
-     * Create error response object
+     * Download the file of a completed export job
+     * Supports Range requests so interrupted downloads can resume
+     * Endpoint: GET /api/competitions/{id}/exports/{jobId}/file
      */
+    @GetMapping("/{id}/exports/{jobId}/file")
+    public ResponseEntity<?> downloadExportFile(@PathVariable Long id, @PathVariable Long jobId,
+                                                @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            if (!ratingDataService.canExportRatingData(id, currentUser.id())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(createErrorResponse("只有管理员可以导出评分数据"));
+            }
+            
+            Optional<ExportJob> job = exportJobService.findJob(id, jobId);
+            if (job.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (job.get().getStatus() != ExportJob.ExportStatus.COMPLETED) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(createErrorResponse("导出尚未完成"));
+            }
+            Optional<Path> file = exportJobService.findArtifact(job.get());
+            if (file.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.GONE)
+                        .body(createErrorResponse("导出文件已过期，请重新导出"));
+            }
+            
+            // Spring answers a Range request on a Resource body with 206 Partial Content
+            // and advertises Accept-Ranges itself
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"competition_" + id + "_ratings.csv\"")
+                    .eTag("\"export-" + jobId + "-" + job.get().getDataVersion() + "\"")
+                    .body(new FileSystemResource(file.get()));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            logger.error("Error serving export job {} for competition {}", jobId, id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    private ExportJobResponse toExportJobResponse(ExportJob job) {
+        String downloadUrl = job.getStatus() == ExportJob.ExportStatus.COMPLETED
+                ? exportJobUrl(job) + "/file" : null;
+        return new ExportJobResponse(job.getId(), job.getCompetitionId(), job.getStatus().name(),
+                job.getRowsWritten(), job.getTotalRows(), job.getFileSize(), downloadUrl,
+                job.getErrorMessage(), job.getCreatedAt(), job.getCompletedAt());
+    }
+    
+    private static String exportJobUrl(ExportJob job) {
+        return "/api/competitions/" + job.getCompetitionId() + "/exports/" + job.getId();
+    }
     
     /**
      * Create error response object
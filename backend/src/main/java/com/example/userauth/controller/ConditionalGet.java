@@ -0,0 +1,53 @@
+package com.example.userauth.controller;
+
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+
+/**
+ * ETag and Cache-Control handling for GET endpoints backed by a {@link ResourceVersion}.
+ * The version is checked before the response is built, so a matching If-None-Match costs
+ * only the version lookup.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Whether the client's copy, named by If-None-Match, is still current.
+     */
+    static boolean isNotModified(WebRequest request, Optional<ResourceVersion> version) {
+        return version.isPresent() && request.checkNotModified(version.get().eTag());
+    }
+
+    /**
+     * 304 response carrying the same validators as the full one would.
+     */
+    static <T> ResponseEntity<T> notModified(Optional<ResourceVersion> version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(version.orElseThrow().eTag())
+                .cacheControl(cacheControl(version.get()))
+                .build();
+    }
+
+    /**
+     * 200 response builder with the version's validators, if there is a version.
+     */
+    static ResponseEntity.BodyBuilder ok(Optional<ResourceVersion> version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        version.ifPresent(v -> builder.eTag(v.eTag()).cacheControl(cacheControl(v)));
+        return builder;
+    }
+
+    // Responses depend on the caller being signed in, so only the client may store them
+    private static CacheControl cacheControl(ResourceVersion version) {
+        return version.maxAge().isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(version.maxAge()).cachePrivate();
+    }
+}
@@ -4,6 +4,8 @@ import com.example.userauth.dto.ModelRequest;
 import com.example.userauth.dto.ModelResponse;
 import com.example.userauth.security.RequireAdmin;
 import com.example.userauth.service.EvaluationModelService;
+import com.example.userauth.service.ResourceVersionService;
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,18 +31,26 @@ public class EvaluationModelController {
     @Autowired
     private EvaluationModelService evaluationModelService;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     /**
      * Get all evaluation models
      * Accessible to all authenticated users
+     * Answers 304 when If-None-Match carries the current ETag
      */
     @GetMapping
-    public ResponseEntity<List<ModelResponse>> getAllModels() {
+    public ResponseEntity<List<ModelResponse>> getAllModels(WebRequest request) {
         logger.info("GET /api/evaluation-models - Fetching all evaluation models");
         
         try {
+            Optional<ResourceVersion> version = resourceVersionService.modelsVersion();
+            if (ConditionalGet.isNotModified(request, version)) {
+                return ConditionalGet.notModified(version);
+            }
             List<ModelResponse> models = evaluationModelService.getAllModels();
             logger.info("Successfully retrieved {} evaluation models", models.size());
-            return ResponseEntity.ok(models);
+            return ConditionalGet.ok(version).body(models);
         } catch (Exception e) {
             logger.error("Error fetching evaluation models", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -49,16 +60,21 @@ public class EvaluationModelController {
     /**
      * Get evaluation model by id
      * Accessible to all authenticated users
+     * Answers 304 when If-None-Match carries the current ETag
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ModelResponse> getModelById(@PathVariable Long id) {
+    public ResponseEntity<ModelResponse> getModelById(@PathVariable Long id, WebRequest request) {
         logger.info("GET /api/evaluation-models/{} - Fetching evaluation model", id);
         
         try {
+            Optional<ResourceVersion> version = resourceVersionService.modelsVersion();
+            if (ConditionalGet.isNotModified(request, version)) {
+                return ConditionalGet.notModified(version);
+            }
             Optional<ModelResponse> model = evaluationModelService.getModelById(id);
             if (model.isPresent()) {
                 logger.info("Successfully retrieved evaluation model with id: {}", id);
-                return ResponseEntity.ok(model.get());
+                return ConditionalGet.ok(version).body(model.get());
             } else {
                 logger.warn("Evaluation model not found with id: {}", id);
                 return ResponseEntity.notFound().build();
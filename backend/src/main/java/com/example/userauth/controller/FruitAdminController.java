@@ -13,6 +13,7 @@ import com.example.userauth.repository.NutritionDataRepository;
 import com.example.userauth.repository.FlavorDataRepository;
 import com.example.userauth.repository.FruitFileRepository;
 import com.example.userauth.security.RequireAdmin;
+import com.example.userauth.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +47,9 @@ public class FruitAdminController {
     @Autowired
     private FruitFileRepository fruitFileRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @GetMapping
     public ResponseEntity<List<FruitResponse>> getAllFruits() {
         logger.info("GET /api/admin/fruits - Fetching all fruits");
@@ -80,6 +84,7 @@ public class FruitAdminController {
         }
 
         Fruit saved = fruitRepository.save(fruit);
+        resourceVersionService.fruitDataChanged();
         logger.info("Successfully created fruit with id: {}", saved.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(convertToResponse(saved));
     }
@@ -110,6 +115,7 @@ public class FruitAdminController {
         }
 
         Fruit saved = fruitRepository.save(fruit);
+        resourceVersionService.fruitDataChanged();
         logger.info("Successfully updated fruit: {}", saved.getId());
         return ResponseEntity.ok(convertToResponse(saved));
     }
@@ -123,6 +129,7 @@ public class FruitAdminController {
         }
 
         fruitRepository.deleteById(id);
+        resourceVersionService.fruitDataChanged();
         logger.info("Successfully deleted fruit: {}", id);
         return ResponseEntity.noContent().build();
     }
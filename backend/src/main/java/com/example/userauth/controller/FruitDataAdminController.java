@@ -8,6 +8,7 @@ import com.example.userauth.repository.FruitDataFieldRepository;
 import com.example.userauth.repository.FruitDataRepository;
 import com.example.userauth.repository.FruitRepository;
 import com.example.userauth.security.RequireAdmin;
+import com.example.userauth.service.ResourceVersionService;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -41,6 +42,9 @@ public class FruitDataAdminController {
     @Autowired
     private FruitDataFieldRepository fieldRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     // ==================== 数据类型管理 ====================
 
     /**
@@ -89,6 +93,7 @@ public class FruitDataAdminController {
         field.setIsActive(true);
 
         FruitDataField saved = fieldRepository.save(field);
+        resourceVersionService.fruitDataChanged();
 
         Map<String, Object> result = new HashMap<>();
         result.put("dataType", dataType);
@@ -122,6 +127,7 @@ public class FruitDataAdminController {
                 fieldRepository.deleteAll(fields);
                 logger.info("Deleted {} field definitions for type: {}", fields.size(), dataType);
             }
+            resourceVersionService.fruitDataChanged();
 
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
@@ -194,6 +200,7 @@ public class FruitDataAdminController {
             }
 
             FruitData saved = fruitDataRepository.save(fruitData);
+            resourceVersionService.fruitDataChanged();
 
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
@@ -233,6 +240,7 @@ public class FruitDataAdminController {
                     fruitData.setDataValues(values);
                     fruitDataRepository.save(fruitData);
                 }
+                resourceVersionService.fruitDataChanged();
 
                 return ResponseEntity.ok(createSuccess("字段 '" + fieldName + "' 已删除"));
             } else {
@@ -262,6 +270,7 @@ public class FruitDataAdminController {
             if (!dataList.isEmpty()) {
                 fruitDataRepository.deleteAll(dataList);
                 logger.info("Deleted {} records for table: {}-{}", dataList.size(), fruitName, dataType);
+                resourceVersionService.fruitDataChanged();
 
                 return ResponseEntity.ok(createSuccess("表格 '" + fruitName + " - " + dataType + "' 已删除"));
             } else {
@@ -311,6 +320,7 @@ public class FruitDataAdminController {
         field.setDisplayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : 0);
 
         FruitDataField saved = fieldRepository.save(field);
+        resourceVersionService.fruitDataChanged();
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
@@ -321,6 +331,7 @@ public class FruitDataAdminController {
             return ResponseEntity.notFound().build();
         }
         fieldRepository.deleteById(id);
+        resourceVersionService.fruitDataChanged();
         return ResponseEntity.noContent().build();
     }
 
@@ -389,10 +400,13 @@ public class FruitDataAdminController {
             result.put("success", true);
             result.put("imported", imported);
             result.put("total", csvData.size());
+            resourceVersionService.fruitDataChanged();
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             logger.error("Failed to import CSV", e);
+            // Rows saved before the failure are already visible
+            resourceVersionService.fruitDataChanged();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createError("文件解析失败: " + e.getMessage()));
         }
@@ -463,10 +477,12 @@ public class FruitDataAdminController {
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
             result.put("imported", imported);
+            resourceVersionService.fruitDataChanged();
 
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             logger.error("Failed to batch import CSV", e);
+            resourceVersionService.fruitDataChanged();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createError("文件解析失败: " + e.getMessage()));
         }
@@ -6,9 +6,12 @@ import com.example.userauth.entity.FruitDataField;
 import com.example.userauth.repository.FruitDataFieldRepository;
 import com.example.userauth.repository.FruitDataRepository;
 import com.example.userauth.repository.FruitRepository;
+import com.example.userauth.service.ResourceVersionService;
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -27,28 +30,46 @@ public class FruitDataController {
     @Autowired
     private FruitDataFieldRepository fieldRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    // Every read answers 304 when If-None-Match carries the current fruit data ETag
+
     @GetMapping("/fruits")
-    public ResponseEntity<List<FruitOption>> getFruits() {
+    public ResponseEntity<List<FruitOption>> getFruits(WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.fruitDataVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
         List<Fruit> fruits = fruitRepository.findAll();
         List<FruitOption> options = fruits.stream()
                 .map(f -> new FruitOption(f.getId(), f.getName()))
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(options);
+        return ConditionalGet.ok(version).body(options);
     }
 
     @GetMapping("/fields/{dataType}")
-    public ResponseEntity<List<FieldOption>> getFields(@PathVariable String dataType) {
+    public ResponseEntity<List<FieldOption>> getFields(@PathVariable String dataType, WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.fruitDataVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
         List<FruitDataField> fields = fieldRepository.findByFieldTypeAndIsActiveTrueOrderByDisplayOrder(dataType);
         List<FieldOption> options = fields.stream()
                 .map(f -> new FieldOption(f.getId(), f.getFieldName(), f.getFieldUnit()))
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(options);
+        return ConditionalGet.ok(version).body(options);
     }
 
     @GetMapping("/query")
     public ResponseEntity<FruitDataResponse> query(
             @RequestParam String fruit,
-            @RequestParam String dataType) {
+            @RequestParam String dataType,
+            WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.fruitDataVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
         Optional<Fruit> fruitOpt = fruitRepository.findByName(fruit);
         if (fruitOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -67,11 +88,15 @@ public class FruitDataController {
             response.setData(new HashMap<>());
         }
 
-        return ResponseEntity.ok(response);
+        return ConditionalGet.ok(version).body(response);
     }
 
     @GetMapping("/all/{dataType}")
-    public ResponseEntity<List<FruitDataResponse>> getAllData(@PathVariable String dataType) {
+    public ResponseEntity<List<FruitDataResponse>> getAllData(@PathVariable String dataType, WebRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.fruitDataVersion();
+        if (ConditionalGet.isNotModified(request, version)) {
+            return ConditionalGet.notModified(version);
+        }
         List<Fruit> fruits = fruitRepository.findAll();
         List<FruitDataResponse> results = new ArrayList<>();
 
@@ -91,7 +116,7 @@ public class FruitDataController {
             results.add(response);
         }
 
-        return ResponseEntity.ok(results);
+        return ConditionalGet.ok(version).body(results);
     }
 
     public static class FruitOption {
@@ -1,23 +1,37 @@
 package com.example.userauth.controller;
 
+import com.example.userauth.dto.BatchRatingRequest;
+import com.example.userauth.dto.BatchRatingResponse;
 import com.example.userauth.dto.CompetitionRatingDataResponse;
+import com.example.userauth.dto.CompletionMatrixResponse;
+import com.example.userauth.dto.LeaderboardResponse;
 import com.example.userauth.dto.RatingRequest;
 import com.example.userauth.dto.RatingResponse;
-import com.example.userauth.entity.User;
-import com.example.userauth.repository.UserRepository;
+import com.example.userauth.exception.RatingIngestionRejectedException;
+import com.example.userauth.exception.ScoreStreamRejectedException;
+import com.example.userauth.service.LeaderboardService;
 import com.example.userauth.service.RatingDataService;
+import com.example.userauth.service.RatingIngestionService;
 import com.example.userauth.service.RatingService;
+import com.example.userauth.service.ResourceVersionService;
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
+import com.example.userauth.service.ScoreStreamService;
+import com.example.userauth.security.AuthenticatedUser;
+import com.example.userauth.security.CurrentUser;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST Controller for rating management
@@ -36,25 +50,42 @@ public class RatingController {
     private RatingDataService ratingDataService;
     
     @Autowired
-    private UserRepository userRepository;
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private ScoreStreamService scoreStreamService;
+    
+    @Autowired
+    private RatingIngestionService ratingIngestionService;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
     
     /**
      * Submit or update ratings for a competition entry
      * Only judges can submit ratings
      */
     @PostMapping
-    public ResponseEntity<?> submitRating(@Valid @RequestBody RatingRequest request) {
+    public ResponseEntity<?> submitRating(@Valid @RequestBody RatingRequest request,
+                                          @CurrentUser AuthenticatedUser currentUser) {
         logger.info("POST /api/ratings - Submitting rating for competition {} entry {}", 
                    request.getCompetitionId(), request.getEntryId());
         
         try {
-            User currentUser = getCurrentUser();
-            RatingResponse response = ratingService.submitRating(request, currentUser.getId());
+            RatingResponse response = ratingIngestionService.isEnabled()
+                    ? ratingIngestionService.submitRating(request, currentUser)
+                    : ratingService.submitRating(request, currentUser);
             
             logger.info("Successfully submitted rating for competition {} entry {} by judge {}", 
-                       request.getCompetitionId(), request.getEntryId(), currentUser.getUsername());
+                       request.getCompetitionId(), request.getEntryId(), currentUser.username());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (RatingIngestionRejectedException e) {
+            logger.warn("Rating submission rejected for competition {}: {}", request.getCompetitionId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(createErrorResponse("评分提交繁忙，请稍后重试"));
+            
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid rating request: {}", e.getMessage());
             return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
@@ -71,6 +102,55 @@ public class RatingController {
         }
     }
     
+    /**
+     * Submit ratings for several entries of a competition at once
+     * Items that fail validation are reported in the response while the others are saved;
+     * a retried batch with the same idempotency keys does not write the saved items again
+     * Endpoint: POST /api/ratings/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> submitRatings(@Valid @RequestBody BatchRatingRequest request,
+                                           @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("POST /api/ratings/batch - Submitting {} ratings for competition {}",
+                   request.getItems().size(), request.getCompetitionId());
+        
+        try {
+            BatchRatingResponse response = ratingIngestionService.isEnabled()
+                    ? ratingIngestionService.submitRatings(request, currentUser)
+                    : ratingService.submitRatings(request, currentUser);
+            
+            logger.info("Batch rating for competition {} by judge {}: {} submitted, {} already submitted, {} rejected",
+                       request.getCompetitionId(), currentUser.username(), response.getSubmitted(),
+                       response.getAlreadySubmitted(), response.getRejected());
+            return ResponseEntity.ok(response);
+            
+        } catch (RatingIngestionRejectedException e) {
+            logger.warn("Batch rating submission rejected for competition {}: {}", request.getCompetitionId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(createErrorResponse("评分提交繁忙，请稍后重试"));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch rating request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            
+        } catch (IllegalStateException e) {
+            logger.warn("Batch rating submission not allowed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Concurrent batch rating submission for competition {} by judge {}",
+                       request.getCompetitionId(), currentUser.username());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse("该批评分正在提交中，请稍后重试"));
+            
+        } catch (Exception e) {
+            logger.error("Error submitting batch ratings for competition {}", request.getCompetitionId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("评分提交失败，请稍后重试"));
+        }
+    }
+    
     /**
      * Get all ratings for a specific competition entry
      * Accessible to competition creator, judges, and admin
@@ -126,15 +206,18 @@ public class RatingController {
      * Only accessible to the judge themselves
      */
     @GetMapping("/competition/{competitionId}/my-ratings")
-    public ResponseEntity<?> getMyRatings(@PathVariable Long competitionId) {
+    public ResponseEntity<?> getMyRatings(@PathVariable Long competitionId,
+                                          @CurrentUser AuthenticatedUser currentUser) {
         logger.info("GET /api/ratings/competition/{}/my-ratings - Fetching current user's ratings", competitionId);
         
         try {
-            User currentUser = getCurrentUser();
-            List<RatingResponse> ratings = ratingService.getRatingsByJudge(competitionId, currentUser.getId());
+            List<RatingResponse> ratings = ratingService.getRatingsByJudge(competitionId, currentUser.id());
+            if (ratingIngestionService.isEnabled()) {
+                ratings = ratingIngestionService.withPendingRatings(competitionId, currentUser, ratings);
+            }
             
             logger.info("Successfully retrieved {} ratings for competition {} by judge {}", 
-                       ratings.size(), competitionId, currentUser.getUsername());
+                       ratings.size(), competitionId, currentUser.username());
             return ResponseEntity.ok(ratings);
             
         } catch (IllegalArgumentException e) {
@@ -152,15 +235,17 @@ public class RatingController {
      * Check if current user (judge) has completed rating for a specific entry
      */
     @GetMapping("/entry/{entryId}/completion-status")
-    public ResponseEntity<?> getRatingCompletionStatus(@PathVariable Long entryId) {
+    public ResponseEntity<?> getRatingCompletionStatus(@PathVariable Long entryId,
+                                                       @CurrentUser AuthenticatedUser currentUser) {
         logger.info("GET /api/ratings/entry/{}/completion-status - Checking rating completion status", entryId);
         
         try {
-            User currentUser = getCurrentUser();
-            boolean isCompleted = ratingService.hasJudgeCompletedRating(entryId, currentUser.getId());
+            boolean isCompleted = (ratingIngestionService.isEnabled()
+                    && ratingIngestionService.hasPendingRating(entryId, currentUser.id()))
+                    || ratingService.hasJudgeCompletedRating(entryId, currentUser.id());
             
             logger.info("Rating completion status for entry {} by judge {}: {}", 
-                       entryId, currentUser.getUsername(), isCompleted);
+                       entryId, currentUser.username(), isCompleted);
             return ResponseEntity.ok(new RatingCompletionResponse(isCompleted));
             
         } catch (IllegalArgumentException e) {
@@ -174,31 +259,66 @@ public class RatingController {
         }
     }
     
+    /**
+     * Get which judge has completed which entry of a competition, with progress percentages
+     * Replaces one completion-status request per entry; same access rules as the aggregated rating data
+     * Endpoint: GET /api/ratings/{competitionId}/completion
+     */
+    @GetMapping("/{competitionId}/completion")
+    public ResponseEntity<?> getCompletionMatrix(@PathVariable Long competitionId,
+                                                 @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("GET /api/ratings/{}/completion - Fetching rating completion matrix", competitionId);
+        
+        try {
+            if (!ratingDataService.canViewRatingData(competitionId, currentUser.id())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(createErrorResponse("您没有权限查看该赛事的评分数据"));
+            }
+            
+            CompletionMatrixResponse matrix = ratingService.getCompletionMatrix(competitionId);
+            return ResponseEntity.ok(matrix);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Competition not found: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            logger.error("Error fetching completion matrix for competition {}", competitionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("获取评分进度失败，请稍后重试"));
+        }
+    }
+    
     /**
      * Get aggregated rating data for a competition (with averages and statistics)
      * Accessible to competition creator, judges, and all users if competition has ended
      * Endpoint: GET /api/ratings/{competitionId}
+     * Answers 304 when If-None-Match carries the current ETag; checked after the permission check
      */
     @GetMapping("/{competitionId}")
-    public ResponseEntity<?> getCompetitionRatingData(@PathVariable Long competitionId) {
+    public ResponseEntity<?> getCompetitionRatingData(@PathVariable Long competitionId,
+                                                      @CurrentUser AuthenticatedUser currentUser,
+                                                      WebRequest request) {
         logger.info("GET /api/ratings/{} - Fetching aggregated rating data for competition", competitionId);
         
         try {
-            User currentUser = getCurrentUser();
-            
             // Check if user has permission to view rating data
-            if (!ratingDataService.canViewRatingData(competitionId, currentUser.getId())) {
+            if (!ratingDataService.canViewRatingData(competitionId, currentUser.id())) {
                 logger.warn("User {} does not have permission to view rating data for competition {}", 
-                           currentUser.getUsername(), competitionId);
+                           currentUser.username(), competitionId);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(createErrorResponse("您没有权限查看该赛事的评分数据"));
             }
             
+            Optional<ResourceVersion> version = resourceVersionService.ratingDataVersion(competitionId);
+            if (ConditionalGet.isNotModified(request, version)) {
+                return ConditionalGet.notModified(version);
+            }
             CompetitionRatingDataResponse ratingData = ratingDataService.getCompetitionRatingData(competitionId);
             
             logger.info("Successfully retrieved aggregated rating data for competition {} with {} entries", 
                        competitionId, ratingData.getEntries().size());
-            return ResponseEntity.ok(ratingData);
+            return ConditionalGet.ok(version).body(ratingData);
             
         } catch (IllegalArgumentException e) {
             logger.warn("Competition not found: {}", e.getMessage());
@@ -212,14 +332,133 @@ public class RatingController {
     }
     
     /**
-     * Get current authenticated user
+     * Get the highest ranked entries of a competition
+     * Same access rules as the aggregated rating data
+     * Endpoint: GET /api/ratings/{competitionId}/leaderboard?limit=20
      */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
+    @GetMapping("/{competitionId}/leaderboard")
+    public ResponseEntity<?> getLeaderboardTop(@PathVariable Long competitionId,
+                                               @RequestParam(defaultValue = "20") int limit,
+                                               @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("GET /api/ratings/{}/leaderboard - Fetching top {} entries", competitionId, limit);
         
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found: " + username));
+        try {
+            if (!ratingDataService.canViewRatingData(competitionId, currentUser.id())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(createErrorResponse("您没有权限查看该赛事的评分数据"));
+            }
+            
+            LeaderboardResponse leaderboard = leaderboardService.getTop(competitionId, limit);
+            return ResponseEntity.ok(leaderboard);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid leaderboard request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            
+        } catch (Exception e) {
+            logger.error("Error fetching leaderboard for competition {}", competitionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("获取排行榜失败，请稍后重试"));
+        }
+    }
+    
+    /**
+     * Get one page of a competition leaderboard
+     * Endpoint: GET /api/ratings/{competitionId}/leaderboard/page?page=0&size=20
+     */
+    @GetMapping("/{competitionId}/leaderboard/page")
+    public ResponseEntity<?> getLeaderboardPage(@PathVariable Long competitionId,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("GET /api/ratings/{}/leaderboard/page - Fetching page {} (size {})", competitionId, page, size);
+        
+        try {
+            if (!ratingDataService.canViewRatingData(competitionId, currentUser.id())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(createErrorResponse("您没有权限查看该赛事的评分数据"));
+            }
+            
+            LeaderboardResponse leaderboard = leaderboardService.getPage(competitionId, page, size);
+            return ResponseEntity.ok(leaderboard);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid leaderboard request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            
+        } catch (Exception e) {
+            logger.error("Error fetching leaderboard page for competition {}", competitionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("获取排行榜失败，请稍后重试"));
+        }
+    }
+    
+    /**
+     * Get the rank of one entry in a competition leaderboard
+     * Endpoint: GET /api/ratings/{competitionId}/leaderboard/entries/{entryId}
+     */
+    @GetMapping("/{competitionId}/leaderboard/entries/{entryId}")
+    public ResponseEntity<?> getLeaderboardRank(@PathVariable Long competitionId,
+                                                @PathVariable Long entryId,
+                                                @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("GET /api/ratings/{}/leaderboard/entries/{} - Fetching entry rank", competitionId, entryId);
+        
+        try {
+            if (!ratingDataService.canViewRatingData(competitionId, currentUser.id())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(createErrorResponse("您没有权限查看该赛事的评分数据"));
+            }
+            
+            LeaderboardResponse.LeaderboardEntry rank = leaderboardService.getEntryRank(competitionId, entryId);
+            return ResponseEntity.ok(rank);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Leaderboard entry not found: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse(e.getMessage()));
+            
+        } catch (Exception e) {
+            logger.error("Error fetching leaderboard rank for entry {}", entryId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("获取排行榜失败，请稍后重试"));
+        }
+    }
+    
+    /**
+     * Stream live score updates of a competition as Server-Sent Events
+     * Same access rules as the aggregated rating data; a reconnecting client sends Last-Event-ID
+     * to receive the events it missed. Errors carry no body since the client expects an event stream.
+     * Endpoint: GET /api/ratings/{competitionId}/stream
+     */
+    @GetMapping("/{competitionId}/stream")
+    public ResponseEntity<SseEmitter> streamScoreUpdates(@PathVariable Long competitionId,
+                                                         @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                                         @CurrentUser AuthenticatedUser currentUser) {
+        logger.info("GET /api/ratings/{}/stream - Opening score stream (last event {})", competitionId, lastEventId);
+        
+        try {
+            if (!ratingDataService.canViewRatingData(competitionId, currentUser.id())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            
+            SseEmitter emitter = scoreStreamService.subscribe(competitionId, lastEventId);
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+            
+        } catch (ScoreStreamRejectedException e) {
+            logger.warn("Score stream rejected for competition {}: {}", competitionId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Competition not found: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            logger.error("Error opening score stream for competition {}", competitionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
     
     /**
@@ -2,13 +2,17 @@ package com.example.userauth.controller;
 
 import com.example.userauth.dto.AdminCreateUserRequest;
 import com.example.userauth.dto.AdminUserResponse;
+import com.example.userauth.dto.CursorPageResponse;
+import com.example.userauth.dto.ListPageRequest;
 import com.example.userauth.dto.UserRoleUpdateRequest;
+import com.example.userauth.exception.PasswordHashingRejectedException;
 import com.example.userauth.security.RequireAdmin;
 import com.example.userauth.service.UserService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -36,13 +40,28 @@ public class UserController {
 
     /**
      * Get all users (admin only).
+     * With any of limit, cursor, admin or q, returns one page of users, newest first.
      * 
-     * @return List of all users
+     * @param page page size, cursor and the optional admin and username filters
+     * @return List of all users, or the requested page
      */
     @GetMapping
     @RequireAdmin(message = "只有管理员可以查看用户列表")
-    public ResponseEntity<List<AdminUserResponse>> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(ListPageRequest page) {
         logger.info("GET /api/users - Fetching all users");
+        if (page.isPaged()) {
+            try {
+                CursorPageResponse<AdminUserResponse> users = userService.getUserPage(page);
+                logger.info("Successfully retrieved a page of {} users", users.getItems().size());
+                return ResponseEntity.ok(users);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid user page request: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(e.getMessage());
+            } catch (Exception e) {
+                logger.error("Error fetching user page", e);
+                return ResponseEntity.status(500).build();
+            }
+        }
         
         try {
             List<AdminUserResponse> userResponses = userService.getAllUsers();
@@ -66,6 +85,11 @@ public class UserController {
         } catch (IllegalArgumentException e) {
             logger.warn("Create user failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (PasswordHashingRejectedException e) {
+            logger.warn("Create user rejected, password hashing pool saturated");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
         } catch (Exception e) {
             logger.error("Create user failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
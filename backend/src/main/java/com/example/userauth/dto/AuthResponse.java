@@ -11,6 +11,7 @@ import java.util.List;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String username;
     private List<String> roles;
 
@@ -25,11 +26,23 @@ public class AuthResponse {
         this.roles = roles;
     }
 
+    // Constructor with refresh token
+    public AuthResponse(String token, String refreshToken, String username, List<String> roles) {
+        this(token, username, roles);
+        this.refreshToken = refreshToken;
+    }
+
     // Static factory method to create AuthResponse from token and User entity
     public static AuthResponse fromTokenAndUser(String token, User user) {
+        return fromTokensAndUser(token, null, user);
+    }
+
+    // Static factory method including the refresh token issued alongside the access token
+    public static AuthResponse fromTokensAndUser(String token, String refreshToken, User user) {
         List<String> roles = user.isAdmin() ? List.of("ADMIN", "USER") : List.of("USER");
         return new AuthResponse(
             token,
+            refreshToken,
             user.getUsername(),
             roles
         );
@@ -44,6 +57,14 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -64,6 +85,7 @@ public class AuthResponse {
     public String toString() {
         return "AuthResponse{" +
                 "token='[PROTECTED]'" +
+                ", refreshToken='[PROTECTED]'" +
                 ", username='" + username + '\'' +
                 ", roles=" + roles +
                 '}';
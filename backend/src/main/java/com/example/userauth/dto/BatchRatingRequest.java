@@ -0,0 +1,113 @@
+package com.example.userauth.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * One judge's ratings for several entries of a competition, submitted together
+ */
+public class BatchRatingRequest {
+    
+    @NotNull(message = "赛事ID不能为空")
+    private Long competitionId;
+    
+    @NotNull(message = "评分不能为空")
+    @Size(min = 1, max = 100, message = "每批评分的作品数量必须在1到100之间")
+    @Valid
+    private List<Item> items;
+    
+    // Default constructor
+    public BatchRatingRequest() {}
+    
+    // Constructor
+    public BatchRatingRequest(Long competitionId, List<Item> items) {
+        this.competitionId = competitionId;
+        this.items = items;
+    }
+    
+    // Getters and setters
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public List<Item> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+    
+    /**
+     * Scores for one entry; the idempotency key is chosen by the client and reused when the
+     * batch is retried
+     */
+    public static class Item {
+        
+        @NotBlank(message = "幂等键不能为空")
+        @Size(max = 64, message = "幂等键长度不能超过64个字符")
+        private String idempotencyKey;
+        
+        @NotNull(message = "参赛作品ID不能为空")
+        private Long entryId;
+        
+        @NotNull(message = "评分不能为空")
+        @Size(min = 1, message = "至少需要一个评分")
+        @Valid
+        private List<RatingRequest.ScoreRequest> scores;
+        
+        @Size(max = 1000, message = "备注长度不能超过1000个字符")
+        private String note;
+        
+        // Default constructor
+        public Item() {}
+        
+        // Constructor
+        public Item(String idempotencyKey, Long entryId, List<RatingRequest.ScoreRequest> scores, String note) {
+            this.idempotencyKey = idempotencyKey;
+            this.entryId = entryId;
+            this.scores = scores;
+            this.note = note;
+        }
+        
+        // Getters and setters
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+        
+        public void setIdempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+        }
+        
+        public Long getEntryId() {
+            return entryId;
+        }
+        
+        public void setEntryId(Long entryId) {
+            this.entryId = entryId;
+        }
+        
+        public List<RatingRequest.ScoreRequest> getScores() {
+            return scores;
+        }
+        
+        public void setScores(List<RatingRequest.ScoreRequest> scores) {
+            this.scores = scores;
+        }
+        
+        public String getNote() {
+            return note;
+        }
+        
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+}
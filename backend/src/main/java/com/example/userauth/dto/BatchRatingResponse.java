@@ -0,0 +1,133 @@
+package com.example.userauth.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch rating submission, one result per item in request order
+ */
+public class BatchRatingResponse {
+    
+    private Long competitionId;
+    private int submitted;
+    private int alreadySubmitted;
+    private int rejected;
+    private List<ItemResult> results;
+    
+    // Default constructor
+    public BatchRatingResponse() {}
+    
+    // Constructor
+    public BatchRatingResponse(Long competitionId, List<ItemResult> results) {
+        this.competitionId = competitionId;
+        this.results = results;
+        for (ItemResult result : results) {
+            switch (result.getStatus()) {
+                case SUBMITTED -> submitted++;
+                case ALREADY_SUBMITTED -> alreadySubmitted++;
+                case REJECTED -> rejected++;
+            }
+        }
+    }
+    
+    // Getters and setters
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public int getSubmitted() {
+        return submitted;
+    }
+    
+    public void setSubmitted(int submitted) {
+        this.submitted = submitted;
+    }
+    
+    public int getAlreadySubmitted() {
+        return alreadySubmitted;
+    }
+    
+    public void setAlreadySubmitted(int alreadySubmitted) {
+        this.alreadySubmitted = alreadySubmitted;
+    }
+    
+    public int getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+    
+    public List<ItemResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+    
+    public static class ItemResult {
+        
+        private String idempotencyKey;
+        private Long entryId;
+        private ItemStatus status;
+        private String message;
+        
+        // Default constructor
+        public ItemResult() {}
+        
+        // Constructor
+        public ItemResult(String idempotencyKey, Long entryId, ItemStatus status, String message) {
+            this.idempotencyKey = idempotencyKey;
+            this.entryId = entryId;
+            this.status = status;
+            this.message = message;
+        }
+        
+        // Getters and setters
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+        
+        public void setIdempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+        }
+        
+        public Long getEntryId() {
+            return entryId;
+        }
+        
+        public void setEntryId(Long entryId) {
+            this.entryId = entryId;
+        }
+        
+        public ItemStatus getStatus() {
+            return status;
+        }
+        
+        public void setStatus(ItemStatus status) {
+            this.status = status;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+    
+    public enum ItemStatus {
+        /** Written by this request */
+        SUBMITTED,
+        /** Written by an earlier attempt with the same idempotency key; left unchanged */
+        ALREADY_SUBMITTED,
+        /** Not written; the message says why */
+        REJECTED
+    }
+}
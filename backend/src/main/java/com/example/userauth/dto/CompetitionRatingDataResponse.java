@@ -1,5 +1,6 @@
 package com.example.userauth.dto;
 
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
 import java.util.List;
 
 /**
@@ -12,6 +13,7 @@ public class CompetitionRatingDataResponse {
     private String competitionName;
     private Long modelId;
     private Integer totalJudges;
+    private AggregationMethod aggregationMethod;
     private List<EntryRatingData> entries;
 
     // Default constructor
@@ -59,6 +61,14 @@ public class CompetitionRatingDataResponse {
         this.totalJudges = totalJudges;
     }
 
+    public AggregationMethod getAggregationMethod() {
+        return aggregationMethod;
+    }
+    
+    public void setAggregationMethod(AggregationMethod aggregationMethod) {
+        this.aggregationMethod = aggregationMethod;
+    }
+
     public List<EntryRatingData> getEntries() {
         return entries;
     }
@@ -81,6 +91,12 @@ public class CompetitionRatingDataResponse {
         private Integer numberOfRatings;
         private Integer totalJudges;
         private List<ParameterAverageScore> parameterScores;
+        // Statistics over the judges' totals; null while nobody has rated the entry
+        private Double rankingScore;
+        private Double medianScore;
+        private Double scoreStddev;
+        private Double trimmedMeanScore;
+        private Double normalizedScore;
         
         // Default constructor
         public EntryRatingData() {}
@@ -172,6 +188,46 @@ public class CompetitionRatingDataResponse {
         public void setParameterScores(List<ParameterAverageScore> parameterScores) {
             this.parameterScores = parameterScores;
         }
+        
+        public Double getRankingScore() {
+            return rankingScore;
+        }
+        
+        public void setRankingScore(Double rankingScore) {
+            this.rankingScore = rankingScore;
+        }
+        
+        public Double getMedianScore() {
+            return medianScore;
+        }
+        
+        public void setMedianScore(Double medianScore) {
+            this.medianScore = medianScore;
+        }
+        
+        public Double getScoreStddev() {
+            return scoreStddev;
+        }
+        
+        public void setScoreStddev(Double scoreStddev) {
+            this.scoreStddev = scoreStddev;
+        }
+        
+        public Double getTrimmedMeanScore() {
+            return trimmedMeanScore;
+        }
+        
+        public void setTrimmedMeanScore(Double trimmedMeanScore) {
+            this.trimmedMeanScore = trimmedMeanScore;
+        }
+        
+        public Double getNormalizedScore() {
+            return normalizedScore;
+        }
+        
+        public void setNormalizedScore(Double normalizedScore) {
+            this.normalizedScore = normalizedScore;
+        }
     }
     
     /**
@@ -0,0 +1,194 @@
+package com.example.userauth.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a competition: its own fields with counts in place of the judge and entry lists.
+ * {@code judgedEntries} counts the (approved entry, judge) pairs rated so far and
+ * {@code ratingProgress} is that as a percentage of approved entries times judges.
+ */
+public class CompetitionSummaryResponse {
+    
+    private Long id;
+    private String name;
+    private String description;
+    private Long modelId;
+    private String modelName;
+    private Long creatorId;
+    private String creatorUsername;
+    private LocalDateTime deadline;
+    private String status;
+    private long pendingEntries;
+    private long approvedEntries;
+    private long rejectedEntries;
+    private long judgeCount;
+    private long judgedEntries;
+    private int ratingProgress;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public CompetitionSummaryResponse() {}
+    
+    // Constructor
+    public CompetitionSummaryResponse(Long id, String name, String description, Long modelId, String modelName,
+                                      Long creatorId, String creatorUsername, LocalDateTime deadline, String status,
+                                      long pendingEntries, long approvedEntries, long rejectedEntries,
+                                      long judgeCount, long judgedEntries, int ratingProgress,
+                                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.modelId = modelId;
+        this.modelName = modelName;
+        this.creatorId = creatorId;
+        this.creatorUsername = creatorUsername;
+        this.deadline = deadline;
+        this.status = status;
+        this.pendingEntries = pendingEntries;
+        this.approvedEntries = approvedEntries;
+        this.rejectedEntries = rejectedEntries;
+        this.judgeCount = judgeCount;
+        this.judgedEntries = judgedEntries;
+        this.ratingProgress = ratingProgress;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Long getModelId() {
+        return modelId;
+    }
+    
+    public void setModelId(Long modelId) {
+        this.modelId = modelId;
+    }
+    
+    public String getModelName() {
+        return modelName;
+    }
+    
+    public void setModelName(String modelName) {
+        this.modelName = modelName;
+    }
+    
+    public Long getCreatorId() {
+        return creatorId;
+    }
+    
+    public void setCreatorId(Long creatorId) {
+        this.creatorId = creatorId;
+    }
+    
+    public String getCreatorUsername() {
+        return creatorUsername;
+    }
+    
+    public void setCreatorUsername(String creatorUsername) {
+        this.creatorUsername = creatorUsername;
+    }
+    
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+    
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public long getPendingEntries() {
+        return pendingEntries;
+    }
+    
+    public void setPendingEntries(long pendingEntries) {
+        this.pendingEntries = pendingEntries;
+    }
+    
+    public long getApprovedEntries() {
+        return approvedEntries;
+    }
+    
+    public void setApprovedEntries(long approvedEntries) {
+        this.approvedEntries = approvedEntries;
+    }
+    
+    public long getRejectedEntries() {
+        return rejectedEntries;
+    }
+    
+    public void setRejectedEntries(long rejectedEntries) {
+        this.rejectedEntries = rejectedEntries;
+    }
+    
+    public long getJudgeCount() {
+        return judgeCount;
+    }
+    
+    public void setJudgeCount(long judgeCount) {
+        this.judgeCount = judgeCount;
+    }
+    
+    public long getJudgedEntries() {
+        return judgedEntries;
+    }
+    
+    public void setJudgedEntries(long judgedEntries) {
+        this.judgedEntries = judgedEntries;
+    }
+    
+    public int getRatingProgress() {
+        return ratingProgress;
+    }
+    
+    public void setRatingProgress(int ratingProgress) {
+        this.ratingProgress = ratingProgress;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.userauth.dto;
+
+import java.util.List;
+
+/**
+ * Rating progress of a competition: which judge has scored every parameter of which entry.
+ * The matrix is a Base64 bitset, row-major by entry: bit {@code entryIndex * judges.size() + judgeIndex}
+ * is set when that judge has completed that entry, where bit {@code i} is bit {@code i % 8}
+ * (least significant first) of byte {@code i / 8}; trailing zero bytes are left out. Indexes
+ * follow the order of {@code entries} and {@code judges}.
+ */
+public class CompletionMatrixResponse {
+    
+    private Long competitionId;
+    private long parameterCount;
+    private List<EntryProgress> entries;
+    private List<JudgeProgress> judges;
+    private String matrix;
+    private int completedCount;
+    private int progress;
+    
+    // Default constructor
+    public CompletionMatrixResponse() {}
+    
+    // Constructor
+    public CompletionMatrixResponse(Long competitionId, long parameterCount, List<EntryProgress> entries,
+                                    List<JudgeProgress> judges, String matrix, int completedCount, int progress) {
+        this.competitionId = competitionId;
+        this.parameterCount = parameterCount;
+        this.entries = entries;
+        this.judges = judges;
+        this.matrix = matrix;
+        this.completedCount = completedCount;
+        this.progress = progress;
+    }
+    
+    // Getters and setters
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public long getParameterCount() {
+        return parameterCount;
+    }
+    
+    public void setParameterCount(long parameterCount) {
+        this.parameterCount = parameterCount;
+    }
+    
+    public List<EntryProgress> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<EntryProgress> entries) {
+        this.entries = entries;
+    }
+    
+    public List<JudgeProgress> getJudges() {
+        return judges;
+    }
+    
+    public void setJudges(List<JudgeProgress> judges) {
+        this.judges = judges;
+    }
+    
+    public String getMatrix() {
+        return matrix;
+    }
+    
+    public void setMatrix(String matrix) {
+        this.matrix = matrix;
+    }
+    
+    public int getCompletedCount() {
+        return completedCount;
+    }
+    
+    public void setCompletedCount(int completedCount) {
+        this.completedCount = completedCount;
+    }
+    
+    public int getProgress() {
+        return progress;
+    }
+    
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+    
+    /**
+     * Judges who have completed one entry; progress is a whole percentage, 100 only when all have
+     */
+    public static class EntryProgress {
+        
+        private Long entryId;
+        private String entryName;
+        private int completedJudges;
+        private int progress;
+        
+        // Default constructor
+        public EntryProgress() {}
+        
+        // Constructor
+        public EntryProgress(Long entryId, String entryName, int completedJudges, int progress) {
+            this.entryId = entryId;
+            this.entryName = entryName;
+            this.completedJudges = completedJudges;
+            this.progress = progress;
+        }
+        
+        // Getters and setters
+        public Long getEntryId() {
+            return entryId;
+        }
+        
+        public void setEntryId(Long entryId) {
+            this.entryId = entryId;
+        }
+        
+        public String getEntryName() {
+            return entryName;
+        }
+        
+        public void setEntryName(String entryName) {
+            this.entryName = entryName;
+        }
+        
+        public int getCompletedJudges() {
+            return completedJudges;
+        }
+        
+        public void setCompletedJudges(int completedJudges) {
+            this.completedJudges = completedJudges;
+        }
+        
+        public int getProgress() {
+            return progress;
+        }
+        
+        public void setProgress(int progress) {
+            this.progress = progress;
+        }
+    }
+    
+    /**
+     * Entries one judge has completed; progress is a whole percentage, 100 only when all are
+     */
+    public static class JudgeProgress {
+        
+        private Long judgeId;
+        private String judgeName;
+        private int completedEntries;
+        private int progress;
+        
+        // Default constructor
+        public JudgeProgress() {}
+        
+        // Constructor
+        public JudgeProgress(Long judgeId, String judgeName, int completedEntries, int progress) {
+            this.judgeId = judgeId;
+            this.judgeName = judgeName;
+            this.completedEntries = completedEntries;
+            this.progress = progress;
+        }
+        
+        // Getters and setters
+        public Long getJudgeId() {
+            return judgeId;
+        }
+        
+        public void setJudgeId(Long judgeId) {
+            this.judgeId = judgeId;
+        }
+        
+        public String getJudgeName() {
+            return judgeName;
+        }
+        
+        public void setJudgeName(String judgeName) {
+            this.judgeName = judgeName;
+        }
+        
+        public int getCompletedEntries() {
+            return completedEntries;
+        }
+        
+        public void setCompletedEntries(int completedEntries) {
+            this.completedEntries = completedEntries;
+        }
+        
+        public int getProgress() {
+            return progress;
+        }
+        
+        public void setProgress(int progress) {
+            this.progress = progress;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.userauth.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is an opaque token to pass back as
+ * {@code cursor} for the following page, and null on the last page.
+ */
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    // Default constructor
+    public CursorPageResponse() {}
+
+    // Constructor
+    public CursorPageResponse(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.userauth.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a background export job
+ */
+public class ExportJobResponse {
+
+    private Long id;
+    private Long competitionId;
+    private String status;
+    private Long rowsWritten;
+    private Long totalRows;
+    private Long fileSize;
+    private String downloadUrl;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    // Default constructor
+    public ExportJobResponse() {}
+
+    // Constructor
+    public ExportJobResponse(Long id, Long competitionId, String status, Long rowsWritten, Long totalRows,
+                             Long fileSize, String downloadUrl, String errorMessage,
+                             LocalDateTime createdAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.competitionId = competitionId;
+        this.status = status;
+        this.rowsWritten = rowsWritten;
+        this.totalRows = totalRows;
+        this.fileSize = fileSize;
+        this.downloadUrl = downloadUrl;
+        this.errorMessage = errorMessage;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(Long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public Long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
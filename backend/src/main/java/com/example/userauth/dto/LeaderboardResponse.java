@@ -0,0 +1,123 @@
+package com.example.userauth.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a slice of a competition leaderboard
+ */
+public class LeaderboardResponse {
+
+    private Long competitionId;
+    private Long totalEntries;
+    private Integer page;
+    private Integer size;
+    private List<LeaderboardEntry> entries;
+
+    // Default constructor
+    public LeaderboardResponse() {}
+
+    // Constructor
+    public LeaderboardResponse(Long competitionId, Long totalEntries, Integer page, Integer size,
+                               List<LeaderboardEntry> entries) {
+        this.competitionId = competitionId;
+        this.totalEntries = totalEntries;
+        this.page = page;
+        this.size = size;
+        this.entries = entries;
+    }
+    
+    // Getters and setters
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public Long getTotalEntries() {
+        return totalEntries;
+    }
+    
+    public void setTotalEntries(Long totalEntries) {
+        this.totalEntries = totalEntries;
+    }
+    
+    public Integer getPage() {
+        return page;
+    }
+    
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+    
+    public Integer getSize() {
+        return size;
+    }
+    
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+    
+    public List<LeaderboardEntry> getEntries() {
+        return entries;
+    }
+    
+    public void setEntries(List<LeaderboardEntry> entries) {
+        this.entries = entries;
+    }
+    
+    /**
+     * One ranked entry
+     */
+    public static class LeaderboardEntry {
+        private Long rank;
+        private Long entryId;
+        private String entryName;
+        private Double averageTotalScore;
+        
+        // Default constructor
+        public LeaderboardEntry() {}
+        
+        // Constructor
+        public LeaderboardEntry(Long rank, Long entryId, String entryName, Double averageTotalScore) {
+            this.rank = rank;
+            this.entryId = entryId;
+            this.entryName = entryName;
+            this.averageTotalScore = averageTotalScore;
+        }
+        
+        // Getters and setters
+        public Long getRank() {
+            return rank;
+        }
+        
+        public void setRank(Long rank) {
+            this.rank = rank;
+        }
+        
+        public Long getEntryId() {
+            return entryId;
+        }
+        
+        public void setEntryId(Long entryId) {
+            this.entryId = entryId;
+        }
+        
+        public String getEntryName() {
+            return entryName;
+        }
+        
+        public void setEntryName(String entryName) {
+            this.entryName = entryName;
+        }
+        
+        public Double getAverageTotalScore() {
+            return averageTotalScore;
+        }
+        
+        public void setAverageTotalScore(Double averageTotalScore) {
+            this.averageTotalScore = averageTotalScore;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.userauth.dto;
+
+/**
+ * Query parameters of a paged list: page size, the cursor returned with the previous page and
+ * optional filters. A list endpoint called without any of them returns its full legacy list.
+ * {@code q} matches names (usernames for users) case-insensitively; {@code status} filters
+ * competitions and entries, {@code creatorId} competitions and {@code admin} users.
+ */
+public class ListPageRequest {
+
+    private Integer limit;
+    private String cursor;
+    private String status;
+    private Long creatorId;
+    private Boolean admin;
+    private String q;
+
+    public ListPageRequest() {}
+
+    public ListPageRequest(Integer limit, String cursor, String status, Long creatorId, Boolean admin, String q) {
+        this.limit = limit;
+        this.cursor = cursor;
+        this.status = status;
+        this.creatorId = creatorId;
+        this.admin = admin;
+        this.q = q;
+    }
+
+    /**
+     * Whether the caller asked for a page rather than the full list
+     */
+    public boolean isPaged() {
+        return limit != null || cursor != null || status != null || creatorId != null || admin != null || q != null;
+    }
+
+    // Getters and setters
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getCreatorId() {
+        return creatorId;
+    }
+
+    public void setCreatorId(Long creatorId) {
+        this.creatorId = creatorId;
+    }
+
+    public Boolean getAdmin() {
+        return admin;
+    }
+
+    public void setAdmin(Boolean admin) {
+        this.admin = admin;
+    }
+
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.userauth.dto;
 
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -16,6 +17,9 @@ public class ModelRequest {
     @Valid
     private List<ParameterRequest> parameters;
     
+    // Optional; new models rank by the mean and updates keep the current method
+    private AggregationMethod aggregationMethod;
+    
     // Default constructor
     public ModelRequest() {}
     
@@ -42,6 +46,14 @@ public class ModelRequest {
         this.parameters = parameters;
     }
     
+    public AggregationMethod getAggregationMethod() {
+        return aggregationMethod;
+    }
+    
+    public void setAggregationMethod(AggregationMethod aggregationMethod) {
+        this.aggregationMethod = aggregationMethod;
+    }
+    
     public static class ParameterRequest {
         
         @NotBlank(message = "参数名称不能为空")
@@ -1,5 +1,6 @@
 package com.example.userauth.dto;
 
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -7,6 +8,7 @@ public class ModelResponse {
     
     private Long id;
     private String name;
+    private AggregationMethod aggregationMethod;
     private List<ParameterResponse> parameters;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -41,6 +43,14 @@ public class ModelResponse {
         this.name = name;
     }
     
+    public AggregationMethod getAggregationMethod() {
+        return aggregationMethod;
+    }
+    
+    public void setAggregationMethod(AggregationMethod aggregationMethod) {
+        this.aggregationMethod = aggregationMethod;
+    }
+    
     public List<ParameterResponse> getParameters() {
         return parameters;
     }
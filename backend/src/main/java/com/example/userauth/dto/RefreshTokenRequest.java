@@ -0,0 +1,36 @@
+package com.example.userauth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Request DTO for exchanging a refresh token.
+ * Contains the refresh token issued by the previous login or refresh.
+ */
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token cannot be blank")
+    private String refreshToken;
+
+    // Default constructor
+    public RefreshTokenRequest() {
+    }
+
+    // Constructor with all fields
+    public RefreshTokenRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Getters and Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshTokenRequest{refreshToken='[PROTECTED]'}";
+    }
+}
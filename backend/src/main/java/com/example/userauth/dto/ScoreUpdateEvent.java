@@ -0,0 +1,134 @@
+package com.example.userauth.dto;
+
+import java.util.List;
+
+/**
+ * Score change of one entry, pushed to the live score stream of its competition.
+ * Carries the entry's current figures rather than a difference, so a client can apply
+ * any event on its own.
+ */
+public class ScoreUpdateEvent {
+
+    private Long eventId;
+    private Long competitionId;
+    private Long entryId;
+    private Double averageTotalScore;
+    private Double highestScore;
+    private Integer numberOfRatings;
+    private List<ParameterAverage> parameterAverages;
+
+    // Default constructor
+    public ScoreUpdateEvent() {}
+
+    // Constructor
+    public ScoreUpdateEvent(Long competitionId, Long entryId, Double averageTotalScore, Double highestScore,
+                            Integer numberOfRatings, List<ParameterAverage> parameterAverages) {
+        this.competitionId = competitionId;
+        this.entryId = entryId;
+        this.averageTotalScore = averageTotalScore;
+        this.highestScore = highestScore;
+        this.numberOfRatings = numberOfRatings;
+        this.parameterAverages = parameterAverages;
+    }
+
+    // Getters and setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public Double getAverageTotalScore() {
+        return averageTotalScore;
+    }
+
+    public void setAverageTotalScore(Double averageTotalScore) {
+        this.averageTotalScore = averageTotalScore;
+    }
+
+    public Double getHighestScore() {
+        return highestScore;
+    }
+
+    public void setHighestScore(Double highestScore) {
+        this.highestScore = highestScore;
+    }
+
+    public Integer getNumberOfRatings() {
+        return numberOfRatings;
+    }
+
+    public void setNumberOfRatings(Integer numberOfRatings) {
+        this.numberOfRatings = numberOfRatings;
+    }
+
+    public List<ParameterAverage> getParameterAverages() {
+        return parameterAverages;
+    }
+
+    public void setParameterAverages(List<ParameterAverage> parameterAverages) {
+        this.parameterAverages = parameterAverages;
+    }
+
+    /**
+     * Average score of one evaluation parameter
+     */
+    public static class ParameterAverage {
+        private Long parameterId;
+        private Double averageScore;
+        private Integer ratingCount;
+
+        // Default constructor
+        public ParameterAverage() {}
+
+        // Constructor
+        public ParameterAverage(Long parameterId, Double averageScore, Integer ratingCount) {
+            this.parameterId = parameterId;
+            this.averageScore = averageScore;
+            this.ratingCount = ratingCount;
+        }
+
+        // Getters and setters
+        public Long getParameterId() {
+            return parameterId;
+        }
+
+        public void setParameterId(Long parameterId) {
+            this.parameterId = parameterId;
+        }
+
+        public Double getAverageScore() {
+            return averageScore;
+        }
+
+        public void setAverageScore(Double averageScore) {
+            this.averageScore = averageScore;
+        }
+
+        public Integer getRatingCount() {
+            return ratingCount;
+        }
+
+        public void setRatingCount(Integer ratingCount) {
+            this.ratingCount = ratingCount;
+        }
+    }
+}
@@ -5,7 +5,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "competition_ratings")
+@Table(name = "competition_ratings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ratings_entry_judge_parameter",
+                      columnNames = {"entry_id", "judge_id", "parameter_id"})
+})
 public class CompetitionRating {
     
     @Id
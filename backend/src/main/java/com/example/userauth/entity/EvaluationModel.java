@@ -15,6 +15,10 @@ public class EvaluationModel {
     @Column(name = "name", nullable = false, length = 100)
     private String name;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregation_method", nullable = false, length = 20)
+    private AggregationMethod aggregationMethod = AggregationMethod.MEAN;
+    
     @OneToMany(mappedBy = "model", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<EvaluationParameter> parameters;
     
@@ -69,6 +73,14 @@ public class EvaluationModel {
         this.name = name;
     }
     
+    public AggregationMethod getAggregationMethod() {
+        return aggregationMethod;
+    }
+    
+    public void setAggregationMethod(AggregationMethod aggregationMethod) {
+        this.aggregationMethod = aggregationMethod;
+    }
+    
     public List<EvaluationParameter> getParameters() {
         return parameters;
     }
@@ -104,4 +116,18 @@ public class EvaluationModel {
     public boolean isDeleted() {
         return deletedAt != null;
     }
-}
\ No newline at end of file
+    
+    /**
+     * How judges' totals are combined into the score an entry is ranked by.
+     */
+    public enum AggregationMethod {
+        /** Average of the judges' totals */
+        MEAN,
+        /** Middle judge total */
+        MEDIAN,
+        /** Average without the highest and lowest judge total */
+        TRIMMED_MEAN,
+        /** Average of each judge's standard score, mapped back onto the score scale */
+        Z_SCORE
+    }
+}
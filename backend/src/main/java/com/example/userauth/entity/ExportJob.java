@@ -0,0 +1,205 @@
+package com.example.userauth.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Background CSV export of a competition's ratings.
+ * One job exists per competition and data version, so repeated requests for unchanged
+ * ratings share the same artifact.
+ */
+@Entity
+@Table(name = "export_jobs", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_export_jobs_competition_version", columnNames = {"competition_id", "data_version"})
+}, indexes = {
+    @Index(name = "idx_export_jobs_completed_at", columnList = "completed_at")
+})
+public class ExportJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "competition_id", nullable = false)
+    private Long competitionId;
+    
+    @Column(name = "data_version", nullable = false, length = 64)
+    private String dataVersion;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ExportStatus status = ExportStatus.PENDING;
+    
+    @Column(name = "requested_by", nullable = false)
+    private Long requestedBy;
+    
+    @Column(name = "rows_written", nullable = false)
+    private long rowsWritten;
+    
+    @Column(name = "total_rows", nullable = false)
+    private long totalRows;
+    
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+    
+    @Column(name = "file_size")
+    private Long fileSize;
+    
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+    
+    // Incremented on every restart; a run only writes to the job while its attempt is current
+    @Column(name = "attempt", nullable = false)
+    private int attempt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Default constructor
+    public ExportJob() {}
+    
+    // Constructor with required fields
+    public ExportJob(Long competitionId, String dataVersion, Long requestedBy) {
+        this.competitionId = competitionId;
+        this.dataVersion = dataVersion;
+        this.requestedBy = requestedBy;
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public String getDataVersion() {
+        return dataVersion;
+    }
+    
+    public void setDataVersion(String dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+    
+    public ExportStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(ExportStatus status) {
+        this.status = status;
+    }
+    
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+    
+    public void setRequestedBy(Long requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+    
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+    
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+    
+    public long getTotalRows() {
+        return totalRows;
+    }
+    
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public int getAttempt() {
+        return attempt;
+    }
+    
+    public void setAttempt(int attempt) {
+        this.attempt = attempt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public boolean isFinished() {
+        return status == ExportStatus.COMPLETED || status == ExportStatus.FAILED;
+    }
+    
+    public enum ExportStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.userauth.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Total score one judge gave one entry, maintained together with competition_ratings.
+ */
+@Entity
+@Table(name = "rating_judge_totals", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_judge_totals_entry_judge", columnNames = {"entry_id", "judge_id"})
+}, indexes = {
+    @Index(name = "idx_judge_totals_competition", columnList = "competition_id")
+})
+public class RatingJudgeTotal {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "competition_id", nullable = false)
+    private Long competitionId;
+    
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+    
+    @Column(name = "judge_id", nullable = false)
+    private Long judgeId;
+    
+    @Column(name = "total_score", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalScore = BigDecimal.ZERO;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Default constructor
+    public RatingJudgeTotal() {}
+    
+    // Constructor with required fields
+    public RatingJudgeTotal(Long competitionId, Long entryId, Long judgeId) {
+        this.competitionId = competitionId;
+        this.entryId = entryId;
+        this.judgeId = judgeId;
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public Long getEntryId() {
+        return entryId;
+    }
+    
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+    
+    public Long getJudgeId() {
+        return judgeId;
+    }
+    
+    public void setJudgeId(Long judgeId) {
+        this.judgeId = judgeId;
+    }
+    
+    public BigDecimal getTotalScore() {
+        return totalScore;
+    }
+    
+    public void setTotalScore(BigDecimal totalScore) {
+        this.totalScore = totalScore;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
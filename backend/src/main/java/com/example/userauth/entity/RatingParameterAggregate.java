@@ -0,0 +1,135 @@
+package com.example.userauth.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of one parameter's scores for one entry.
+ * Maintained together with competition_ratings so result views read one row per
+ * entry and parameter instead of aggregating the raw ratings.
+ */
+@Entity
+@Table(name = "rating_parameter_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_param_aggregates_entry_parameter", columnNames = {"entry_id", "parameter_id"})
+}, indexes = {
+    @Index(name = "idx_param_aggregates_competition", columnList = "competition_id")
+})
+public class RatingParameterAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "competition_id", nullable = false)
+    private Long competitionId;
+    
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+    
+    @Column(name = "parameter_id", nullable = false)
+    private Long parameterId;
+    
+    @Column(name = "score_sum", nullable = false, precision = 14, scale = 2)
+    private BigDecimal scoreSum = BigDecimal.ZERO;
+    
+    @Column(name = "score_square_sum", nullable = false, precision = 18, scale = 4)
+    private BigDecimal scoreSquareSum = BigDecimal.ZERO;
+    
+    @Column(name = "rating_count", nullable = false)
+    private Integer ratingCount = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Default constructor
+    public RatingParameterAggregate() {}
+    
+    // Constructor with required fields
+    public RatingParameterAggregate(Long competitionId, Long entryId, Long parameterId) {
+        this.competitionId = competitionId;
+        this.entryId = entryId;
+        this.parameterId = parameterId;
+    }
+    
+    /**
+     * Mean score, or 0 when no judge has scored the parameter yet
+     */
+    public double getAverageScore() {
+        if (ratingCount == null || ratingCount == 0) {
+            return 0.0;
+        }
+        return scoreSum.doubleValue() / ratingCount;
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public Long getEntryId() {
+        return entryId;
+    }
+    
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+    
+    public Long getParameterId() {
+        return parameterId;
+    }
+    
+    public void setParameterId(Long parameterId) {
+        this.parameterId = parameterId;
+    }
+    
+    public BigDecimal getScoreSum() {
+        return scoreSum;
+    }
+    
+    public void setScoreSum(BigDecimal scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+    
+    public BigDecimal getScoreSquareSum() {
+        return scoreSquareSum;
+    }
+    
+    public void setScoreSquareSum(BigDecimal scoreSquareSum) {
+        this.scoreSquareSum = scoreSquareSum;
+    }
+    
+    public Integer getRatingCount() {
+        return ratingCount;
+    }
+    
+    public void setRatingCount(Integer ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.userauth.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency key of one item of a batch rating submission, unique per judge.
+ * A retried batch finds its keys here and skips the items already written.
+ */
+@Entity
+@Table(name = "rating_submission_keys", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_submission_keys_judge_key", columnNames = {"judge_id", "idempotency_key"})
+}, indexes = {
+    @Index(name = "idx_submission_keys_created_at", columnList = "created_at")
+})
+public class RatingSubmissionKey {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "judge_id", nullable = false)
+    private Long judgeId;
+    
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+    
+    @Column(name = "competition_id", nullable = false)
+    private Long competitionId;
+    
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+    
+    // Default constructor
+    public RatingSubmissionKey() {}
+    
+    // Constructor with required fields
+    public RatingSubmissionKey(Long judgeId, String idempotencyKey, Long competitionId, Long entryId) {
+        this.judgeId = judgeId;
+        this.idempotencyKey = idempotencyKey;
+        this.competitionId = competitionId;
+        this.entryId = entryId;
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getJudgeId() {
+        return judgeId;
+    }
+    
+    public void setJudgeId(Long judgeId) {
+        this.judgeId = judgeId;
+    }
+    
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public Long getCompetitionId() {
+        return competitionId;
+    }
+    
+    public void setCompetitionId(Long competitionId) {
+        this.competitionId = competitionId;
+    }
+    
+    public Long getEntryId() {
+        return entryId;
+    }
+    
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.userauth.exception;
+
+/**
+ * Thrown when the export job queue is full.
+ * Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+public class ExportJobRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExportJobRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
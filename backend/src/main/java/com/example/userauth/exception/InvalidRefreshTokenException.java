@@ -0,0 +1,12 @@
+package com.example.userauth.exception;
+
+/**
+ * Thrown when a refresh token is malformed, expired, already rotated or belongs to a
+ * revoked token family. Mapped to 401 Unauthorized; the client has to log in again.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.userauth.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated and a login or registration
+ * cannot be admitted. Mapped to 429 Too Many Requests with a Retry-After header.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.userauth.exception;
+
+/**
+ * Thrown when the rating journal already holds its maximum backlog of submissions waiting
+ * for the database. Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+public class RatingIngestionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RatingIngestionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.userauth.exception;
+
+/**
+ * Thrown when this instance already serves its maximum number of live score streams.
+ * Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+public class ScoreStreamRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ScoreStreamRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
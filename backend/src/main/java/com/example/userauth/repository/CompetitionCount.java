@@ -0,0 +1,7 @@
+package com.example.userauth.repository;
+
+/**
+ * Number of rows of some kind belonging to one competition.
+ */
+public record CompetitionCount(Long competitionId, Long count) {
+}
@@ -1,12 +1,14 @@
 package com.example.userauth.repository;
 
 import com.example.userauth.entity.CompetitionEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,40 @@ public interface CompetitionEntryRepository extends JpaRepository<CompetitionEnt
      */
     List<CompetitionEntry> findByCompetitionIdOrderByDisplayOrder(Long competitionId);
     
+    /**
+     * Find the entries of several competitions with their contestants in one query
+     */
+    @Query("SELECT e FROM CompetitionEntry e LEFT JOIN FETCH e.contestant " +
+           "WHERE e.competition.id IN :competitionIds ORDER BY e.id")
+    List<CompetitionEntry> findByCompetitionIdInWithContestant(@Param("competitionIds") Collection<Long> competitionIds);
+    
+    /**
+     * Count the entries of several competitions by status in one grouped query
+     */
+    @Query("SELECT new com.example.userauth.repository.EntryStatusCount(e.competition.id, e.status, COUNT(e)) " +
+           "FROM CompetitionEntry e WHERE e.competition.id IN :competitionIds " +
+           "GROUP BY e.competition.id, e.status")
+    List<EntryStatusCount> countByCompetitionIdInGroupByStatus(@Param("competitionIds") Collection<Long> competitionIds);
+
+    /**
+     * Keyset page of a competition's entries ordered by (displayOrder, id), starting after the
+     * given position (none for the first page). Null filters match everything; the name pattern
+     * is a lower-case LIKE pattern escaped with '!'.
+     */
+    @Query("SELECT e FROM CompetitionEntry e LEFT JOIN FETCH e.contestant " +
+           "WHERE e.competition.id = :competitionId " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (:namePattern IS NULL OR LOWER(e.entryName) LIKE :namePattern ESCAPE '!') " +
+           "AND (:afterId IS NULL OR e.displayOrder > :afterOrder " +
+           "OR (e.displayOrder = :afterOrder AND e.id > :afterId)) " +
+           "ORDER BY e.displayOrder, e.id")
+    List<CompetitionEntry> findPageByCompetitionId(@Param("competitionId") Long competitionId,
+                                                   @Param("status") CompetitionEntry.EntryStatus status,
+                                                   @Param("namePattern") String namePattern,
+                                                   @Param("afterOrder") Integer afterOrder,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
     /**
      * Find all entries for a specific competition with a specific status
      */
@@ -52,4 +88,10 @@ public interface CompetitionEntryRepository extends JpaRepository<CompetitionEnt
     @Modifying
     @Query("UPDATE CompetitionEntry e SET e.deletedAt = CURRENT_TIMESTAMP WHERE e.id = :id")
     void softDeleteById(@Param("id") Long id);
-}
\ No newline at end of file
+
+    /**
+     * Page through entry ids in ascending order, starting after the given id
+     */
+    @Query("SELECT e.id FROM CompetitionEntry e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
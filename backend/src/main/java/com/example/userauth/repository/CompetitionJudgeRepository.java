@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,13 @@ public interface CompetitionJudgeRepository extends JpaRepository<CompetitionJud
     @Query("SELECT cj FROM CompetitionJudge cj JOIN FETCH cj.judge WHERE cj.competition.id = :competitionId")
     List<CompetitionJudge> findByCompetitionIdWithJudge(@Param("competitionId") Long competitionId);
     
+    /**
+     * Find the judges of several competitions in one query
+     */
+    @Query("SELECT cj FROM CompetitionJudge cj JOIN FETCH cj.judge " +
+           "WHERE cj.competition.id IN :competitionIds ORDER BY cj.id")
+    List<CompetitionJudge> findByCompetitionIdInWithJudge(@Param("competitionIds") Collection<Long> competitionIds);
+    
     /**
      * Find all competitions where a user is a judge
      */
@@ -42,4 +50,11 @@ public interface CompetitionJudgeRepository extends JpaRepository<CompetitionJud
      * Count judges for a competition
      */
     long countByCompetitionId(Long competitionId);
+    
+    /**
+     * Count the judges of several competitions in one grouped query
+     */
+    @Query("SELECT new com.example.userauth.repository.CompetitionCount(cj.competition.id, COUNT(cj)) " +
+           "FROM CompetitionJudge cj WHERE cj.competition.id IN :competitionIds GROUP BY cj.competition.id")
+    List<CompetitionCount> countByCompetitionIdIn(@Param("competitionIds") Collection<Long> competitionIds);
 }
\ No newline at end of file
@@ -6,11 +6,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CompetitionRatingRepository extends JpaRepository<CompetitionRating, Long> {
+public interface CompetitionRatingRepository extends JpaRepository<CompetitionRating, Long>,
+        CompetitionRatingRepositoryCustom {
     
     /**
      * Find all ratings for a specific competition
@@ -40,6 +42,16 @@ public interface CompetitionRatingRepository extends JpaRepository<CompetitionRa
      * Find specific rating by entry, judge, and parameter
      */
     Optional<CompetitionRating> findByEntryIdAndJudgeIdAndParameterId(Long entryId, Long judgeId, Long parameterId);
+
+    /**
+     * Find all ratings by a judge for an entry, in parameter display order
+     */
+    @Query("SELECT r FROM CompetitionRating r " +
+           "JOIN FETCH r.parameter p " +
+           "WHERE r.entry.id = :entryId AND r.judge.id = :judgeId " +
+           "ORDER BY p.displayOrder")
+    List<CompetitionRating> findByEntryIdAndJudgeIdWithParameter(@Param("entryId") Long entryId,
+                                                                 @Param("judgeId") Long judgeId);
     
     /**
      * Check if a judge has rated all parameters for an entry
@@ -48,39 +60,41 @@ public interface CompetitionRatingRepository extends JpaRepository<CompetitionRa
     long countByEntryIdAndJudgeId(@Param("entryId") Long entryId, @Param("judgeId") Long judgeId);
     
     /**
-     * Get average scores for all parameters of an entry
+     * Count the scored parameters of every (entry, judge) pair of a competition in one grouped query
      */
-    @Query("SELECT r.parameter.id, AVG(r.score) FROM CompetitionRating r " +
-           "WHERE r.entry.id = :entryId GROUP BY r.parameter.id")
-    List<Object[]> findAverageScoresByEntryId(@Param("entryId") Long entryId);
+    @Query("SELECT new com.example.userauth.repository.RatingCompletionCount(" +
+           "r.entry.id, j.id, j.username, COUNT(r)) " +
+           "FROM CompetitionRating r JOIN r.judge j " +
+           "WHERE r.competition.id = :competitionId " +
+           "GROUP BY r.entry.id, j.id, j.username")
+    List<RatingCompletionCount> countRatedParametersByCompetitionId(@Param("competitionId") Long competitionId);
     
     /**
-     * Get detailed average scores with parameter info for an entry
+     * Recompute per-parameter aggregates for a set of entries from the raw ratings
      */
-    @Query("SELECT r.parameter.id, r.parameter.name, r.parameter.weight, AVG(r.score), COUNT(r.score) " +
+    @Query("SELECT new com.example.userauth.repository.ParameterScoreSummary(" +
+           "r.competition.id, r.entry.id, r.parameter.id, SUM(r.score), SUM(r.score * r.score), COUNT(r)) " +
            "FROM CompetitionRating r " +
-           "WHERE r.entry.id = :entryId " +
-           "GROUP BY r.parameter.id, r.parameter.name, r.parameter.weight " +
-           "ORDER BY r.parameter.displayOrder")
-    List<Object[]> findDetailedAverageScoresByEntryId(@Param("entryId") Long entryId);
-    
+           "WHERE r.entry.id IN :entryIds " +
+           "GROUP BY r.competition.id, r.entry.id, r.parameter.id")
+    List<ParameterScoreSummary> summarizeParameterScoresByEntryIds(@Param("entryIds") Collection<Long> entryIds);
+
     /**
-     * Get all ratings for a competition with entry and parameter details for CSV export
+     * Recompute per-judge totals for a set of entries from the raw ratings
      */
-    @Query("SELECT r FROM CompetitionRating r " +
-           "JOIN FETCH r.entry e " +
-           "JOIN FETCH r.judge j " +
-           "JOIN FETCH r.parameter p " +
-           "WHERE r.competition.id = :competitionId " +
-           "ORDER BY e.displayOrder, j.username, p.displayOrder")
-    List<CompetitionRating> findByCompetitionIdForExport(@Param("competitionId") Long competitionId);
+    @Query("SELECT new com.example.userauth.repository.JudgeTotalSummary(" +
+           "r.competition.id, r.entry.id, r.judge.id, SUM(r.score)) " +
+           "FROM CompetitionRating r " +
+           "WHERE r.entry.id IN :entryIds " +
+           "GROUP BY r.competition.id, r.entry.id, r.judge.id")
+    List<JudgeTotalSummary> summarizeJudgeTotalsByEntryIds(@Param("entryIds") Collection<Long> entryIds);
 
     /**
-     * Get total score per judge for an entry
-     * Returns [judgeTotalScore]
+     * Fingerprint of a competition's ratings, changed by any submission or deletion
      */
-    @Query("SELECT SUM(r.score) FROM CompetitionRating r " +
-           "WHERE r.entry.id = :entryId " +
-           "GROUP BY r.judge.id")
-    List<Object[]> findJudgeTotalScoresByEntryId(@Param("entryId") Long entryId);
+    @Query("SELECT new com.example.userauth.repository.RatingDataVersion(" +
+           "COUNT(r), SUM(r.score), MAX(r.submittedAt)) " +
+           "FROM CompetitionRating r " +
+           "WHERE r.competition.id = :competitionId")
+    RatingDataVersion findDataVersion(@Param("competitionId") Long competitionId);
 }
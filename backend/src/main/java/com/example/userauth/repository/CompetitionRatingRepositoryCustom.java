@@ -0,0 +1,73 @@
+package com.example.userauth.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Custom write path and export read for competition ratings that Spring Data cannot derive.
+ */
+public interface CompetitionRatingRepositoryCustom {
+
+    /**
+     * One judge's scores for one entry within a batch submission.
+     */
+    record EntryScores(Long entryId, Map<Long, BigDecimal> scoresByParameter, String note) {
+    }
+
+    /**
+     * Load a judge's current scores for an entry and lock the rows until the transaction ends,
+     * so a concurrent re-submission by the same judge cannot compute its changes from the same
+     * previous scores.
+     *
+     * @param entryId the rated entry
+     * @param judgeId the judge
+     * @return score per evaluation parameter id, empty if the judge has not rated the entry
+     */
+    Map<Long, BigDecimal> findScoresForUpdate(Long entryId, Long judgeId);
+
+    /**
+     * Insert or update one judge's scores for an entry in a single statement.
+     * Relies on the unique key (entry_id, judge_id, parameter_id): existing rows get the new
+     * score, note and submission time, missing rows are inserted.
+     *
+     * @param competitionId the competition the entry belongs to
+     * @param entryId the rated entry
+     * @param judgeId the judge submitting the scores
+     * @param scoresByParameter score per evaluation parameter id
+     * @param note the note shared by all scores of the submission
+     * @param submittedAt the submission time
+     * @return the affected row count as reported by the driver
+     */
+    int upsertScores(Long competitionId, Long entryId, Long judgeId,
+                     Map<Long, BigDecimal> scoresByParameter, String note, LocalDateTime submittedAt);
+
+    /**
+     * Same as {@link #findScoresForUpdate(Long, Long)} for several entries in one query.
+     *
+     * @return score per evaluation parameter id, by entry id; entries the judge has not rated are absent
+     */
+    Map<Long, Map<Long, BigDecimal>> findScoresForUpdate(Collection<Long> entryIds, Long judgeId);
+
+    /**
+     * Same as {@link #upsertScores(Long, Long, Long, Map, String, LocalDateTime)} for several
+     * entries, writing as few multi-row statements as the bind parameter limit allows.
+     *
+     * @return the affected row count as reported by the driver
+     */
+    int upsertScores(Long competitionId, Long judgeId, List<EntryScores> entries, LocalDateTime submittedAt);
+
+    /**
+     * Stream a competition's scores for export, ordered by entry, then judge, then parameter,
+     * so all scores of one (entry, judge) pair are adjacent.
+     * Rows are read through a forward-only cursor with the configured fetch size; the stream
+     * must be consumed and closed inside the caller's transaction.
+     *
+     * @param competitionId the competition
+     * @return the scores as flat rows
+     */
+    Stream<RatingExportRow> streamExportRows(Long competitionId);
+}
@@ -0,0 +1,157 @@
+package com.example.userauth.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Multi-row upsert and streaming export read for {@link CompetitionRatingRepository}.
+ * {@code IDENTITY} ids keep Hibernate from batching inserts, so saving N scores costs N
+ * statements plus N lookups; one {@code INSERT ... ON DUPLICATE KEY UPDATE} costs one.
+ * Runs through the shared EntityManager so it joins the caller's transaction and pending
+ * changes are flushed first.
+ */
+class CompetitionRatingRepositoryImpl implements CompetitionRatingRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO competition_ratings " +
+            "(competition_id, entry_id, judge_id, parameter_id, score, note, submitted_at, deleted_at) VALUES ";
+
+    // A re-submitted score also revives a soft-deleted row instead of violating the unique key
+    private static final String UPSERT_SUFFIX =
+            " ON DUPLICATE KEY UPDATE score = VALUES(score), note = VALUES(note), " +
+            "submitted_at = VALUES(submitted_at), deleted_at = NULL";
+
+    private static final int COLUMNS_PER_ROW = 7;
+
+    // MySQL accepts at most 65,535 placeholders per prepared statement
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String SELECT_SCORES_FOR_UPDATE =
+            "SELECT parameter_id, score FROM competition_ratings " +
+            "WHERE entry_id = ?1 AND judge_id = ?2 FOR UPDATE";
+
+    private static final String SELECT_ENTRY_SCORES_FOR_UPDATE =
+            "SELECT entry_id, parameter_id, score FROM competition_ratings " +
+            "WHERE entry_id IN (?1) AND judge_id = ?2 FOR UPDATE";
+
+    private static final String SELECT_EXPORT_ROWS =
+            "SELECT new com.example.userauth.repository.RatingExportRow(" +
+            "e.id, e.entryName, j.id, j.username, p.id, r.score, r.note) " +
+            "FROM CompetitionRating r JOIN r.entry e JOIN r.judge j JOIN r.parameter p " +
+            "WHERE r.competition.id = :competitionId " +
+            "ORDER BY e.displayOrder, e.id, j.username, j.id, p.displayOrder";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result
+    @Value("${app.export.fetch-size:-2147483648}")
+    private int exportFetchSize;
+
+    @Override
+    public Map<Long, BigDecimal> findScoresForUpdate(Long entryId, Long judgeId) {
+        // Scalar rows rather than entities, so nothing stale stays in the persistence context after the upsert
+        List<?> rows = entityManager.createNativeQuery(SELECT_SCORES_FOR_UPDATE)
+                .setParameter(1, entryId)
+                .setParameter(2, judgeId)
+                .getResultList();
+        Map<Long, BigDecimal> scores = new HashMap<>();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            scores.put(((Number) columns[0]).longValue(), toBigDecimal(columns[1]));
+        }
+        return scores;
+    }
+
+    @Override
+    public Map<Long, Map<Long, BigDecimal>> findScoresForUpdate(Collection<Long> entryIds, Long judgeId) {
+        Map<Long, Map<Long, BigDecimal>> scores = new HashMap<>();
+        if (entryIds.isEmpty()) {
+            return scores;
+        }
+        List<?> rows = entityManager.createNativeQuery(SELECT_ENTRY_SCORES_FOR_UPDATE)
+                .setParameter(1, entryIds)
+                .setParameter(2, judgeId)
+                .getResultList();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            scores.computeIfAbsent(((Number) columns[0]).longValue(), id -> new HashMap<>())
+                    .put(((Number) columns[1]).longValue(), toBigDecimal(columns[2]));
+        }
+        return scores;
+    }
+
+    @Override
+    public int upsertScores(Long competitionId, Long entryId, Long judgeId,
+                            Map<Long, BigDecimal> scoresByParameter, String note, LocalDateTime submittedAt) {
+        return upsertScores(competitionId, judgeId,
+                List.of(new EntryScores(entryId, scoresByParameter, note)), submittedAt);
+    }
+
+    @Override
+    public int upsertScores(Long competitionId, Long judgeId, List<EntryScores> entries, LocalDateTime submittedAt) {
+        List<Object[]> rows = new ArrayList<>();
+        for (EntryScores entry : entries) {
+            for (Map.Entry<Long, BigDecimal> score : entry.scoresByParameter().entrySet()) {
+                rows.add(new Object[] {competitionId, entry.entryId(), judgeId, score.getKey(),
+                        score.getValue(), entry.note(), submittedAt});
+            }
+        }
+
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            affected += upsertRows(rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size())));
+        }
+        return affected;
+    }
+
+    private int upsertRows(List<Object[]> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int row = 0; row < rows.size(); row++) {
+            int base = row * COLUMNS_PER_ROW;
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?").append(base + 1);
+            for (int column = 2; column <= COLUMNS_PER_ROW; column++) {
+                sql.append(", ?").append(base + column);
+            }
+            sql.append(", NULL)");
+        }
+        sql.append(UPSERT_SUFFIX);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                query.setParameter(position++, value);
+            }
+        }
+        return query.executeUpdate();
+    }
+
+    @Override
+    public Stream<RatingExportRow> streamExportRows(Long competitionId) {
+        return entityManager.createQuery(SELECT_EXPORT_ROWS, RatingExportRow.class)
+                .setParameter("competitionId", competitionId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
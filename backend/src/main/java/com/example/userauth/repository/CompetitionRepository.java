@@ -1,6 +1,8 @@
 package com.example.userauth.repository;
 
 import com.example.userauth.entity.Competition;
+import com.example.userauth.entity.EvaluationModel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +15,10 @@ import java.util.Optional;
 
 @Repository
 public interface CompetitionRepository extends JpaRepository<Competition, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.example.userauth.repository.CompetitionSummaryRow(" +
+            "c.id, c.name, c.description, m.id, m.name, cr.id, cr.username, c.deadline, c.status, c.createdAt, c.updatedAt) " +
+            "FROM Competition c LEFT JOIN c.model m LEFT JOIN c.creator cr ";
     
     /**
      * Find all competitions created by a specific user
@@ -22,7 +28,9 @@ public interface CompetitionRepository extends JpaRepository<Competition, Long>
     /**
      * Find all competitions where a user is a judge
      */
-    @Query("SELECT DISTINCT c FROM Competition c JOIN c.judges j WHERE j.judge.id = :judgeId ORDER BY c.createdAt DESC")
+    @Query("SELECT DISTINCT c FROM Competition c " +
+           "LEFT JOIN FETCH c.model LEFT JOIN FETCH c.creator " +
+           "JOIN c.judges j WHERE j.judge.id = :judgeId ORDER BY c.createdAt DESC")
     List<Competition> findByJudgeIdOrderByCreatedAtDesc(@Param("judgeId") Long judgeId);
     
     /**
@@ -44,6 +52,17 @@ public interface CompetitionRepository extends JpaRepository<Competition, Long>
     @Query("SELECT c FROM Competition c WHERE c.deadline < :now AND c.status = 'ACTIVE'")
     List<Competition> findExpiredActiveCompetitions(@Param("now") LocalDateTime now);
     
+    /**
+     * Find ended competitions of a creator whose deadline falls in [from, to)
+     */
+    @Query("SELECT c FROM Competition c " +
+           "WHERE c.creator.id = :creatorId AND c.status = 'ENDED' AND c.deletedAt IS NULL " +
+           "AND c.deadline >= :from AND c.deadline < :to " +
+           "ORDER BY c.deadline, c.id")
+    List<Competition> findEndedByCreatorIdAndDeadlineBetween(@Param("creatorId") Long creatorId,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to);
+    
     /**
      * Check if a model is used by any competitions
      */
@@ -57,15 +76,59 @@ public interface CompetitionRepository extends JpaRepository<Competition, Long>
     /**
      * Find all non-deleted competitions
      */
-    @Query("SELECT c FROM Competition c WHERE c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    @Query("SELECT c FROM Competition c LEFT JOIN FETCH c.model LEFT JOIN FETCH c.creator " +
+           "WHERE c.deletedAt IS NULL ORDER BY c.createdAt DESC")
     List<Competition> findAllActive();
 
     /**
      * Find all non-deleted competitions by creator
      */
-    @Query("SELECT c FROM Competition c WHERE c.creator.id = :creatorId AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    @Query("SELECT c FROM Competition c LEFT JOIN FETCH c.model LEFT JOIN FETCH c.creator " +
+           "WHERE c.creator.id = :creatorId AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
     List<Competition> findActiveByCreatorIdOrderByCreatedAtDesc(@Param("creatorId") Long creatorId);
 
+    /**
+     * Keyset page of non-deleted competitions, newest first by (createdAt, id), starting after
+     * the given position (none for the first page). Null filters match everything; the name
+     * pattern is a lower-case LIKE pattern escaped with '!'.
+     */
+    @Query("SELECT c FROM Competition c LEFT JOIN FETCH c.model LEFT JOIN FETCH c.creator " +
+           "WHERE c.deletedAt IS NULL " +
+           "AND (:creatorId IS NULL OR c.creator.id = :creatorId) " +
+           "AND (:judgeId IS NULL OR EXISTS (SELECT 1 FROM CompetitionJudge j " +
+           "WHERE j.competition = c AND j.judge.id = :judgeId)) " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:namePattern IS NULL OR LOWER(c.name) LIKE :namePattern ESCAPE '!') " +
+           "AND (:afterId IS NULL OR c.createdAt < :afterCreatedAt " +
+           "OR (c.createdAt = :afterCreatedAt AND c.id < :afterId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Competition> findActivePage(@Param("creatorId") Long creatorId,
+                                     @Param("judgeId") Long judgeId,
+                                     @Param("status") Competition.CompetitionStatus status,
+                                     @Param("namePattern") String namePattern,
+                                     @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    /**
+     * List columns of all non-deleted competitions, newest first
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    List<CompetitionSummaryRow> findActiveSummaries();
+
+    /**
+     * List columns of the non-deleted competitions of a creator, newest first
+     */
+    @Query(SUMMARY_SELECT + "WHERE cr.id = :creatorId AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    List<CompetitionSummaryRow> findActiveSummariesByCreatorId(@Param("creatorId") Long creatorId);
+
+    /**
+     * List columns of the competitions a user judges, newest first
+     */
+    @Query(SUMMARY_SELECT + "WHERE EXISTS (SELECT 1 FROM CompetitionJudge j " +
+           "WHERE j.competition = c AND j.judge.id = :judgeId) ORDER BY c.createdAt DESC")
+    List<CompetitionSummaryRow> findSummariesByJudgeId(@Param("judgeId") Long judgeId);
+
     /**
      * Find non-deleted competition by id with details
      */
@@ -75,6 +138,19 @@ public interface CompetitionRepository extends JpaRepository<Competition, Long>
            "WHERE c.id = :id AND c.deletedAt IS NULL")
     Optional<Competition> findActiveByIdWithDetails(@Param("id") Long id);
 
+    /**
+     * Status and last update time of a competition, without loading it
+     */
+    @Query("SELECT new com.example.userauth.repository.CompetitionVersion(c.status, c.updatedAt) " +
+           "FROM Competition c WHERE c.id = :id")
+    Optional<CompetitionVersion> findVersionById(@Param("id") Long id);
+    
+    /**
+     * How the competition's model combines judge totals into the ranking score
+     */
+    @Query("SELECT m.aggregationMethod FROM Competition c JOIN c.model m WHERE c.id = :id")
+    Optional<EvaluationModel.AggregationMethod> findAggregationMethodById(@Param("id") Long id);
+
     /**
      * Soft delete competition by setting deleted_at
      */
@@ -83,8 +159,9 @@ public interface CompetitionRepository extends JpaRepository<Competition, Long>
     void softDeleteById(@Param("id") Long id);
 
     /**
-     * Find competition by id with creator (for permission checks)
+     * Find competition by id with creator (for permission checks) and model
+     * (for the results' aggregation method)
      */
-    @Query("SELECT c FROM Competition c LEFT JOIN FETCH c.creator WHERE c.id = :id")
+    @Query("SELECT c FROM Competition c LEFT JOIN FETCH c.creator LEFT JOIN FETCH c.model WHERE c.id = :id")
     Optional<Competition> findByIdWithCreator(@Param("id") Long id);
 }
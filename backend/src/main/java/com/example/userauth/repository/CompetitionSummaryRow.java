@@ -0,0 +1,14 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.Competition;
+
+import java.time.LocalDateTime;
+
+/**
+ * A competition's own columns with its model and creator names, for list views.
+ */
+public record CompetitionSummaryRow(Long id, String name, String description, Long modelId, String modelName,
+                                   Long creatorId, String creatorName, LocalDateTime deadline,
+                                   Competition.CompetitionStatus status,
+                                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,11 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.Competition;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status and last update time of a competition, enough to validate a cached copy of it.
+ */
+public record CompetitionVersion(Competition.CompetitionStatus status, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,9 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.CompetitionEntry;
+
+/**
+ * Number of a competition's entries in one status.
+ */
+public record EntryStatusCount(Long competitionId, CompetitionEntry.EntryStatus status, Long count) {
+}
@@ -34,4 +34,10 @@ public interface EvaluationModelRepository extends JpaRepository<EvaluationModel
      */
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM Competition c WHERE c.model.id = :modelId")
     boolean isModelUsedByCompetitions(@Param("modelId") Long modelId);
+
+    /**
+     * Number of models and the latest update time among them
+     */
+    @Query("SELECT new com.example.userauth.repository.TableVersion(COUNT(m), MAX(m.updatedAt)) FROM EvaluationModel m")
+    TableVersion findTableVersion();
 }
\ No newline at end of file
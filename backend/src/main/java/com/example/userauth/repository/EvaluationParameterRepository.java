@@ -16,6 +16,11 @@ public interface EvaluationParameterRepository extends JpaRepository<EvaluationP
      */
     List<EvaluationParameter> findByModelIdOrderByDisplayOrder(Long modelId);
     
+    /**
+     * Count parameters of a model
+     */
+    long countByModelId(Long modelId);
+    
     /**
      * Delete all parameters by model id
      */
@@ -0,0 +1,100 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.ExportJob;
+import com.example.userauth.entity.ExportJob.ExportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, Long> {
+    
+    /**
+     * Find the job exporting a competition at a given data version
+     */
+    Optional<ExportJob> findByCompetitionIdAndDataVersion(Long competitionId, String dataVersion);
+    
+    /**
+     * Find finished jobs whose artifacts are past retention
+     */
+    List<ExportJob> findByCompletedAtBefore(LocalDateTime completedBefore);
+    
+    /**
+     * Put a failed or abandoned job back in the queue as a new attempt, unless another request already did
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ExportJob j SET j.status = com.example.userauth.entity.ExportJob$ExportStatus.PENDING, " +
+           "j.attempt = j.attempt + 1, " +
+           "j.requestedBy = :requestedBy, j.rowsWritten = 0, j.totalRows = 0, j.fileName = NULL, j.fileSize = NULL, j.errorMessage = NULL, " +
+           "j.completedAt = NULL, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = :status AND j.updatedAt = :updatedAt")
+    int restart(@Param("id") Long id,
+                @Param("status") ExportStatus status,
+                @Param("updatedAt") LocalDateTime updatedAt,
+                @Param("requestedBy") Long requestedBy,
+                @Param("now") LocalDateTime now);
+    
+    /**
+     * Claim a queued attempt for the worker that dequeued it; 0 if it was restarted or claimed meanwhile
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = com.example.userauth.entity.ExportJob$ExportStatus.RUNNING, " +
+           "j.totalRows = :totalRows, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.attempt = :attempt " +
+           "AND j.status = com.example.userauth.entity.ExportJob$ExportStatus.PENDING")
+    int markRunning(@Param("id") Long id, @Param("attempt") int attempt,
+                    @Param("totalRows") long totalRows, @Param("now") LocalDateTime now);
+    
+    /**
+     * Record that the instance holding a queued or running attempt is still alive
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.attempt = :attempt " +
+           "AND j.status IN (com.example.userauth.entity.ExportJob$ExportStatus.PENDING, " +
+           "com.example.userauth.entity.ExportJob$ExportStatus.RUNNING)")
+    int heartbeat(@Param("id") Long id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.rowsWritten = :rowsWritten, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.attempt = :attempt " +
+           "AND j.status = com.example.userauth.entity.ExportJob$ExportStatus.RUNNING")
+    int updateProgress(@Param("id") Long id, @Param("attempt") int attempt,
+                       @Param("rowsWritten") long rowsWritten, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = com.example.userauth.entity.ExportJob$ExportStatus.COMPLETED, " +
+           "j.rowsWritten = :rowsWritten, " +
+           "j.fileName = :fileName, j.fileSize = :fileSize, j.completedAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.attempt = :attempt " +
+           "AND j.status = com.example.userauth.entity.ExportJob$ExportStatus.RUNNING")
+    int markCompleted(@Param("id") Long id,
+                      @Param("attempt") int attempt,
+                      @Param("rowsWritten") long rowsWritten,
+                      @Param("fileName") String fileName,
+                      @Param("fileSize") long fileSize,
+                      @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = com.example.userauth.entity.ExportJob$ExportStatus.FAILED, " +
+           "j.errorMessage = :errorMessage, " +
+           "j.completedAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.attempt = :attempt " +
+           "AND j.status IN (com.example.userauth.entity.ExportJob$ExportStatus.PENDING, " +
+           "com.example.userauth.entity.ExportJob$ExportStatus.RUNNING)")
+    int markFailed(@Param("id") Long id, @Param("attempt") int attempt,
+                   @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+}
@@ -2,6 +2,7 @@ package com.example.userauth.repository;
 
 import com.example.userauth.entity.FruitData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +19,7 @@ public interface FruitDataRepository extends JpaRepository<FruitData, Long> {
     void deleteByFruitNameAndDataType(String fruitName, String dataType);
     
     boolean existsByFruitNameAndDataType(String fruitName, String dataType);
+    
+    @Query("SELECT new com.example.userauth.repository.TableVersion(COUNT(d), MAX(d.updatedAt)) FROM FruitData d")
+    TableVersion findTableVersion();
 }
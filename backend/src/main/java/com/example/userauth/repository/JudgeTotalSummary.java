@@ -0,0 +1,9 @@
+package com.example.userauth.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-entry, per-judge total score, computed from competition_ratings or read from rating_judge_totals.
+ */
+public record JudgeTotalSummary(Long competitionId, Long entryId, Long judgeId, BigDecimal totalScore) {
+}
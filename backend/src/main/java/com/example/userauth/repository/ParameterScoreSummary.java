@@ -0,0 +1,21 @@
+package com.example.userauth.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-entry, per-parameter score totals, computed from competition_ratings or read from
+ * rating_parameter_aggregates.
+ */
+public record ParameterScoreSummary(Long competitionId, Long entryId, Long parameterId,
+                                    BigDecimal scoreSum, BigDecimal scoreSquareSum, Long ratingCount) {
+
+    /**
+     * Average score of the parameter, or 0 if nobody has rated it.
+     */
+    public double averageScore() {
+        if (ratingCount == null || ratingCount == 0) {
+            return 0.0;
+        }
+        return scoreSum.doubleValue() / ratingCount;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.userauth.repository;
+
+/**
+ * Number of parameters one judge has scored for one entry.
+ */
+public record RatingCompletionCount(Long entryId, Long judgeId, String judgeName, Long ratedParameters) {
+}
@@ -0,0 +1,20 @@
+package com.example.userauth.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Rating count, score sum and latest submission time of a competition.
+ */
+public record RatingDataVersion(Long ratingCount, BigDecimal scoreSum, LocalDateTime lastSubmittedAt) {
+    
+    /**
+     * Compact form used to tell two snapshots of the same competition apart
+     */
+    public String fingerprint() {
+        String sum = scoreSum != null ? scoreSum.stripTrailingZeros().toPlainString() : "0";
+        long submitted = lastSubmittedAt != null ? lastSubmittedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        return ratingCount + "-" + sum + "-" + submitted;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.userauth.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One score of a competition export, flattened so no entity is loaded per row.
+ */
+public record RatingExportRow(Long entryId, String entryName, Long judgeId, String judgeUsername,
+                              Long parameterId, BigDecimal score, String note) {
+}
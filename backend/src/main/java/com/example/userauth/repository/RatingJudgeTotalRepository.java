@@ -0,0 +1,79 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.CompetitionEntry;
+import com.example.userauth.entity.RatingJudgeTotal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RatingJudgeTotalRepository extends JpaRepository<RatingJudgeTotal, Long>,
+        RatingJudgeTotalRepositoryCustom {
+    
+    /**
+     * Find all judge totals for a competition
+     */
+    List<RatingJudgeTotal> findByCompetitionId(Long competitionId);
+    
+    /**
+     * Find all judge totals for an entry
+     */
+    List<RatingJudgeTotal> findByEntryId(Long entryId);
+    
+    /**
+     * Read the judge totals of a set of entries as values rather than entities, so rows changed
+     * by the delta upserts are seen as stored even if this transaction loaded them before
+     */
+    @Query("SELECT new com.example.userauth.repository.JudgeTotalSummary(" +
+           "t.competitionId, t.entryId, t.judgeId, t.totalScore) " +
+           "FROM RatingJudgeTotal t WHERE t.entryId IN :entryIds")
+    List<JudgeTotalSummary> summarizeByEntryIds(@Param("entryIds") Collection<Long> entryIds);
+    
+    /**
+     * Count (entry, judge) pairs with ratings in a competition
+     */
+    long countByCompetitionId(Long competitionId);
+    
+    /**
+     * Count, per competition, the approved entries each current judge has rated, in one grouped
+     * query; a judge total exists once a judge has submitted every parameter of an entry
+     */
+    @Query("SELECT new com.example.userauth.repository.CompetitionCount(t.competitionId, COUNT(t)) " +
+           "FROM RatingJudgeTotal t, CompetitionJudge cj, CompetitionEntry e " +
+           "WHERE t.competitionId IN :competitionIds " +
+           "AND cj.competition.id = t.competitionId AND cj.judge.id = t.judgeId " +
+           "AND e.id = t.entryId AND e.status = :status " +
+           "GROUP BY t.competitionId")
+    List<CompetitionCount> countJudgedEntriesByCompetitionIdIn(
+            @Param("competitionIds") Collection<Long> competitionIds,
+            @Param("status") CompetitionEntry.EntryStatus status);
+    
+    /**
+     * Find judge totals for a set of entries and lock them, including the gaps where
+     * missing rows would be inserted, until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RatingJudgeTotal t WHERE t.entryId IN :entryIds")
+    List<RatingJudgeTotal> findByEntryIdInForUpdate(@Param("entryIds") Collection<Long> entryIds);
+    
+    /**
+     * Delete judge totals of an entry
+     */
+    @Modifying
+    @Query("DELETE FROM RatingJudgeTotal t WHERE t.entryId = :entryId")
+    int deleteByEntryId(@Param("entryId") Long entryId);
+    
+    /**
+     * Delete judge totals of a competition
+     */
+    @Modifying
+    @Query("DELETE FROM RatingJudgeTotal t WHERE t.competitionId = :competitionId")
+    int deleteByCompetitionId(@Param("competitionId") Long competitionId);
+}
@@ -0,0 +1,22 @@
+package com.example.userauth.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Delta write path for per-judge rating totals.
+ */
+public interface RatingJudgeTotalRepositoryCustom {
+
+    /**
+     * Add one judge's total deltas to several entries with multi-row statements, creating missing rows.
+     *
+     * @param competitionId the competition the entries belong to
+     * @param judgeId the judge
+     * @param deltasByEntry total delta by entry id
+     * @param updatedAt the update time to record
+     * @return the affected row count as reported by the driver
+     */
+    int addToTotals(Long competitionId, Long judgeId, Map<Long, BigDecimal> deltasByEntry, LocalDateTime updatedAt);
+}
@@ -0,0 +1,72 @@
+package com.example.userauth.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-row delta upsert for {@link RatingJudgeTotalRepository}, so a batch of N entries
+ * costs one statement instead of N.
+ */
+class RatingJudgeTotalRepositoryImpl implements RatingJudgeTotalRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO rating_judge_totals (competition_id, entry_id, judge_id, total_score, updated_at) VALUES ";
+
+    private static final String UPSERT_SUFFIX =
+            " ON DUPLICATE KEY UPDATE total_score = total_score + VALUES(total_score), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final int COLUMNS_PER_ROW = 5;
+
+    // MySQL accepts at most 65,535 placeholders per prepared statement
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int addToTotals(Long competitionId, Long judgeId, Map<Long, BigDecimal> deltasByEntry,
+                           LocalDateTime updatedAt) {
+        List<Map.Entry<Long, BigDecimal>> rows = new ArrayList<>(deltasByEntry.entrySet());
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            affected += addRows(competitionId, judgeId,
+                    rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size())), updatedAt);
+        }
+        return affected;
+    }
+
+    private int addRows(Long competitionId, Long judgeId, List<Map.Entry<Long, BigDecimal>> rows,
+                        LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int row = 0; row < rows.size(); row++) {
+            int base = row * COLUMNS_PER_ROW;
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?").append(base + 1);
+            for (int column = 2; column <= COLUMNS_PER_ROW; column++) {
+                sql.append(", ?").append(base + column);
+            }
+            sql.append(")");
+        }
+        sql.append(UPSERT_SUFFIX);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (Map.Entry<Long, BigDecimal> row : rows) {
+            query.setParameter(position++, competitionId);
+            query.setParameter(position++, row.getKey());
+            query.setParameter(position++, judgeId);
+            query.setParameter(position++, row.getValue());
+            query.setParameter(position++, updatedAt);
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.RatingParameterAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RatingParameterAggregateRepository extends JpaRepository<RatingParameterAggregate, Long>,
+        RatingParameterAggregateRepositoryCustom {
+    
+    /**
+     * Find all parameter aggregates for a competition
+     */
+    List<RatingParameterAggregate> findByCompetitionId(Long competitionId);
+    
+    /**
+     * Find all parameter aggregates for an entry
+     */
+    List<RatingParameterAggregate> findByEntryId(Long entryId);
+    
+    /**
+     * Read the parameter aggregates of a set of entries as values rather than entities, so rows
+     * changed by the delta upserts are seen as stored even if this transaction loaded them before
+     */
+    @Query("SELECT new com.example.userauth.repository.ParameterScoreSummary(" +
+           "a.competitionId, a.entryId, a.parameterId, a.scoreSum, a.scoreSquareSum, CAST(a.ratingCount AS Long)) " +
+           "FROM RatingParameterAggregate a WHERE a.entryId IN :entryIds")
+    List<ParameterScoreSummary> summarizeByEntryIds(@Param("entryIds") Collection<Long> entryIds);
+    
+    /**
+     * Find parameter aggregates for a set of entries and lock them, including the gaps where
+     * missing rows would be inserted, until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM RatingParameterAggregate a WHERE a.entryId IN :entryIds")
+    List<RatingParameterAggregate> findByEntryIdInForUpdate(@Param("entryIds") Collection<Long> entryIds);
+    
+    /**
+     * Delete aggregates of an entry
+     */
+    @Modifying
+    @Query("DELETE FROM RatingParameterAggregate a WHERE a.entryId = :entryId")
+    int deleteByEntryId(@Param("entryId") Long entryId);
+    
+    /**
+     * Delete aggregates of a competition
+     */
+    @Modifying
+    @Query("DELETE FROM RatingParameterAggregate a WHERE a.competitionId = :competitionId")
+    int deleteByCompetitionId(@Param("competitionId") Long competitionId);
+}
@@ -0,0 +1,26 @@
+package com.example.userauth.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Delta write path for per-parameter rating aggregates.
+ */
+public interface RatingParameterAggregateRepositoryCustom {
+
+    /**
+     * Change in one parameter's running totals for one entry caused by a single submission.
+     */
+    record ParameterDelta(Long entryId, Long parameterId, BigDecimal scoreSum, BigDecimal scoreSquareSum,
+                          int ratingCount) {
+    }
+
+    /**
+     * Add the deltas to the entries' aggregate rows with multi-row statements, creating missing rows.
+     *
+     * @param competitionId the competition the entries belong to
+     * @param deltas one delta per changed (entry, parameter) pair
+     * @return the affected row count as reported by the driver
+     */
+    int applyDeltas(Long competitionId, List<ParameterDelta> deltas);
+}
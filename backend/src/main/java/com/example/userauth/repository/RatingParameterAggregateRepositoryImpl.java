@@ -0,0 +1,72 @@
+package com.example.userauth.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Multi-row delta upsert for {@link RatingParameterAggregateRepository}.
+ * The additions happen inside the database under the row lock, so concurrent submissions
+ * from different judges never overwrite each other's contribution.
+ */
+class RatingParameterAggregateRepositoryImpl implements RatingParameterAggregateRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO rating_parameter_aggregates " +
+            "(competition_id, entry_id, parameter_id, score_sum, score_square_sum, rating_count, updated_at) VALUES ";
+
+    private static final String UPSERT_SUFFIX =
+            " ON DUPLICATE KEY UPDATE score_sum = score_sum + VALUES(score_sum), " +
+            "score_square_sum = score_square_sum + VALUES(score_square_sum), " +
+            "rating_count = rating_count + VALUES(rating_count), updated_at = VALUES(updated_at)";
+
+    private static final int COLUMNS_PER_ROW = 7;
+
+    // MySQL accepts at most 65,535 placeholders per prepared statement
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int applyDeltas(Long competitionId, List<ParameterDelta> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        int affected = 0;
+        for (int from = 0; from < deltas.size(); from += MAX_ROWS_PER_STATEMENT) {
+            affected += applyRows(competitionId,
+                    deltas.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, deltas.size())), now);
+        }
+        return affected;
+    }
+
+    private int applyRows(Long competitionId, List<ParameterDelta> deltas, LocalDateTime now) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int row = 0; row < deltas.size(); row++) {
+            int base = row * COLUMNS_PER_ROW;
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?").append(base + 1);
+            for (int column = 2; column <= COLUMNS_PER_ROW; column++) {
+                sql.append(", ?").append(base + column);
+            }
+            sql.append(")");
+        }
+        sql.append(UPSERT_SUFFIX);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (ParameterDelta delta : deltas) {
+            query.setParameter(position++, competitionId);
+            query.setParameter(position++, delta.entryId());
+            query.setParameter(position++, delta.parameterId());
+            query.setParameter(position++, delta.scoreSum());
+            query.setParameter(position++, delta.scoreSquareSum());
+            query.setParameter(position++, delta.ratingCount());
+            query.setParameter(position++, now);
+        }
+        return query.executeUpdate();
+    }
+}
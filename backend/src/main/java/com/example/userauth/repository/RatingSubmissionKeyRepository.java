@@ -0,0 +1,31 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.RatingSubmissionKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RatingSubmissionKeyRepository extends JpaRepository<RatingSubmissionKey, Long>,
+        RatingSubmissionKeyRepositoryCustom {
+    
+    /**
+     * Find the keys a judge has already used among the given ones
+     */
+    List<RatingSubmissionKey> findByJudgeIdAndIdempotencyKeyIn(Long judgeId, Collection<String> idempotencyKeys);
+    
+    /**
+     * Delete keys past retention
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RatingSubmissionKey k WHERE k.createdAt < :createdBefore")
+    int deleteByCreatedAtBefore(@Param("createdBefore") LocalDateTime createdBefore);
+}
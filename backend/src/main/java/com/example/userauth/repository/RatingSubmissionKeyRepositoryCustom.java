@@ -0,0 +1,23 @@
+package com.example.userauth.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Multi-row insert of batch submission idempotency keys.
+ */
+public interface RatingSubmissionKeyRepositoryCustom {
+
+    /**
+     * Insert a judge's keys in a single statement.
+     * A plain insert on purpose: a key already taken by a concurrent retry of the same batch
+     * violates the unique key and rolls the retry back instead of writing the scores twice.
+     *
+     * @param judgeId the judge submitting the batch
+     * @param competitionId the competition of the batch
+     * @param entryIdByKey the rated entry, by idempotency key
+     * @param createdAt the submission time
+     * @return the inserted row count
+     */
+    int insertKeys(Long judgeId, Long competitionId, Map<String, Long> entryIdByKey, LocalDateTime createdAt);
+}
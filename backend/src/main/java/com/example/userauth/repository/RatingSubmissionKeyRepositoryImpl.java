@@ -0,0 +1,55 @@
+package com.example.userauth.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Multi-row insert for {@link RatingSubmissionKeyRepository}; {@code IDENTITY} ids would
+ * otherwise cost one statement per key.
+ */
+class RatingSubmissionKeyRepositoryImpl implements RatingSubmissionKeyRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO rating_submission_keys " +
+            "(judge_id, idempotency_key, competition_id, entry_id, created_at) VALUES ";
+
+    private static final int COLUMNS_PER_ROW = 5;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertKeys(Long judgeId, Long competitionId, Map<String, Long> entryIdByKey, LocalDateTime createdAt) {
+        if (entryIdByKey.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int row = 0; row < entryIdByKey.size(); row++) {
+            int base = row * COLUMNS_PER_ROW;
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?").append(base + 1);
+            for (int column = 2; column <= COLUMNS_PER_ROW; column++) {
+                sql.append(", ?").append(base + column);
+            }
+            sql.append(")");
+        }
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (Map.Entry<String, Long> key : entryIdByKey.entrySet()) {
+            query.setParameter(position++, judgeId);
+            query.setParameter(position++, key.getKey());
+            query.setParameter(position++, competitionId);
+            query.setParameter(position++, key.getValue());
+            query.setParameter(position++, createdAt);
+        }
+        return query.executeUpdate();
+    }
+}
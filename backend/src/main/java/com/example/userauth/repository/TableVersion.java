@@ -0,0 +1,9 @@
+package com.example.userauth.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest update time of a table.
+ */
+public record TableVersion(Long rowCount, LocalDateTime lastUpdatedAt) {
+}
@@ -1,9 +1,14 @@
 package com.example.userauth.repository;
 
 import com.example.userauth.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,4 +35,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     long countByIsAdminTrue();
+
+    /**
+     * Keyset page of users, newest first by (createdAt, id), starting after the given position.
+     * 
+     * @param admin only admins (true) or only regular users (false); null for both
+     * @param usernamePattern lower-case LIKE pattern escaped with '!', or null for any username
+     * @param afterCreatedAt creation time of the last user of the previous page
+     * @param afterId id of the last user of the previous page, or null for the first page
+     * @param pageable the page size
+     * @return the users of the page
+     */
+    @Query("SELECT u FROM User u " +
+           "WHERE (:admin IS NULL OR u.isAdmin = :admin) " +
+           "AND (:usernamePattern IS NULL OR LOWER(u.username) LIKE :usernamePattern ESCAPE '!') " +
+           "AND (:afterId IS NULL OR u.createdAt < :afterCreatedAt " +
+           "OR (u.createdAt = :afterCreatedAt AND u.id < :afterId)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPage(@Param("admin") Boolean admin,
+                        @Param("usernamePattern") String usernamePattern,
+                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
 }
@@ -0,0 +1,42 @@
+package com.example.userauth.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Authenticated principal built directly from verified JWT claims.
+ * Carries the identity fields the application needs without loading the user row.
+ */
+public record AuthenticatedUser(Long id, String username, boolean admin) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * Authorities granted to this principal, mirroring {@link CustomUserDetailsService}.
+     */
+    public List<GrantedAuthority> authorities() {
+        if (admin) {
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+
+    /**
+     * Build a principal from a verified token.
+     *
+     * @param token the verified token
+     * @return the principal, or null if the token does not carry the user id and username
+     */
+    public static AuthenticatedUser from(VerifiedToken token) {
+        if (token.userId() == null || token.subject() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(token.userId(), token.subject(), token.admin());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.userauth.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method parameter to receive the authenticated user.
+ * The parameter must be of type {@link AuthenticatedUser}; it is resolved once per request
+ * by {@link CurrentUserArgumentResolver}.
+ * 
+ * Usage:
+ * @GetMapping("/mine")
+ * public ResponseEntity<?> mine(@CurrentUser AuthenticatedUser currentUser) {
+ *     // currentUser.id(), currentUser.username(), currentUser.admin()
+ * }
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
@@ -0,0 +1,71 @@
+package com.example.userauth.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node refresh token store used for tests and deployments without Redis.
+ * Families are lost on restart, which only forces affected clients to log in again.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.refresh-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private record Family(String tokenId, long expiresAtMillis) {
+
+        boolean isExpiredAt(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Family> families = new ConcurrentHashMap<>();
+
+    @Override
+    public void create(String familyId, String tokenId, Duration ttl) {
+        families.put(familyId, new Family(tokenId, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public RotationResult rotate(String familyId, String presentedTokenId, String nextTokenId, Duration ttl) {
+        RotationResult[] result = {RotationResult.UNKNOWN};
+        long now = System.currentTimeMillis();
+        // compute() runs under the bin lock, so two callers cannot both rotate the same token
+        families.compute(familyId, (id, family) -> {
+            if (family == null || family.isExpiredAt(now)) {
+                return null;
+            }
+            if (!family.tokenId().equals(presentedTokenId)) {
+                result[0] = RotationResult.REUSED;
+                return null;
+            }
+            result[0] = RotationResult.ROTATED;
+            return new Family(nextTokenId, now + ttl.toMillis());
+        });
+        return result[0];
+    }
+
+    @Override
+    public void revoke(String familyId) {
+        families.remove(familyId);
+    }
+
+    /**
+     * Drop families that expired without being rotated or revoked.
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void purgeExpiredFamilies() {
+        long now = System.currentTimeMillis();
+        families.values().removeIf(family -> family.isExpiredAt(now));
+    }
+
+    /**
+     * Number of families currently tracked.
+     */
+    public int size() {
+        return families.size();
+    }
+}
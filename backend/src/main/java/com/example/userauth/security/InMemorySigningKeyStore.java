@@ -0,0 +1,50 @@
+package com.example.userauth.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Signing key store for a single instance, used for tests and deployments without Redis.
+ * Rotated keys are lost on restart; tokens signed with them are rejected afterwards.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.key-rotation.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySigningKeyStore implements SigningKeyStore {
+
+    private final ConcurrentHashMap<String, SigningKeyEntry> keys = new ConcurrentHashMap<>();
+    private final AtomicLong lockedUntil = new AtomicLong();
+
+    @Override
+    public List<SigningKeyEntry> loadKeys() {
+        return new ArrayList<>(keys.values());
+    }
+
+    @Override
+    public void saveKey(SigningKeyEntry entry) {
+        keys.put(entry.kid(), entry);
+    }
+
+    @Override
+    public void removeKeys(Collection<String> kids) {
+        kids.forEach(keys::remove);
+    }
+
+    @Override
+    public boolean tryAcquireRotationLock(Duration ttl) {
+        long now = System.currentTimeMillis();
+        long current = lockedUntil.get();
+        return current <= now && lockedUntil.compareAndSet(current, now + ttl.toMillis());
+    }
+
+    @Override
+    public void releaseRotationLock() {
+        lockedUntil.set(0);
+    }
+}
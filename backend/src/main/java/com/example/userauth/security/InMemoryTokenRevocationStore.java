@@ -0,0 +1,49 @@
+package com.example.userauth.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node revocation store used for tests and deployments without Redis.
+ * Marks are not shared, so it must not back stateless authentication on several instances.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private record Mark(long revokedAtMillis, long expiresAtMillis) {
+    }
+
+    private final ConcurrentHashMap<Long, Mark> marks = new ConcurrentHashMap<>();
+
+    @Override
+    public void mark(Long userId, long revokedAtMillis, Duration ttl) {
+        marks.put(userId, new Mark(revokedAtMillis, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public Long revokedBefore(Long userId) {
+        Mark mark = marks.get(userId);
+        return mark != null ? mark.revokedAtMillis() : null;
+    }
+
+    /**
+     * Drop marks older than one token lifetime; every token they could reject has expired.
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void purgeExpiredMarks() {
+        long now = System.currentTimeMillis();
+        marks.values().removeIf(mark -> mark.expiresAtMillis() <= now);
+    }
+
+    /**
+     * Number of users with an active revocation mark.
+     */
+    public int size() {
+        return marks.size();
+    }
+}
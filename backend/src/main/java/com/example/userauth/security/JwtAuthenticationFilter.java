@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,17 +20,25 @@ import java.io.IOException;
 /**
  * JWT authentication filter to validate tokens on each request.
  * Extracts JWT from Authorization header and validates it.
+ * In stateless mode the principal is built from the verified claims instead of
+ * loading the user from the database.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${app.jwt.stateless-auth:false}")
+    private boolean statelessAuth;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   TokenRevocationService tokenRevocationService) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -40,8 +49,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         // Check if Authorization header is present and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -50,33 +57,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // Extract JWT token from header
-        jwt = authHeader.substring(7);
+        final String jwt = authHeader.substring(7);
         
         try {
-            // Extract username from JWT
-            username = jwtService.extractUsername(jwt);
-
-            // If username is present and no authentication is set in context
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                
-                // Load user details
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                
-                // Validate token
-                if (jwtService.validateToken(jwt, userDetails)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    
-                    // Set authentication details
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            // Signature and expiry are verified once; repeat requests hit the verification cache
+            VerifiedToken token = jwtService.verify(jwt);
+            // Refresh tokens only buy new tokens at /api/auth/refresh, never access in either mode
+            if (token.isRefreshToken()) {
+                logger.debug("Rejected refresh token used as access token for: " + token.subject());
+            } else if (statelessAuth) {
+                authenticateFromClaims(token, request);
+            } else {
+                authenticateFromUserDetails(token, request);
             }
         } catch (Exception e) {
             // Log the exception but don't fail the request
@@ -85,4 +77,65 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Authenticate by loading the user from the database and validating the token against it.
+     */
+    private void authenticateFromUserDetails(VerifiedToken token, HttpServletRequest request) {
+        // Extract username from JWT
+        final String username = token.subject();
+
+        // If username is present and no authentication is set in context
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            
+            // Load user details
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            
+            // Signature and expiry were checked by verify; the token must belong to this user
+            if (username.equals(userDetails.getUsername())) {
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                
+                // Set authentication details
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                // Set authentication in security context
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+        }
+    }
+
+    /**
+     * Authenticate from verified token claims without a database round trip.
+     * Role changes and deletions are enforced through {@link TokenRevocationService}.
+     */
+    private void authenticateFromClaims(VerifiedToken token, HttpServletRequest request) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+
+        AuthenticatedUser principal = AuthenticatedUser.from(token);
+        if (principal == null) {
+            // Tokens without identity claims still go through the database lookup
+            authenticateFromUserDetails(token, request);
+            return;
+        }
+
+        if (tokenRevocationService.isRevoked(principal.id(), token.issuedAt())) {
+            logger.debug("Rejected revoked token for user: " + principal.username());
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.authorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
\ No newline at end of file
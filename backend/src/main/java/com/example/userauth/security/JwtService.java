@@ -1,7 +1,11 @@
 package com.example.userauth.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,11 +14,13 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
@@ -24,6 +30,9 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    /** Key id of the key derived from {@code app.jwt.secret}. */
+    public static final String PRIMARY_KEY_ID = "primary";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -33,7 +42,35 @@ public class JwtService {
     @Value("${app.jwt.refresh-expiration:604800000}") // 7 days default
     private long refreshExpiration;
 
-    private SecretKey getSigningKey() {
+    @Value("${app.jwt.verification-cache-size:10000}")
+    private int verificationCacheSize;
+
+    // Built once from the secret; the parser is immutable and thread-safe
+    private volatile SecretKey primaryKey;
+    private volatile JwtParser parser;
+    private volatile VerifiedTokenCache verifiedTokens;
+
+    // Replaced as a whole by KeyManagementService when keys rotate
+    private final AtomicReference<SigningKeyRing> keyRing = new AtomicReference<>();
+
+    /**
+     * Key derived from {@code app.jwt.secret}. It verifies tokens issued without a
+     * {@code kid} header and signs new tokens until a rotated key takes over.
+     */
+    SecretKey getPrimaryKey() {
+        SecretKey key = primaryKey;
+        if (key == null) {
+            synchronized (this) {
+                if (primaryKey == null) {
+                    primaryKey = buildSigningKey();
+                }
+                key = primaryKey;
+            }
+        }
+        return key;
+    }
+
+    private SecretKey buildSigningKey() {
         // Ensure the key is at least 256 bits (32 bytes) for HS256
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
@@ -43,46 +80,124 @@ public class JwtService {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    /**
+     * Current key ring; until a rotated ring is published it holds only the primary key.
+     */
+    public SigningKeyRing getKeyRing() {
+        SigningKeyRing ring = keyRing.get();
+        if (ring == null) {
+            keyRing.compareAndSet(null, SigningKeyRing.single(PRIMARY_KEY_ID, getPrimaryKey()));
+            ring = keyRing.get();
+        }
+        return ring;
+    }
+
+    /**
+     * Atomically replace the key ring used for signing and verification.
+     * Verified tokens are forgotten when a key is retired so they cannot outlive it.
+     *
+     * @param ring the new key ring
+     */
+    public void publishKeyRing(SigningKeyRing ring) {
+        SigningKeyRing previous = keyRing.getAndSet(ring);
+        if (previous != null && !ring.containsAll(previous)) {
+            getVerifiedTokens().clear();
+        }
+    }
+
+    private JwtParser getParser() {
+        JwtParser p = parser;
+        if (p == null) {
+            synchronized (this) {
+                if (parser == null) {
+                    parser = Jwts.parser().keyLocator(new KeyRingLocator()).build();
+                }
+                p = parser;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Resolves the verification key from the token's {@code kid} header against the
+     * ring published at the time of the call.
+     */
+    private class KeyRingLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String kid = header.getKeyId() != null ? header.getKeyId() : PRIMARY_KEY_ID;
+            SecretKey key = getKeyRing().key(kid);
+            if (key == null) {
+                throw new JwtException("Unknown signing key id: " + kid);
+            }
+            return key;
+        }
+    }
+
+    private VerifiedTokenCache getVerifiedTokens() {
+        VerifiedTokenCache cache = verifiedTokens;
+        if (cache == null) {
+            synchronized (this) {
+                if (verifiedTokens == null) {
+                    verifiedTokens = new VerifiedTokenCache(verificationCacheSize);
+                }
+                cache = verifiedTokens;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Parse and verify a token once, returning its immutable claims.
+     * Recently verified tokens are served from a digest cache until they expire.
+     *
+     * @param token the JWT token
+     * @return the verified token
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        Instant now = Instant.now();
+        VerifiedTokenCache cache = getVerifiedTokens();
+        VerifiedToken cached = cache.get(token, now);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken verified = VerifiedToken.from(extractAllClaims(token));
+        cache.put(token, verified, now);
+        return verified;
+    }
+
     /**
      * Extract username from JWT token.
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /**
      * Extract expiration date from JWT token.
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).expiration());
     }
 
     /**
      * Extract a specific claim from JWT token.
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).claims());
     }
 
     /**
-     * Extract all claims from JWT token.
+     * Extract all claims from JWT token, verifying its signature and expiry.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    /**
-     * Check if JWT token is expired.
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     /**
      * Generate JWT token for user with additional claims.
      */
@@ -100,12 +215,15 @@ public class JwtService {
         Instant now = Instant.now();
         Instant expiration = now.plus(jwtExpiration, ChronoUnit.MILLIS);
 
+        SigningKeyRing ring = getKeyRing();
+
         return Jwts.builder()
+                .header().keyId(ring.currentKid()).and()
                 .claims(extraClaims)
                 .subject(username)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(ring.currentKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -114,27 +232,45 @@ public class JwtService {
      */
     public String generateRefreshToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
         claims.put("iat", Instant.now().getEpochSecond());
+        return generateRefreshToken(claims, userDetails.getUsername());
+    }
+
+    /**
+     * Generate refresh token with custom claims and longer expiration.
+     */
+    public String generateRefreshToken(Map<String, Object> extraClaims, String username) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put("type", "refresh");
         
         Instant now = Instant.now();
         Instant expiration = now.plus(refreshExpiration, ChronoUnit.MILLIS);
 
+        SigningKeyRing ring = getKeyRing();
+
         return Jwts.builder()
+                .header().keyId(ring.currentKid()).and()
                 .claims(claims)
-                .subject(userDetails.getUsername())
+                .subject(username)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(ring.currentKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Lifetime of refresh tokens in milliseconds.
+     */
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
     /**
      * Validate JWT token against user details.
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return (verified.subject().equals(userDetails.getUsername()) && !verified.isExpiredAt(Instant.now()));
     }
 
     /**
@@ -142,8 +278,7 @@ public class JwtService {
      */
     public Boolean isTokenValid(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return !verify(token).isExpiredAt(Instant.now());
         } catch (Exception e) {
             return false;
         }
@@ -153,7 +288,7 @@ public class JwtService {
      * Get token type from claims (access or refresh).
      */
     public String getTokenType(String token) {
-        return extractClaim(token, claims -> claims.get("type", String.class));
+        return verify(token).type();
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.example.userauth.security;
 
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,76 +12,202 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Key management service for JWT secret rotation and secure key generation.
- * Supports automatic key rotation and secure key storage.
+ * Rotated keys are kept in a {@link SigningKeyStore} shared by all replicas; every node
+ * periodically rebuilds its {@link SigningKeyRing} from the store and publishes it to
+ * {@link JwtService}. A new key is accepted for verification on every node before any
+ * node signs with it, and retired once every token it could have signed has expired.
  */
 @Service
 public class KeyManagementService {
 
     private static final Logger logger = LoggerFactory.getLogger(KeyManagementService.class);
 
+    // Only one replica generates a key; the lock just has to outlast a single rotation
+    private static final Duration ROTATION_LOCK_TTL = Duration.ofMinutes(1);
+
     @Value("${app.security.key-rotation.enabled:false}")
     private boolean keyRotationEnabled;
 
     @Value("${app.security.key-rotation.interval-hours:24}")
     private int rotationIntervalHours;
 
+    @Value("${app.security.key-rotation.sync-interval-ms:30000}")
+    private long syncIntervalMs;
+
     @Value("${app.jwt.secret}")
     private String primaryJwtSecret;
 
-    private final AtomicReference<String> currentJwtSecret = new AtomicReference<>();
-    private final ConcurrentHashMap<String, Instant> keyHistory = new ConcurrentHashMap<>();
+    @Value("${app.jwt.expiration:86400000}")
+    private long jwtExpiration;
+
+    @Value("${app.jwt.refresh-expiration:604800000}")
+    private long refreshExpiration;
+
+    private final JwtService jwtService;
+    private final SigningKeyStore signingKeyStore;
     private final SecureRandom secureRandom = new SecureRandom();
 
+    public KeyManagementService(JwtService jwtService, SigningKeyStore signingKeyStore) {
+        this.jwtService = jwtService;
+        this.signingKeyStore = signingKeyStore;
+    }
+
     /**
      * Initialize the key management service.
      */
+    @PostConstruct
     public void init() {
-        currentJwtSecret.set(primaryJwtSecret);
-        keyHistory.put(primaryJwtSecret, Instant.now());
+        if (keyRotationEnabled) {
+            syncKeyRing();
+        }
         logger.info("Key management service initialized");
     }
 
     /**
-     * Get the current JWT secret for token signing.
+     * Get the configured primary JWT secret.
      */
     public String getCurrentJwtSecret() {
-        String secret = currentJwtSecret.get();
-        if (secret == null) {
-            init();
-            secret = currentJwtSecret.get();
+        return primaryJwtSecret;
+    }
+
+    /**
+     * Reload the shared key set and publish it to {@link JwtService}.
+     * A store outage keeps the previously published ring in place.
+     */
+    @Scheduled(fixedDelayString = "${app.security.key-rotation.sync-interval-ms:30000}")
+    public void syncKeyRing() {
+        if (!keyRotationEnabled) {
+            return;
+        }
+        try {
+            syncKeyRing(Instant.now());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to sync JWT signing keys, keeping current key ring: {}", e.getMessage());
         }
-        return secret;
+    }
+
+    void syncKeyRing(Instant now) {
+        jwtService.publishKeyRing(buildKeyRing(liveKeys(signingKeyStore.loadKeys(), now), now));
     }
 
     /**
-     * Check if a JWT secret is valid (current or recently rotated).
+     * Rotate the JWT secret (if rotation is enabled).
      */
-    public boolean isValidJwtSecret(String secret) {
-        if (secret == null) {
-            return false;
+    @Scheduled(fixedRateString = "#{${app.security.key-rotation.interval-hours:24} * 3600000}")
+    public void rotateJwtSecret() {
+        if (!keyRotationEnabled) {
+            return;
+        }
+        try {
+            rotateJwtSecret(Instant.now());
+        } catch (RuntimeException e) {
+            logger.warn("JWT secret rotation failed: {}", e.getMessage());
         }
+    }
 
-        // Check if it's the current secret
-        if (secret.equals(getCurrentJwtSecret())) {
-            return true;
+    void rotateJwtSecret(Instant now) {
+        if (!signingKeyStore.tryAcquireRotationLock(ROTATION_LOCK_TTL)) {
+            logger.debug("JWT secret rotation is running on another node");
+            return;
+        }
+        try {
+            rotateIfDue(now);
+        } finally {
+            signingKeyStore.releaseRotationLock();
         }
+        syncKeyRing(now);
+    }
 
-        // Check if it's a recently rotated secret (within grace period)
-        Instant secretTime = keyHistory.get(secret);
-        if (secretTime != null) {
-            Instant gracePeriodEnd = secretTime.plus(rotationIntervalHours * 2L, ChronoUnit.HOURS);
-            return Instant.now().isBefore(gracePeriodEnd);
+    private void rotateIfDue(Instant now) {
+        List<SigningKeyEntry> stored = sortedByActivation(signingKeyStore.loadKeys());
+        // Every replica schedules a rotation; only rotate once per interval across all of them
+        if (!stored.isEmpty()) {
+            Instant newest = stored.get(stored.size() - 1).activatesAt();
+            if (newest.isAfter(now.minus(rotationIntervalHours, ChronoUnit.HOURS).plus(activationDelay()))) {
+                return;
+            }
         }
 
-        return false;
+        // Give every node a chance to load the key before any of them signs with it
+        SigningKeyEntry entry = new SigningKeyEntry(newKeyId(), generateNewJwtSecret(), now.plus(activationDelay()));
+        signingKeyStore.saveKey(entry);
+        logger.info("JWT secret rotated, key {} becomes active at {}", entry.kid(), entry.activatesAt());
+
+        // Clean up keys whose tokens have all expired
+        stored.add(entry);
+        List<SigningKeyEntry> live = liveKeys(stored, now);
+        List<String> retired = stored.stream()
+                .filter(key -> !live.contains(key))
+                .map(SigningKeyEntry::kid)
+                .toList();
+        signingKeyStore.removeKeys(retired);
+    }
+
+    /**
+     * Build the ring from the live rotated keys.
+     * The primary key stays live until its first successor has been active for one token lifetime.
+     */
+    SigningKeyRing buildKeyRing(List<SigningKeyEntry> live, Instant now) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        String currentKid = JwtService.PRIMARY_KEY_ID;
+        if (live.isEmpty() || isLive(now, live.get(0).activatesAt())) {
+            keys.put(JwtService.PRIMARY_KEY_ID, jwtService.getPrimaryKey());
+        }
+        for (SigningKeyEntry entry : live) {
+            keys.put(entry.kid(), entry.toSecretKey());
+            if (!entry.activatesAt().isAfter(now)) {
+                currentKid = entry.kid();
+            }
+        }
+        return new SigningKeyRing(currentKid, keys);
+    }
+
+    /**
+     * Keys that may still have signed an unexpired token, in activation order.
+     * A key stops signing when its successor activates and is retired one token lifetime later.
+     */
+    private List<SigningKeyEntry> liveKeys(List<SigningKeyEntry> entries, Instant now) {
+        List<SigningKeyEntry> sorted = sortedByActivation(entries);
+        List<SigningKeyEntry> live = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            if (i == sorted.size() - 1 || isLive(now, sorted.get(i + 1).activatesAt())) {
+                live.add(sorted.get(i));
+            }
+        }
+        return live;
+    }
+
+    private boolean isLive(Instant now, Instant successorActivatesAt) {
+        return now.isBefore(successorActivatesAt.plusMillis(Math.max(jwtExpiration, refreshExpiration)));
+    }
+
+    private static List<SigningKeyEntry> sortedByActivation(List<SigningKeyEntry> entries) {
+        List<SigningKeyEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(SigningKeyEntry::activatesAt));
+        return sorted;
+    }
+
+    private Duration activationDelay() {
+        // Two sync rounds so a node that just missed one still loads the key in time
+        return Duration.ofMillis(syncIntervalMs * 2);
+    }
+
+    private String newKeyId() {
+        byte[] id = new byte[9];
+        secureRandom.nextBytes(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
     }
 
     /**
@@ -107,36 +234,6 @@ public class KeyManagementService {
         return Base64.getEncoder().encodeToString(randomBytes);
     }
 
-    /**
-     * Rotate the JWT secret (if rotation is enabled).
-     */
-    @Scheduled(fixedRateString = "#{${app.security.key-rotation.interval-hours:24} * 3600000}")
-    public void rotateJwtSecret() {
-        if (!keyRotationEnabled) {
-            return;
-        }
-
-        String oldSecret = getCurrentJwtSecret();
-        String newSecret = generateNewJwtSecret();
-
-        // Update current secret
-        currentJwtSecret.set(newSecret);
-        keyHistory.put(newSecret, Instant.now());
-
-        logger.info("JWT secret rotated successfully");
-
-        // Clean up old secrets (keep only last 48 hours)
-        cleanupOldSecrets();
-    }
-
-    /**
-     * Clean up old secrets that are beyond the grace period.
-     */
-    private void cleanupOldSecrets() {
-        Instant cutoff = Instant.now().minus(rotationIntervalHours * 2L, ChronoUnit.HOURS);
-        keyHistory.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
-    }
-
     /**
      * Generate a secure random password.
      */
@@ -216,7 +313,7 @@ public class KeyManagementService {
         return new KeyRotationStatus(
                 keyRotationEnabled,
                 rotationIntervalHours,
-                keyHistory.size(),
+                jwtService.getKeyRing().size(),
                 Instant.now()
         );
     }
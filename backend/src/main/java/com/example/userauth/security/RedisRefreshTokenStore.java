@@ -0,0 +1,61 @@
+package com.example.userauth.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Refresh token store shared by all backend instances.
+ * Each family is one Redis string holding the current token id, expiring with the family.
+ * Rotation is a compare-and-set script so concurrent exchanges of the same token cannot
+ * both succeed, on one node or across several.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.refresh-store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    static final String KEY_PREFIX = "auth:refresh:family:";
+
+    // 1 = rotated, -1 = reused (family deleted), 0 = unknown
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1])\n" +
+            "if not current then return 0 end\n" +
+            "if current == ARGV[1] then\n" +
+            "  redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])\n" +
+            "  return 1\n" +
+            "end\n" +
+            "redis.call('DEL', KEYS[1])\n" +
+            "return -1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void create(String familyId, String tokenId, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + familyId, tokenId, ttl);
+    }
+
+    @Override
+    public RotationResult rotate(String familyId, String presentedTokenId, String nextTokenId, Duration ttl) {
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, List.of(KEY_PREFIX + familyId),
+                presentedTokenId, nextTokenId, String.valueOf(ttl.toMillis()));
+        if (result == null || result == 0L) {
+            return RotationResult.UNKNOWN;
+        }
+        return result > 0 ? RotationResult.ROTATED : RotationResult.REUSED;
+    }
+
+    @Override
+    public void revoke(String familyId) {
+        redisTemplate.delete(KEY_PREFIX + familyId);
+    }
+}
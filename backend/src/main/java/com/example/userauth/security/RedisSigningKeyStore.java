@@ -0,0 +1,79 @@
+package com.example.userauth.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing key store shared by all replicas through Redis.
+ * Keys live in one hash ({@code kid -> activatesAt:secret}); rotation is serialized
+ * with a {@code SET NX} lock owned by a per-node token so only one node generates each new key.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.key-rotation.store", havingValue = "redis")
+public class RedisSigningKeyStore implements SigningKeyStore {
+
+    static final String KEYS_HASH = "auth:jwt:signing-keys";
+    static final String ROTATION_LOCK = "auth:jwt:rotation-lock";
+
+    // Only delete the lock if it still carries this node's token
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end\n" +
+            "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String lockOwner = UUID.randomUUID().toString();
+
+    public RedisSigningKeyStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public List<SigningKeyEntry> loadKeys() {
+        Map<Object, Object> stored = redisTemplate.opsForHash().entries(KEYS_HASH);
+        List<SigningKeyEntry> entries = new ArrayList<>(stored.size());
+        stored.forEach((kid, value) -> {
+            String encoded = value.toString();
+            int separator = encoded.indexOf(':');
+            entries.add(new SigningKeyEntry(
+                    kid.toString(),
+                    encoded.substring(separator + 1),
+                    Instant.ofEpochMilli(Long.parseLong(encoded.substring(0, separator)))));
+        });
+        return entries;
+    }
+
+    @Override
+    public void saveKey(SigningKeyEntry entry) {
+        redisTemplate.opsForHash().put(KEYS_HASH, entry.kid(),
+                entry.activatesAt().toEpochMilli() + ":" + entry.secret());
+    }
+
+    @Override
+    public void removeKeys(Collection<String> kids) {
+        if (!kids.isEmpty()) {
+            redisTemplate.opsForHash().delete(KEYS_HASH, kids.toArray());
+        }
+    }
+
+    @Override
+    public boolean tryAcquireRotationLock(Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(ROTATION_LOCK, lockOwner, ttl));
+    }
+
+    @Override
+    public void releaseRotationLock() {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(ROTATION_LOCK), lockOwner);
+    }
+}
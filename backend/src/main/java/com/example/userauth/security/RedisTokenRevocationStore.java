@@ -0,0 +1,36 @@
+package com.example.userauth.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Revocation store shared by all backend instances.
+ * Each mark is one Redis string holding the revocation time, expiring with the last token
+ * it can reject.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "redis")
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+
+    static final String KEY_PREFIX = "auth:revoked:user:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisTokenRevocationStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void mark(Long userId, long revokedAtMillis, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + userId, String.valueOf(revokedAtMillis), ttl);
+    }
+
+    @Override
+    public Long revokedBefore(Long userId) {
+        String mark = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        return mark != null ? Long.valueOf(mark) : null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.userauth.security;
+
+import java.time.Duration;
+
+/**
+ * Server-side state for rotating refresh tokens.
+ * Every login starts a token family; the store remembers the id of the one refresh token
+ * in each family that may still be exchanged. Presenting any other token of the family
+ * means a rotated token was replayed, so the whole family is revoked.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Outcome of a rotation attempt.
+     */
+    enum RotationResult {
+        /** The presented token was current and has been replaced. */
+        ROTATED,
+        /** An already rotated token was presented; the family has been revoked. */
+        REUSED,
+        /** The family has expired or was revoked earlier. */
+        UNKNOWN
+    }
+
+    /**
+     * Start a new family whose current token is {@code tokenId}.
+     *
+     * @param familyId the family id carried by every token of the family
+     * @param tokenId the id of the issued refresh token
+     * @param ttl how long the family stays valid without a rotation
+     */
+    void create(String familyId, String tokenId, Duration ttl);
+
+    /**
+     * Atomically replace the current token of a family if it matches the presented one.
+     *
+     * @param familyId the family id of the presented token
+     * @param presentedTokenId the id of the presented token
+     * @param nextTokenId the id of the token issued in exchange
+     * @param ttl how long the family stays valid after this rotation
+     * @return the rotation outcome
+     */
+    RotationResult rotate(String familyId, String presentedTokenId, String nextTokenId, Duration ttl);
+
+    /**
+     * Revoke a family so none of its tokens can be exchanged any more.
+     *
+     * @param familyId the family to revoke
+     */
+    void revoke(String familyId);
+}
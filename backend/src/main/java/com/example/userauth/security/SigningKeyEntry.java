@@ -0,0 +1,26 @@
+package com.example.userauth.security;
+
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * A rotated signing key as kept in the shared {@link SigningKeyStore}.
+ * Keys are accepted for verification as soon as every node has loaded them and are used
+ * for signing from {@code activatesAt}, which leaves the other replicas time to catch up.
+ *
+ * @param kid the key id stamped into token headers
+ * @param secret the Base64-encoded HMAC secret
+ * @param activatesAt when nodes may start signing with this key
+ */
+public record SigningKeyEntry(String kid, String secret, Instant activatesAt) {
+
+    /**
+     * Derive the HMAC key from the stored secret.
+     */
+    public SecretKey toSecretKey() {
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+    }
+}
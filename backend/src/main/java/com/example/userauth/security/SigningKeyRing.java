@@ -0,0 +1,68 @@
+package com.example.userauth.security;
+
+import javax.crypto.SecretKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC signing keys indexed by key id ({@code kid}).
+ * Keys are derived once when the ring is built; verification then costs one map lookup
+ * and one HMAC regardless of how many keys are live. A new ring is published as a whole
+ * whenever the key set changes, so readers never see a partially updated ring.
+ */
+public final class SigningKeyRing {
+
+    private final String currentKid;
+    private final Map<String, SecretKey> keys;
+
+    SigningKeyRing(String currentKid, Map<String, SecretKey> keys) {
+        if (!keys.containsKey(currentKid)) {
+            throw new IllegalArgumentException("Current key id is not part of the ring: " + currentKid);
+        }
+        this.currentKid = currentKid;
+        this.keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+    }
+
+    /**
+     * Ring holding a single key that is used for both signing and verification.
+     */
+    static SigningKeyRing single(String kid, SecretKey key) {
+        return new SigningKeyRing(kid, Map.of(kid, key));
+    }
+
+    /**
+     * Id of the key new tokens are signed with.
+     */
+    public String currentKid() {
+        return currentKid;
+    }
+
+    /**
+     * Key new tokens are signed with.
+     */
+    public SecretKey currentKey() {
+        return keys.get(currentKid);
+    }
+
+    /**
+     * Look up a verification key by id.
+     *
+     * @param kid the key id from the token header
+     * @return the key, or null if it is not (or no longer) live
+     */
+    public SecretKey key(String kid) {
+        return keys.get(kid);
+    }
+
+    /**
+     * Check whether every key of another ring is still present in this one.
+     */
+    boolean containsAll(SigningKeyRing other) {
+        return keys.keySet().containsAll(other.keys.keySet());
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
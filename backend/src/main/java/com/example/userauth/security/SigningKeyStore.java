@@ -0,0 +1,41 @@
+package com.example.userauth.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage for rotated JWT signing keys shared by all backend instances.
+ * Every node periodically loads the full key set, so a token signed on one replica
+ * verifies on the others.
+ */
+public interface SigningKeyStore {
+
+    /**
+     * Load every stored key.
+     */
+    List<SigningKeyEntry> loadKeys();
+
+    /**
+     * Add a newly generated key.
+     */
+    void saveKey(SigningKeyEntry entry);
+
+    /**
+     * Remove retired keys.
+     */
+    void removeKeys(Collection<String> kids);
+
+    /**
+     * Try to become the single node performing a rotation.
+     *
+     * @param ttl how long the lock is held unless it is taken over
+     * @return true if this node acquired the lock
+     */
+    boolean tryAcquireRotationLock(Duration ttl);
+
+    /**
+     * Release the rotation lock if this node still holds it.
+     */
+    void releaseRotationLock();
+}
@@ -0,0 +1,61 @@
+package com.example.userauth.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Registry of per-user token revocations.
+ * Stateless authentication trusts the claims inside a token, so role changes and
+ * deletions are enforced by rejecting every token issued before the user's revocation mark.
+ * Marks live in a {@link TokenRevocationStore} shared by all instances and only need to
+ * outlast the tokens they reject, so they expire after one access-token lifetime.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final TokenRevocationStore revocationStore;
+
+    @Value("${app.jwt.expiration:86400000}")
+    private long jwtExpiration;
+
+    public TokenRevocationService(TokenRevocationStore revocationStore) {
+        this.revocationStore = revocationStore;
+    }
+
+    /**
+     * Invalidate all tokens issued to a user up to now.
+     *
+     * @param userId the user whose tokens should be rejected
+     */
+    public void revokeUserTokens(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        revocationStore.mark(userId, System.currentTimeMillis(), Duration.ofMillis(jwtExpiration));
+        logger.info("Revoked outstanding tokens for user {}", userId);
+    }
+
+    /**
+     * Check whether a token issued at the given time has been revoked for the user.
+     * Token issue times have second precision, so a token issued in the same second as
+     * the revocation is treated as revoked.
+     *
+     * @param userId the user id carried by the token
+     * @param issuedAt the token issue time
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        Long mark = revocationStore.revokedBefore(userId);
+        if (mark == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toEpochMilli() <= mark;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.userauth.security;
+
+import java.time.Duration;
+
+/**
+ * Per-user revocation marks for stateless authentication.
+ * Every instance must see the same marks, otherwise a user demoted or deleted on one node
+ * keeps their old role on the others until the token expires.
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Record that tokens issued to a user up to {@code revokedAtMillis} are rejected.
+     *
+     * @param userId the user whose tokens are revoked
+     * @param revokedAtMillis the revocation time in epoch milliseconds
+     * @param ttl how long the mark must be kept; one access-token lifetime is enough
+     */
+    void mark(Long userId, long revokedAtMillis, Duration ttl);
+
+    /**
+     * Latest revocation time of a user.
+     *
+     * @param userId the user id carried by the token
+     * @return the revocation time in epoch milliseconds, or null if the user has no mark
+     */
+    Long revokedBefore(Long userId);
+}
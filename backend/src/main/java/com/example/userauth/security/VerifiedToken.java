@@ -0,0 +1,62 @@
+package com.example.userauth.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of verifying a JWT once.
+ * Holds the identity fields callers need so the token never has to be parsed again
+ * within a request. The underlying {@link Claims} returned by the parser are read-only.
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        boolean admin,
+        List<String> roles,
+        String type,
+        Instant issuedAt,
+        Instant expiration,
+        Claims claims) {
+
+    /**
+     * Build a verified token from claims that have already passed signature validation.
+     */
+    public static VerifiedToken from(Claims claims) {
+        Object userId = claims.get("userId");
+        Object roles = claims.get("roles");
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId instanceof Number ? ((Number) userId).longValue() : null,
+                Boolean.TRUE.equals(claims.get("isAdmin")),
+                roles instanceof List ? toRoleList((List<?>) roles) : Collections.emptyList(),
+                claims.get("type", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims);
+    }
+
+    /**
+     * Check whether the token has expired at the given instant.
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiration != null && !expiration.isAfter(now);
+    }
+
+    /**
+     * Check if this is a refresh token.
+     */
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    private static List<String> toRoleList(List<?> roles) {
+        // Tokens built from UserDetails serialize authorities as {"authority": "ROLE_X"}
+        return roles.stream()
+                .map(role -> role instanceof Map<?, ?> map ? String.valueOf(map.get("authority")) : String.valueOf(role))
+                .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.userauth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of recently verified tokens keyed by the SHA-256 digest of the raw token.
+ * A hit skips Base64 decoding, JSON parsing and HMAC verification; entries are only
+ * served until the token's own expiry. The raw token is never retained.
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return the cached verification for a token, or null if absent or expired.
+     */
+    VerifiedToken get(String token, Instant now) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpiredAt(now)) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Remember a verified token until it expires. Tokens without an expiry are not cached.
+     */
+    void put(String token, VerifiedToken verified, Instant now) {
+        if (maxSize <= 0 || verified.expiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+            if (entries.size() >= maxSize) {
+                // Still full of live tokens; skip caching rather than grow unbounded
+                return;
+            }
+        }
+        entries.put(digest(token), verified);
+    }
+
+    /**
+     * Drop every cached verification, e.g. after the signing key changes.
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(Instant now) {
+        entries.values().removeIf(entry -> entry.isExpiredAt(now));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
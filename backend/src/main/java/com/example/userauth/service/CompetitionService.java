@@ -2,12 +2,16 @@ package com.example.userauth.service;
 
 import com.example.userauth.dto.CompetitionRequest;
 import com.example.userauth.dto.CompetitionResponse;
+import com.example.userauth.dto.CompetitionSummaryResponse;
+import com.example.userauth.dto.CursorPageResponse;
 import com.example.userauth.dto.EntryRequest;
+import com.example.userauth.dto.ListPageRequest;
 import com.example.userauth.entity.*;
 import com.example.userauth.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,7 +19,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -41,6 +47,18 @@ public class CompetitionService {
     @Autowired
     private FileStorageService fileStorageService;
     
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private RatingJudgeTotalRepository judgeTotalRepository;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     /**
      * Get all active competitions (non-deleted)
      * All authenticated users can view all competitions for evaluation display
@@ -56,9 +74,7 @@ public class CompetitionService {
         List<Competition> competitions = competitionRepository.findAllActive();
 
         logger.info("Returning {} active competitions for user: {}", competitions.size(), userId);
-        return competitions.stream()
-                .map(this::convertToResponse)
-                .toList();
+        return convertToResponses(competitions);
     }
     
     /**
@@ -68,9 +84,7 @@ public class CompetitionService {
     public List<CompetitionResponse> getCompetitionsByCreator(Long creatorId) {
         logger.info("Fetching active competitions created by user: {}", creatorId);
         List<Competition> competitions = competitionRepository.findActiveByCreatorIdOrderByCreatedAtDesc(creatorId);
-        return competitions.stream()
-                .map(this::convertToResponse)
-                .toList();
+        return convertToResponses(competitions);
     }
     
     /**
@@ -80,9 +94,100 @@ public class CompetitionService {
     public List<CompetitionResponse> getCompetitionsByJudge(Long judgeId) {
         logger.info("Fetching competitions where user {} is a judge", judgeId);
         List<Competition> competitions = competitionRepository.findByJudgeIdOrderByCreatedAtDesc(judgeId);
-        return competitions.stream()
-                .map(this::convertToResponse)
-                .toList();
+        return convertToResponses(competitions);
+    }
+    
+    /**
+     * Get one page of non-deleted competitions, newest first.
+     *
+     * @param scope all, created (by the user) or judged (by the user)
+     * @param request page size, cursor and the optional status, creator and name filters
+     * @throws IllegalArgumentException if the scope, status or cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CompetitionResponse> getCompetitionPage(String scope, Long userId,
+                                                                      ListPageRequest request) {
+        logger.info("Fetching a page of {} competitions for user: {}", scope, userId);
+        Long creatorId = switch (scope) {
+            case "all", "judged" -> request.getCreatorId();
+            case "created" -> userId;
+            default -> throw new IllegalArgumentException("不支持的赛事列表范围：" + scope);
+        };
+        Long judgeId = "judged".equals(scope) ? userId : null;
+        Competition.CompetitionStatus status = parseStatus(Competition.CompetitionStatus.class, request.getStatus());
+        int pageSize = PageCursor.pageSize(request.getLimit());
+        PageCursor.TimePosition after = PageCursor.decodeTime(request.getCursor());
+        
+        List<Competition> rows = competitionRepository.findActivePage(creatorId, judgeId, status,
+                PageCursor.likePattern(request.getQ()),
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+        return PageCursor.toPage(rows, pageSize,
+                competition -> PageCursor.encode(competition.getCreatedAt(), competition.getId()),
+                this::convertToResponses);
+    }
+    
+    /**
+     * Get competitions for list views, with counts instead of the judge and entry lists.
+     * Runs one query for the competitions and one grouped count each for entries, judges and
+     * ratings, however many competitions there are.
+     *
+     * @param scope all, created (by the user) or judged (by the user)
+     */
+    @Transactional(readOnly = true)
+    public List<CompetitionSummaryResponse> getCompetitionSummaries(String scope, Long userId) {
+        logger.info("Fetching {} competition summaries for user: {}", scope, userId);
+        List<CompetitionSummaryRow> rows = switch (scope) {
+            case "all" -> competitionRepository.findActiveSummaries();
+            case "created" -> competitionRepository.findActiveSummariesByCreatorId(userId);
+            case "judged" -> competitionRepository.findSummariesByJudgeId(userId);
+            default -> throw new IllegalArgumentException("不支持的赛事列表范围：" + scope);
+        };
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Long> ids = rows.stream().map(CompetitionSummaryRow::id).toList();
+        Map<Long, Map<CompetitionEntry.EntryStatus, Long>> entryCounts = entryRepository
+                .countByCompetitionIdInGroupByStatus(ids).stream()
+                .collect(Collectors.groupingBy(EntryStatusCount::competitionId,
+                        Collectors.toMap(EntryStatusCount::status, EntryStatusCount::count)));
+        Map<Long, Long> judgeCounts = toCountMap(judgeRepository.countByCompetitionIdIn(ids));
+        Map<Long, Long> judgedEntries = toCountMap(judgeTotalRepository
+                .countJudgedEntriesByCompetitionIdIn(ids, CompetitionEntry.EntryStatus.APPROVED));
+        
+        return rows.stream().map(row -> {
+            Map<CompetitionEntry.EntryStatus, Long> entries = entryCounts.getOrDefault(row.id(), Map.of());
+            long approved = entries.getOrDefault(CompetitionEntry.EntryStatus.APPROVED, 0L);
+            long judges = judgeCounts.getOrDefault(row.id(), 0L);
+            long judged = judgedEntries.getOrDefault(row.id(), 0L);
+            long expected = approved * judges;
+            int progress = expected == 0 ? 0 : (int) Math.min(100, judged * 100 / expected);
+            return new CompetitionSummaryResponse(
+                    row.id(),
+                    row.name(),
+                    row.description(),
+                    row.modelId(),
+                    row.modelName(),
+                    row.creatorId(),
+                    row.creatorName(),
+                    row.deadline(),
+                    row.status() != null ? row.status().name() : "UNKNOWN",
+                    entries.getOrDefault(CompetitionEntry.EntryStatus.PENDING, 0L),
+                    approved,
+                    entries.getOrDefault(CompetitionEntry.EntryStatus.REJECTED, 0L),
+                    judges,
+                    judged,
+                    progress,
+                    row.createdAt(),
+                    row.updatedAt()
+            );
+        }).toList();
+    }
+    
+    private static Map<Long, Long> toCountMap(List<CompetitionCount> counts) {
+        return counts.stream().collect(Collectors.toMap(CompetitionCount::competitionId, CompetitionCount::count));
     }
     
     /**
@@ -185,6 +290,7 @@ public class CompetitionService {
         competition.setDeadline(request.getDeadline());
         
         competition = competitionRepository.save(competition);
+        resourceVersionService.competitionChanged(id);
         
         logger.info("Successfully updated competition with id: {}", id);
         return convertToResponse(competition);
@@ -204,7 +310,10 @@ public class CompetitionService {
             throw new IllegalArgumentException("只有赛事创建者可以删除赛事");
         }
         
+        ratingAggregateService.removeCompetition(id);
+        leaderboardService.evict(id);
         competitionRepository.deleteById(id);
+        resourceVersionService.competitionChanged(id);
         logger.info("Successfully deleted competition with id: {}", id);
     }
 
@@ -225,6 +334,8 @@ public class CompetitionService {
         // Soft delete
         competition.setDeletedAt(LocalDateTime.now());
         competitionRepository.save(competition);
+        leaderboardService.evict(id);
+        resourceVersionService.competitionChanged(id);
 
         logger.info("Successfully soft deleted competition with id: {}", id);
     }
@@ -239,9 +350,7 @@ public class CompetitionService {
         List<Competition> competitions = competitionRepository.findAllActive();
 
         logger.info("Returning {} active competitions", competitions.size());
-        return competitions.stream()
-                .map(this::convertToResponse)
-                .toList();
+        return convertToResponses(competitions);
     }
 
     /**
@@ -267,6 +376,7 @@ public class CompetitionService {
                 logger.warn("User {} is already a judge for competition {}", judgeId, competitionId);
             }
         }
+        resourceVersionService.competitionChanged(competitionId);
     }
     
     /**
@@ -284,6 +394,7 @@ public class CompetitionService {
         }
         
         judgeRepository.deleteByCompetitionIdAndJudgeId(competitionId, judgeId);
+        resourceVersionService.competitionChanged(competitionId);
         logger.info("Successfully removed judge {} from competition {}", judgeId, competitionId);
     }
     
@@ -340,6 +451,7 @@ public class CompetitionService {
             
             logger.info("Added entry {} to competition {}", entry.getId(), competitionId);
         }
+        resourceVersionService.competitionChanged(competitionId);
         
         return entryIds;
     }
@@ -357,6 +469,7 @@ public class CompetitionService {
         for (Competition competition : expiredCompetitions) {
             competition.setStatus(Competition.CompetitionStatus.ENDED);
             competitionRepository.save(competition);
+            resourceVersionService.competitionChanged(competition.getId());
             logger.info("Updated competition {} status to ENDED", competition.getId());
         }
         
@@ -365,12 +478,37 @@ public class CompetitionService {
         }
     }
     
+    /**
+     * Convert competitions to response DTOs, loading the judges and entries of all of them in
+     * one query each instead of initializing every competition's collections
+     */
+    private List<CompetitionResponse> convertToResponses(List<Competition> competitions) {
+        if (competitions.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = competitions.stream().map(Competition::getId).toList();
+        Map<Long, List<CompetitionJudge>> judges = judgeRepository.findByCompetitionIdInWithJudge(ids).stream()
+                .collect(Collectors.groupingBy(judge -> judge.getCompetition().getId()));
+        Map<Long, List<CompetitionEntry>> entries = entryRepository.findByCompetitionIdInWithContestant(ids).stream()
+                .collect(Collectors.groupingBy(entry -> entry.getCompetition().getId()));
+        return competitions.stream()
+                .map(competition -> convertToResponse(competition,
+                        judges.getOrDefault(competition.getId(), List.of()),
+                        entries.getOrDefault(competition.getId(), List.of())))
+                .toList();
+    }
+    
     /**
      * Convert entity to response DTO
      */
     private CompetitionResponse convertToResponse(Competition competition) {
-        List<CompetitionResponse.JudgeResponse> judgeResponses = competition.getJudges() != null ?
-                competition.getJudges().stream()
+        return convertToResponse(competition, competition.getJudges(), competition.getEntries());
+    }
+    
+    private CompetitionResponse convertToResponse(Competition competition, List<CompetitionJudge> judges,
+                                                  List<CompetitionEntry> entries) {
+        List<CompetitionResponse.JudgeResponse> judgeResponses = judges != null ?
+                judges.stream()
                         .filter(j -> j != null && j.getJudge() != null)
                         .map(j -> new CompetitionResponse.JudgeResponse(
                                 j.getId(),
@@ -381,8 +519,8 @@ public class CompetitionService {
                         .toList() :
                 List.of();
 
-        List<CompetitionResponse.EntryResponse> entryResponses = competition.getEntries() != null ?
-                competition.getEntries().stream()
+        List<CompetitionResponse.EntryResponse> entryResponses = entries != null ?
+                entries.stream()
                         .filter(e -> e != null && e.getStatus() != null)
                         .map(e -> new CompetitionResponse.EntryResponse(
                                 e.getId(),
@@ -471,6 +609,7 @@ public class CompetitionService {
         entry.setStatus(CompetitionEntry.EntryStatus.PENDING);
         
         entry = entryRepository.save(entry);
+        resourceVersionService.competitionChanged(competitionId);
 
         logger.info("User {} submitted entry {} to competition {}", userId, entry.getId(), competitionId);
         return entry.getId();
@@ -489,6 +628,45 @@ public class CompetitionService {
                 .toList();
     }
 
+    /**
+     * Get one page of a competition's entries in display order.
+     *
+     * @param request page size, cursor and the optional status and name filters
+     * @return the page, or empty if the competition does not exist
+     * @throws IllegalArgumentException if the status or cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public Optional<CursorPageResponse<CompetitionResponse.EntryResponse>> getCompetitionEntryPage(
+            Long competitionId, ListPageRequest request) {
+        logger.info("Fetching a page of entries for competition {}", competitionId);
+        CompetitionEntry.EntryStatus status = parseStatus(CompetitionEntry.EntryStatus.class, request.getStatus());
+        int pageSize = PageCursor.pageSize(request.getLimit());
+        PageCursor.OrderPosition after = PageCursor.decodeOrder(request.getCursor());
+        if (!competitionRepository.existsById(competitionId)) {
+            return Optional.empty();
+        }
+
+        List<CompetitionEntry> rows = entryRepository.findPageByCompetitionId(competitionId, status,
+                PageCursor.likePattern(request.getQ()),
+                after != null ? after.displayOrder() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+        return Optional.of(PageCursor.toPage(rows, pageSize,
+                entry -> PageCursor.encode(entry.getDisplayOrder(), entry.getId()),
+                entries -> entries.stream().map(this::convertEntryToResponse).toList()));
+    }
+
+    private static <E extends Enum<E>> E parseStatus(Class<E> type, String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的状态值: " + status);
+        }
+    }
+
     public void updateEntryStatus(Long entryId, String status) {
         logger.info("Updating entry {} status to {}", entryId, status);
 
@@ -499,6 +677,9 @@ public class CompetitionService {
             CompetitionEntry.EntryStatus newStatus = CompetitionEntry.EntryStatus.valueOf(status);
             entry.setStatus(newStatus);
             entryRepository.save(entry);
+            // Only approved entries are ranked
+            leaderboardService.evict(entry.getCompetition().getId());
+            resourceVersionService.competitionChanged(entry.getCompetition().getId());
             logger.info("Successfully updated entry {} status to {}", entryId, status);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("无效的状态值: " + status);
@@ -545,7 +726,10 @@ public class CompetitionService {
             }
         }
 
+        ratingAggregateService.removeEntry(entryId);
+        leaderboardService.onEntryRemoved(entry.getCompetition().getId(), entryId);
         entryRepository.delete(entry);
+        resourceVersionService.competitionChanged(entry.getCompetition().getId());
         logger.info("Successfully deleted entry {}", entryId);
     }
 
@@ -595,6 +779,7 @@ public class CompetitionService {
         }
 
         entryRepository.save(entry);
+        resourceVersionService.competitionChanged(entry.getCompetition().getId());
         logger.info("Successfully updated entry {}", entryId);
     }
 }
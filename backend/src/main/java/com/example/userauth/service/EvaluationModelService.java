@@ -28,6 +28,9 @@ public class EvaluationModelService {
     @Autowired
     private EvaluationParameterRepository parameterRepository;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     /**
      * Get all evaluation models
      */
@@ -66,11 +69,15 @@ public class EvaluationModelService {
         
         // Create model
         EvaluationModel model = new EvaluationModel(request.getName());
+        if (request.getAggregationMethod() != null) {
+            model.setAggregationMethod(request.getAggregationMethod());
+        }
         model = modelRepository.save(model);
         
         // Create parameters
         List<EvaluationParameter> parameters = createParameters(model, request.getParameters());
         model.setParameters(parameters);
+        resourceVersionService.modelsChanged();
         
         logger.info("Successfully created evaluation model with id: {}", model.getId());
         return convertToResponse(model);
@@ -97,6 +104,9 @@ public class EvaluationModelService {
         
         // Update model name
         model.setName(request.getName());
+        if (request.getAggregationMethod() != null) {
+            model.setAggregationMethod(request.getAggregationMethod());
+        }
         
         // Delete existing parameters
         parameterRepository.deleteByModelId(id);
@@ -106,6 +116,7 @@ public class EvaluationModelService {
         model.setParameters(parameters);
         
         model = modelRepository.save(model);
+        resourceVersionService.modelsChanged();
         
         logger.info("Successfully updated evaluation model with id: {}", id);
         return convertToResponse(model);
@@ -128,6 +139,7 @@ public class EvaluationModelService {
         }
         
         modelRepository.deleteById(id);
+        resourceVersionService.modelsChanged();
         logger.info("Successfully deleted evaluation model with id: {}", id);
     }
     
@@ -198,12 +210,14 @@ public class EvaluationModelService {
                         .toList() :
                 List.of();
         
-        return new ModelResponse(
+        ModelResponse response = new ModelResponse(
                 model.getId(),
                 model.getName(),
                 parameterResponses,
                 model.getCreatedAt(),
                 model.getUpdatedAt()
         );
+        response.setAggregationMethod(model.getAggregationMethod());
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,328 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.Competition;
+import com.example.userauth.repository.CompetitionRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP archive of several competitions' rating CSVs.
+ * The first competition's CSV is streamed straight into the response, so the client receives
+ * data at once. Meanwhile the others are generated on a bounded pool into temporary files while
+ * they are being hashed; the archive then takes the files in the order they finish and copies
+ * them into the response one entry at a time, flushing after each, so only the files still
+ * waiting for their turn are on disk and none are held in memory. A {@code manifest.json} entry
+ * closes the archive with each file's row count, size and SHA-256.
+ */
+@Service
+public class ExportArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportArchiveService.class);
+
+    static final String MANIFEST_ENTRY = "manifest.json";
+
+    private final CompetitionRepository competitionRepository;
+    private final RatingDataService ratingDataService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int maxCompetitions;
+
+    @Autowired
+    public ExportArchiveService(CompetitionRepository competitionRepository,
+                                RatingDataService ratingDataService,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.export.archive.threads:3}") int threads,
+                                @Value("${app.export.archive.queue-capacity:50}") int queueCapacity,
+                                @Value("${app.export.archive.max-competitions:50}") int maxCompetitions) {
+        this(competitionRepository, ratingDataService, objectMapper,
+                newArchiveExecutor(threads, queueCapacity, meterRegistry), maxCompetitions);
+    }
+
+    ExportArchiveService(CompetitionRepository competitionRepository,
+                         RatingDataService ratingDataService,
+                         ObjectMapper objectMapper,
+                         Executor executor,
+                         int maxCompetitions) {
+        this.competitionRepository = competitionRepository;
+        this.ratingDataService = ratingDataService;
+        this.objectMapper = objectMapper;
+        // Every worker holds a database connection while it reads, so the pool stays small
+        this.executor = executor;
+        this.maxCompetitions = maxCompetitions;
+    }
+
+    /**
+     * Resolve the competitions of an archive request, either explicit ids or the user's
+     * competitions that ended in a date range.
+     *
+     * @throws IllegalArgumentException if the request is empty, too large or names an unknown competition
+     * @throws AccessDeniedException if the user did not create one of the named competitions
+     */
+    public List<Competition> resolveCompetitions(List<Long> competitionIds, LocalDate endedFrom,
+                                                 LocalDate endedTo, Long userId) {
+        List<Competition> competitions;
+        if (competitionIds != null && !competitionIds.isEmpty()) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(competitionIds));
+            if (ids.size() > maxCompetitions) {
+                throw new IllegalArgumentException("一次最多导出" + maxCompetitions + "个赛事");
+            }
+            Map<Long, Competition> found = competitionRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Competition::getId, Function.identity()));
+            competitions = new ArrayList<>();
+            for (Long id : ids) {
+                Competition competition = found.get(id);
+                if (competition == null || competition.isDeleted()) {
+                    throw new IllegalArgumentException("赛事不存在: " + id);
+                }
+                if (!competition.getCreator().getId().equals(userId)) {
+                    throw new AccessDeniedException("只有管理员可以导出评分数据");
+                }
+                competitions.add(competition);
+            }
+        } else if (endedFrom != null && endedTo != null) {
+            if (endedTo.isBefore(endedFrom)) {
+                throw new IllegalArgumentException("结束日期范围无效");
+            }
+            competitions = competitionRepository.findEndedByCreatorIdAndDeadlineBetween(
+                    userId, endedFrom.atStartOfDay(), endedTo.plusDays(1).atStartOfDay());
+            if (competitions.size() > maxCompetitions) {
+                throw new IllegalArgumentException("一次最多导出" + maxCompetitions + "个赛事，请缩小日期范围");
+            }
+        } else {
+            throw new IllegalArgumentException("请指定赛事或结束日期范围");
+        }
+        return competitions;
+    }
+
+    /**
+     * Write the archive of the given competitions.
+     * A competition whose CSV fails is left out and reported in the manifest; if the first one,
+     * which is streamed, fails part way, its entry stays in the archive incomplete and the
+     * manifest says so. The caller owns the stream; the archive is finished but the stream is
+     * not closed.
+     */
+    public void writeArchive(List<Competition> competitions, OutputStream out) throws IOException {
+        Path workDir = Files.createTempDirectory("competition-archive-");
+        CompletionService<ManifestEntry> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<ManifestEntry>> futures = new ArrayList<>();
+        try {
+            for (Competition competition : competitions.subList(Math.min(1, competitions.size()), competitions.size())) {
+                futures.add(completionService.submit(() -> writeCsv(competition, workDir)));
+            }
+
+            ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            List<ManifestEntry> manifest = new ArrayList<>();
+            if (!competitions.isEmpty()) {
+                manifest.add(streamCsv(competitions.get(0), zip));
+                zip.flush();
+            }
+            for (int i = 1; i < competitions.size(); i++) {
+                ManifestEntry entry = takeNext(completionService);
+                if (entry.error() == null) {
+                    Path file = workDir.resolve(entry.file());
+                    zip.putNextEntry(new ZipEntry(entry.file()));
+                    Files.copy(file, zip);
+                    zip.closeEntry();
+                    zip.flush();
+                    Files.delete(file);
+                }
+                manifest.add(entry);
+            }
+
+            Map<Long, Integer> order = new HashMap<>();
+            for (int i = 0; i < competitions.size(); i++) {
+                order.put(competitions.get(i).getId(), i);
+            }
+            manifest.sort(Comparator.comparing(entry -> order.get(entry.competitionId())));
+            zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+            zip.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(
+                    new Manifest(LocalDateTime.now().toString(), manifest)));
+            zip.closeEntry();
+            zip.finish();
+            zip.flush();
+        } finally {
+            // The client may have gone away: stop the workers that have not finished
+            futures.forEach(future -> future.cancel(true));
+            deleteRecursively(workDir);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    // Runs on the request thread while the pool works on the other competitions
+    private ManifestEntry streamCsv(Competition competition, ZipOutputStream zip) throws IOException {
+        String fileName = csvFileName(competition);
+        zip.putNextEntry(new ZipEntry(fileName));
+        MessageDigest digest = newDigest();
+        long[] bytes = {0};
+        // The entry must stay open after the CSV is written, so the stream handed out ignores close
+        OutputStream entryOut = new FilterOutputStream(new DigestOutputStream(zip, digest)) {
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException {
+                out.write(buffer, offset, length);
+                bytes[0] += length;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                bytes[0]++;
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        ManifestEntry entry;
+        try {
+            long rows = ratingDataService.writeCompetitionCsv(competition.getId(), entryOut, written -> {});
+            entryOut.flush();
+            entry = new ManifestEntry(competition.getId(), competition.getName(), fileName, rows,
+                    bytes[0], HexFormat.of().formatHex(digest.digest()), null);
+        } catch (IOException e) {
+            // The response itself failed; nothing more can be sent
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to export competition {} into archive", competition.getId(), e);
+            entry = new ManifestEntry(competition.getId(), competition.getName(), fileName, null, null, null,
+                    "导出失败，文件不完整");
+        }
+        zip.closeEntry();
+        return entry;
+    }
+
+    private ManifestEntry writeCsv(Competition competition, Path workDir) {
+        String fileName = csvFileName(competition);
+        try {
+            MessageDigest digest = newDigest();
+            Path file = workDir.resolve(fileName);
+            long rows;
+            try (OutputStream out = new BufferedOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(file), digest))) {
+                rows = ratingDataService.writeCompetitionCsv(competition.getId(), out, written -> {});
+            }
+            return new ManifestEntry(competition.getId(), competition.getName(), fileName, rows,
+                    Files.size(file), HexFormat.of().formatHex(digest.digest()), null);
+        } catch (Exception e) {
+            logger.error("Failed to export competition {} into archive", competition.getId(), e);
+            return new ManifestEntry(competition.getId(), competition.getName(), null, null, null, null,
+                    "导出失败");
+        }
+    }
+
+    private static String csvFileName(Competition competition) {
+        return "competition_" + competition.getId() + "_ratings.csv";
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ManifestEntry takeNext(CompletionService<ManifestEntry> completionService) throws IOException {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while building export archive", e);
+        } catch (ExecutionException e) {
+            // writeCsv reports its own failures; anything else is a bug
+            throw new IllegalStateException("Export archive worker failed", e.getCause());
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warn("Could not delete archive work file {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not clean up archive work directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static ThreadPoolExecutor newArchiveExecutor(int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-archive-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A full queue slows the submitting archive down instead of failing it
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("ratings.export.archive.queue.depth", executor, e -> e.getQueue().size())
+                .description("Archive CSVs waiting for a worker")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record ManifestEntry(Long competitionId, String competitionName, String file, Long rows,
+                         Long bytes, String sha256, String error) {
+    }
+
+    record Manifest(String generatedAt, List<ManifestEntry> competitions) {
+    }
+}
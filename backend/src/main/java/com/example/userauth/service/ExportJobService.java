@@ -0,0 +1,357 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.ExportJob;
+import com.example.userauth.entity.ExportJob.ExportStatus;
+import com.example.userauth.exception.ExportJobRejectedException;
+import com.example.userauth.repository.CompetitionRatingRepository;
+import com.example.userauth.repository.ExportJobRepository;
+import com.example.userauth.repository.RatingJudgeTotalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background CSV exports of competition ratings.
+ * A job is identified by its competition and the ratings' data version, so requests for an
+ * unchanged competition share one job and one file. Jobs run on a small bounded pool, write
+ * the file next to the uploads and record their progress; finished files are kept for a
+ * retention period and served with range support by the controller.
+ * <p>
+ * Each start of a job is a numbered attempt. The instance holding an attempt, queued or
+ * running, refreshes the job's update time; a job whose update time falls behind is started
+ * again as a new attempt, and the old attempt can no longer claim, update or complete it.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    private final ExportJobRepository exportJobRepository;
+    private final CompetitionRatingRepository ratingRepository;
+    private final RatingJudgeTotalRepository judgeTotalRepository;
+    private final RatingDataService ratingDataService;
+    private final FileStorageService fileStorageService;
+    private final Executor executor;
+    private final TransactionOperations progressTransaction;
+    private final long progressIntervalRows;
+    private final long staleAfterMs;
+    private final long retentionHours;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+    // Attempts queued or running on this instance, by job id
+    private final Map<Long, Integer> heldAttempts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExportJobService(ExportJobRepository exportJobRepository,
+                            CompetitionRatingRepository ratingRepository,
+                            RatingJudgeTotalRepository judgeTotalRepository,
+                            RatingDataService ratingDataService,
+                            FileStorageService fileStorageService,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.export.jobs.threads:2}") int threads,
+                            @Value("${app.export.jobs.queue-capacity:20}") int queueCapacity,
+                            @Value("${app.export.jobs.progress-interval-rows:500}") long progressIntervalRows,
+                            @Value("${app.export.jobs.stale-after-ms:600000}") long staleAfterMs,
+                            @Value("${app.export.jobs.retention-hours:24}") long retentionHours,
+                            @Value("${app.export.jobs.retry-after-seconds:30}") long retryAfterSeconds) {
+        this(exportJobRepository, ratingRepository, judgeTotalRepository, ratingDataService, fileStorageService,
+                newExportExecutor(threads, queueCapacity, meterRegistry),
+                requiresNew(transactionManager), meterRegistry,
+                progressIntervalRows, staleAfterMs, retentionHours, retryAfterSeconds);
+    }
+
+    ExportJobService(ExportJobRepository exportJobRepository,
+                     CompetitionRatingRepository ratingRepository,
+                     RatingJudgeTotalRepository judgeTotalRepository,
+                     RatingDataService ratingDataService,
+                     FileStorageService fileStorageService,
+                     Executor executor,
+                     TransactionOperations progressTransaction,
+                     MeterRegistry meterRegistry,
+                     long progressIntervalRows, long staleAfterMs, long retentionHours, long retryAfterSeconds) {
+        this.exportJobRepository = exportJobRepository;
+        this.ratingRepository = ratingRepository;
+        this.judgeTotalRepository = judgeTotalRepository;
+        this.ratingDataService = ratingDataService;
+        this.fileStorageService = fileStorageService;
+        this.executor = executor;
+        // Progress is written while the export's read-only transaction is open, so it needs its own
+        this.progressTransaction = progressTransaction;
+        this.progressIntervalRows = progressIntervalRows;
+        this.staleAfterMs = staleAfterMs;
+        this.retentionHours = retentionHours;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejectedCounter = Counter.builder("ratings.export.jobs.rejected")
+                .description("Export jobs refused because the export queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start an export of a competition's current ratings, or return the job already exporting them.
+     * A failed job, a job abandoned by a stopped instance, or a finished job whose file is gone
+     * is started again.
+     *
+     * @param competitionId the competition
+     * @param userId the requesting user
+     * @throws ExportJobRejectedException if the export queue is full
+     */
+    public ExportJob startExport(Long competitionId, Long userId) {
+        String dataVersion = ratingRepository.findDataVersion(competitionId).fingerprint();
+        Optional<ExportJob> existing = exportJobRepository.findByCompetitionIdAndDataVersion(competitionId, dataVersion);
+
+        ExportJob job;
+        if (existing.isEmpty()) {
+            try {
+                job = exportJobRepository.saveAndFlush(new ExportJob(competitionId, dataVersion, userId));
+            } catch (DataIntegrityViolationException e) {
+                // Another request created the job for this version first
+                return exportJobRepository.findByCompetitionIdAndDataVersion(competitionId, dataVersion)
+                        .orElseThrow(() -> e);
+            }
+        } else {
+            job = existing.get();
+            if (!needsRestart(job)) {
+                return job;
+            }
+            int claimed = exportJobRepository.restart(job.getId(), job.getStatus(), job.getUpdatedAt(),
+                    userId, LocalDateTime.now());
+            job = exportJobRepository.findById(job.getId()).orElseThrow();
+            if (claimed == 0) {
+                return job;
+            }
+            logger.info("Restarting export job {} for competition {}", job.getId(), competitionId);
+        }
+
+        Long jobId = job.getId();
+        int attempt = job.getAttempt();
+        heldAttempts.put(jobId, attempt);
+        try {
+            executor.execute(() -> runExport(jobId, attempt));
+        } catch (RejectedExecutionException e) {
+            heldAttempts.remove(jobId, attempt);
+            rejectedCounter.increment();
+            exportJobRepository.markFailed(jobId, attempt, "导出队列已满", LocalDateTime.now());
+            throw new ExportJobRejectedException("导出任务过多，请稍后重试", retryAfterSeconds);
+        }
+        return job;
+    }
+
+    /**
+     * Find an export job of a competition.
+     */
+    public Optional<ExportJob> findJob(Long competitionId, Long jobId) {
+        return exportJobRepository.findById(jobId)
+                .filter(job -> job.getCompetitionId().equals(competitionId));
+    }
+
+    /**
+     * Path of a completed job's file, if the file is still present.
+     */
+    public Optional<Path> findArtifact(ExportJob job) {
+        if (job.getStatus() != ExportStatus.COMPLETED || job.getFileName() == null) {
+            return Optional.empty();
+        }
+        try {
+            Path path = fileStorageService.getExportFilePath(job.getFileName());
+            return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+        } catch (IOException e) {
+            logger.warn("Could not resolve export file {}: {}", job.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Delete export jobs and files past retention.
+     */
+    @Scheduled(fixedDelayString = "${app.export.jobs.cleanup-interval-ms:3600000}")
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        for (ExportJob job : exportJobRepository.findByCompletedAtBefore(cutoff)) {
+            if (job.getFileName() != null) {
+                try {
+                    Files.deleteIfExists(fileStorageService.getExportFilePath(job.getFileName()));
+                } catch (IOException e) {
+                    logger.warn("Could not delete export file {}: {}", job.getFileName(), e.getMessage());
+                    continue;
+                }
+            }
+            exportJobRepository.deleteById(job.getId());
+        }
+    }
+
+    /**
+     * Keep the jobs held by this instance from looking abandoned, however long they wait in
+     * the queue or spend before their next progress update.
+     */
+    @Scheduled(fixedDelayString = "${app.export.jobs.heartbeat-interval-ms:60000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        heldAttempts.forEach((jobId, attempt) -> {
+            try {
+                if (exportJobRepository.heartbeat(jobId, attempt, now) == 0) {
+                    // Finished, or restarted elsewhere; the run finds out on its next write
+                    heldAttempts.remove(jobId, attempt);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not record heartbeat of export job {}: {}", jobId, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            // Interrupted jobs are restarted by the next request once they go stale
+            executorService.shutdownNow();
+        }
+    }
+
+    void runExport(Long jobId, int attempt) {
+        try {
+            ExportJob job = exportJobRepository.findById(jobId).orElse(null);
+            if (job == null) {
+                return;
+            }
+            export(job, attempt);
+        } finally {
+            heldAttempts.remove(jobId, attempt);
+        }
+    }
+
+    private void export(ExportJob job, int attempt) {
+        Long jobId = job.getId();
+        Long competitionId = job.getCompetitionId();
+        String fileName = "competition_" + competitionId + "_ratings_" + jobId + ".csv";
+        Path partFile = null;
+        try {
+            int claimed = exportJobRepository.markRunning(jobId, attempt,
+                    judgeTotalRepository.countByCompetitionId(competitionId), LocalDateTime.now());
+            if (claimed == 0) {
+                logger.info("Export job {} attempt {} was superseded before it started", jobId, attempt);
+                return;
+            }
+
+            Path target = fileStorageService.getExportFilePath(fileName);
+            // A superseded attempt still writing must not share its file with the current one
+            partFile = target.resolveSibling(fileName + "." + attempt + ".part");
+            long rowsWritten;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+                long[] lastReported = {0};
+                rowsWritten = ratingDataService.writeCompetitionCsv(competitionId, out, rows -> {
+                    if (rows - lastReported[0] >= progressIntervalRows) {
+                        lastReported[0] = rows;
+                        Integer updated = progressTransaction.execute(status ->
+                                exportJobRepository.updateProgress(jobId, attempt, rows, LocalDateTime.now()));
+                        if (updated == null || updated == 0) {
+                            throw new AttemptSupersededException();
+                        }
+                    }
+                });
+            }
+            // Downloads only ever see a complete file
+            Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            if (exportJobRepository.markCompleted(jobId, attempt, rowsWritten, fileName, Files.size(target),
+                    LocalDateTime.now()) == 0) {
+                // Same data version, so the file is as good as the current attempt's
+                logger.info("Export job {} attempt {} finished after being superseded", jobId, attempt);
+                return;
+            }
+            logger.info("Export job {} for competition {} wrote {} rows", jobId, competitionId, rowsWritten);
+        } catch (AttemptSupersededException e) {
+            logger.info("Export job {} attempt {} was superseded, stopping", jobId, attempt);
+            deletePartFile(partFile);
+        } catch (Exception e) {
+            logger.error("Export job {} for competition {} failed", jobId, competitionId, e);
+            deletePartFile(partFile);
+            exportJobRepository.markFailed(jobId, attempt, "导出失败，请重新发起导出", LocalDateTime.now());
+        }
+    }
+
+    private static void deletePartFile(Path partFile) {
+        if (partFile != null) {
+            try {
+                Files.deleteIfExists(partFile);
+            } catch (IOException ignored) {
+                // Left behind; the attempt number keeps it from clashing with later runs
+            }
+        }
+    }
+
+    private boolean needsRestart(ExportJob job) {
+        return switch (job.getStatus()) {
+            case FAILED -> true;
+            case COMPLETED -> findArtifact(job).isEmpty();
+            // No heartbeat for a while: the instance holding it has stopped
+            case PENDING, RUNNING -> job.getUpdatedAt() != null
+                    && job.getUpdatedAt().isBefore(LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs)));
+        };
+    }
+
+    /**
+     * The job was restarted as a newer attempt while this one was running.
+     */
+    private static final class AttemptSupersededException extends RuntimeException {
+        AttemptSupersededException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static ThreadPoolExecutor newExportExecutor(int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("ratings.export.jobs.queue.depth", executor, e -> e.getQueue().size())
+                .description("Export jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("ratings.export.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Export jobs currently running")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private static TransactionOperations requiresNew(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
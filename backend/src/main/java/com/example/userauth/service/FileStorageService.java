@@ -14,6 +14,8 @@ import java.util.UUID;
 @Service
 public class FileStorageService {
 
+    private static final String EXPORT_DIR = "exports";
+
     private final Path uploadPath;
     private final FileValidationService fileValidationService;
 
@@ -54,6 +56,15 @@ public class FileStorageService {
         return this.uploadPath.resolve(filename).normalize();
     }
 
+    /**
+     * Get the path of a generated export file, creating the exports directory if needed
+     */
+    public Path getExportFilePath(String filename) throws IOException {
+        Path exportDir = this.uploadPath.resolve(EXPORT_DIR);
+        Files.createDirectories(exportDir);
+        return exportDir.resolve(filename).normalize();
+    }
+
     /**
      * Check if a file exists
      */
@@ -0,0 +1,67 @@
+package com.example.userauth.service;
+
+import java.time.Duration;
+
+/**
+ * Responses of completed mutating requests, by idempotency key.
+ * A request claims its key before it runs; a retry with the same key either gets the stored
+ * response or learns that the first attempt is still running. Claims and responses carry a hash
+ * of the request that made them, so a key reused for a different request can be told apart from
+ * a retry. Claims expire so a key held by an instance that stopped mid-request can be used again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Response recorded for a key.
+     *
+     * @param status the HTTP status
+     * @param contentType the response content type, or null
+     * @param body the response body
+     * @param requestHash hash of the request that produced the response, or null if unknown
+     */
+    record StoredResponse(int status, String contentType, byte[] body, String requestHash) {
+    }
+
+    /**
+     * Outcome of claiming a key.
+     */
+    enum ClaimStatus {
+        /** The key was free and now belongs to the caller, which must complete or release it. */
+        CLAIMED,
+        /** Another request holds the key and has not finished yet. */
+        IN_PROGRESS,
+        /** A request with this key has finished; its response is attached. */
+        COMPLETED
+    }
+
+    /**
+     * Result of {@link #claim}.
+     *
+     * @param status the outcome
+     * @param requestHash hash of the request holding or completing the key, or null if unknown
+     * @param response the stored response when {@code status} is COMPLETED
+     */
+    record Claim(ClaimStatus status, String requestHash, StoredResponse response) {
+    }
+
+    /**
+     * Claim a key for a request that is about to run.
+     *
+     * @param key the scoped idempotency key
+     * @param requestHash hash of the request's content
+     * @param claimTtl how long the claim holds if the request never completes or releases it
+     */
+    Claim claim(String key, String requestHash, Duration claimTtl);
+
+    /**
+     * Record the response of a claimed key, replacing the claim.
+     *
+     * @param ttl how long retries are answered with this response
+     */
+    void complete(String key, StoredResponse response, Duration ttl);
+
+    /**
+     * Give up a claim so the request can be retried from scratch.
+     */
+    void release(String key);
+}
@@ -0,0 +1,64 @@
+package com.example.userauth.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency store for single-instance deployments and tests.
+ * Keys are lost on restart, after which a retried request simply runs again.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    // A null response marks a claim whose request is still running
+    private record Entry(String requestHash, StoredResponse response, long expiresAtMillis) {
+
+        boolean isExpiredAt(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Claim claim(String key, String requestHash, Duration claimTtl) {
+        Claim[] result = new Claim[1];
+        long now = System.currentTimeMillis();
+        // compute() runs under the bin lock, so two requests cannot both claim the key
+        entries.compute(key, (k, entry) -> {
+            if (entry == null || entry.isExpiredAt(now)) {
+                result[0] = new Claim(ClaimStatus.CLAIMED, requestHash, null);
+                return new Entry(requestHash, null, now + claimTtl.toMillis());
+            }
+            result[0] = entry.response() == null
+                    ? new Claim(ClaimStatus.IN_PROGRESS, entry.requestHash(), null)
+                    : new Claim(ClaimStatus.COMPLETED, entry.requestHash(), entry.response());
+            return entry;
+        });
+        return result[0];
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Duration ttl) {
+        entries.put(key, new Entry(response.requestHash(), response, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void release(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Drop responses and abandoned claims past their expiry.
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpiredAt(now));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.userauth.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leaderboard store for single-instance deployments and tests.
+ * Reads sort the board on demand, which is fine for the entry counts of a single competition.
+ */
+@Component
+@ConditionalOnProperty(name = "app.leaderboard.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLeaderboardStore implements LeaderboardStore {
+
+    // Same order as ZREVRANGE: score descending, then member string descending
+    private static final Comparator<Map.Entry<Long, Double>> RANK_ORDER =
+            Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(entry -> String.valueOf(entry.getKey()))
+                    .reversed();
+
+    private final ConcurrentHashMap<Long, Board> boards = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean exists(Long competitionId) {
+        return liveBoard(competitionId) != null;
+    }
+
+    @Override
+    public void replace(Long competitionId, Map<Long, Double> scores, Duration ttl) {
+        if (scores.isEmpty()) {
+            boards.remove(competitionId);
+            return;
+        }
+        boards.put(competitionId, new Board(new HashMap<>(scores), System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void updateIfPresent(Long competitionId, Map<Long, Double> scores) {
+        Board board = liveBoard(competitionId);
+        if (board != null) {
+            synchronized (board) {
+                board.scores.putAll(scores);
+            }
+        }
+    }
+
+    @Override
+    public void removeEntry(Long competitionId, Long entryId) {
+        Board board = liveBoard(competitionId);
+        if (board != null) {
+            synchronized (board) {
+                board.scores.remove(entryId);
+            }
+        }
+    }
+
+    @Override
+    public void evict(Long competitionId) {
+        boards.remove(competitionId);
+    }
+
+    @Override
+    public List<RankedEntry> range(Long competitionId, long offset, int count) {
+        List<Map.Entry<Long, Double>> ranked = ranked(competitionId);
+        List<RankedEntry> result = new ArrayList<>();
+        for (long i = offset; i < ranked.size() && i < offset + count; i++) {
+            Map.Entry<Long, Double> entry = ranked.get((int) i);
+            result.add(new RankedEntry(i + 1, entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public RankedEntry rankOf(Long competitionId, Long entryId) {
+        List<Map.Entry<Long, Double>> ranked = ranked(competitionId);
+        for (int i = 0; i < ranked.size(); i++) {
+            if (ranked.get(i).getKey().equals(entryId)) {
+                return new RankedEntry(i + 1, entryId, ranked.get(i).getValue());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long size(Long competitionId) {
+        Board board = liveBoard(competitionId);
+        if (board == null) {
+            return 0;
+        }
+        synchronized (board) {
+            return board.scores.size();
+        }
+    }
+
+    private List<Map.Entry<Long, Double>> ranked(Long competitionId) {
+        Board board = liveBoard(competitionId);
+        if (board == null) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Double>> ranked;
+        synchronized (board) {
+            ranked = new ArrayList<>(Map.copyOf(board.scores).entrySet());
+        }
+        ranked.sort(RANK_ORDER);
+        return ranked;
+    }
+
+    private Board liveBoard(Long competitionId) {
+        Board board = boards.get(competitionId);
+        if (board != null && board.expiresAt <= System.currentTimeMillis()) {
+            boards.remove(competitionId, board);
+            return null;
+        }
+        return board;
+    }
+
+    private record Board(Map<Long, Double> scores, long expiresAt) {
+    }
+}
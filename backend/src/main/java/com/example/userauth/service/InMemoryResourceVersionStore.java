@@ -0,0 +1,32 @@
+package com.example.userauth.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters for single-instance deployments and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "app.http-cache.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryResourceVersionStore implements ResourceVersionStore {
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Long> current(List<String> keys) {
+        return keys.stream().map(key -> counter(key).get()).toList();
+    }
+
+    @Override
+    public void increment(String key) {
+        counter(key).incrementAndGet();
+    }
+
+    private AtomicLong counter(String key) {
+        return counters.computeIfAbsent(key, k -> new AtomicLong(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.ScoreUpdateEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Process-local broker for a single instance and for tests.
+ * Event ids restart with the process; clients that reconnect with an older id are told to resync.
+ */
+@Component
+@ConditionalOnProperty(name = "app.score-stream.broker", havingValue = "memory", matchIfMissing = true)
+public class InMemoryScoreEventBroker implements ScoreEventBroker {
+
+    private final Map<Long, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final List<Consumer<ScoreUpdateEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ScoreUpdateEvent event) {
+        event.setEventId(sequences.computeIfAbsent(event.getCompetitionId(), id -> new AtomicLong())
+                .incrementAndGet());
+        for (Consumer<ScoreUpdateEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ScoreUpdateEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.LeaderboardResponse;
+import com.example.userauth.entity.CompetitionEntry;
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
+import com.example.userauth.entity.RatingParameterAggregate;
+import com.example.userauth.repository.CompetitionEntryRepository;
+import com.example.userauth.repository.CompetitionRepository;
+import com.example.userauth.repository.JudgeTotalSummary;
+import com.example.userauth.repository.ParameterScoreSummary;
+import com.example.userauth.repository.RatingJudgeTotalRepository;
+import com.example.userauth.repository.RatingParameterAggregateRepository;
+import com.example.userauth.service.LeaderboardStore.RankedEntry;
+import com.example.userauth.service.RatingAggregateService.EntryAggregates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked views of a competition's approved entries by ranking score, the same score the
+ * results view ranks by: the average total for models aggregating by mean, otherwise the
+ * median, trimmed mean or judge-normalised score of the judges' totals.
+ * The ranking lives in a {@link LeaderboardStore}; rating writes push the entries' new scores
+ * after their transaction commits, and a missing or expired board is rebuilt from the
+ * rating aggregates on the next read. A write racing a rebuild can leave one stale score
+ * until the board's TTL runs out.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LeaderboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+    
+    @Autowired
+    private LeaderboardStore leaderboardStore;
+    
+    @Autowired
+    private CompetitionEntryRepository entryRepository;
+    
+    @Autowired
+    private RatingParameterAggregateRepository parameterAggregateRepository;
+    
+    @Autowired
+    private RatingJudgeTotalRepository judgeTotalRepository;
+    
+    @Autowired
+    private CompetitionRepository competitionRepository;
+    
+    @Value("${app.leaderboard.ttl-seconds:3600}")
+    private long ttlSeconds;
+    
+    @Value("${app.leaderboard.max-page-size:100}")
+    private int maxPageSize;
+    
+    /**
+     * Highest ranked entries of a competition.
+     *
+     * @param competitionId the competition
+     * @param limit number of entries, capped at the configured maximum page size
+     */
+    public LeaderboardResponse getTop(Long competitionId, int limit) {
+        return getPage(competitionId, 0, limit);
+    }
+    
+    /**
+     * One page of a competition's leaderboard.
+     *
+     * @param competitionId the competition
+     * @param page 0-based page number
+     * @param size page size, capped at the configured maximum page size
+     */
+    public LeaderboardResponse getPage(Long competitionId, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("分页参数无效");
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        ensureLoaded(competitionId);
+        
+        List<RankedEntry> ranked = leaderboardStore.range(competitionId, (long) page * pageSize, pageSize);
+        return new LeaderboardResponse(competitionId, leaderboardStore.size(competitionId), page, pageSize,
+                toEntries(ranked));
+    }
+    
+    /**
+     * Rank of a single entry.
+     *
+     * @throws IllegalArgumentException if the entry is not on the competition's leaderboard
+     */
+    public LeaderboardResponse.LeaderboardEntry getEntryRank(Long competitionId, Long entryId) {
+        ensureLoaded(competitionId);
+        RankedEntry ranked = leaderboardStore.rankOf(competitionId, entryId);
+        if (ranked == null) {
+            throw new IllegalArgumentException("作品不在该赛事排行榜中");
+        }
+        return toEntries(List.of(ranked)).get(0);
+    }
+    
+    /**
+     * Push the ranking scores of entries whose ratings changed to the leaderboard once the
+     * surrounding transaction commits, computed from the given aggregates.
+     */
+    public void onEntriesScoresChanged(Long competitionId, List<EntryAggregates> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        AggregationMethod method = aggregationMethod(competitionId);
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        switch (method) {
+            case MEAN -> changed.forEach(entry -> scores.put(entry.entryId(),
+                    entry.parameterScores().stream().mapToDouble(ParameterScoreSummary::averageScore).sum()));
+            case MEDIAN, TRIMMED_MEAN -> scores.putAll(statisticScores(
+                    changed.stream().map(EntryAggregates::entryId).toList(),
+                    changed.stream().flatMap(entry -> entry.judgeTotals().stream()).toList(), method));
+            default -> {
+                // A judge's new total moves that judge's normalisation, and with it every entry they rated
+                evict(competitionId);
+                return;
+            }
+        }
+        afterCommit(() -> leaderboardStore.updateIfPresent(competitionId, scores));
+    }
+    
+    /**
+     * Take a deleted entry off the leaderboard once the surrounding transaction commits.
+     */
+    public void onEntryRemoved(Long competitionId, Long entryId) {
+        afterCommit(() -> leaderboardStore.removeEntry(competitionId, entryId));
+    }
+    
+    /**
+     * Drop a competition's leaderboard once the surrounding transaction commits,
+     * so the next read rebuilds it.
+     */
+    public void evict(Long competitionId) {
+        afterCommit(() -> leaderboardStore.evict(competitionId));
+    }
+    
+    /**
+     * Rebuild a competition's leaderboard from its approved entries and rating aggregates.
+     */
+    public void rebuild(Long competitionId) {
+        List<CompetitionEntry> entries = entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(
+                competitionId, CompetitionEntry.EntryStatus.APPROVED);
+        AggregationMethod method = aggregationMethod(competitionId);
+        
+        Map<Long, Double> scores;
+        if (method == AggregationMethod.MEAN) {
+            Map<Long, List<RatingParameterAggregate>> aggregatesByEntry = new HashMap<>();
+            for (RatingParameterAggregate aggregate : parameterAggregateRepository.findByCompetitionId(competitionId)) {
+                aggregatesByEntry.computeIfAbsent(aggregate.getEntryId(), id -> new ArrayList<>()).add(aggregate);
+            }
+            scores = new HashMap<>();
+            for (CompetitionEntry entry : entries) {
+                scores.put(entry.getId(), averageTotal(aggregatesByEntry.getOrDefault(entry.getId(), List.of())));
+            }
+        } else {
+            List<JudgeTotalSummary> judgeTotals = judgeTotalRepository.findByCompetitionId(competitionId).stream()
+                    .map(total -> new JudgeTotalSummary(total.getCompetitionId(), total.getEntryId(),
+                            total.getJudgeId(), total.getTotalScore()))
+                    .toList();
+            scores = statisticScores(entries.stream().map(CompetitionEntry::getId).toList(), judgeTotals, method);
+        }
+        leaderboardStore.replace(competitionId, scores, Duration.ofSeconds(ttlSeconds));
+        logger.debug("Rebuilt leaderboard for competition {} with {} entries", competitionId, scores.size());
+    }
+    
+    private void ensureLoaded(Long competitionId) {
+        if (!leaderboardStore.exists(competitionId)) {
+            rebuild(competitionId);
+        }
+    }
+    
+    private List<LeaderboardResponse.LeaderboardEntry> toEntries(List<RankedEntry> ranked) {
+        Map<Long, String> names = new HashMap<>();
+        for (CompetitionEntry entry : entryRepository.findAllById(ranked.stream().map(RankedEntry::entryId).toList())) {
+            names.put(entry.getId(), entry.getEntryName());
+        }
+        List<LeaderboardResponse.LeaderboardEntry> entries = new ArrayList<>();
+        for (RankedEntry entry : ranked) {
+            entries.add(new LeaderboardResponse.LeaderboardEntry(
+                    entry.rank(), entry.entryId(), names.get(entry.entryId()), entry.score()));
+        }
+        return entries;
+    }
+    
+    private AggregationMethod aggregationMethod(Long competitionId) {
+        return competitionRepository.findAggregationMethodById(competitionId).orElse(AggregationMethod.MEAN);
+    }
+    
+    // Same statistics as the results view, over the judge totals of the given entries;
+    // an entry nobody has rated scores 0 and ranks last, as with the mean
+    private static Map<Long, Double> statisticScores(List<Long> entryIds, List<JudgeTotalSummary> judgeTotals,
+                                                     AggregationMethod method) {
+        Map<Long, Integer> entryIndex = new HashMap<>();
+        for (Long entryId : entryIds) {
+            entryIndex.putIfAbsent(entryId, entryIndex.size());
+        }
+        Map<Long, Integer> judgeIndex = new HashMap<>();
+        for (JudgeTotalSummary total : judgeTotals) {
+            judgeIndex.putIfAbsent(total.judgeId(), judgeIndex.size());
+        }
+        ScoreStatistics statistics = new ScoreStatistics(entryIndex.size(), judgeIndex.size());
+        for (JudgeTotalSummary total : judgeTotals) {
+            Integer entry = entryIndex.get(total.entryId());
+            if (entry != null) {
+                statistics.add(entry, judgeIndex.get(total.judgeId()), total.totalScore().doubleValue());
+            }
+        }
+        ScoreStatistics.Result result = statistics.compute();
+        
+        Map<Long, Double> scores = new HashMap<>();
+        entryIndex.forEach((entryId, entry) -> {
+            double score = result.count()[entry] == 0 ? 0.0 : result.score(entry, method);
+            scores.put(entryId, score);
+        });
+        return scores;
+    }
+    
+    // Same total as the results view: the sum of each rated parameter's average
+    private static double averageTotal(List<RatingParameterAggregate> aggregates) {
+        double total = 0.0;
+        for (RatingParameterAggregate aggregate : aggregates) {
+            total += aggregate.getAverageScore();
+        }
+        return total;
+    }
+    
+    private static void afterCommit(Runnable action) {
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                // The board is a cache of the database; a failed push is repaired by TTL or the next rebuild
+                logger.warn("Failed to update leaderboard: {}", e.getMessage());
+            }
+        });
+    }
+}
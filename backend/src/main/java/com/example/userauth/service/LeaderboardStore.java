@@ -0,0 +1,71 @@
+package com.example.userauth.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-competition ranking of entries by average total score, highest first.
+ * Implementations must order equal scores the way a Redis sorted set read in reverse does
+ * (by member string, descending), so ranks agree whichever store is configured.
+ */
+public interface LeaderboardStore {
+
+    /**
+     * One position on a leaderboard.
+     *
+     * @param rank 1-based position, highest score first
+     * @param entryId the ranked entry
+     * @param score the entry's average total score
+     */
+    record RankedEntry(long rank, Long entryId, double score) {
+    }
+
+    /**
+     * Whether a leaderboard is currently held for the competition.
+     */
+    boolean exists(Long competitionId);
+
+    /**
+     * Atomically replace a competition's leaderboard. An empty map removes it.
+     *
+     * @param competitionId the competition
+     * @param scores average total score by entry id
+     * @param ttl how long the board may be served before it is rebuilt from the database
+     */
+    void replace(Long competitionId, Map<Long, Double> scores, Duration ttl);
+
+    /**
+     * Set entries' scores if the competition's leaderboard is held; otherwise do nothing,
+     * the next read rebuilds it with the new scores.
+     *
+     * @param competitionId the competition
+     * @param scores new score by entry id
+     */
+    void updateIfPresent(Long competitionId, Map<Long, Double> scores);
+
+    /**
+     * Remove one entry from the competition's leaderboard.
+     */
+    void removeEntry(Long competitionId, Long entryId);
+
+    /**
+     * Drop the competition's leaderboard.
+     */
+    void evict(Long competitionId);
+
+    /**
+     * Read positions {@code offset + 1} to {@code offset + count}.
+     */
+    List<RankedEntry> range(Long competitionId, long offset, int count);
+
+    /**
+     * Position of one entry, or null if it is not on the leaderboard.
+     */
+    RankedEntry rankOf(Long competitionId, Long entryId);
+
+    /**
+     * Number of entries on the competition's leaderboard.
+     */
+    long size(Long competitionId);
+}
@@ -0,0 +1,121 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.CursorPageResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination helpers shared by the list services.
+ * A cursor holds the sort key and id of the last row of a page, Base64url encoded so clients
+ * treat it as an opaque token; the next page is the rows strictly after that position, which
+ * stays correct when rows are added or removed between requests.
+ */
+final class PageCursor {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private static final String INVALID_CURSOR = "无效的分页游标";
+
+    /**
+     * Position after a row of a list ordered by (createdAt DESC, id DESC)
+     */
+    record TimePosition(LocalDateTime createdAt, Long id) {}
+
+    /**
+     * Position after a row of a list ordered by (displayOrder, id)
+     */
+    record OrderPosition(Integer displayOrder, Long id) {}
+
+    private PageCursor() {}
+
+    static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+    }
+
+    /**
+     * LIKE pattern (escape character '!') matching names that contain the query, or null
+     * when there is no query
+     */
+    static String likePattern(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        String escaped = query.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
+    static String encode(LocalDateTime createdAt, Long id) {
+        return encode("t", createdAt.toString(), id);
+    }
+
+    static String encode(Integer displayOrder, Long id) {
+        return encode("o", displayOrder.toString(), id);
+    }
+
+    static TimePosition decodeTime(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String[] parts = decode(cursor, "t");
+        try {
+            return new TimePosition(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    static OrderPosition decodeOrder(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String[] parts = decode(cursor, "o");
+        try {
+            return new OrderPosition(Integer.valueOf(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code pageSize + 1}: the extra row only
+     * tells whether there is a next page
+     */
+    static <T, R> CursorPageResponse<R> toPage(List<T> rows, int pageSize, Function<T, String> cursorOf,
+                                               Function<List<T>, List<R>> convert) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponse<>(convert.apply(rows), null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new CursorPageResponse<>(convert.apply(page), cursorOf.apply(page.get(pageSize - 1)));
+    }
+
+    private static String encode(String kind, String key, Long id) {
+        String raw = kind + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor, String kind) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        if (parts.length != 3 || !kind.equals(parts[0])) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        return parts;
+    }
+}
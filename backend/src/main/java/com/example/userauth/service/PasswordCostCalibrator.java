@@ -0,0 +1,127 @@
+package com.example.userauth.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Measures BCrypt hashing time on this machine at startup and reports the cost factor that fits
+ * the latency budget. The measurement is advisory: every instance hashes with the configured
+ * {@code app.security.bcrypt-strength}, so instances on different hardware never disagree about
+ * the cost and never rewrite each other's hashes. The recommendation is logged and exposed as a
+ * metric, with a warning when the configured cost is estimated to exceed the budget here.
+ */
+@Component
+public class PasswordCostCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordCostCalibrator.class);
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int strength;
+    private final int recommendedStrength;
+    private final double estimatedHashMillis;
+    private final boolean calibrated;
+
+    @Autowired
+    public PasswordCostCalibrator(MeterRegistry meterRegistry,
+                                  @Value("${app.security.bcrypt-strength:12}") int configuredStrength,
+                                  @Value("${app.security.bcrypt-calibration.enabled:true}") boolean enabled,
+                                  @Value("${app.security.bcrypt-calibration.target-ms:250}") long targetMillis,
+                                  @Value("${app.security.bcrypt-calibration.min-strength:10}") int minStrength,
+                                  @Value("${app.security.bcrypt-calibration.max-strength:14}") int maxStrength) {
+        this(meterRegistry, configuredStrength, enabled, targetMillis, minStrength, maxStrength,
+                PasswordCostCalibrator::measureHashNanos);
+    }
+
+    PasswordCostCalibrator(MeterRegistry meterRegistry, int configuredStrength, boolean enabled,
+                           long targetMillis, int minStrength, int maxStrength,
+                           IntToLongFunction hashNanosAtCost) {
+        this.strength = configuredStrength;
+        if (enabled) {
+            double floorMillis = medianMillis(hashNanosAtCost, minStrength);
+            int recommended = minStrength;
+            while (recommended < maxStrength && floorMillis * Math.pow(2, recommended + 1 - minStrength) <= targetMillis) {
+                recommended++;
+            }
+            this.recommendedStrength = recommended;
+            this.estimatedHashMillis = floorMillis * Math.pow(2, configuredStrength - minStrength);
+            this.calibrated = true;
+            logger.info("BCrypt cost {} takes ~{} ms per hash here; cost {} fits the {} ms budget (floor {}, ceiling {})",
+                    strength, Math.round(estimatedHashMillis), recommendedStrength, targetMillis, minStrength, maxStrength);
+            if (estimatedHashMillis > targetMillis) {
+                logger.warn("BCrypt cost {} exceeds the {} ms budget on this machine; consider setting "
+                        + "app.security.bcrypt-strength to {} for every instance", strength, targetMillis, recommendedStrength);
+            }
+        } else {
+            this.recommendedStrength = configuredStrength;
+            this.estimatedHashMillis = Double.NaN;
+            this.calibrated = false;
+            logger.info("BCrypt calibration disabled, using configured cost {}", strength);
+        }
+
+        Gauge.builder("auth.password.bcrypt.cost", this, PasswordCostCalibrator::getStrength)
+                .description("BCrypt cost factor used for new password hashes")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.bcrypt.recommended.cost", this, PasswordCostCalibrator::getRecommendedStrength)
+                .description("Highest BCrypt cost factor whose hash time fits the latency budget on this machine")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.bcrypt.calibrated.hash.time", this, PasswordCostCalibrator::getEstimatedHashMillis)
+                .description("Estimated time to hash one password at the configured cost")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The configured BCrypt cost factor, used for new hashes on every instance.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * The highest cost factor that fits the latency budget on this machine, or the configured
+     * one if calibration was disabled.
+     */
+    public int getRecommendedStrength() {
+        return recommendedStrength;
+    }
+
+    /**
+     * Estimated milliseconds per hash at the configured cost, or NaN if calibration was disabled.
+     */
+    public double getEstimatedHashMillis() {
+        return estimatedHashMillis;
+    }
+
+    public boolean isCalibrated() {
+        return calibrated;
+    }
+
+    private static double medianMillis(IntToLongFunction hashNanosAtCost, int cost) {
+        // First run warms up the JIT and is discarded
+        hashNanosAtCost.applyAsLong(cost);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = hashNanosAtCost.applyAsLong(cost);
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2] / 1_000_000.0;
+    }
+
+    private static long measureHashNanos(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
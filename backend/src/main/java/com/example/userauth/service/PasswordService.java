@@ -1,21 +1,41 @@
 package com.example.userauth.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Service for password hashing and verification using BCrypt.
  * Provides secure password handling for user authentication.
+ * BCrypt work runs on the bounded {@link PasswordHashingExecutor} when one is configured,
+ * and the cost factor is the configured {@code app.security.bcrypt-strength}, the same on
+ * every instance.
  */
 @Service
 public class PasswordService {
 
+    private static final int DEFAULT_STRENGTH = 12;
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[abxy]\\$(\\d{2})\\$.{53}$");
+
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final int strength;
 
     public PasswordService() {
-        // Use BCrypt with strength 12 for production-grade security
-        this.passwordEncoder = new BCryptPasswordEncoder(12);
+        this(null, DEFAULT_STRENGTH);
+    }
+
+    @Autowired
+    public PasswordService(PasswordHashingExecutor hashingExecutor,
+                           @Value("${app.security.bcrypt-strength:12}") int strength) {
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.hashingExecutor = hashingExecutor;
+        this.strength = strength;
     }
 
     /**
@@ -29,7 +49,11 @@ public class PasswordService {
         if (plainPassword == null || plainPassword.trim().isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
-        return passwordEncoder.encode(plainPassword);
+        if (hashingExecutor == null) {
+            return passwordEncoder.encode(plainPassword);
+        }
+        return hashingExecutor.execute(PasswordHashingExecutor.OPERATION_HASH,
+                () -> passwordEncoder.encode(plainPassword));
     }
 
     /**
@@ -47,12 +71,19 @@ public class PasswordService {
         if (hashedPassword == null || hashedPassword.trim().isEmpty()) {
             throw new IllegalArgumentException("Hashed password cannot be null or empty");
         }
-        return passwordEncoder.matches(plainPassword, hashedPassword);
+        if (hashingExecutor == null) {
+            return passwordEncoder.matches(plainPassword, hashedPassword);
+        }
+        return hashingExecutor.execute(PasswordHashingExecutor.OPERATION_VERIFY,
+                () -> passwordEncoder.matches(plainPassword, hashedPassword));
     }
 
     /**
      * Check if a password needs to be rehashed (e.g., due to security policy changes).
-     * This can be used for password upgrade scenarios.
+     * Hashes that are not BCrypt, or were made with a lower cost factor than the configured
+     * one, are upgraded after the next successful login. Hashes at a higher cost are kept, so
+     * instances that briefly disagree during a configuration rollout never rewrite a hash back
+     * and forth.
      * 
      * @param hashedPassword the hashed password to check
      * @return true if the password should be rehashed, false otherwise
@@ -61,9 +92,21 @@ public class PasswordService {
         if (hashedPassword == null || hashedPassword.trim().isEmpty()) {
             return true;
         }
-        // BCrypt hashes start with $2a$, $2b$, $2x$, or $2y$
-        // Check if it's a valid BCrypt hash format
-        return !hashedPassword.matches("^\\$2[abxy]\\$\\d{2}\\$.{53}$");
+        // BCrypt hashes start with $2a$, $2b$, $2x$, or $2y$ followed by the two-digit cost
+        Matcher matcher = BCRYPT_PATTERN.matcher(hashedPassword);
+        if (!matcher.matches()) {
+            return true;
+        }
+        return Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    /**
+     * Get the BCrypt cost factor used for new hashes.
+     * 
+     * @return the cost factor
+     */
+    public int getStrength() {
+        return strength;
     }
 
     /**
@@ -0,0 +1,72 @@
+package com.example.userauth.service;
+
+import com.example.userauth.repository.CompetitionEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background check of the rating aggregates against competition_ratings.
+ * Walks all entries in id order, one chunk per transaction, so a pass never holds locks
+ * on more than {@code chunk-size} entries' aggregate rows at a time.
+ */
+@Component
+public class RatingAggregateReconciler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateReconciler.class);
+    
+    @Autowired
+    private CompetitionEntryRepository entryRepository;
+    
+    @Autowired
+    private RatingAggregateService aggregateService;
+    
+    @Value("${app.ratings.aggregates.reconcile-enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.ratings.aggregates.reconcile-chunk-size:200}")
+    private int chunkSize;
+    
+    @Scheduled(initialDelayString = "${app.ratings.aggregates.reconcile-interval-ms:900000}",
+               fixedDelayString = "${app.ratings.aggregates.reconcile-interval-ms:900000}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcileAll();
+        } catch (Exception e) {
+            logger.error("Rating aggregate reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Run one full pass over all entries.
+     *
+     * @return the number of aggregate rows repaired
+     */
+    public int reconcileAll() {
+        long afterId = 0L;
+        int checked = 0;
+        int repaired = 0;
+        List<Long> chunk;
+        do {
+            chunk = entryRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            repaired += aggregateService.reconcileEntries(chunk);
+            checked += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == chunkSize);
+        
+        logger.debug("Rating aggregate reconciliation checked {} entries, repaired {} rows", checked, repaired);
+        return repaired;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.RatingJudgeTotal;
+import com.example.userauth.entity.RatingParameterAggregate;
+import com.example.userauth.repository.CompetitionRatingRepository;
+import com.example.userauth.repository.JudgeTotalSummary;
+import com.example.userauth.repository.ParameterScoreSummary;
+import com.example.userauth.repository.RatingJudgeTotalRepository;
+import com.example.userauth.repository.RatingParameterAggregateRepository;
+import com.example.userauth.repository.RatingParameterAggregateRepositoryCustom.ParameterDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maintains the rating aggregate tables read by the results views.
+ * Submissions apply deltas in the same transaction as the ratings themselves; deletes drop
+ * the affected rows; {@link #reconcileEntries} rebuilds a chunk of entries from the raw
+ * ratings and repairs any drift.
+ */
+@Service
+@Transactional
+public class RatingAggregateService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateService.class);
+    
+    @Autowired
+    private RatingParameterAggregateRepository parameterAggregateRepository;
+    
+    @Autowired
+    private RatingJudgeTotalRepository judgeTotalRepository;
+    
+    @Autowired
+    private CompetitionRatingRepository ratingRepository;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    /**
+     * Aggregate rows of one entry as they stand after a submission.
+     *
+     * @param entryId the entry
+     * @param parameterScores the entry's per-parameter aggregates
+     * @param judgeTotals the entry's per-judge totals
+     */
+    public record EntryAggregates(Long entryId, List<ParameterScoreSummary> parameterScores,
+                                  List<JudgeTotalSummary> judgeTotals) {
+    }
+    
+    /**
+     * Apply one judge's submission to the aggregates.
+     *
+     * @param competitionId the competition the entry belongs to
+     * @param entryId the rated entry
+     * @param judgeId the judge
+     * @param previousScores the judge's scores before the submission, by parameter id
+     * @param submittedScores the submitted scores, by parameter id
+     * @return the entry's id if any score changed, otherwise an empty list
+     */
+    public List<Long> recordSubmission(Long competitionId, Long entryId, Long judgeId,
+                                                  Map<Long, BigDecimal> previousScores,
+                                                  Map<Long, BigDecimal> submittedScores) {
+        return recordSubmissions(competitionId, judgeId, Map.of(entryId, previousScores),
+                Map.of(entryId, submittedScores));
+    }
+    
+    /**
+     * Apply one judge's submissions for several entries to the aggregates: all parameter deltas
+     * go out in one multi-row statement and all judge total deltas in another.
+     *
+     * @param competitionId the competition the entries belong to
+     * @param judgeId the judge
+     * @param previousScores the judge's scores before the submissions, by entry id and parameter id
+     * @param submittedScores the submitted scores, by entry id and parameter id
+     * @return the ids of the entries whose scores changed, in submission order
+     */
+    public List<Long> recordSubmissions(Long competitionId, Long judgeId,
+                                                   Map<Long, Map<Long, BigDecimal>> previousScores,
+                                                   Map<Long, Map<Long, BigDecimal>> submittedScores) {
+        List<ParameterDelta> deltas = new ArrayList<>();
+        Map<Long, BigDecimal> totalDeltas = new LinkedHashMap<>();
+        
+        for (Map.Entry<Long, Map<Long, BigDecimal>> entry : submittedScores.entrySet()) {
+            Long entryId = entry.getKey();
+            Map<Long, BigDecimal> previousByParameter = previousScores.getOrDefault(entryId, Map.of());
+            BigDecimal totalDelta = BigDecimal.ZERO;
+            boolean changed = false;
+            for (Map.Entry<Long, BigDecimal> submitted : entry.getValue().entrySet()) {
+                BigDecimal score = submitted.getValue();
+                BigDecimal previous = previousByParameter.get(submitted.getKey());
+                if (previous == null) {
+                    deltas.add(new ParameterDelta(entryId, submitted.getKey(), score, score.multiply(score), 1));
+                    totalDelta = totalDelta.add(score);
+                    changed = true;
+                } else if (previous.compareTo(score) != 0) {
+                    deltas.add(new ParameterDelta(entryId, submitted.getKey(), score.subtract(previous),
+                            score.multiply(score).subtract(previous.multiply(previous)), 0));
+                    totalDelta = totalDelta.add(score.subtract(previous));
+                    changed = true;
+                }
+            }
+            if (changed) {
+                totalDeltas.put(entryId, totalDelta);
+            }
+        }
+        
+        if (totalDeltas.isEmpty()) {
+            return List.of();
+        }
+        parameterAggregateRepository.applyDeltas(competitionId, deltas);
+        judgeTotalRepository.addToTotals(competitionId, judgeId, totalDeltas, LocalDateTime.now());
+        resourceVersionService.ratingsChanged(competitionId);
+        return List.copyOf(totalDeltas.keySet());
+    }
+    
+    /**
+     * Drop the aggregates of a deleted entry.
+     */
+    public void removeEntry(Long entryId) {
+        parameterAggregateRepository.deleteByEntryId(entryId);
+        judgeTotalRepository.deleteByEntryId(entryId);
+    }
+    
+    /**
+     * Drop the aggregates of a competition whose ratings were deleted.
+     */
+    public void removeCompetition(Long competitionId) {
+        parameterAggregateRepository.deleteByCompetitionId(competitionId);
+        judgeTotalRepository.deleteByCompetitionId(competitionId);
+        resourceVersionService.ratingsChanged(competitionId);
+    }
+    
+    /**
+     * Rebuild the aggregates of a chunk of entries from competition_ratings and repair
+     * rows that differ. The aggregate rows are locked before the raw ratings are read, so a
+     * submission running concurrently adds its delta on top of the repaired value instead
+     * of being overwritten by it.
+     *
+     * @param entryIds the entries to check
+     * @return the number of aggregate rows created, updated or deleted
+     */
+    public int reconcileEntries(Collection<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return 0;
+        }
+        
+        Map<String, RatingParameterAggregate> storedAggregates = new HashMap<>();
+        for (RatingParameterAggregate aggregate : parameterAggregateRepository.findByEntryIdInForUpdate(entryIds)) {
+            storedAggregates.put(aggregate.getEntryId() + "_" + aggregate.getParameterId(), aggregate);
+        }
+        Map<String, RatingJudgeTotal> storedTotals = new HashMap<>();
+        for (RatingJudgeTotal total : judgeTotalRepository.findByEntryIdInForUpdate(entryIds)) {
+            storedTotals.put(total.getEntryId() + "_" + total.getJudgeId(), total);
+        }
+        
+        int repaired = 0;
+        Set<Long> repairedCompetitionIds = new HashSet<>();
+        List<RatingParameterAggregate> changedAggregates = new ArrayList<>();
+        for (ParameterScoreSummary summary : ratingRepository.summarizeParameterScoresByEntryIds(entryIds)) {
+            Long competitionId = summary.competitionId();
+            Long entryId = summary.entryId();
+            Long parameterId = summary.parameterId();
+            BigDecimal scoreSum = nullToZero(summary.scoreSum());
+            BigDecimal scoreSquareSum = nullToZero(summary.scoreSquareSum());
+            int ratingCount = summary.ratingCount().intValue();
+            
+            RatingParameterAggregate aggregate = storedAggregates.remove(entryId + "_" + parameterId);
+            if (aggregate == null) {
+                aggregate = new RatingParameterAggregate(competitionId, entryId, parameterId);
+            } else if (aggregate.getScoreSum().compareTo(scoreSum) == 0
+                    && aggregate.getScoreSquareSum().compareTo(scoreSquareSum) == 0
+                    && aggregate.getRatingCount() == ratingCount
+                    && Objects.equals(aggregate.getCompetitionId(), competitionId)) {
+                continue;
+            }
+            aggregate.setCompetitionId(competitionId);
+            aggregate.setScoreSum(scoreSum);
+            aggregate.setScoreSquareSum(scoreSquareSum);
+            aggregate.setRatingCount(ratingCount);
+            changedAggregates.add(aggregate);
+        }
+        parameterAggregateRepository.saveAll(changedAggregates);
+        parameterAggregateRepository.deleteAll(storedAggregates.values());
+        repaired += changedAggregates.size() + storedAggregates.size();
+        changedAggregates.forEach(aggregate -> repairedCompetitionIds.add(aggregate.getCompetitionId()));
+        storedAggregates.values().forEach(aggregate -> repairedCompetitionIds.add(aggregate.getCompetitionId()));
+        
+        List<RatingJudgeTotal> changedTotals = new ArrayList<>();
+        for (JudgeTotalSummary summary : ratingRepository.summarizeJudgeTotalsByEntryIds(entryIds)) {
+            Long competitionId = summary.competitionId();
+            Long entryId = summary.entryId();
+            Long judgeId = summary.judgeId();
+            BigDecimal totalScore = nullToZero(summary.totalScore());
+            
+            RatingJudgeTotal total = storedTotals.remove(entryId + "_" + judgeId);
+            if (total == null) {
+                total = new RatingJudgeTotal(competitionId, entryId, judgeId);
+            } else if (total.getTotalScore().compareTo(totalScore) == 0
+                    && Objects.equals(total.getCompetitionId(), competitionId)) {
+                continue;
+            }
+            total.setCompetitionId(competitionId);
+            total.setTotalScore(totalScore);
+            changedTotals.add(total);
+        }
+        judgeTotalRepository.saveAll(changedTotals);
+        judgeTotalRepository.deleteAll(storedTotals.values());
+        repaired += changedTotals.size() + storedTotals.size();
+        changedTotals.forEach(total -> repairedCompetitionIds.add(total.getCompetitionId()));
+        storedTotals.values().forEach(total -> repairedCompetitionIds.add(total.getCompetitionId()));
+        
+        if (repaired > 0) {
+            logger.warn("Repaired {} drifted rating aggregate rows for {} entries", repaired, entryIds.size());
+            repairedCompetitionIds.forEach(resourceVersionService::ratingsChanged);
+        }
+        return repaired;
+    }
+    
+    /**
+     * Read the aggregates of a set of entries with one query per table. They are read as values
+     * rather than entities, so rows changed by the delta upserts are seen as stored even if this
+     * transaction loaded them before.
+     *
+     * @param entryIds the entries
+     * @return one element per entry, in the given order
+     */
+    @Transactional(readOnly = true)
+    public List<EntryAggregates> loadAggregates(Collection<Long> entryIds) {
+        Map<Long, List<ParameterScoreSummary>> scoresByEntry = new HashMap<>();
+        for (ParameterScoreSummary summary : parameterAggregateRepository.summarizeByEntryIds(entryIds)) {
+            scoresByEntry.computeIfAbsent(summary.entryId(), id -> new ArrayList<>()).add(summary);
+        }
+        Map<Long, List<JudgeTotalSummary>> totalsByEntry = new HashMap<>();
+        for (JudgeTotalSummary total : judgeTotalRepository.summarizeByEntryIds(entryIds)) {
+            totalsByEntry.computeIfAbsent(total.entryId(), id -> new ArrayList<>()).add(total);
+        }
+        List<EntryAggregates> loaded = new ArrayList<>();
+        for (Long entryId : entryIds) {
+            loaded.add(new EntryAggregates(entryId, scoresByEntry.getOrDefault(entryId, List.of()),
+                    totalsByEntry.getOrDefault(entryId, List.of())));
+        }
+        return loaded;
+    }
+    
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -2,16 +2,25 @@ package com.example.userauth.service;
 
 import com.example.userauth.dto.CompetitionRatingDataResponse;
 import com.example.userauth.entity.*;
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
 import com.example.userauth.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.io.StringWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -32,85 +41,107 @@ public class RatingDataService {
     @Autowired
     private EvaluationParameterRepository parameterRepository;
     
+    @Autowired
+    private RatingParameterAggregateRepository parameterAggregateRepository;
+    
+    @Autowired
+    private RatingJudgeTotalRepository judgeTotalRepository;
+    
+    /**
+     * Results for all approved entries, read from the rating aggregate tables.
+     * The query count is fixed and no query aggregates over competition_ratings.
+     */
     public CompetitionRatingDataResponse getCompetitionRatingData(Long competitionId) {
         Competition competition = competitionRepository.findByIdWithCreator(competitionId)
                 .orElseThrow(() -> new IllegalArgumentException("赛事不存在"));
         List<CompetitionEntry> entries = entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(
                 competitionId, CompetitionEntry.EntryStatus.APPROVED);
         int totalJudges = (int) judgeRepository.countByCompetitionId(competitionId);
+        
+        List<EvaluationParameter> parameters = competition.getModel() != null
+                ? parameterRepository.findByModelIdOrderByDisplayOrder(competition.getModel().getId())
+                : List.of();
+        Map<Long, Map<Long, RatingParameterAggregate>> aggregatesByEntry = new HashMap<>();
+        for (RatingParameterAggregate aggregate : parameterAggregateRepository.findByCompetitionId(competitionId)) {
+            aggregatesByEntry.computeIfAbsent(aggregate.getEntryId(), id -> new HashMap<>())
+                    .put(aggregate.getParameterId(), aggregate);
+        }
+        Map<Long, Integer> entryIndex = new HashMap<>();
+        for (CompetitionEntry entry : entries) {
+            entryIndex.put(entry.getId(), entryIndex.size());
+        }
+        List<RatingJudgeTotal> judgeTotals = judgeTotalRepository.findByCompetitionId(competitionId);
+        Map<Long, Integer> judgeIndex = new HashMap<>();
+        for (RatingJudgeTotal total : judgeTotals) {
+            judgeIndex.putIfAbsent(total.getJudgeId(), judgeIndex.size());
+        }
+        Map<Long, Double> highestByEntry = new HashMap<>();
+        ScoreStatistics statistics = new ScoreStatistics(entries.size(), judgeIndex.size());
+        for (RatingJudgeTotal total : judgeTotals) {
+            highestByEntry.merge(total.getEntryId(), total.getTotalScore().doubleValue(), Math::max);
+            Integer entry = entryIndex.get(total.getEntryId());
+            if (entry != null) {
+                statistics.add(entry, judgeIndex.get(total.getJudgeId()), total.getTotalScore().doubleValue());
+            }
+        }
+        ScoreStatistics.Result stats = statistics.compute();
+        AggregationMethod method = competition.getModel() != null
+                ? competition.getModel().getAggregationMethod()
+                : AggregationMethod.MEAN;
+        
         List<CompetitionRatingDataResponse.EntryRatingData> entryDataList = new ArrayList<>();
         for (CompetitionEntry entry : entries) {
-            CompetitionRatingDataResponse.EntryRatingData entryData = calculateEntryRatingData(entry, totalJudges);
+            CompetitionRatingDataResponse.EntryRatingData entryData = buildEntryRatingData(entry, totalJudges,
+                    parameters, aggregatesByEntry.getOrDefault(entry.getId(), Map.of()),
+                    highestByEntry.getOrDefault(entry.getId(), 0.0));
+            applyStatistics(entryData, stats, entryIndex.get(entry.getId()), method);
             entryDataList.add(entryData);
         }
-        return new CompetitionRatingDataResponse(
+        CompetitionRatingDataResponse response = new CompetitionRatingDataResponse(
             competition.getId(),
             competition.getName(),
             competition.getModel() != null ? competition.getModel().getId() : null,
             totalJudges,
             entryDataList
         );
+        response.setAggregationMethod(method);
+        return response;
     }
     
-    private CompetitionRatingDataResponse.EntryRatingData calculateEntryRatingData(CompetitionEntry entry, int totalJudges) {
-        List<Object[]> averageScores = ratingRepository.findDetailedAverageScoresByEntryId(entry.getId());
-        List<Object[]> judgeTotals = ratingRepository.findJudgeTotalScoresByEntryId(entry.getId());
-        
+    private void applyStatistics(CompetitionRatingDataResponse.EntryRatingData entryData,
+            ScoreStatistics.Result stats, int entry, AggregationMethod method) {
+        if (stats.count()[entry] == 0) {
+            return;
+        }
+        // The mean keeps the per-parameter average total the results have always shown
+        entryData.setRankingScore(method == AggregationMethod.MEAN
+                ? entryData.getAverageTotalScore()
+                : stats.score(entry, method));
+        entryData.setMedianScore(stats.median()[entry]);
+        entryData.setScoreStddev(stats.stddev()[entry]);
+        entryData.setTrimmedMeanScore(stats.trimmedMean()[entry]);
+        entryData.setNormalizedScore(stats.normalized()[entry]);
+    }
+    
+    private CompetitionRatingDataResponse.EntryRatingData buildEntryRatingData(CompetitionEntry entry, int totalJudges,
+            List<EvaluationParameter> parameters, Map<Long, RatingParameterAggregate> aggregates, double highestScore) {
         List<CompetitionRatingDataResponse.ParameterAverageScore> parameterScores = new ArrayList<>();
         double totalScore = 0.0;
         int completedRatings = 0;
-        double highestScore = 0.0;
         
-        for (Object[] row : averageScores) {
-            Long parameterId = (Long) row[0];
-            String parameterName = (String) row[1];
-            Integer parameterWeight = (Integer) row[2];
-            Double averageScore;
-            Object scoreObj = row[3];
-            if (scoreObj instanceof Double) {
-                averageScore = (Double) scoreObj;
-            } else if (scoreObj instanceof Number) {
-                averageScore = ((Number) scoreObj).doubleValue();
-            } else {
-                averageScore = 0.0;
-            }
-
-            int ratingCount;
-            Object countObj = row[4];
-            if (countObj instanceof Number) {
-                ratingCount = ((Number) countObj).intValue();
-            } else {
-                ratingCount = 0;
+        for (EvaluationParameter parameter : parameters) {
+            RatingParameterAggregate aggregate = aggregates.get(parameter.getId());
+            if (aggregate == null || aggregate.getRatingCount() == 0) {
+                continue;
             }
-            
-            CompetitionRatingDataResponse.ParameterAverageScore parameterAverage = 
-                new CompetitionRatingDataResponse.ParameterAverageScore(
-                    parameterId, parameterName, averageScore, parameterWeight, ratingCount
-                );
-            
-            parameterScores.add(parameterAverage);
+            double averageScore = aggregate.getAverageScore();
+            parameterScores.add(new CompetitionRatingDataResponse.ParameterAverageScore(
+                parameter.getId(), parameter.getName(), averageScore, parameter.getWeight(), aggregate.getRatingCount()
+            ));
             totalScore += averageScore;
             
             if (completedRatings == 0) {
-                completedRatings = ratingCount;
-            }
-        }
-        
-        // Calculate highest score from judge totals
-        for (Object[] row : judgeTotals) {
-            if (row[0] != null) {
-                Double judgeTotal;
-                Object judgeTotalObj = row[0];
-                if (judgeTotalObj instanceof Double) {
-                    judgeTotal = (Double) judgeTotalObj;
-                } else if (judgeTotalObj instanceof Number) {
-                    judgeTotal = ((Number) judgeTotalObj).doubleValue();
-                } else {
-                    judgeTotal = 0.0;
-                }
-                if (judgeTotal > highestScore) {
-                    highestScore = judgeTotal;
-                }
+                completedRatings = aggregate.getRatingCount();
             }
         }
         
@@ -130,79 +161,89 @@ public class RatingDataService {
         );
     }
     
-    public String generateCompetitionCSV(Long competitionId) {
-        // FIXED: 使用 findByIdWithCreator 避免 LazyInitializationException
-        Competition competition = competitionRepository.findByIdWithCreator(competitionId)
+    /**
+     * Write a competition's ratings as CSV, one row per (entry, judge) pair.
+     * Scores are read through a forward-only cursor and each row is written as soon as the
+     * pair's last score has been read, so memory use does not depend on the competition size.
+     * The caller owns the stream; it is flushed but not closed.
+     */
+    public void writeCompetitionCsv(Long competitionId, OutputStream out) throws IOException {
+        writeCompetitionCsv(competitionId, out, rowsWritten -> {});
+    }
+    
+    /**
+     * Same as {@link #writeCompetitionCsv(Long, OutputStream)}, reporting the number of rows
+     * written so far after each row.
+     *
+     * @return the number of rows written, excluding the header
+     */
+    public long writeCompetitionCsv(Long competitionId, OutputStream out, LongConsumer progress) throws IOException {
+        Competition competition = competitionRepository.findById(competitionId)
                 .orElseThrow(() -> new IllegalArgumentException("赛事不存在"));
-        
-        List<CompetitionRating> ratings = ratingRepository.findByCompetitionIdForExport(competitionId);
-        
-        if (ratings.isEmpty()) {
-            return generateEmptyCSV(competition);
-        }
-        
         List<EvaluationParameter> parameters = parameterRepository
                 .findByModelIdOrderByDisplayOrder(competition.getModel().getId());
         
-        StringWriter writer = new StringWriter();
-        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
         writer.append("参赛作品,评委,");
         for (EvaluationParameter parameter : parameters) {
             writer.append(parameter.getName()).append("(").append(String.valueOf(parameter.getWeight())).append("分),");
         }
         writer.append("总分,备注\n");
         
-        Map<String, List<CompetitionRating>> groupedRatings = ratings.stream()
-                .collect(Collectors.groupingBy(r -> r.getEntry().getId() + "_" + r.getJudge().getId()));
-        
-        for (List<CompetitionRating> ratingGroup : groupedRatings.values()) {
-            if (!ratingGroup.isEmpty()) {
-                CompetitionRating firstRating = ratingGroup.get(0);
-                
-                writer.append("\"").append(firstRating.getEntry().getEntryName()).append("\",");
-                writer.append("\"").append(firstRating.getJudge().getUsername()).append("\",");
-                
-                Map<Long, BigDecimal> parameterScores = ratingGroup.stream()
-                        .collect(Collectors.toMap(r -> r.getParameter().getId(), CompetitionRating::getScore));
-                BigDecimal totalScore = BigDecimal.ZERO;
-                
-                for (EvaluationParameter parameter : parameters) {
-                    BigDecimal score = parameterScores.get(parameter.getId());
-                    if (score != null) {
-                        writer.append(score.toString());
-                        totalScore = totalScore.add(score);
-                    } else {
-                        writer.append("0");
-                    }
-                    writer.append(",");
+        try (Stream<RatingExportRow> rows = ratingRepository.streamExportRows(competitionId)) {
+            Iterator<RatingExportRow> iterator = rows.iterator();
+            RatingExportRow first = null;
+            Map<Long, BigDecimal> scores = new HashMap<>();
+            long rowsWritten = 0;
+            while (iterator.hasNext()) {
+                RatingExportRow row = iterator.next();
+                if (first != null && !(row.entryId().equals(first.entryId()) && row.judgeId().equals(first.judgeId()))) {
+                    writeCsvRow(writer, parameters, first, scores);
+                    progress.accept(++rowsWritten);
+                    scores.clear();
+                    first = null;
                 }
-                writer.append(totalScore.toString()).append(",");
-                
-                String note = firstRating.getNote();
-                if (note != null && !note.trim().isEmpty()) {
-                    writer.append("\"").append(note.replace("\"", "\"\"")).append("\"");
+                if (first == null) {
+                    first = row;
                 }
-                
-                writer.append("\n");
+                scores.put(row.parameterId(), row.score());
+            }
+            if (first != null) {
+                writeCsvRow(writer, parameters, first, scores);
+                progress.accept(++rowsWritten);
             }
+            writer.flush();
+            return rowsWritten;
         }
-        
-        return writer.toString();
     }
     
-    private String generateEmptyCSV(Competition competition) {
-        List<EvaluationParameter> parameters = parameterRepository
-                .findByModelIdOrderByDisplayOrder(competition.getModel().getId());
+    private void writeCsvRow(Writer writer, List<EvaluationParameter> parameters,
+                             RatingExportRow first, Map<Long, BigDecimal> scores) throws IOException {
+        writer.append(quoteCsv(first.entryName())).append(",");
+        writer.append(quoteCsv(first.judgeUsername())).append(",");
         
-        StringWriter writer = new StringWriter();
-        
-        writer.append("参赛作品,评委,");
+        BigDecimal totalScore = BigDecimal.ZERO;
         for (EvaluationParameter parameter : parameters) {
-            writer.append(parameter.getName()).append("(").append(String.valueOf(parameter.getWeight())).append("分),");
+            BigDecimal score = scores.get(parameter.getId());
+            if (score != null) {
+                writer.append(score.toString());
+                totalScore = totalScore.add(score);
+            } else {
+                writer.append("0");
+            }
+            writer.append(",");
         }
-        writer.append("总分,备注\n");
+        writer.append(totalScore.toString()).append(",");
         
-        return writer.toString();
+        String note = first.note();
+        if (note != null && !note.trim().isEmpty()) {
+            writer.append(quoteCsv(note));
+        }
+        writer.append("\n");
+    }
+    
+    private static String quoteCsv(String value) {
+        return "\"" + (value != null ? value.replace("\"", "\"\"") : "") + "\"";
     }
     
     public boolean canViewRatingData(Long competitionId, Long userId) {
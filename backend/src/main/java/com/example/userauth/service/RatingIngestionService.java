@@ -0,0 +1,433 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.BatchRatingRequest;
+import com.example.userauth.dto.BatchRatingResponse;
+import com.example.userauth.dto.RatingRequest;
+import com.example.userauth.dto.RatingResponse;
+import com.example.userauth.entity.Competition;
+import com.example.userauth.entity.CompetitionEntry;
+import com.example.userauth.entity.EvaluationParameter;
+import com.example.userauth.exception.RatingIngestionRejectedException;
+import com.example.userauth.repository.CompetitionEntryRepository;
+import com.example.userauth.repository.CompetitionJudgeRepository;
+import com.example.userauth.repository.CompetitionRepository;
+import com.example.userauth.repository.EvaluationParameterRepository;
+import com.example.userauth.security.AuthenticatedUser;
+import com.example.userauth.service.RatingJournal.JournaledRating;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind ingestion of rating submissions, enabled with {@code app.ratings.ingest.mode=journal}.
+ * A submission is checked against a short-lived cache of its competition's state, appended to
+ * the local {@link RatingJournal} and acknowledged without touching the database; a single
+ * writer applies the journal in batches, one transaction each. Anything the cache cannot
+ * confirm (unknown competition or entry, a judge not in the cached list, a competition the cache
+ * says is closed) goes through {@link RatingService#submitRating} instead, with its usual errors.
+ * Submissions waiting for the writer are overlaid on the judge's own reads, so judges see their
+ * scores at once; other readers see them once applied. A direct write of a judge's rating waits
+ * until the judge's journaled submissions for the same entries are applied, so the writer can
+ * never apply an older submission over it.
+ * <p>
+ * That guarantee only holds while all of a judge's submissions reach the same instance, so journal
+ * mode refuses to start when {@code app.ratings.ingest.instances} says more than one instance
+ * serves the API.
+ */
+@Service
+public class RatingIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingIngestionService.class);
+
+    // How long a direct write waits for the writer to apply the journaled submissions it supersedes
+    private static final long PENDING_WAIT_MS = 5000;
+
+    private final RatingService ratingService;
+    private final CompetitionRepository competitionRepository;
+    private final CompetitionEntryRepository entryRepository;
+    private final CompetitionJudgeRepository judgeRepository;
+    private final EvaluationParameterRepository parameterRepository;
+    private final RatingJournal journal;
+    private final TransactionOperations readTransaction;
+    private final ScheduledExecutorService writer;
+    private final int batchSize;
+    private final int maxBacklog;
+    private final long cacheTtlMs;
+    private final long retryAfterSeconds;
+    private final Counter journaledCounter;
+    private final Counter appliedCounter;
+    private final Counter droppedCounter;
+
+    private final ConcurrentHashMap<Long, CompetitionSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Latest journaled submission of each judge and entry that the writer has not applied yet
+    private final ConcurrentHashMap<PendingKey, JournaledRating> pendingRatings = new ConcurrentHashMap<>();
+
+    /**
+     * Cached state a submission is validated against.
+     */
+    private record CompetitionSnapshot(Competition competition, Map<Long, String> entryNames, Set<Long> judgeIds,
+                                       List<EvaluationParameter> parameters, long loadedAtMillis) {
+    }
+
+    private record PendingKey(Long judgeId, Long entryId) {
+    }
+
+    @Autowired
+    public RatingIngestionService(RatingService ratingService,
+                                  CompetitionRepository competitionRepository,
+                                  CompetitionEntryRepository entryRepository,
+                                  CompetitionJudgeRepository judgeRepository,
+                                  EvaluationParameterRepository parameterRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.ratings.ingest.mode:direct}") String mode,
+                                  @Value("${app.ratings.ingest.instances:1}") int instances,
+                                  @Value("${app.ratings.ingest.journal-dir:./data/rating-journal}") String journalDir,
+                                  @Value("${app.ratings.ingest.segment-bytes:16777216}") long segmentBytes,
+                                  @Value("${app.ratings.ingest.batch-size:500}") int batchSize,
+                                  @Value("${app.ratings.ingest.drain-interval-ms:200}") long drainIntervalMs,
+                                  @Value("${app.ratings.ingest.max-backlog:20000}") int maxBacklog,
+                                  @Value("${app.ratings.ingest.cache-ttl-ms:30000}") long cacheTtlMs,
+                                  @Value("${app.ratings.ingest.retry-after-seconds:2}") long retryAfterSeconds) {
+        this(ratingService, competitionRepository, entryRepository, judgeRepository, parameterRepository,
+                journalMode(mode, instances) ? openJournal(journalDir, segmentBytes) : null,
+                readOnly(transactionManager), meterRegistry, batchSize, maxBacklog, cacheTtlMs, retryAfterSeconds);
+        if (journal != null) {
+            writer.scheduleWithFixedDelay(this::drainJournal, 0, drainIntervalMs, TimeUnit.MILLISECONDS);
+            logger.info("Rating ingestion uses the journal in {}", journalDir);
+        }
+    }
+
+    RatingIngestionService(RatingService ratingService,
+                           CompetitionRepository competitionRepository,
+                           CompetitionEntryRepository entryRepository,
+                           CompetitionJudgeRepository judgeRepository,
+                           EvaluationParameterRepository parameterRepository,
+                           RatingJournal journal,
+                           TransactionOperations readTransaction,
+                           MeterRegistry meterRegistry,
+                           int batchSize, int maxBacklog, long cacheTtlMs, long retryAfterSeconds) {
+        this.ratingService = ratingService;
+        this.competitionRepository = competitionRepository;
+        this.entryRepository = entryRepository;
+        this.judgeRepository = judgeRepository;
+        this.parameterRepository = parameterRepository;
+        this.journal = journal;
+        this.readTransaction = readTransaction;
+        this.batchSize = batchSize;
+        this.maxBacklog = maxBacklog;
+        this.cacheTtlMs = cacheTtlMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.writer = journal == null ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-journal-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.journaledCounter = Counter.builder("ratings.ingest.journaled")
+                .description("Rating submissions acknowledged from the journal")
+                .register(meterRegistry);
+        this.appliedCounter = Counter.builder("ratings.ingest.applied")
+                .description("Journaled rating submissions written to the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("ratings.ingest.dropped")
+                .description("Journaled rating submissions the database refused")
+                .register(meterRegistry);
+        if (journal != null) {
+            Gauge.builder("ratings.ingest.backlog", journal, RatingJournal::pendingCount)
+                    .description("Journaled rating submissions waiting for the database")
+                    .register(meterRegistry);
+            for (JournaledRating rating : journal.peek(Integer.MAX_VALUE)) {
+                pendingRatings.merge(new PendingKey(rating.judgeId(), rating.entryId()), rating, RatingIngestionService::later);
+            }
+        }
+    }
+
+    /**
+     * Whether submissions go through the journal.
+     */
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Accept a judge's ratings for an entry into the journal, or write them directly when the
+     * cached state cannot confirm the submission.
+     *
+     * @throws IllegalArgumentException if the scores are invalid, or as {@link RatingService#submitRating}
+     * @throws RatingIngestionRejectedException if the journal backlog is full
+     */
+    public RatingResponse submitRating(RatingRequest request, AuthenticatedUser currentUser) {
+        CompetitionSnapshot snapshot = snapshot(request.getCompetitionId());
+        String entryName = snapshot == null ? null : snapshot.entryNames().get(request.getEntryId());
+        if (entryName == null
+                || !snapshot.competition().canAcceptRatings()
+                || (!currentUser.admin() && !snapshot.judgeIds().contains(currentUser.id()))) {
+            return submitDirectly(request, currentUser);
+        }
+        Map<Long, BigDecimal> scores = RatingService.validateScores(request.getScores(), snapshot.parameters());
+
+        if (journal.pendingCount() >= maxBacklog) {
+            throw new RatingIngestionRejectedException("评分提交繁忙，请稍后重试", retryAfterSeconds);
+        }
+        JournaledRating rating;
+        try {
+            rating = journal.append(request.getCompetitionId(), request.getEntryId(), currentUser.id(),
+                    scores, request.getNote(), LocalDateTime.now());
+        } catch (IOException e) {
+            logger.error("Could not append rating to the journal, writing it directly", e);
+            return submitDirectly(request, currentUser);
+        }
+        PendingKey key = new PendingKey(currentUser.id(), request.getEntryId());
+        pendingRatings.merge(key, rating, RatingIngestionService::later);
+        // The writer may have applied it before it was added; it then removes nothing
+        if (rating.sequence() <= journal.appliedSequence()) {
+            pendingRatings.remove(key, rating);
+        }
+        journaledCounter.increment();
+        return toResponse(rating, snapshot, entryName, currentUser.username());
+    }
+
+    /**
+     * Write a judge's ratings for several entries directly, after the judge's journaled
+     * submissions for those entries.
+     *
+     * @throws RatingIngestionRejectedException if the journaled submissions could not be applied in time
+     * @throws IllegalArgumentException as {@link RatingService#submitRatings}
+     */
+    public BatchRatingResponse submitRatings(BatchRatingRequest request, AuthenticatedUser currentUser) {
+        awaitPendingRatings(currentUser.id(),
+                request.getItems().stream().map(BatchRatingRequest.Item::getEntryId).toList());
+        return ratingService.submitRatings(request, currentUser);
+    }
+
+    /**
+     * The judge's ratings of a competition with the submissions still waiting for the writer in
+     * place of the stored ones.
+     */
+    public List<RatingResponse> withPendingRatings(Long competitionId, AuthenticatedUser judge,
+                                                   List<RatingResponse> ratings) {
+        List<JournaledRating> pending = pendingRatings.values().stream()
+                .filter(rating -> rating.judgeId().equals(judge.id()) && rating.competitionId().equals(competitionId))
+                .toList();
+        if (pending.isEmpty()) {
+            return ratings;
+        }
+        CompetitionSnapshot snapshot = snapshot(competitionId);
+        if (snapshot == null) {
+            return ratings;
+        }
+        Map<Long, RatingResponse> byEntry = new LinkedHashMap<>();
+        for (RatingResponse rating : ratings) {
+            byEntry.put(rating.getEntryId(), rating);
+        }
+        for (JournaledRating rating : pending) {
+            byEntry.put(rating.entryId(), toResponse(rating, snapshot,
+                    snapshot.entryNames().get(rating.entryId()), judge.username()));
+        }
+        return new ArrayList<>(byEntry.values());
+    }
+
+    /**
+     * Whether the judge has a submission for the entry waiting for the writer; a journaled
+     * submission always scores every parameter.
+     */
+    public boolean hasPendingRating(Long entryId, Long judgeId) {
+        return pendingRatings.containsKey(new PendingKey(judgeId, entryId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (journal == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            // Whatever is not applied by then is replayed on the next start
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Could not close the rating journal: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply the journal's pending submissions in batches until it is empty or the database
+     * fails; a failed batch stays in the journal for the next run.
+     */
+    void drainJournal() {
+        try {
+            List<JournaledRating> batch;
+            while (!(batch = journal.peek(batchSize)).isEmpty()) {
+                applyBatch(batch);
+                journal.markApplied(batch.get(batch.size() - 1).sequence());
+                for (JournaledRating rating : batch) {
+                    pendingRatings.remove(new PendingKey(rating.judgeId(), rating.entryId()), rating);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not apply the rating journal, retrying: {}", e.getMessage());
+        }
+    }
+
+    private RatingResponse submitDirectly(RatingRequest request, AuthenticatedUser currentUser) {
+        awaitPendingRatings(currentUser.id(), List.of(request.getEntryId()));
+        return ratingService.submitRating(request, currentUser);
+    }
+
+    /**
+     * Have the writer apply the judge's journaled submissions for the entries, which a direct
+     * write is about to supersede.
+     *
+     * @throws RatingIngestionRejectedException if they are still pending after the wait
+     */
+    private void awaitPendingRatings(Long judgeId, Collection<Long> entryIds) {
+        long sequence = entryIds.stream()
+                .map(entryId -> pendingRatings.get(new PendingKey(judgeId, entryId)))
+                .filter(Objects::nonNull)
+                .mapToLong(JournaledRating::sequence)
+                .max()
+                .orElse(0L);
+        if (sequence <= journal.appliedSequence()) {
+            return;
+        }
+        try {
+            // Runs after any drain in progress on the single writer thread
+            writer.submit(this::drainJournal).get(PENDING_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Journaled ratings of judge {} were not applied in time: {}", judgeId, e.toString());
+        }
+        if (journal.appliedSequence() < sequence) {
+            throw new RatingIngestionRejectedException("评分提交繁忙，请稍后重试", retryAfterSeconds);
+        }
+    }
+
+    private void applyBatch(List<JournaledRating> batch) {
+        try {
+            ratingService.applyJournaledRatings(batch);
+            appliedCounter.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // A submission the database no longer takes (e.g. its entry was deleted) must not
+            // hold up the journal: apply one at a time and drop the ones refused
+            for (JournaledRating rating : batch) {
+                try {
+                    ratingService.applyJournaledRatings(List.of(rating));
+                    appliedCounter.increment();
+                } catch (DataIntegrityViolationException refused) {
+                    droppedCounter.increment();
+                    logger.error("Dropping journaled rating {} of judge {} for entry {}: {}",
+                            rating.sequence(), rating.judgeId(), rating.entryId(), refused.getMessage());
+                }
+            }
+        }
+    }
+
+    private CompetitionSnapshot snapshot(Long competitionId) {
+        CompetitionSnapshot snapshot = snapshots.get(competitionId);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAtMillis() < cacheTtlMs) {
+            return snapshot;
+        }
+        snapshot = readTransaction.execute(status -> loadSnapshot(competitionId));
+        if (snapshot == null) {
+            snapshots.remove(competitionId);
+        } else {
+            snapshots.put(competitionId, snapshot);
+        }
+        return snapshot;
+    }
+
+    private CompetitionSnapshot loadSnapshot(Long competitionId) {
+        Competition competition = competitionRepository.findById(competitionId).orElse(null);
+        if (competition == null || competition.getModel() == null) {
+            return null;
+        }
+        Map<Long, String> entryNames = entryRepository
+                .findByCompetitionIdAndStatusOrderByDisplayOrder(competitionId, CompetitionEntry.EntryStatus.APPROVED)
+                .stream()
+                .collect(Collectors.toMap(CompetitionEntry::getId, CompetitionEntry::getEntryName));
+        Set<Long> judgeIds = judgeRepository.findByCompetitionIdWithJudge(competitionId).stream()
+                .map(assignment -> assignment.getJudge().getId())
+                .collect(Collectors.toSet());
+        List<EvaluationParameter> parameters = parameterRepository
+                .findByModelIdOrderByDisplayOrder(competition.getModel().getId());
+        return new CompetitionSnapshot(competition, entryNames, judgeIds, parameters, System.currentTimeMillis());
+    }
+
+    private static RatingResponse toResponse(JournaledRating rating, CompetitionSnapshot snapshot,
+                                             String entryName, String judgeName) {
+        List<RatingResponse.ScoreResponse> scores = new ArrayList<>();
+        for (EvaluationParameter parameter : snapshot.parameters()) {
+            scores.add(new RatingResponse.ScoreResponse(parameter.getId(), parameter.getName(),
+                    parameter.getWeight(), rating.scores().get(parameter.getId())));
+        }
+        return new RatingResponse(null, rating.competitionId(), rating.entryId(), entryName,
+                rating.judgeId(), judgeName, scores, rating.note(), rating.submittedAt());
+    }
+
+    private static JournaledRating later(JournaledRating a, JournaledRating b) {
+        return b.sequence() > a.sequence() ? b : a;
+    }
+
+    static boolean journalMode(String mode, int instances) {
+        if (!"journal".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        // Another instance would write a judge's later submission while this one still holds the
+        // earlier one, and the writer would then apply the earlier one over it
+        if (instances > 1) {
+            throw new IllegalStateException("app.ratings.ingest.mode=journal keeps submissions on the instance "
+                    + "that received them and needs a single instance, but app.ratings.ingest.instances is "
+                    + instances + "; use mode=direct");
+        }
+        return true;
+    }
+
+    private static RatingJournal openJournal(String journalDir, long segmentBytes) {
+        try {
+            return new RatingJournal(Path.of(journalDir), segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the rating journal in " + journalDir, e);
+        }
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
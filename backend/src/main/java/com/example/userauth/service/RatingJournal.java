@@ -0,0 +1,324 @@
+package com.example.userauth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal of accepted rating submissions, used as a durable queue in front
+ * of the database.
+ * Records are newline-delimited JSON in segment files named after their first sequence number.
+ * An append returns once its record has been forced to disk; appends that arrive while a force
+ * is running share the next one. A checkpoint file holds the sequence of the last record
+ * applied to the database, and segments wholly before it are deleted. The directory is forced
+ * whenever a segment is created or the checkpoint replaced, so neither can be lost to a power
+ * failure. On open, every record after the checkpoint is pending again and writing continues in
+ * a new segment, so a record torn by a crash is only ever the unacknowledged tail of an old
+ * segment and is skipped.
+ */
+class RatingJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingJournal.class);
+
+    static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String SEGMENT_PREFIX = "ratings-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    /**
+     * One accepted submission: a judge's scores for an entry.
+     */
+    record JournaledRating(long sequence, Long competitionId, Long entryId, Long judgeId,
+                           Map<Long, BigDecimal> scores, String note, LocalDateTime submittedAt) {
+    }
+
+    private static final class Segment {
+        final Path path;
+        long lastSequence;
+
+        Segment(Path path, long lastSequence) {
+            this.path = path;
+            this.lastSequence = lastSequence;
+        }
+    }
+
+    // Own mapper: the journal format must not change with the web layer's Jackson settings
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final Path directory;
+    private final long segmentBytes;
+
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+
+    // Guarded by writeLock
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final ArrayDeque<JournaledRating> pending = new ArrayDeque<>();
+    private Segment activeSegment;
+    private FileOutputStream activeStream;
+    private long activeBytes;
+    private long nextSequence;
+    private long appendCount;
+
+    // Appends up to this count are on disk; guarded by syncLock
+    private long syncedCount;
+    // Appends up to this count were forced when their segment was closed
+    private volatile long closedSegmentsCount;
+
+    private volatile long appliedSequence;
+
+    RatingJournal(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        appliedSequence = readCheckpoint();
+        long lastSequence = appliedSequence;
+
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(RatingJournal::isSegment).toList();
+        }
+        for (Path path : paths) {
+            segments.put(firstSequence(path), new Segment(path, firstSequence(path) - 1));
+        }
+        for (Segment segment : segments.values()) {
+            for (JournaledRating rating : readSegment(segment.path)) {
+                segment.lastSequence = Math.max(segment.lastSequence, rating.sequence());
+                lastSequence = Math.max(lastSequence, rating.sequence());
+                if (rating.sequence() > appliedSequence) {
+                    pending.add(rating);
+                }
+            }
+        }
+        nextSequence = lastSequence + 1;
+        synchronized (writeLock) {
+            openSegment(nextSequence);
+            deleteAppliedSegments();
+        }
+        if (!pending.isEmpty()) {
+            logger.info("Recovered {} rating submissions from the journal in {}", pending.size(), directory);
+        }
+    }
+
+    /**
+     * Append a submission and force it to disk.
+     *
+     * @return the journaled submission with its sequence number
+     * @throws IOException if the record could not be written or forced to disk
+     */
+    JournaledRating append(Long competitionId, Long entryId, Long judgeId, Map<Long, BigDecimal> scores,
+                           String note, LocalDateTime submittedAt) throws IOException {
+        JournaledRating rating;
+        long count;
+        synchronized (writeLock) {
+            rating = new JournaledRating(nextSequence++, competitionId, entryId, judgeId, scores, note, submittedAt);
+            byte[] line = (objectMapper.writeValueAsString(rating) + "\n").getBytes(StandardCharsets.UTF_8);
+            if (activeBytes > 0 && activeBytes + line.length > segmentBytes) {
+                rollSegment();
+            }
+            try {
+                activeStream.write(line);
+            } catch (IOException e) {
+                // Leave any partial line at the end of a closed segment, where reading skips it
+                rollSegment();
+                throw e;
+            }
+            activeBytes += line.length;
+            activeSegment.lastSequence = rating.sequence();
+            pending.add(rating);
+            count = ++appendCount;
+        }
+        sync(count);
+        return rating;
+    }
+
+    /**
+     * The oldest pending submissions, in sequence order, without removing them.
+     */
+    List<JournaledRating> peek(int max) {
+        synchronized (writeLock) {
+            List<JournaledRating> batch = new ArrayList<>(Math.min(max, pending.size()));
+            Iterator<JournaledRating> iterator = pending.iterator();
+            while (batch.size() < max && iterator.hasNext()) {
+                batch.add(iterator.next());
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * Number of submissions not yet applied to the database.
+     */
+    int pendingCount() {
+        synchronized (writeLock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Sequence of the last submission applied to the database.
+     */
+    long appliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Record that every submission up to {@code sequence} has been applied to the database.
+     * Called by the single writer only.
+     */
+    void markApplied(long sequence) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.UTF_8.encode(Long.toString(sequence)));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        synchronized (writeLock) {
+            appliedSequence = sequence;
+            while (!pending.isEmpty() && pending.peekFirst().sequence() <= sequence) {
+                pending.pollFirst();
+            }
+            deleteAppliedSegments();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            activeStream.getFD().sync();
+            closedSegmentsCount = appendCount;
+            activeStream.close();
+        }
+    }
+
+    private void sync(long count) throws IOException {
+        synchronized (syncLock) {
+            if (syncedCount >= count) {
+                return;
+            }
+            long upTo;
+            FileOutputStream stream;
+            synchronized (writeLock) {
+                upTo = appendCount;
+                stream = activeStream;
+            }
+            try {
+                stream.getFD().sync();
+            } catch (IOException e) {
+                // The segment was closed meanwhile, which forces it first
+                if (closedSegmentsCount < upTo) {
+                    throw e;
+                }
+            }
+            syncedCount = upTo;
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        try {
+            activeStream.getFD().sync();
+            closedSegmentsCount = appendCount;
+            activeStream.close();
+        } finally {
+            openSegment(nextSequence);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        // A file of this name can only hold a torn record, since no complete one has this sequence yet
+        activeStream = new FileOutputStream(path.toFile(), false);
+        activeBytes = 0;
+        activeSegment = segments.computeIfAbsent(firstSequence, first -> new Segment(path, first - 1));
+        // Forcing the file only saves its contents; its directory entry needs a force of its own
+        syncDirectory();
+    }
+
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private void deleteAppliedSegments() {
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment == activeSegment || segment.lastSequence > appliedSequence) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(segment.path);
+                iterator.remove();
+            } catch (IOException e) {
+                logger.warn("Could not delete applied journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private List<JournaledRating> readSegment(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        List<JournaledRating> ratings = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            try {
+                ratings.add(objectMapper.readValue(bytes, start, i - start, JournaledRating.class));
+            } catch (IOException e) {
+                logger.warn("Skipping unreadable record at byte {} of journal segment {}", start, path);
+            }
+            start = i + 1;
+        }
+        if (start < bytes.length) {
+            logger.warn("Skipping incomplete record at the end of journal segment {}", path);
+        }
+        return ratings;
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0L;
+        }
+        return Long.parseLong(Files.readString(checkpoint).trim());
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -1,24 +1,44 @@
 package com.example.userauth.service;
 
+import com.example.userauth.dto.BatchRatingRequest;
+import com.example.userauth.dto.BatchRatingResponse;
+import com.example.userauth.dto.CompletionMatrixResponse;
 import com.example.userauth.dto.RatingRequest;
 import com.example.userauth.dto.RatingResponse;
 import com.example.userauth.entity.*;
 import com.example.userauth.repository.*;
+import com.example.userauth.security.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class RatingService {
     
+    private static final Logger logger = LoggerFactory.getLogger(RatingService.class);
+    
     @Autowired
     private CompetitionRatingRepository ratingRepository;
     
@@ -35,103 +55,186 @@ public class RatingService {
     private EvaluationParameterRepository parameterRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private RatingAggregateService aggregateService;
+    
+    @Autowired
+    private LeaderboardService leaderboardService;
+    
+    @Autowired
+    private ScoreStreamService scoreStreamService;
+    
+    @Autowired
+    private RatingSubmissionKeyRepository submissionKeyRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${app.ratings.batch.key-retention-hours:72}")
+    private long submissionKeyRetentionHours;
     
     /**
-     * Submit or update ratings for a competition entry
+     * Submit or update ratings for a competition entry.
+     * The judge's id and admin flag come from the authenticated principal, so the user row is not loaded.
      */
-    public RatingResponse submitRating(RatingRequest request, Long judgeId) {
+    public RatingResponse submitRating(RatingRequest request, AuthenticatedUser currentUser) {
+        Long judgeId = currentUser.id();
+
         // Validate competition exists and is active
         Competition competition = competitionRepository.findById(request.getCompetitionId())
                 .orElseThrow(() -> new IllegalArgumentException("赛事不存在"));
-        
-        // Check if competition can accept ratings (active and not past deadline)
-        if (!competition.canAcceptRatings()) {
-            if (competition.isDeadlinePassed()) {
-                throw new IllegalStateException("赛事已截止，无法提交评分");
-            } else {
-                throw new IllegalStateException("赛事已结束，无法提交评分");
-            }
-        }
+        requireAcceptingRatings(competition);
         
         // Validate entry exists and belongs to the competition
         CompetitionEntry entry = entryRepository.findById(request.getEntryId())
                 .orElseThrow(() -> new IllegalArgumentException("参赛作品不存在"));
-        
-        if (!entry.getCompetition().getId().equals(request.getCompetitionId())) {
-            throw new IllegalArgumentException("参赛作品不属于指定赛事");
-        }
-        
-        // Only approved entries can be rated
-        if (!entry.isApproved()) {
-            throw new IllegalStateException("只能为已审核通过的作品评分");
-        }
+        requireRatableEntry(entry, request.getCompetitionId());
 
-        User judge = userRepository.findById(judgeId)
-                .orElseThrow(() -> new IllegalArgumentException("用户不存在"));
-
-        // Validate judge is authorized for this competition
-        // Admin users are automatically granted judge permission
-        boolean isAdmin = judge.getIsAdmin() != null && judge.getIsAdmin();
-        boolean isJudge = judgeRepository.existsByCompetitionIdAndJudgeId(request.getCompetitionId(), judgeId);
-
-        if (!isAdmin && !isJudge) {
-            throw new IllegalArgumentException("您不是该赛事的评委");
-        }
+        requireJudge(request.getCompetitionId(), currentUser);
         
         // Get all parameters for the competition's evaluation model
         List<EvaluationParameter> modelParameters = parameterRepository
                 .findByModelIdOrderByDisplayOrder(competition.getModel().getId());
+        Map<Long, BigDecimal> scoresByParameter = validateScores(request.getScores(), modelParameters);
         
-        // Validate that all parameters are included in the rating
-        Map<Long, RatingRequest.ScoreRequest> scoreMap = request.getScores().stream()
-                .collect(Collectors.toMap(RatingRequest.ScoreRequest::getParameterId, s -> s));
+        // Insert or update all scores in one statement, then read them back in one query,
+        // so the cost of a submission does not grow with the number of parameters.
+        // The previous scores are locked first; the aggregates are updated by the difference.
+        Map<Long, BigDecimal> previousScores = ratingRepository.findScoresForUpdate(entry.getId(), judgeId);
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judgeId,
+                scoresByParameter, request.getNote(), LocalDateTime.now());
+        publishScoreChanges(competition.getId(), aggregateService.recordSubmission(
+                competition.getId(), entry.getId(), judgeId, previousScores, scoresByParameter));
+        List<CompetitionRating> savedRatings = ratingRepository
+                .findByEntryIdAndJudgeIdWithParameter(entry.getId(), judgeId);
         
-        for (EvaluationParameter parameter : modelParameters) {
-            if (!scoreMap.containsKey(parameter.getId())) {
-                throw new IllegalArgumentException("必须为所有评价参数评分：" + parameter.getName());
+        // Convert to response
+        return convertToRatingResponse(savedRatings, entry, judgeId, currentUser.username());
+    }
+    
+    /**
+     * Submit one judge's ratings for several entries of a competition in one transaction.
+     * The competition, judge and model are checked once; each item is then validated on its
+     * own, and items that fail are reported and skipped while the others are written with
+     * multi-row statements. An item whose idempotency key the judge has used before is not
+     * written again, so a retried batch cannot overwrite scores changed since.
+     *
+     * @throws IllegalArgumentException if the competition does not exist or the user is not its judge
+     * @throws IllegalStateException if the competition no longer accepts ratings
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent request
+     *         is submitting the same idempotency keys
+     */
+    public BatchRatingResponse submitRatings(BatchRatingRequest request, AuthenticatedUser currentUser) {
+        Long judgeId = currentUser.id();
+        Long competitionId = request.getCompetitionId();
+
+        Competition competition = competitionRepository.findById(competitionId)
+                .orElseThrow(() -> new IllegalArgumentException("赛事不存在"));
+        requireAcceptingRatings(competition);
+        requireJudge(competitionId, currentUser);
+        List<EvaluationParameter> modelParameters = parameterRepository
+                .findByModelIdOrderByDisplayOrder(competition.getModel().getId());
+
+        List<BatchRatingRequest.Item> items = request.getItems();
+        Map<String, RatingSubmissionKey> usedKeys = submissionKeyRepository
+                .findByJudgeIdAndIdempotencyKeyIn(judgeId,
+                        items.stream().map(BatchRatingRequest.Item::getIdempotencyKey).toList())
+                .stream()
+                .collect(Collectors.toMap(RatingSubmissionKey::getIdempotencyKey, key -> key));
+        Map<Long, CompetitionEntry> entries = entryRepository
+                .findAllById(items.stream().map(BatchRatingRequest.Item::getEntryId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(CompetitionEntry::getId, entry -> entry));
+
+        List<BatchRatingResponse.ItemResult> results = new ArrayList<>();
+        List<CompetitionRatingRepositoryCustom.EntryScores> accepted = new ArrayList<>();
+        Map<String, Long> newKeys = new LinkedHashMap<>();
+        Set<String> seenKeys = new HashSet<>();
+        Set<Long> seenEntries = new HashSet<>();
+        for (BatchRatingRequest.Item item : items) {
+            String key = item.getIdempotencyKey();
+            Long entryId = item.getEntryId();
+            BatchRatingResponse.ItemStatus status = BatchRatingResponse.ItemStatus.SUBMITTED;
+            String message = null;
+            try {
+                if (!seenKeys.add(key)) {
+                    throw new IllegalArgumentException("幂等键在批次中重复");
+                }
+                RatingSubmissionKey usedKey = usedKeys.get(key);
+                if (usedKey != null) {
+                    if (!usedKey.getEntryId().equals(entryId)) {
+                        throw new IllegalArgumentException("幂等键已用于其他作品");
+                    }
+                    status = BatchRatingResponse.ItemStatus.ALREADY_SUBMITTED;
+                } else {
+                    if (!seenEntries.add(entryId)) {
+                        throw new IllegalArgumentException("同一作品在批次中重复");
+                    }
+                    CompetitionEntry entry = entries.get(entryId);
+                    if (entry == null) {
+                        throw new IllegalArgumentException("参赛作品不存在");
+                    }
+                    requireRatableEntry(entry, competitionId);
+                    accepted.add(new CompetitionRatingRepositoryCustom.EntryScores(entryId,
+                            validateScores(item.getScores(), modelParameters), item.getNote()));
+                    newKeys.put(key, entryId);
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                status = BatchRatingResponse.ItemStatus.REJECTED;
+                message = e.getMessage();
             }
+            results.add(new BatchRatingResponse.ItemResult(key, entryId, status, message));
         }
-        
-        // Validate score ranges and save ratings
-        List<CompetitionRating> ratings = new ArrayList<>();
-        
-        for (EvaluationParameter parameter : modelParameters) {
-            RatingRequest.ScoreRequest scoreRequest = scoreMap.get(parameter.getId());
-            
-            // Validate score range (0 to parameter weight)
-            BigDecimal weight = new BigDecimal(parameter.getWeight());
-            if (scoreRequest.getScore().compareTo(BigDecimal.ZERO) < 0
-                    || scoreRequest.getScore().compareTo(weight) > 0) {
-                throw new IllegalArgumentException(
-                    String.format("参数 %s 的评分必须在 0 到 %d 之间",
-                                parameter.getName(), parameter.getWeight()));
-            }
-            
-            // Check if rating already exists for this entry, judge, and parameter
-            CompetitionRating existingRating = ratingRepository
-                    .findByEntryIdAndJudgeIdAndParameterId(entry.getId(), judgeId, parameter.getId())
-                    .orElse(null);
-            
-            if (existingRating != null) {
-                // Update existing rating
-                existingRating.setScore(scoreRequest.getScore());
-                existingRating.setNote(request.getNote());
-                existingRating.setSubmittedAt(LocalDateTime.now());
-                ratings.add(existingRating);
-            } else {
-                // Create new rating
-                CompetitionRating rating = new CompetitionRating(
-                    competition, entry, judge, parameter, scoreRequest.getScore(), request.getNote());
-                ratings.add(rating);
+
+        if (!accepted.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            // Keys first: a concurrent retry of the same batch waits on them and then fails
+            // instead of applying the same aggregate deltas twice
+            submissionKeyRepository.insertKeys(judgeId, competitionId, newKeys, now);
+            writeScores(competitionId, judgeId, accepted, now);
+        }
+        return new BatchRatingResponse(competitionId, results);
+    }
+    
+    /**
+     * Apply submissions taken from the rating journal, in one transaction.
+     * They were validated when they were accepted. A later submission of the same judge for the
+     * same entry replaces an earlier one, and applying a submission again leaves the scores and
+     * aggregates unchanged, so a journal replayed after a crash is safe to apply.
+     */
+    public void applyJournaledRatings(List<RatingJournal.JournaledRating> ratings) {
+        Map<JudgeKey, Map<Long, RatingJournal.JournaledRating>> latestByJudge = new LinkedHashMap<>();
+        for (RatingJournal.JournaledRating rating : ratings) {
+            latestByJudge.computeIfAbsent(new JudgeKey(rating.competitionId(), rating.judgeId()),
+                    key -> new LinkedHashMap<>()).put(rating.entryId(), rating);
+        }
+        for (Map.Entry<JudgeKey, Map<Long, RatingJournal.JournaledRating>> group : latestByJudge.entrySet()) {
+            List<CompetitionRatingRepositoryCustom.EntryScores> scores = new ArrayList<>();
+            LocalDateTime submittedAt = null;
+            for (RatingJournal.JournaledRating rating : group.getValue().values()) {
+                scores.add(new CompetitionRatingRepositoryCustom.EntryScores(
+                        rating.entryId(), rating.scores(), rating.note()));
+                if (submittedAt == null || rating.submittedAt().isAfter(submittedAt)) {
+                    submittedAt = rating.submittedAt();
+                }
             }
+            writeScores(group.getKey().competitionId(), group.getKey().judgeId(), scores, submittedAt);
+        }
+    }
+    
+    private record JudgeKey(Long competitionId, Long judgeId) {
+    }
+    
+    /**
+     * Delete batch submission keys past retention; a batch retried later than this is
+     * treated as new.
+     */
+    @Scheduled(fixedDelayString = "${app.ratings.batch.key-cleanup-interval-ms:3600000}")
+    public void purgeExpiredSubmissionKeys() {
+        int deleted = submissionKeyRepository.deleteByCreatedAtBefore(
+                LocalDateTime.now().minusHours(submissionKeyRetentionHours));
+        if (deleted > 0) {
+            logger.info("Deleted {} expired rating submission keys", deleted);
         }
-        
-        // Save all ratings
-        List<CompetitionRating> savedRatings = ratingRepository.saveAll(ratings);
-        
-        // Convert to response
-        return convertToRatingResponse(savedRatings, entry, judge);
     }
     
     /**
@@ -221,8 +324,7 @@ public class RatingService {
                 .orElseThrow(() -> new IllegalArgumentException("参赛作品不存在"));
         
         // Get the number of parameters in the evaluation model
-        int parameterCount = parameterRepository.findByModelIdOrderByDisplayOrder(
-                entry.getCompetition().getModel().getId()).size();
+        long parameterCount = parameterRepository.countByModelId(entry.getCompetition().getModel().getId());
         
         // Count how many parameters the judge has rated for this entry
         long ratedParameterCount = ratingRepository.countByEntryIdAndJudgeId(entryId, judgeId);
@@ -230,12 +332,212 @@ public class RatingService {
         return ratedParameterCount >= parameterCount;
     }
     
+    /**
+     * Completion of every approved entry by every judge of a competition, with per-entry and
+     * per-judge progress. Runs a fixed number of queries whatever the competition size; the
+     * (entry, judge) pairs come from one grouped count over the ratings.
+     * Users who rated without being assigned as judges (admins) are listed after the judges.
+     */
+    @Transactional(readOnly = true)
+    public CompletionMatrixResponse getCompletionMatrix(Long competitionId) {
+        Competition competition = competitionRepository.findById(competitionId)
+                .orElseThrow(() -> new IllegalArgumentException("赛事不存在"));
+        List<CompetitionEntry> entries = entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(
+                competitionId, CompetitionEntry.EntryStatus.APPROVED);
+        long parameterCount = parameterRepository.countByModelId(competition.getModel().getId());
+        List<RatingCompletionCount> counts = ratingRepository.countRatedParametersByCompetitionId(competitionId);
+        
+        Map<Long, Integer> entryIndex = new HashMap<>();
+        for (CompetitionEntry entry : entries) {
+            entryIndex.put(entry.getId(), entryIndex.size());
+        }
+        Map<Long, Integer> judgeIndex = new LinkedHashMap<>();
+        List<Long> judgeIds = new ArrayList<>();
+        List<String> judgeNames = new ArrayList<>();
+        for (CompetitionJudge assignment : judgeRepository.findByCompetitionIdWithJudge(competitionId)) {
+            User judge = assignment.getJudge();
+            if (judgeIndex.putIfAbsent(judge.getId(), judgeIds.size()) == null) {
+                judgeIds.add(judge.getId());
+                judgeNames.add(judge.getUsername());
+            }
+        }
+        counts.stream()
+                .filter(count -> entryIndex.containsKey(count.entryId()))
+                .sorted(Comparator.comparing(RatingCompletionCount::judgeId))
+                .forEach(count -> {
+                    if (judgeIndex.putIfAbsent(count.judgeId(), judgeIds.size()) == null) {
+                        judgeIds.add(count.judgeId());
+                        judgeNames.add(count.judgeName());
+                    }
+                });
+        
+        int judgeCount = judgeIds.size();
+        BitSet matrix = new BitSet(entries.size() * judgeCount);
+        int[] completedByEntry = new int[entries.size()];
+        int[] completedByJudge = new int[judgeCount];
+        for (RatingCompletionCount count : counts) {
+            Integer entry = entryIndex.get(count.entryId());
+            Integer judge = judgeIndex.get(count.judgeId());
+            if (entry == null || judge == null || count.ratedParameters() < parameterCount) {
+                continue;
+            }
+            matrix.set(entry * judgeCount + judge);
+            completedByEntry[entry]++;
+            completedByJudge[judge]++;
+        }
+        
+        List<CompletionMatrixResponse.EntryProgress> entryProgress = new ArrayList<>();
+        for (int e = 0; e < entries.size(); e++) {
+            CompetitionEntry entry = entries.get(e);
+            entryProgress.add(new CompletionMatrixResponse.EntryProgress(entry.getId(), entry.getEntryName(),
+                    completedByEntry[e], percent(completedByEntry[e], judgeCount)));
+        }
+        List<CompletionMatrixResponse.JudgeProgress> judgeProgress = new ArrayList<>();
+        for (int j = 0; j < judgeCount; j++) {
+            judgeProgress.add(new CompletionMatrixResponse.JudgeProgress(judgeIds.get(j), judgeNames.get(j),
+                    completedByJudge[j], percent(completedByJudge[j], entries.size())));
+        }
+        int completed = matrix.cardinality();
+        return new CompletionMatrixResponse(competitionId, parameterCount, entryProgress, judgeProgress,
+                Base64.getEncoder().encodeToString(matrix.toByteArray()), completed,
+                percent(completed, entries.size() * judgeCount));
+    }
+    
     /**
      * Delete all ratings for a competition (used when competition is deleted)
      */
     public void deleteRatingsByCompetition(Long competitionId) {
         List<CompetitionRating> ratings = ratingRepository.findByCompetitionIdWithDetails(competitionId);
         ratingRepository.deleteAll(ratings);
+        aggregateService.removeCompetition(competitionId);
+        leaderboardService.evict(competitionId);
+    }
+    
+    /**
+     * Write one judge's validated scores for several entries with multi-row statements and update
+     * the aggregates by the difference to the locked previous scores. The statement count does not
+     * grow with the number of entries.
+     */
+    private void writeScores(Long competitionId, Long judgeId,
+                             List<CompetitionRatingRepositoryCustom.EntryScores> entryScores,
+                             LocalDateTime submittedAt) {
+        Map<Long, Map<Long, BigDecimal>> submittedScores = new LinkedHashMap<>();
+        for (CompetitionRatingRepositoryCustom.EntryScores scores : entryScores) {
+            submittedScores.put(scores.entryId(), scores.scoresByParameter());
+        }
+        Map<Long, Map<Long, BigDecimal>> previousScores = ratingRepository.findScoresForUpdate(
+                List.copyOf(submittedScores.keySet()), judgeId);
+        ratingRepository.upsertScores(competitionId, judgeId, entryScores, submittedAt);
+        publishScoreChanges(competitionId, aggregateService.recordSubmissions(
+                competitionId, judgeId, previousScores, submittedScores));
+    }
+    
+    /**
+     * Once the rating transaction commits, read the changed entries' aggregates in a new read-only
+     * transaction and feed the leaderboard and the live stream from that one read. Reading after
+     * commit keeps the work out of the writing transaction, which holds the aggregate row locks,
+     * and never publishes figures that were rolled back.
+     */
+    private void publishScoreChanges(Long competitionId, List<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                readAfterCommit().executeWithoutResult(status -> {
+                    List<RatingAggregateService.EntryAggregates> changed = aggregateService.loadAggregates(entryIds);
+                    leaderboardService.onEntriesScoresChanged(competitionId, changed);
+                    scoreStreamService.onEntriesScoresChanged(competitionId, changed);
+                });
+            } catch (RuntimeException e) {
+                // The ratings are committed; the leaderboard TTL and the clients' next full load catch up
+                logger.warn("Failed to publish score changes for competition {}: {}", competitionId, e.getMessage());
+            }
+        });
+    }
+    
+    // The committed transaction's resources are still bound while its callbacks run, so the
+    // read needs a transaction of its own
+    private TransactionTemplate readAfterCommit() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template;
+    }
+    
+    /**
+     * Whole percentage, rounded down so that 100 means everything is done.
+     */
+    private static int percent(int done, int total) {
+        return total == 0 ? 0 : (int) (done * 100L / total);
+    }
+    
+    /**
+     * Check that the competition is active and before its deadline.
+     */
+    private void requireAcceptingRatings(Competition competition) {
+        if (!competition.canAcceptRatings()) {
+            if (competition.isDeadlinePassed()) {
+                throw new IllegalStateException("赛事已截止，无法提交评分");
+            } else {
+                throw new IllegalStateException("赛事已结束，无法提交评分");
+            }
+        }
+    }
+    
+    /**
+     * Check that the entry belongs to the competition and has been approved.
+     */
+    private void requireRatableEntry(CompetitionEntry entry, Long competitionId) {
+        if (!entry.getCompetition().getId().equals(competitionId)) {
+            throw new IllegalArgumentException("参赛作品不属于指定赛事");
+        }
+        if (!entry.isApproved()) {
+            throw new IllegalStateException("只能为已审核通过的作品评分");
+        }
+    }
+    
+    /**
+     * Check that the user judges the competition; admin users are automatically granted judge permission.
+     */
+    private void requireJudge(Long competitionId, AuthenticatedUser currentUser) {
+        boolean isAdmin = currentUser.admin();
+        boolean isJudge = judgeRepository.existsByCompetitionIdAndJudgeId(competitionId, currentUser.id());
+        if (!isAdmin && !isJudge) {
+            throw new IllegalArgumentException("您不是该赛事的评委");
+        }
+    }
+    
+    /**
+     * Check that every model parameter is scored within its range.
+     *
+     * @return the scores by parameter id, in the model's parameter order
+     */
+    static Map<Long, BigDecimal> validateScores(List<RatingRequest.ScoreRequest> scores,
+                                                List<EvaluationParameter> modelParameters) {
+        Map<Long, RatingRequest.ScoreRequest> scoreMap = scores.stream()
+                .collect(Collectors.toMap(RatingRequest.ScoreRequest::getParameterId, s -> s));
+        
+        for (EvaluationParameter parameter : modelParameters) {
+            if (!scoreMap.containsKey(parameter.getId())) {
+                throw new IllegalArgumentException("必须为所有评价参数评分：" + parameter.getName());
+            }
+        }
+        
+        Map<Long, BigDecimal> scoresByParameter = new LinkedHashMap<>();
+        for (EvaluationParameter parameter : modelParameters) {
+            BigDecimal score = scoreMap.get(parameter.getId()).getScore();
+            
+            // Validate score range (0 to parameter weight)
+            BigDecimal weight = new BigDecimal(parameter.getWeight());
+            if (score.compareTo(BigDecimal.ZERO) < 0 || score.compareTo(weight) > 0) {
+                throw new IllegalArgumentException(
+                    String.format("参数 %s 的评分必须在 0 到 %d 之间",
+                                parameter.getName(), parameter.getWeight()));
+            }
+            scoresByParameter.put(parameter.getId(), score);
+        }
+        return scoresByParameter;
     }
     
     /**
@@ -243,6 +545,11 @@ public class RatingService {
      */
     private RatingResponse convertToRatingResponse(List<CompetitionRating> ratings, 
                                                   CompetitionEntry entry, User judge) {
+        return convertToRatingResponse(ratings, entry, judge.getId(), judge.getUsername());
+    }
+    
+    private RatingResponse convertToRatingResponse(List<CompetitionRating> ratings, 
+                                                  CompetitionEntry entry, Long judgeId, String judgeUsername) {
         if (ratings.isEmpty()) {
             return null;
         }
@@ -263,8 +570,8 @@ public class RatingService {
             firstRating.getCompetition().getId(),
             entry.getId(),
             entry.getEntryName(),
-            judge.getId(),
-            judge.getUsername(),
+            judgeId,
+            judgeUsername,
             scores,
             firstRating.getNote(),
             firstRating.getSubmittedAt()
@@ -0,0 +1,70 @@
+package com.example.userauth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Idempotency store shared by all backend instances.
+ * Each key is one Redis string: a placeholder holding the request hash, set with NX while the
+ * request runs, then the stored response as JSON, expiring with the key's retention.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    static final String KEY_PREFIX = "idempotency:";
+
+    // Stored responses are JSON objects, so they can never start with the placeholder
+    static final String IN_PROGRESS = "in-progress";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Claim claim(String key, String requestHash, Duration claimTtl) {
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + key, IN_PROGRESS + ":" + requestHash, claimTtl))) {
+            return new Claim(ClaimStatus.CLAIMED, requestHash, null);
+        }
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        // Gone again between the two calls: the holder released it, so the client should retry
+        if (value == null) {
+            return new Claim(ClaimStatus.IN_PROGRESS, null, null);
+        }
+        if (value.startsWith(IN_PROGRESS)) {
+            // Claims made before requests were hashed hold the bare placeholder
+            String holderHash = value.length() > IN_PROGRESS.length() ? value.substring(IN_PROGRESS.length() + 1) : null;
+            return new Claim(ClaimStatus.IN_PROGRESS, holderHash, null);
+        }
+        try {
+            StoredResponse response = objectMapper.readValue(value, StoredResponse.class);
+            return new Claim(ClaimStatus.COMPLETED, response.requestHash(), response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotent response for key " + key, e);
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(response), ttl);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response for key " + key, e);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+}
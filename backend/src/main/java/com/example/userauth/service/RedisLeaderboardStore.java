@@ -0,0 +1,124 @@
+package com.example.userauth.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Leaderboards shared by all backend instances, one Redis sorted set per competition.
+ * Rebuilds are written to a scratch key and renamed over the live one, so readers never
+ * see a half-built board; score updates only touch boards that already exist.
+ */
+@Component
+@ConditionalOnProperty(name = "app.leaderboard.store", havingValue = "redis")
+public class RedisLeaderboardStore implements LeaderboardStore {
+
+    static final String KEY_PREFIX = "leaderboard:competition:";
+
+    private static final RedisScript<Long> UPDATE_IF_PRESENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then\n" +
+            "  for i = 1, #ARGV, 2 do\n" +
+            "    redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])\n" +
+            "  end\n" +
+            "  return 1\n" +
+            "end\n" +
+            "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisLeaderboardStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean exists(Long competitionId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key(competitionId)));
+    }
+
+    @Override
+    public void replace(Long competitionId, Map<Long, Double> scores, Duration ttl) {
+        if (scores.isEmpty()) {
+            redisTemplate.delete(key(competitionId));
+            return;
+        }
+        String scratchKey = key(competitionId) + ":rebuild:" + UUID.randomUUID();
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        scores.forEach((entryId, score) ->
+                tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(entryId), score)));
+        redisTemplate.opsForZSet().add(scratchKey, tuples);
+        redisTemplate.expire(scratchKey, ttl);
+        redisTemplate.rename(scratchKey, key(competitionId));
+    }
+
+    @Override
+    public void updateIfPresent(Long competitionId, Map<Long, Double> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        // Score and member pairs, applied in one round trip
+        List<String> args = new ArrayList<>();
+        scores.forEach((entryId, score) -> {
+            args.add(String.valueOf(score));
+            args.add(String.valueOf(entryId));
+        });
+        redisTemplate.execute(UPDATE_IF_PRESENT_SCRIPT, List.of(key(competitionId)), args.toArray());
+    }
+
+    @Override
+    public void removeEntry(Long competitionId, Long entryId) {
+        redisTemplate.opsForZSet().remove(key(competitionId), String.valueOf(entryId));
+    }
+
+    @Override
+    public void evict(Long competitionId) {
+        redisTemplate.delete(key(competitionId));
+    }
+
+    @Override
+    public List<RankedEntry> range(Long competitionId, long offset, int count) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(key(competitionId), offset, offset + count - 1);
+        List<RankedEntry> result = new ArrayList<>();
+        if (tuples == null) {
+            return result;
+        }
+        long rank = offset;
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            result.add(new RankedEntry(++rank, Long.valueOf(tuple.getValue()), tuple.getScore()));
+        }
+        return result;
+    }
+
+    @Override
+    public RankedEntry rankOf(Long competitionId, Long entryId) {
+        String member = String.valueOf(entryId);
+        Long rank = redisTemplate.opsForZSet().reverseRank(key(competitionId), member);
+        Double score = redisTemplate.opsForZSet().score(key(competitionId), member);
+        if (rank == null || score == null) {
+            return null;
+        }
+        return new RankedEntry(rank + 1, entryId, score);
+    }
+
+    @Override
+    public long size(Long competitionId) {
+        Long size = redisTemplate.opsForZSet().zCard(key(competitionId));
+        return size != null ? size : 0;
+    }
+
+    private static String key(Long competitionId) {
+        return KEY_PREFIX + competitionId;
+    }
+}
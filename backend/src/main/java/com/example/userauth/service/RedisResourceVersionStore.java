@@ -0,0 +1,59 @@
+package com.example.userauth.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Change counters shared by all backend instances.
+ * Each counter is a Redis string without expiry; both scripts seed a missing counter with
+ * the caller's clock before reading or incrementing it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.http-cache.store", havingValue = "redis")
+public class RedisResourceVersionStore implements ResourceVersionStore {
+
+    static final String KEY_PREFIX = "resource-version:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CURRENT_SCRIPT = new DefaultRedisScript<>(
+            "local values = {}\n" +
+            "for i, key in ipairs(KEYS) do\n" +
+            "  redis.call('SET', key, ARGV[1], 'NX')\n" +
+            "  values[i] = tonumber(redis.call('GET', key))\n" +
+            "end\n" +
+            "return values",
+            List.class);
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'NX')\n" +
+            "return redis.call('INCR', KEYS[1])",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisResourceVersionStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> current(List<String> keys) {
+        List<Object> values = redisTemplate.execute(CURRENT_SCRIPT,
+                keys.stream().map(key -> KEY_PREFIX + key).toList(), now());
+        return values.stream().map(value -> ((Number) value).longValue()).toList();
+    }
+
+    @Override
+    public void increment(String key) {
+        redisTemplate.execute(INCREMENT_SCRIPT, List.of(KEY_PREFIX + key), now());
+    }
+
+    private static String now() {
+        return String.valueOf(System.currentTimeMillis());
+    }
+}
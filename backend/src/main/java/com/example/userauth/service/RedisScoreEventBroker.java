@@ -0,0 +1,90 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.ScoreUpdateEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Fans score events out to all backend instances over one Redis pub/sub channel.
+ * Event ids come from a per-competition {@code INCR} counter, so every instance sees the same
+ * id for the same event and a client can resume on any of them. An instance also receives
+ * its own publications, which is how its local subscribers are reached.
+ */
+@Component
+@ConditionalOnProperty(name = "app.score-stream.broker", havingValue = "redis")
+public class RedisScoreEventBroker implements ScoreEventBroker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisScoreEventBroker.class);
+
+    static final String CHANNEL = "score-stream:events";
+    static final String SEQUENCE_KEY_PREFIX = "score-stream:competition:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final List<Consumer<ScoreUpdateEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisScoreEventBroker(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+                                 ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @Override
+    public void publish(ScoreUpdateEvent event) {
+        event.setEventId(redisTemplate.opsForValue().increment(sequenceKey(event.getCompetitionId())));
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize score event", e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ScoreUpdateEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        ScoreUpdateEvent event;
+        try {
+            event = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                    ScoreUpdateEvent.class);
+        } catch (Exception e) {
+            logger.warn("Dropping unreadable score event: {}", e.getMessage());
+            return;
+        }
+        for (Consumer<ScoreUpdateEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    private static String sequenceKey(Long competitionId) {
+        return SEQUENCE_KEY_PREFIX + competitionId + ":sequence";
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.AuthResponse;
+import com.example.userauth.entity.User;
+import com.example.userauth.exception.InvalidRefreshTokenException;
+import com.example.userauth.repository.UserRepository;
+import com.example.userauth.security.RefreshTokenStore;
+import com.example.userauth.security.RefreshTokenStore.RotationResult;
+import com.example.userauth.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Service for issuing and exchanging rotating refresh tokens.
+ * A refresh costs one signature check and a primary-key lookup instead of a BCrypt verify.
+ * Each exchange invalidates the presented token; replaying an already exchanged token
+ * revokes its whole family, logging out both the attacker and the legitimate client.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final String INVALID_REFRESH_TOKEN = "Invalid or expired refresh token";
+
+    private final TokenService tokenService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public RefreshTokenService(TokenService tokenService, RefreshTokenStore refreshTokenStore,
+                               UserRepository userRepository) {
+        this.tokenService = tokenService;
+        this.refreshTokenStore = refreshTokenStore;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Start a new token family for a freshly authenticated user.
+     *
+     * @param user the authenticated user
+     * @return the first refresh token of the family
+     */
+    public String issue(User user) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenStore.create(familyId, tokenId, familyTtl());
+        return tokenService.generateRefreshToken(user, familyId, tokenId);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token of its family.
+     *
+     * @param refreshToken the refresh token presented by the client
+     * @return AuthResponse containing both new tokens and the current user information
+     * @throws InvalidRefreshTokenException if the token cannot be exchanged
+     */
+    public AuthResponse refresh(String refreshToken) {
+        VerifiedToken verified;
+        try {
+            verified = tokenService.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Refresh token rejected: {}", e.getMessage());
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        String familyId = verified.claims().get(TokenService.FAMILY_ID_CLAIM, String.class);
+        String tokenId = verified.claims().getId();
+        if (!verified.isRefreshToken() || verified.userId() == null || familyId == null || tokenId == null) {
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        String nextTokenId = UUID.randomUUID().toString();
+        RotationResult result = refreshTokenStore.rotate(familyId, tokenId, nextTokenId, familyTtl());
+        if (result == RotationResult.REUSED) {
+            logger.warn("Refresh token reuse detected for user {}; revoked token family {}",
+                verified.userId(), familyId);
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+        if (result != RotationResult.ROTATED) {
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        // Reload so role changes and deletions take effect at the next refresh
+        User user = userRepository.findById(verified.userId()).orElse(null);
+        if (user == null) {
+            refreshTokenStore.revoke(familyId);
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+
+        String accessToken = tokenService.generateToken(user);
+        String nextRefreshToken = tokenService.generateRefreshToken(user, familyId, nextTokenId);
+        return AuthResponse.fromTokensAndUser(accessToken, nextRefreshToken, user);
+    }
+
+    private Duration familyTtl() {
+        return Duration.ofMillis(tokenService.getRefreshExpiration());
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.Competition;
+import com.example.userauth.repository.CompetitionRepository;
+import com.example.userauth.repository.CompetitionVersion;
+import com.example.userauth.repository.EvaluationModelRepository;
+import com.example.userauth.repository.FruitDataRepository;
+import com.example.userauth.repository.TableVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import static com.example.userauth.service.TransactionCallbacks.afterCommit;
+
+/**
+ * Validators for conditional GETs of read-mostly resources.
+ * An ETag combines the rows' own update time with change counters held in a
+ * {@link ResourceVersionStore}, so it can be checked without building the response or
+ * reading the ratings tables. Writers bump the counters after their transaction commits:
+ * a read racing a write may pair the old counter with the new body for a moment, and the
+ * bump that follows the commit retires that ETag.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResourceVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceVersionService.class);
+
+    private static final String MODELS = "models";
+    private static final String FRUIT_DATA = "fruit-data";
+
+    /**
+     * Validator of one representation.
+     *
+     * @param eTag strong entity tag, quoted
+     * @param maxAge how long clients may reuse the response without revalidating; zero means
+     *               revalidate on every use
+     */
+    public record ResourceVersion(String eTag, Duration maxAge) {
+    }
+
+    @Autowired
+    private ResourceVersionStore versionStore;
+
+    @Autowired
+    private CompetitionRepository competitionRepository;
+
+    @Autowired
+    private EvaluationModelRepository modelRepository;
+
+    @Autowired
+    private FruitDataRepository fruitDataRepository;
+
+    @Value("${app.http-cache.ended-max-age-seconds:0}")
+    private long endedMaxAgeSeconds;
+
+    /**
+     * Validator of a competition's details: its row, judges and entries, and the model name.
+     * Details of an ended competition may carry a max-age, if one is configured.
+     *
+     * @return the validator, or empty if the competition does not exist or the counters
+     *         cannot be read
+     */
+    public Optional<ResourceVersion> competitionVersion(Long competitionId) {
+        return competitionRepository.findVersionById(competitionId)
+                .flatMap(competition -> version("competition", competition,
+                        List.of(competitionKey(competitionId), MODELS), competitionId, endedMaxAge(competition)));
+    }
+
+    /**
+     * Validator of a competition's aggregated rating data, which also depends on its
+     * entries, judges and model. Who may read it can change at any time, so clients always
+     * revalidate.
+     *
+     * @return the validator, or empty if the competition does not exist or the counters
+     *         cannot be read
+     */
+    public Optional<ResourceVersion> ratingDataVersion(Long competitionId) {
+        return competitionRepository.findVersionById(competitionId)
+                .flatMap(competition -> version("ratings", competition,
+                        List.of(competitionKey(competitionId), ratingsKey(competitionId), MODELS), competitionId,
+                        Duration.ZERO));
+    }
+
+    /**
+     * Validator shared by the evaluation model list and the single models.
+     *
+     * @return the validator, or empty if the counters cannot be read
+     */
+    public Optional<ResourceVersion> modelsVersion() {
+        return version(MODELS, modelRepository.findTableVersion(), MODELS);
+    }
+
+    /**
+     * Validator shared by the fruit data reads: fruits, fields and data values.
+     *
+     * @return the validator, or empty if the counters cannot be read
+     */
+    public Optional<ResourceVersion> fruitDataVersion() {
+        return version(FRUIT_DATA, fruitDataRepository.findTableVersion(), FRUIT_DATA);
+    }
+
+    /**
+     * The competition, its judges or its entries changed.
+     */
+    public void competitionChanged(Long competitionId) {
+        bumpAfterCommit(competitionKey(competitionId));
+    }
+
+    /**
+     * The competition's rating aggregates changed.
+     */
+    public void ratingsChanged(Long competitionId) {
+        bumpAfterCommit(ratingsKey(competitionId));
+    }
+
+    /**
+     * An evaluation model or its parameters changed.
+     */
+    public void modelsChanged() {
+        bumpAfterCommit(MODELS);
+    }
+
+    /**
+     * A fruit, a data field or a fruit data value changed.
+     */
+    public void fruitDataChanged() {
+        bumpAfterCommit(FRUIT_DATA);
+    }
+
+    private Duration endedMaxAge(CompetitionVersion competition) {
+        return competition.status() == Competition.CompetitionStatus.ENDED
+                ? Duration.ofSeconds(endedMaxAgeSeconds) : Duration.ZERO;
+    }
+
+    private Optional<ResourceVersion> version(String name, CompetitionVersion competition,
+                                              List<String> keys, Long competitionId, Duration maxAge) {
+        return counters(keys).map(counters ->
+                new ResourceVersion(eTag(name, competitionId, millis(competition.updatedAt()), counters), maxAge));
+    }
+
+    private Optional<ResourceVersion> version(String name, TableVersion table, String key) {
+        return counters(List.of(key)).map(counters -> new ResourceVersion(
+                eTag(name, table.rowCount(), millis(table.lastUpdatedAt()), counters), Duration.ZERO));
+    }
+
+    // Without the counters an ETag could outlive a change, so the response goes out without one
+    private Optional<List<Long>> counters(List<String> keys) {
+        try {
+            return Optional.of(versionStore.current(keys));
+        } catch (RuntimeException e) {
+            logger.warn("Could not read resource versions {}: {}", keys, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void bumpAfterCommit(String key) {
+        afterCommit(() -> {
+            try {
+                versionStore.increment(key);
+            } catch (RuntimeException e) {
+                logger.warn("Could not bump resource version {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private static String eTag(String name, Object id, long updatedAt, List<Long> counters) {
+        StringJoiner tag = new StringJoiner("-", "\"", "\"");
+        tag.add(name).add(String.valueOf(id)).add(String.valueOf(updatedAt));
+        counters.forEach(counter -> tag.add(String.valueOf(counter)));
+        return tag.toString();
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static String competitionKey(Long competitionId) {
+        return "competition:" + competitionId;
+    }
+
+    private static String ratingsKey(Long competitionId) {
+        return "ratings:" + competitionId;
+    }
+}
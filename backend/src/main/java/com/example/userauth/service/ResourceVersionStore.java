@@ -0,0 +1,22 @@
+package com.example.userauth.service;
+
+import java.util.List;
+
+/**
+ * Change counters of read-mostly aggregates, used to build HTTP validators.
+ * A counter that does not exist yet starts at the current time in milliseconds rather than
+ * zero, so a counter that was lost (restart, eviction) comes back higher than any value it
+ * handed out before, as long as it changed less than once per millisecond on average.
+ */
+public interface ResourceVersionStore {
+
+    /**
+     * Current value of each counter, in the order of the keys.
+     */
+    List<Long> current(List<String> keys);
+
+    /**
+     * Record a change of the aggregate.
+     */
+    void increment(String key);
+}
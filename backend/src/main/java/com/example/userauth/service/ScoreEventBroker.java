@@ -0,0 +1,23 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.ScoreUpdateEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries live score events to the stream subscribers of every backend instance.
+ * Event ids increase per competition, so a reconnecting client can name the last
+ * event it received.
+ */
+public interface ScoreEventBroker {
+
+    /**
+     * Assign the competition's next event id and deliver the event to all instances.
+     */
+    void publish(ScoreUpdateEvent event);
+
+    /**
+     * Register the local receiver of events published by any instance.
+     */
+    void subscribe(Consumer<ScoreUpdateEvent> listener);
+}
@@ -0,0 +1,151 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
+
+import java.util.Arrays;
+
+/**
+ * Per-entry statistics over a competition's entry × judge matrix of judge totals.
+ * Scores are kept in one flat array, entry-major, with NaN for a judge who has not rated an
+ * entry. {@link #compute()} reads the matrix once to fill every per-entry and per-judge
+ * accumulator (Welford mean and variance, sum, minimum and maximum) and sorts a reused
+ * row buffer for the median; only the judge-normalised score needs a second pass, because it
+ * depends on every judge's mean and deviation.
+ * Not thread-safe; build one per request.
+ */
+public class ScoreStatistics {
+
+    private final int entryCount;
+    private final int judgeCount;
+    private final double[] scores;
+
+    public ScoreStatistics(int entryCount, int judgeCount) {
+        this.entryCount = entryCount;
+        this.judgeCount = judgeCount;
+        this.scores = new double[entryCount * judgeCount];
+        Arrays.fill(scores, Double.NaN);
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public int getJudgeCount() {
+        return judgeCount;
+    }
+
+    /**
+     * Add to the score a judge gave an entry; repeated calls add up, so per-parameter scores
+     * can be fed one by one to get the judge's total.
+     */
+    public void add(int entry, int judge, double score) {
+        int cell = entry * judgeCount + judge;
+        double current = scores[cell];
+        scores[cell] = Double.isNaN(current) ? score : current + score;
+    }
+
+    public Result compute() {
+        int[] count = new int[entryCount];
+        double[] mean = new double[entryCount];
+        double[] median = new double[entryCount];
+        double[] stddev = new double[entryCount];
+        double[] trimmedMean = new double[entryCount];
+        double[] normalized = new double[entryCount];
+
+        int[] judgeN = new int[judgeCount];
+        double[] judgeMean = new double[judgeCount];
+        double[] judgeM2 = new double[judgeCount];
+        long overallN = 0;
+        double overallMean = 0.0;
+        double overallM2 = 0.0;
+        double[] row = new double[judgeCount];
+
+        for (int e = 0; e < entryCount; e++) {
+            int base = e * judgeCount;
+            int n = 0;
+            double m = 0.0;
+            double m2 = 0.0;
+            double sum = 0.0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < judgeCount; j++) {
+                double x = scores[base + j];
+                if (Double.isNaN(x)) {
+                    continue;
+                }
+                row[n++] = x;
+                double delta = x - m;
+                m += delta / n;
+                m2 += delta * (x - m);
+                sum += x;
+                min = Math.min(min, x);
+                max = Math.max(max, x);
+
+                int jn = ++judgeN[j];
+                double judgeDelta = x - judgeMean[j];
+                judgeMean[j] += judgeDelta / jn;
+                judgeM2[j] += judgeDelta * (x - judgeMean[j]);
+
+                overallN++;
+                double overallDelta = x - overallMean;
+                overallMean += overallDelta / overallN;
+                overallM2 += overallDelta * (x - overallMean);
+            }
+
+            count[e] = n;
+            if (n == 0) {
+                mean[e] = median[e] = stddev[e] = trimmedMean[e] = Double.NaN;
+                continue;
+            }
+            mean[e] = m;
+            stddev[e] = n > 1 ? Math.sqrt(m2 / (n - 1)) : 0.0;
+            // With fewer than three judges there is nothing left after dropping both ends
+            trimmedMean[e] = n > 2 ? (sum - min - max) / (n - 2) : m;
+            Arrays.sort(row, 0, n);
+            median[e] = (n & 1) == 1 ? row[n / 2] : (row[n / 2 - 1] + row[n / 2]) / 2.0;
+        }
+
+        double[] judgeStddev = new double[judgeCount];
+        for (int j = 0; j < judgeCount; j++) {
+            judgeStddev[j] = judgeN[j] > 1 ? Math.sqrt(judgeM2[j] / (judgeN[j] - 1)) : 0.0;
+        }
+        double overallStddev = overallN > 1 ? Math.sqrt(overallM2 / (overallN - 1)) : 0.0;
+
+        for (int e = 0; e < entryCount; e++) {
+            if (count[e] == 0) {
+                normalized[e] = Double.NaN;
+                continue;
+            }
+            int base = e * judgeCount;
+            double zSum = 0.0;
+            for (int j = 0; j < judgeCount; j++) {
+                double x = scores[base + j];
+                // A judge who gave everything the same score says nothing about the ranking
+                if (!Double.isNaN(x) && judgeStddev[j] > 0.0) {
+                    zSum += (x - judgeMean[j]) / judgeStddev[j];
+                }
+            }
+            normalized[e] = overallMean + overallStddev * (zSum / count[e]);
+        }
+
+        return new Result(count, mean, median, stddev, trimmedMean, normalized);
+    }
+
+    /**
+     * Statistics by entry index; NaN for an entry nobody has rated.
+     * The normalised score is the entry's average judge z-score scaled back by the mean and
+     * deviation of all scores, so it reads like the other statistics.
+     */
+    public record Result(int[] count, double[] mean, double[] median, double[] stddev,
+                         double[] trimmedMean, double[] normalized) {
+
+        public double score(int entry, AggregationMethod method) {
+            return switch (method) {
+                case MEAN -> mean[entry];
+                case MEDIAN -> median[entry];
+                case TRIMMED_MEAN -> trimmedMean[entry];
+                case Z_SCORE -> normalized[entry];
+            };
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.ScoreUpdateEvent;
+import com.example.userauth.exception.ScoreStreamRejectedException;
+import com.example.userauth.repository.JudgeTotalSummary;
+import com.example.userauth.repository.ParameterScoreSummary;
+import com.example.userauth.service.RatingAggregateService.EntryAggregates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live score streams over Server-Sent Events, one per competition.
+ * Rating writes publish the entry's current figures through the {@link ScoreEventBroker}
+ * after commit; every instance keeps the most recent events of each competition so a client
+ * reconnecting with {@code Last-Event-ID} gets what it missed, or a {@code resync} event when
+ * the gap is no longer covered. Idle connections receive a heartbeat comment, and each instance
+ * accepts a bounded number of subscribers. A competition left without subscribers here is
+ * forgotten, replay buffer included, once no event has arrived for the idle retention time.
+ * Writes to a client go through its own queue, drained by at most one sender thread at a time,
+ * so a slow client only delays itself; one that falls too far behind or stalls in a write is
+ * dropped and reconnects with {@code Last-Event-ID}.
+ */
+@Service
+public class ScoreStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreStreamService.class);
+
+    static final String EVENT_SCORE_UPDATE = "score-update";
+    static final String EVENT_RESYNC = "resync";
+
+    private final ScoreEventBroker broker;
+    private final Executor dispatchExecutor;
+    private final Executor sendExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final int maxSubscribers;
+    private final int replayBufferSize;
+    private final int maxQueuedEvents;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutMs;
+    private final long reconnectDelayMs;
+    private final long retryAfterSeconds;
+    private final long idleRetentionMs;
+    private final Map<Long, CompetitionStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private final Counter evictedCounter;
+
+    @Autowired
+    public ScoreStreamService(ScoreEventBroker broker,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.score-stream.max-subscribers:500}") int maxSubscribers,
+                              @Value("${app.score-stream.replay-buffer-size:256}") int replayBufferSize,
+                              @Value("${app.score-stream.max-queued-events:64}") int maxQueuedEvents,
+                              @Value("${app.score-stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                              @Value("${app.score-stream.send-timeout-ms:30000}") long sendTimeoutMs,
+                              @Value("${app.score-stream.reconnect-delay-ms:3000}") long reconnectDelayMs,
+                              @Value("${app.score-stream.retry-after-seconds:10}") long retryAfterSeconds,
+                              @Value("${app.score-stream.idle-retention-ms:60000}") long idleRetentionMs,
+                              @Value("${app.score-stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMs) {
+        this(broker, meterRegistry,
+                Executors.newSingleThreadExecutor(daemonThreads("score-stream-dispatch")),
+                // Each client has at most one sender running, so the pool never outgrows the subscribers
+                Executors.newCachedThreadPool(daemonThreads("score-stream-send")),
+                Executors.newSingleThreadScheduledExecutor(daemonThreads("score-stream-heartbeat")),
+                maxSubscribers, replayBufferSize, maxQueuedEvents, emitterTimeoutMs, sendTimeoutMs,
+                reconnectDelayMs, retryAfterSeconds, idleRetentionMs);
+        // Own scheduler: the shared one also runs reconciliation and purge jobs that can outlast
+        // the proxies' idle timeouts
+        heartbeatScheduler.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    ScoreStreamService(ScoreEventBroker broker,
+                       MeterRegistry meterRegistry,
+                       Executor dispatchExecutor,
+                       Executor sendExecutor,
+                       ScheduledExecutorService heartbeatScheduler,
+                       int maxSubscribers, int replayBufferSize, int maxQueuedEvents,
+                       long emitterTimeoutMs, long sendTimeoutMs,
+                       long reconnectDelayMs, long retryAfterSeconds, long idleRetentionMs) {
+        this.broker = broker;
+        // One dispatch thread keeps events in order; it only queues them, the senders write them
+        this.dispatchExecutor = dispatchExecutor;
+        this.sendExecutor = sendExecutor;
+        this.heartbeatScheduler = heartbeatScheduler;
+        this.maxSubscribers = maxSubscribers;
+        this.replayBufferSize = replayBufferSize;
+        this.maxQueuedEvents = maxQueuedEvents;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.idleRetentionMs = idleRetentionMs;
+
+        Gauge.builder("ratings.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Live score streams open on this instance")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ratings.stream.rejected")
+                .description("Live score streams refused because the instance was at capacity")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("ratings.stream.evicted")
+                .description("Live score streams dropped because the client fell behind or stalled")
+                .register(meterRegistry);
+
+        broker.subscribe(event -> dispatchExecutor.execute(() -> deliver(event)));
+    }
+
+    /**
+     * Open a live score stream for a competition.
+     *
+     * @param competitionId the competition
+     * @param lastEventId id of the last event the client received, or {@code null} for a fresh stream
+     * @throws ScoreStreamRejectedException if this instance already serves the maximum number of streams
+     */
+    public SseEmitter subscribe(Long competitionId, Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejectedCounter.increment();
+            throw new ScoreStreamRejectedException("实时评分连接数已满，请稍后重试", retryAfterSeconds);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        while (true) {
+            CompetitionStream stream = streams.computeIfAbsent(competitionId, id -> new CompetitionStream());
+            // Replay and registration happen under the stream lock, so no event falls between them
+            List<SseEmitter.SseEventBuilder> initial = new ArrayList<>();
+            initial.add(SseEmitter.event().comment("connected").reconnectTime(reconnectDelayMs));
+            synchronized (stream) {
+                if (stream.removed) {
+                    // Forgotten between the lookup and the lock; the next lookup creates a new one
+                    continue;
+                }
+                if (lastEventId != null) {
+                    replay(stream, lastEventId, initial);
+                }
+                stream.subscribers.add(subscriber);
+                // The replay may exceed the live queue limit; it is queued in one piece
+                enqueue(stream, subscriber, initial, false);
+            }
+            emitter.onCompletion(() -> unsubscribe(stream, subscriber));
+            emitter.onTimeout(() -> unsubscribe(stream, subscriber));
+            emitter.onError(e -> unsubscribe(stream, subscriber));
+            return emitter;
+        }
+    }
+
+    /**
+     * Publish the current scores of entries whose ratings changed to their competition's
+     * stream once the surrounding transaction commits, built from the given aggregates.
+     */
+    public void onEntriesScoresChanged(Long competitionId, List<EntryAggregates> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<ScoreUpdateEvent> events = changed.stream().map(entry -> buildEvent(competitionId, entry)).toList();
+        TransactionCallbacks.afterCommit(() -> {
+            for (ScoreUpdateEvent event : events) {
+                try {
+                    broker.publish(event);
+                } catch (Exception e) {
+                    // Clients that miss the event catch up on their next full load
+                    logger.warn("Failed to publish score update for entry {}: {}", event.getEntryId(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Keep idle streams open through proxies, drop clients stalled in a write and forget
+     * competitions that have had neither subscribers nor events for the idle retention time.
+     */
+    void sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, CompetitionStream> entry : streams.entrySet()) {
+            CompetitionStream stream = entry.getValue();
+            synchronized (stream) {
+                if (stream.subscribers.isEmpty() && now - stream.idleSince >= idleRetentionMs) {
+                    stream.removed = true;
+                    streams.remove(entry.getKey(), stream);
+                    continue;
+                }
+            }
+            for (Subscriber subscriber : subscribersOf(stream)) {
+                long sendStartedAt = subscriber.sendStartedAt;
+                if (sendStartedAt != 0 && now - sendStartedAt > sendTimeoutMs) {
+                    evict(stream, subscriber, "stalled in a write");
+                } else {
+                    enqueue(stream, subscriber, List.of(SseEmitter.event().comment("heartbeat")), true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of open streams on this instance.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Number of competitions this instance keeps subscribers or recent events for.
+     */
+    int getCompetitionCount() {
+        return streams.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        for (CompetitionStream stream : streams.values()) {
+            subscribersOf(stream).forEach(subscriber -> subscriber.emitter.complete());
+        }
+        if (dispatchExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+        if (sendExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    void deliver(ScoreUpdateEvent event) {
+        CompetitionStream stream;
+        List<Subscriber> subscribers;
+        while (true) {
+            // Kept even without subscribers here, for clients that reconnect from another instance
+            stream = streams.computeIfAbsent(event.getCompetitionId(), id -> new CompetitionStream());
+            synchronized (stream) {
+                if (stream.removed) {
+                    continue;
+                }
+                stream.recent.put(event.getEventId(), event);
+                while (stream.recent.size() > replayBufferSize) {
+                    stream.recent.pollFirstEntry();
+                }
+                stream.idleSince = System.currentTimeMillis();
+                subscribers = List.copyOf(stream.subscribers);
+            }
+            break;
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(stream, subscriber, List.of(scoreUpdate(event)), true);
+        }
+    }
+
+    // Caller holds the stream lock
+    private void replay(CompetitionStream stream, long lastEventId, List<SseEmitter.SseEventBuilder> events) {
+        if (!stream.recent.isEmpty()) {
+            long oldest = stream.recent.firstKey();
+            long newest = stream.recent.lastKey();
+            if (lastEventId == newest) {
+                return;
+            }
+            if (lastEventId >= oldest - 1 && lastEventId < newest) {
+                for (ScoreUpdateEvent event : stream.recent.tailMap(lastEventId, false).values()) {
+                    events.add(scoreUpdate(event));
+                }
+                return;
+            }
+        }
+        // The missed events are no longer buffered here: the client reloads the full results
+        SseEmitter.SseEventBuilder resync = SseEmitter.event();
+        if (!stream.recent.isEmpty()) {
+            resync.id(String.valueOf(stream.recent.lastKey()));
+        }
+        events.add(resync.name(EVENT_RESYNC).data("{}"));
+    }
+
+    private void enqueue(CompetitionStream stream, Subscriber subscriber,
+                         List<SseEmitter.SseEventBuilder> events, boolean bounded) {
+        boolean fellBehind = false;
+        boolean startSender = false;
+        synchronized (subscriber) {
+            if (subscriber.evicted) {
+                return;
+            }
+            if (bounded && subscriber.queue.size() + events.size() > maxQueuedEvents) {
+                fellBehind = true;
+            } else {
+                subscriber.queue.addAll(events);
+                startSender = !subscriber.sending;
+                subscriber.sending = true;
+            }
+        }
+        if (fellBehind) {
+            evict(stream, subscriber, "fell behind");
+        } else if (startSender) {
+            sendExecutor.execute(() -> drain(stream, subscriber));
+        }
+    }
+
+    private void drain(CompetitionStream stream, Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            synchronized (subscriber) {
+                event = subscriber.queue.poll();
+                if (event == null || subscriber.evicted) {
+                    subscriber.sending = false;
+                    return;
+                }
+            }
+            subscriber.sendStartedAt = System.currentTimeMillis();
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                evict(stream, subscriber, "failed a write");
+            } finally {
+                subscriber.sendStartedAt = 0;
+            }
+        }
+    }
+
+    private void evict(CompetitionStream stream, Subscriber subscriber, String reason) {
+        synchronized (subscriber) {
+            if (subscriber.evicted) {
+                return;
+            }
+            subscriber.evicted = true;
+            subscriber.queue.clear();
+        }
+        unsubscribe(stream, subscriber);
+        evictedCounter.increment();
+        logger.debug("Dropped live score stream that {}", reason);
+        // A stalled write holds the emitter, so it is closed from a sender thread, not this one
+        sendExecutor.execute(subscriber.emitter::complete);
+    }
+
+    private void unsubscribe(CompetitionStream stream, Subscriber subscriber) {
+        synchronized (stream) {
+            if (stream.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+                if (stream.subscribers.isEmpty()) {
+                    // Kept for the retention time so a reconnecting client still gets its replay
+                    stream.idleSince = System.currentTimeMillis();
+                }
+            }
+        }
+    }
+
+    private static List<Subscriber> subscribersOf(CompetitionStream stream) {
+        synchronized (stream) {
+            return List.copyOf(stream.subscribers);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder scoreUpdate(ScoreUpdateEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getEventId()))
+                .name(EVENT_SCORE_UPDATE)
+                .data(event);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Same figures as the results view for one entry
+    private static ScoreUpdateEvent buildEvent(Long competitionId, EntryAggregates entry) {
+        List<ParameterScoreSummary> parameterScores = new ArrayList<>(entry.parameterScores());
+        parameterScores.sort(Comparator.comparing(ParameterScoreSummary::parameterId));
+
+        List<ScoreUpdateEvent.ParameterAverage> parameterAverages = new ArrayList<>();
+        double averageTotal = 0.0;
+        int numberOfRatings = 0;
+        for (ParameterScoreSummary summary : parameterScores) {
+            int ratingCount = summary.ratingCount().intValue();
+            if (ratingCount == 0) {
+                continue;
+            }
+            double averageScore = summary.averageScore();
+            parameterAverages.add(new ScoreUpdateEvent.ParameterAverage(
+                    summary.parameterId(), averageScore, ratingCount));
+            averageTotal += averageScore;
+            numberOfRatings = Math.max(numberOfRatings, ratingCount);
+        }
+        double highestScore = 0.0;
+        for (JudgeTotalSummary total : entry.judgeTotals()) {
+            highestScore = Math.max(highestScore, total.totalScore().doubleValue());
+        }
+        return new ScoreUpdateEvent(competitionId, entry.entryId(), averageTotal, highestScore,
+                numberOfRatings, parameterAverages);
+    }
+
+    private static final class CompetitionStream {
+        // All guarded by the CompetitionStream instance
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final NavigableMap<Long, ScoreUpdateEvent> recent = new TreeMap<>();
+        // Last time the stream lost its last subscriber or received an event
+        private long idleSince = System.currentTimeMillis();
+        // Set once the stream is taken out of the map; callers holding it look it up again
+        private boolean removed;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        // Guarded by the Subscriber instance
+        private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean sending;
+        private boolean evicted;
+        // When the write in progress started, or 0 between writes
+        private volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.example.userauth.service;
 
 import com.example.userauth.entity.User;
 import com.example.userauth.security.JwtService;
+import com.example.userauth.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.*;
 
 /**
@@ -17,6 +20,9 @@ import java.util.*;
 @Service
 public class TokenService {
 
+    /** Claim holding the refresh token family id. */
+    public static final String FAMILY_ID_CLAIM = "fid";
+
     private final JwtService jwtService;
 
     @Autowired
@@ -55,6 +61,43 @@ public class TokenService {
         return jwtService.generateToken(claims, user.getUsername());
     }
 
+    /**
+     * Generate a refresh token for a user within a token family.
+     * Refresh tokens carry only the identity needed to reload the user; roles are read
+     * again from the database when the token is exchanged.
+     * 
+     * @param user the user to generate token for
+     * @param familyId the token family started at login
+     * @param tokenId the unique id of this refresh token
+     * @return the JWT refresh token string
+     */
+    public String generateRefreshToken(User user, String familyId, String tokenId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", user.getId());
+        claims.put(FAMILY_ID_CLAIM, familyId);
+        claims.put(Claims.ID, tokenId);
+        return jwtService.generateRefreshToken(claims, user.getUsername());
+    }
+
+    /**
+     * Lifetime of refresh tokens in milliseconds.
+     * 
+     * @return the refresh token lifetime
+     */
+    public long getRefreshExpiration() {
+        return jwtService.getRefreshExpiration();
+    }
+
+    /**
+     * Verify a token once and return its claims for reuse by the caller.
+     * 
+     * @param token the JWT token
+     * @return the verified token
+     */
+    public VerifiedToken verify(String token) {
+        return jwtService.verify(token);
+    }
+
     /**
      * Validate a token and return whether it's valid.
      * 
@@ -82,13 +125,7 @@ public class TokenService {
      * @return the user ID from the token
      */
     public Long extractUserId(String token) {
-        return jwtService.extractClaim(token, claims -> {
-            Object userId = claims.get("userId");
-            if (userId instanceof Number) {
-                return ((Number) userId).longValue();
-            }
-            return null;
-        });
+        return jwtService.verify(token).userId();
     }
 
     /**
@@ -98,10 +135,7 @@ public class TokenService {
      * @return true if user is admin, false otherwise
      */
     public boolean extractIsAdmin(String token) {
-        return jwtService.extractClaim(token, claims -> {
-            Object isAdmin = claims.get("isAdmin");
-            return Boolean.TRUE.equals(isAdmin);
-        });
+        return jwtService.verify(token).admin();
     }
 
     /**
@@ -110,15 +144,8 @@ public class TokenService {
      * @param token the JWT token
      * @return list of roles
      */
-    @SuppressWarnings("unchecked")
     public List<String> extractRoles(String token) {
-        return jwtService.extractClaim(token, claims -> {
-            Object roles = claims.get("roles");
-            if (roles instanceof List) {
-                return (List<String>) roles;
-            }
-            return Collections.emptyList();
-        });
+        return jwtService.verify(token).roles();
     }
 
     /**
@@ -128,11 +155,11 @@ public class TokenService {
      * @return UserDetails object
      */
     public UserDetails createUserDetailsFromToken(String token) {
-        String username = extractUsername(token);
-        List<String> roles = extractRoles(token);
+        VerifiedToken verified = jwtService.verify(token);
+        String username = verified.subject();
         
         Collection<GrantedAuthority> authorities = new ArrayList<>();
-        for (String role : roles) {
+        for (String role : verified.roles()) {
             authorities.add(new SimpleGrantedAuthority(role));
         }
         
@@ -151,8 +178,7 @@ public class TokenService {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = jwtService.extractExpiration(token);
-            return expiration.before(new Date());
+            return jwtService.verify(token).isExpiredAt(Instant.now());
         } catch (Exception e) {
             return true;
         }
@@ -165,6 +191,6 @@ public class TokenService {
      * @return the expiration date
      */
     public Date getTokenExpiration(String token) {
-        return jwtService.extractExpiration(token);
+        return Date.from(jwtService.verify(token).expiration());
     }
 }
\ No newline at end of file
@@ -3,14 +3,19 @@ package com.example.userauth.service;
 import com.example.userauth.dto.AuthResponse;
 import com.example.userauth.dto.AdminCreateUserRequest;
 import com.example.userauth.dto.AdminUserResponse;
+import com.example.userauth.dto.CursorPageResponse;
+import com.example.userauth.dto.ListPageRequest;
 import com.example.userauth.dto.LoginRequest;
 import com.example.userauth.dto.RegisterRequest;
 import com.example.userauth.dto.UserResponse;
 import com.example.userauth.entity.User;
+import com.example.userauth.exception.PasswordHashingRejectedException;
 import com.example.userauth.repository.UserRepository;
+import com.example.userauth.security.TokenRevocationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,12 +39,17 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordService passwordService;
     private final TokenService tokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordService passwordService, TokenService tokenService) {
+    public UserService(UserRepository userRepository, PasswordService passwordService, TokenService tokenService,
+                       TokenRevocationService tokenRevocationService, RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordService = passwordService;
         this.tokenService = tokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -68,13 +78,37 @@ public class UserService {
             throw new RuntimeException("Invalid username or password");
         }
         
-        // Generate authentication token
+        // Bring the stored hash to the current cost factor while the plain password is at hand
+        rehashIfNeeded(user, loginRequest.getPassword());
+        
+        // Generate authentication token, plus a refresh token so renewal skips BCrypt
         String token = tokenService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
         
         logger.info("User authenticated successfully: {}", user.getUsername());
         
         // Return authentication response
-        return AuthResponse.fromTokenAndUser(token, user);
+        return AuthResponse.fromTokensAndUser(token, refreshToken, user);
+    }
+
+    /**
+     * Re-hash a user's password after a successful verify if its cost factor is out of date.
+     * A saturated hashing pool only postpones the upgrade; the login itself still succeeds.
+     * 
+     * @param user the authenticated user
+     * @param plainPassword the verified plain text password
+     */
+    private void rehashIfNeeded(User user, String plainPassword) {
+        if (!passwordService.needsRehash(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            user.setPasswordHash(passwordService.hashPassword(plainPassword));
+            userRepository.save(user);
+            logger.info("Rehashed password for user {} at cost {}", user.getUsername(), passwordService.getStrength());
+        } catch (PasswordHashingRejectedException e) {
+            logger.debug("Skipped password rehash for user {}: hashing pool saturated", user.getUsername());
+        }
     }
 
     /**
@@ -225,6 +259,28 @@ public class UserService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of users, newest first.
+     * 
+     * @param request page size, cursor and the optional admin and username filters
+     * @return the page, with the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AdminUserResponse> getUserPage(ListPageRequest request) {
+        int pageSize = PageCursor.pageSize(request.getLimit());
+        PageCursor.TimePosition after = PageCursor.decodeTime(request.getCursor());
+        List<User> rows = userRepository.findPage(
+            request.getAdmin(),
+            PageCursor.likePattern(request.getQ()),
+            after != null ? after.createdAt() : null,
+            after != null ? after.id() : null,
+            PageRequest.of(0, pageSize + 1));
+        return PageCursor.toPage(rows, pageSize,
+            user -> PageCursor.encode(user.getCreatedAt(), user.getId()),
+            users -> users.stream().map(AdminUserResponse::fromUser).toList());
+    }
+
     public AdminUserResponse createUserByAdmin(AdminCreateUserRequest request) {
         validateUsername(request.getUsername());
         validatePassword(request.getPassword());
@@ -251,8 +307,15 @@ public class UserService {
             throw new IllegalArgumentException("System must keep at least one admin user");
         }
 
+        boolean roleChanged = user.isAdmin() != isAdmin;
         user.setIsAdmin(isAdmin);
-        return AdminUserResponse.fromUser(userRepository.save(user));
+        AdminUserResponse response = AdminUserResponse.fromUser(userRepository.save(user));
+
+        // Outstanding tokens still carry the old role claim
+        if (roleChanged) {
+            tokenRevocationService.revokeUserTokens(userId);
+        }
+        return response;
     }
 
     public void deleteUserById(Long userId, String currentUsername) {
@@ -268,5 +331,6 @@ public class UserService {
         }
 
         userRepository.delete(user);
+        tokenRevocationService.revokeUserTokens(userId);
     }
 }
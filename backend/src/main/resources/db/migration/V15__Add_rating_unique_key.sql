@@ -0,0 +1,34 @@
+-- V15__Add_rating_unique_key.sql
+-- 为评分表确保 (entry_id, judge_id, parameter_id) 唯一键，评分提交依赖它执行 INSERT ... ON DUPLICATE KEY UPDATE
+-- 创建日期: 2026-10-17
+
+SET @dbname = DATABASE();
+
+-- 1. 检查是否已有覆盖这三列的唯一索引（V3 建表时的匿名唯一约束可能已存在）
+SELECT COUNT(*) INTO @exists
+FROM (
+    SELECT INDEX_NAME
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+    AND TABLE_NAME = 'competition_ratings'
+    AND NON_UNIQUE = 0
+    GROUP BY INDEX_NAME
+    HAVING GROUP_CONCAT(COLUMN_NAME ORDER BY SEQ_IN_INDEX) = 'entry_id,judge_id,parameter_id'
+) AS unique_indexes;
+
+-- 2. 清理重复评分，每组只保留最新的一条
+DELETE older FROM competition_ratings older
+JOIN competition_ratings newer
+    ON older.entry_id = newer.entry_id
+    AND older.judge_id = newer.judge_id
+    AND older.parameter_id = newer.parameter_id
+    AND older.id < newer.id;
+
+-- 3. 添加唯一键（如果不存在）
+SET @query = IF(@exists = 0,
+    'ALTER TABLE competition_ratings ADD CONSTRAINT uk_ratings_entry_judge_parameter UNIQUE (entry_id, judge_id, parameter_id)',
+    'SELECT "Unique key on (entry_id, judge_id, parameter_id) already exists" as message'
+);
+PREPARE stmt FROM @query;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
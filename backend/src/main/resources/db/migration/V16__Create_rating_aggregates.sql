@@ -0,0 +1,46 @@
+-- V16__Create_rating_aggregates.sql
+-- 评分聚合表：结果页直接读取，不再对 competition_ratings 做 GROUP BY
+-- 创建日期: 2026-10-17
+
+-- 1. 每个作品每个参数的分数和、平方和与评分数
+CREATE TABLE rating_parameter_aggregates (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    competition_id BIGINT NOT NULL,
+    entry_id BIGINT NOT NULL,
+    parameter_id BIGINT NOT NULL,
+    score_sum DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    score_square_sum DECIMAL(18, 4) NOT NULL DEFAULT 0,
+    rating_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NULL DEFAULT NULL,
+    CONSTRAINT uk_param_aggregates_entry_parameter UNIQUE (entry_id, parameter_id),
+    CONSTRAINT fk_param_aggregates_entry FOREIGN KEY (entry_id)
+        REFERENCES competition_entries(id) ON DELETE CASCADE,
+    INDEX idx_param_aggregates_competition (competition_id)
+);
+
+-- 2. 每个作品每位评委的总分
+CREATE TABLE rating_judge_totals (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    competition_id BIGINT NOT NULL,
+    entry_id BIGINT NOT NULL,
+    judge_id BIGINT NOT NULL,
+    total_score DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NULL DEFAULT NULL,
+    CONSTRAINT uk_judge_totals_entry_judge UNIQUE (entry_id, judge_id),
+    CONSTRAINT fk_judge_totals_entry FOREIGN KEY (entry_id)
+        REFERENCES competition_entries(id) ON DELETE CASCADE,
+    INDEX idx_judge_totals_competition (competition_id)
+);
+
+-- 3. 用现有评分回填聚合数据
+INSERT INTO rating_parameter_aggregates
+    (competition_id, entry_id, parameter_id, score_sum, score_square_sum, rating_count, updated_at)
+SELECT competition_id, entry_id, parameter_id, SUM(score), SUM(score * score), COUNT(*), CURRENT_TIMESTAMP
+FROM competition_ratings
+GROUP BY competition_id, entry_id, parameter_id;
+
+INSERT INTO rating_judge_totals
+    (competition_id, entry_id, judge_id, total_score, updated_at)
+SELECT competition_id, entry_id, judge_id, SUM(score), CURRENT_TIMESTAMP
+FROM competition_ratings
+GROUP BY competition_id, entry_id, judge_id;
@@ -0,0 +1,23 @@
+-- V17__Create_export_jobs.sql
+-- 异步导出任务：生成的 CSV 存放在上传目录，按赛事和数据版本去重
+-- 创建日期: 2026-10-17
+
+CREATE TABLE export_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    competition_id BIGINT NOT NULL,
+    data_version VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    requested_by BIGINT NOT NULL,
+    rows_written BIGINT NOT NULL DEFAULT 0,
+    total_rows BIGINT NOT NULL DEFAULT 0,
+    file_name VARCHAR(255) NULL,
+    file_size BIGINT NULL,
+    error_message VARCHAR(500) NULL,
+    created_at TIMESTAMP NULL DEFAULT NULL,
+    updated_at TIMESTAMP NULL DEFAULT NULL,
+    completed_at TIMESTAMP NULL DEFAULT NULL,
+    CONSTRAINT uk_export_jobs_competition_version UNIQUE (competition_id, data_version),
+    CONSTRAINT fk_export_jobs_competition FOREIGN KEY (competition_id)
+        REFERENCES competitions(id) ON DELETE CASCADE,
+    INDEX idx_export_jobs_completed_at (completed_at)
+);
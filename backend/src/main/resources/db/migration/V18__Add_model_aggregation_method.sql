@@ -0,0 +1,6 @@
+-- V18__Add_model_aggregation_method.sql
+-- 评价模型的排名聚合方式：平均分、中位数、去掉最高最低分的平均分或评委标准分
+-- 创建日期: 2026-10-17
+
+ALTER TABLE evaluation_models
+    ADD COLUMN aggregation_method VARCHAR(20) NOT NULL DEFAULT 'MEAN' AFTER name;
@@ -0,0 +1,16 @@
+-- V19__Create_rating_submission_keys.sql
+-- 批量评分的幂等键：重试的批次不会覆盖评委之后修改过的评分
+-- 创建日期: 2026-10-17
+
+CREATE TABLE rating_submission_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    judge_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    competition_id BIGINT NOT NULL,
+    entry_id BIGINT NOT NULL,
+    created_at TIMESTAMP NULL DEFAULT NULL,
+    CONSTRAINT uk_submission_keys_judge_key UNIQUE (judge_id, idempotency_key),
+    CONSTRAINT fk_submission_keys_competition FOREIGN KEY (competition_id)
+        REFERENCES competitions(id) ON DELETE CASCADE,
+    INDEX idx_submission_keys_created_at (created_at)
+);
@@ -0,0 +1,17 @@
+-- V20__Add_keyset_pagination_indexes.sql
+-- 列表游标分页索引：按 (created_at, id) / (display_order, id) 定位到上一页末尾后顺序读取
+-- 创建日期: 2026-10-17
+
+-- 赛事列表：全部、按状态筛选、按创建者筛选，均按创建时间倒序
+CREATE INDEX idx_competitions_deleted_created ON competitions(deleted_at, created_at, id);
+CREATE INDEX idx_competitions_deleted_status_created ON competitions(deleted_at, status, created_at, id);
+CREATE INDEX idx_competitions_creator_deleted_created ON competitions(creator_id, deleted_at, created_at, id);
+
+-- 作品审核列表：按状态筛选后按展示顺序（不筛选时沿用 idx_entries_competition_order）
+CREATE INDEX idx_entries_competition_status_order ON competition_entries(competition_id, status, display_order, id);
+
+-- 评委的赛事列表：由评委找到赛事
+CREATE INDEX idx_competition_judges_judge ON competition_judges(judge_id, competition_id);
+
+-- 用户管理列表：按注册时间倒序
+CREATE INDEX idx_users_created_at ON users(created_at, id);
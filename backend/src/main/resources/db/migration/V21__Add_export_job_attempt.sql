@@ -0,0 +1,5 @@
+-- V21__Add_export_job_attempt.sql
+-- 导出任务重试序号：每次重新发起时加一，旧的执行不再能更新任务或发布文件
+-- 创建日期: 2026-10-17
+
+ALTER TABLE export_jobs ADD COLUMN attempt INT NOT NULL DEFAULT 0;
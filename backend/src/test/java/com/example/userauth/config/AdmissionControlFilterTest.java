@@ -0,0 +1,159 @@
+package com.example.userauth.config;
+
+import com.example.userauth.config.AdmissionControlFilter.RequestClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdmissionControlFilter Tests")
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should put rating and entry writes first and exports last")
+    void classify_RanksRequests() {
+        assertEquals(RequestClass.RATING_WRITE, AdmissionControlFilter.classify("POST", "/api/ratings"));
+        assertEquals(RequestClass.RATING_WRITE, AdmissionControlFilter.classify("POST", "/api/competitions/1/submit"));
+        assertEquals(RequestClass.RATING_WRITE, AdmissionControlFilter.classify("PUT", "/api/competitions/1/entries/2"));
+        assertEquals(RequestClass.INTERACTIVE, AdmissionControlFilter.classify("GET", "/api/ratings/1/leaderboard"));
+        assertEquals(RequestClass.INTERACTIVE, AdmissionControlFilter.classify("POST", "/api/fruit/query"));
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("GET", "/api/competitions/1/export"));
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("POST", "/api/admin/fruit-data/import"));
+        assertNull(AdmissionControlFilter.classify("POST", "/api/auth/login"));
+        assertNull(AdmissionControlFilter.classify("GET", "/api/ratings/1/stream"));
+        assertNull(AdmissionControlFilter.classify("GET", "/actuator/prometheus"));
+    }
+
+    @Test
+    @DisplayName("Should only count export and import work as bulk, not polling an export job")
+    void classify_ExportAndImportRoutes() {
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("GET", "/api/competitions/1/export"));
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("GET", "/api/competitions/export/archive"));
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("POST", "/api/competitions/1/exports"));
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("GET", "/api/competitions/1/exports/abc/file"));
+        assertEquals(RequestClass.INTERACTIVE, AdmissionControlFilter.classify("GET", "/api/competitions/1/exports/abc"));
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("POST", "/api/admin/fruit-data/import"));
+        assertEquals(RequestClass.BULK, AdmissionControlFilter.classify("POST", "/api/admin/fruit-data/import/batch"));
+    }
+
+    @Test
+    @DisplayName("Should refuse a request with 429 when its class is at its limit and cannot queue")
+    void fullClass_TooManyRequests() throws Exception {
+        AdmissionControlFilter filter = filter(limits(1, 0, 0));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> running = CompletableFuture.supplyAsync(
+                () -> perform(filter, request("GET", "/api/competitions"), blockingChain(release)));
+        awaitGauge("http.admission.in.flight", "interactive", 1);
+
+        MockHttpServletResponse refused = perform(filter, request("GET", "/api/competitions"), (req, res) -> { });
+
+        assertEquals(429, refused.getStatus());
+        assertEquals("2", refused.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.counter("http.admission.rejected", "class", "interactive").count());
+        release.countDown();
+        assertEquals(200, running.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should refuse lower classes while rating writes are queued")
+    void queuedRatingWrites_ShedLowerClasses() throws Exception {
+        AdmissionControlFilter filter = filter(limits(1, 5, 5000));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> running = CompletableFuture.supplyAsync(
+                () -> perform(filter, request("POST", "/api/ratings"), blockingChain(release)));
+        awaitGauge("http.admission.in.flight", "rating_write", 1);
+        CompletableFuture<MockHttpServletResponse> waiting = CompletableFuture.supplyAsync(
+                () -> perform(filter, request("POST", "/api/ratings"), (req, res) -> { }));
+        awaitGauge("http.admission.queued", "rating_write", 1);
+
+        assertEquals(429, perform(filter, request("GET", "/api/competitions"), (req, res) -> { }).getStatus());
+
+        release.countDown();
+        assertEquals(200, running.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(200, waiting.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(200, perform(filter, request("GET", "/api/competitions"), (req, res) -> { }).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while requests are fast and cut it once per round when they are slow")
+    void limit_AdaptsToLatency() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                new AdmissionProperties.ClassLimits(4, 1, 10, 0, 0, 100), 0.9, clock::get);
+        clock.set(TimeUnit.MILLISECONDS.toNanos(1));
+
+        List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limit.acquire(0));
+        }
+        assertNull(limit.acquire(0));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        permits.forEach(AdaptiveConcurrencyLimit.Permit::release);
+        assertEquals(3, limit.currentLimit());
+
+        for (int round = 0; round < 40; round++) {
+            AdaptiveConcurrencyLimit.Permit first = limit.acquire(0);
+            AdaptiveConcurrencyLimit.Permit second = limit.acquire(0);
+            first.release();
+            second.release();
+        }
+        assertTrue(limit.currentLimit() > 3);
+        assertTrue(limit.currentLimit() <= 10);
+    }
+
+    private AdmissionControlFilter filter(AdmissionProperties.ClassLimits limits) {
+        return new AdmissionControlFilter(new AdmissionProperties(true, 0.9, 2, limits, limits, limits),
+                new ObjectMapper(), meterRegistry);
+    }
+
+    private static AdmissionProperties.ClassLimits limits(int limit, int queueSize, long maxWaitMs) {
+        return new AdmissionProperties.ClassLimits(limit, limit, limit, queueSize, maxWaitMs, 60000);
+    }
+
+    private void awaitGauge(String name, String requestClass, double value) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get(name).tag("class", requestClass).gauge().value() != value) {
+            assertTrue(System.currentTimeMillis() < deadline, name + " did not reach " + value);
+            Thread.sleep(10);
+        }
+    }
+
+    private static FilterChain blockingChain(CountDownLatch release) {
+        return (request, response) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, MockHttpServletRequest request,
+                                                   FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
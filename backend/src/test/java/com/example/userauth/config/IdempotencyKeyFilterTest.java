@@ -0,0 +1,228 @@
+package com.example.userauth.config;
+
+import com.example.userauth.service.IdempotencyStore.ClaimStatus;
+import com.example.userauth.service.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyKeyFilter Tests")
+class IdempotencyKeyFilterTest {
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyKeyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore();
+        filter = new IdempotencyKeyFilter(store, new ObjectMapper(), 24, 120);
+        executions = new AtomicInteger();
+        authenticateAs("judge1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer a retry with the stored response without running the request again")
+    void retry_ReplaysStoredResponse() throws Exception {
+        FilterChain chain = respondingWith(HttpServletResponse.SC_CREATED, "{\"entryId\":7}");
+
+        MockHttpServletResponse first = perform(post("key-1"), chain);
+        MockHttpServletResponse retry = perform(post("key-1"), chain);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals("{\"entryId\":7}", retry.getContentAsString());
+        assertEquals("application/json", retry.getContentType());
+        assertEquals("true", retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+        assertEquals("{\"entryId\":7}", first.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should run the request again after a server error")
+    void serverError_NotStored() throws Exception {
+        FilterChain chain = respondingWith(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "{}");
+
+        perform(post("key-1"), chain);
+        perform(post("key-1"), chain);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should refuse a retry while the first attempt is still running")
+    void concurrentRetry_Conflict() throws Exception {
+        String key = "judge1:POST:/api/competitions/1/submit:key-1";
+        assertEquals(ClaimStatus.CLAIMED, store.claim(key, null, Duration.ofMinutes(1)).status());
+
+        MockHttpServletResponse retry = perform(post("key-1"), respondingWith(201, "{}"));
+
+        assertEquals(409, retry.getStatus());
+        assertEquals("1", retry.getHeader("Retry-After"));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should refuse a key reused with a different body instead of replaying the first response")
+    void differentBody_Unprocessable() throws Exception {
+        FilterChain chain = respondingWith(HttpServletResponse.SC_CREATED, "{\"entryId\":7}");
+
+        perform(post("key-1", "{\"entryName\":\"苹果\"}"), chain);
+        MockHttpServletResponse retry = perform(post("key-1", "{\"entryName\":\"苹果\"}"), chain);
+        MockHttpServletResponse reused = perform(post("key-1", "{\"entryName\":\"梨\"}"), chain);
+        MockHttpServletRequest otherQuery = post("key-1", "{\"entryName\":\"苹果\"}");
+        otherQuery.setQueryString("draft=true");
+        MockHttpServletResponse reusedWithQuery = perform(otherQuery, chain);
+
+        assertEquals(1, executions.get());
+        assertEquals("true", retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+        assertEquals(422, reused.getStatus());
+        assertNull(reused.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER));
+        assertEquals(422, reusedWithQuery.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should pass the body on to the request after hashing it")
+    void body_StillReadable() throws Exception {
+        FilterChain echo = (request, response) -> {
+            executions.incrementAndGet();
+            response.getOutputStream().write(request.getInputStream().readAllBytes());
+        };
+
+        MockHttpServletResponse response = perform(post("key-1", "{\"entryName\":\"苹果\"}"), echo);
+
+        assertEquals("{\"entryName\":\"苹果\"}", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should hand the body to a non-blocking reader")
+    void body_ReadableThroughReadListener() throws Exception {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicInteger completions = new AtomicInteger();
+        FilterChain listening = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        received.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    completions.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        };
+
+        perform(post("key-1", "{\"entryName\":\"苹果\"}"), listening);
+
+        assertEquals("{\"entryName\":\"苹果\"}", received.toString(StandardCharsets.UTF_8));
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    @DisplayName("Should keep keys of different users and requests apart")
+    void key_ScopedByUserAndPath() throws Exception {
+        FilterChain chain = respondingWith(201, "{}");
+
+        perform(post("key-1"), chain);
+        MockHttpServletRequest otherPath = post("key-1");
+        otherPath.setRequestURI("/api/ratings");
+        perform(otherPath, chain);
+        authenticateAs("judge2");
+        perform(post("key-1"), chain);
+
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should leave requests without a key or with a read method alone")
+    void noKeyOrGet_PassesThrough() throws Exception {
+        FilterChain chain = respondingWith(200, "{}");
+        MockHttpServletRequest get = post("key-1");
+        get.setMethod("GET");
+
+        perform(post(null), chain);
+        perform(post(null), chain);
+        perform(get, chain);
+        perform(get, chain);
+
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should reject an overlong key")
+    void overlongKey_BadRequest() throws Exception {
+        MockHttpServletResponse response = perform(post("k".repeat(65)), respondingWith(201, "{}"));
+
+        assertEquals(400, response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain respondingWith(int status, String body) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest post(String idempotencyKey, String body) {
+        MockHttpServletRequest request = post(idempotencyKey);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest post(String idempotencyKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/competitions/1/submit");
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyKeyFilter.HEADER, idempotencyKey);
+        }
+        return request;
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
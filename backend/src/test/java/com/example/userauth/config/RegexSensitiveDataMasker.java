@@ -0,0 +1,48 @@
+package com.example.userauth.config;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The original eight-pass regex masking chain, kept as the reference behaviour for
+ * {@link SensitiveDataMasker} in the differential test and the benchmark.
+ */
+final class RegexSensitiveDataMasker {
+
+  private static final List<Pattern> SENSITIVE_PATTERNS = Arrays.asList(
+      // Password patterns
+      Pattern.compile("(password|passwd|pwd)\\s*[:=]\\s*\\S+", Pattern.CASE_INSENSITIVE),
+      // JWT/Bearer token patterns
+      Pattern.compile("(bearer\\s+)\\S+", Pattern.CASE_INSENSITIVE),
+      Pattern.compile("(token|jwt)\\s*[:=]\\s*\\S+", Pattern.CASE_INSENSITIVE),
+      // Credit card patterns (15-19 digits)
+      Pattern.compile("\\b\\d{4}[-\\s]?\\d{4}[-\\s]?\\d{4}[-\\s]?\\d{4,7}\\b"),
+      // Email patterns
+      Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}"),
+      // Phone number patterns
+      Pattern.compile("\\b\\d{3}[-.]?\\d{3}[-.]?\\d{4}\\b"),
+      // API Key patterns
+      Pattern.compile("(api[_-]?key|apikey)\\s*[:=]\\s*\\S+", Pattern.CASE_INSENSITIVE),
+      // Secret patterns
+      Pattern.compile("(secret|private[_-]?key)\\s*[:=]\\s*\\S+", Pattern.CASE_INSENSITIVE)
+  );
+
+  private RegexSensitiveDataMasker() {
+  }
+
+  static String mask(String message) {
+    if (message == null || message.isEmpty()) {
+      return message;
+    }
+
+    String maskedMessage = message;
+    for (Pattern pattern : SENSITIVE_PATTERNS) {
+      Matcher matcher = pattern.matcher(maskedMessage);
+      maskedMessage = matcher.replaceAll(SensitiveDataMasker.MASK);
+    }
+
+    return maskedMessage;
+  }
+}
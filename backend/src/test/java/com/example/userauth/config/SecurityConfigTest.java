@@ -0,0 +1,85 @@
+package com.example.userauth.config;
+
+import com.example.userauth.security.JwtAuthenticationFilter;
+import com.example.userauth.security.JwtService;
+import com.example.userauth.security.TokenRevocationService;
+import com.example.userauth.service.InMemoryIdempotencyStore;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SecurityConfigTest.PingController.class)
+@ContextConfiguration(classes = {SecurityConfig.class, JwtAuthenticationFilter.class, IdempotencyKeyFilter.class,
+        InMemoryIdempotencyStore.class, AdmissionControlFilter.class, SecurityConfigTest.PingController.class,
+        SecurityConfigTest.MetricsConfig.class})
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ImportAutoConfiguration(SecurityAutoConfiguration.class)
+@TestPropertySource(properties = "app.idempotency.store=memory")
+@DisplayName("SecurityConfig Tests")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    @DisplayName("Should answer an expired access token with 401 so the client refreshes it")
+    void expiredToken_Unauthorized() throws Exception {
+        when(jwtService.verify("expired.jwt.token"))
+                .thenThrow(new ExpiredJwtException(null, Jwts.claims().build(), "JWT expired"));
+
+        mockMvc.perform(get("/api/ping").header("Authorization", "Bearer expired.jwt.token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should answer a request without a token with 401")
+    void missingToken_Unauthorized() throws Exception {
+        mockMvc.perform(get("/api/ping"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping("/api/ping")
+        String ping() {
+            return "pong";
+        }
+    }
+
+    static class MetricsConfig {
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -3,8 +3,12 @@ package com.example.userauth.controller;
 import com.example.userauth.config.TestConfig;
 import com.example.userauth.dto.AuthResponse;
 import com.example.userauth.dto.LoginRequest;
+import com.example.userauth.dto.RefreshTokenRequest;
 import com.example.userauth.dto.RegisterRequest;
 import com.example.userauth.dto.UserResponse;
+import com.example.userauth.exception.InvalidRefreshTokenException;
+import com.example.userauth.exception.PasswordHashingRejectedException;
+import com.example.userauth.service.RefreshTokenService;
 import com.example.userauth.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +43,9 @@ class AuthControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
     private RegisterRequest validRegisterRequest;
     private LoginRequest validLoginRequest;
     private UserResponse userResponse;
@@ -190,4 +197,61 @@ class AuthControllerTest {
                 .content(invalidJson))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After when password hashing is saturated")
+    void loginUser_HashingSaturated() throws Exception {
+        when(userService.authenticateUser(any(LoginRequest.class)))
+                .thenThrow(new PasswordHashingRejectedException("Authentication service is busy, please retry", 2));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validLoginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Authentication Error"));
+    }
+
+    @Test
+    @DisplayName("Should exchange a refresh token for new tokens")
+    void refreshToken_Success() throws Exception {
+        AuthResponse refreshed = new AuthResponse("new-jwt-token", "new-refresh-token", "testuser", List.of("USER"));
+        when(refreshTokenService.refresh("refresh-token")).thenReturn(refreshed);
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", is("new-jwt-token")))
+                .andExpect(jsonPath("$.refreshToken", is("new-refresh-token")))
+                .andExpect(jsonPath("$.username", is("testuser")));
+
+        verify(refreshTokenService).refresh("refresh-token");
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should return 401 for a rejected refresh token")
+    void refreshToken_Rejected() throws Exception {
+        when(refreshTokenService.refresh("reused-token"))
+                .thenThrow(new InvalidRefreshTokenException("Invalid or expired refresh token"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("reused-token"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error", is("Authentication Error")))
+                .andExpect(jsonPath("$.message", is("Invalid or expired refresh token")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the refresh token is missing")
+    void refreshToken_Missing() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(refreshTokenService);
+    }
 }
@@ -1,37 +1,59 @@
 package com.example.userauth.controller;
 
 import com.example.userauth.config.TestConfig;
+import com.example.userauth.config.WebConfig;
 import com.example.userauth.dto.*;
+import com.example.userauth.entity.ExportJob;
 import com.example.userauth.entity.User;
+import com.example.userauth.exception.ExportJobRejectedException;
 import com.example.userauth.repository.UserRepository;
+import com.example.userauth.security.AuthenticatedUser;
+import com.example.userauth.security.CurrentUserArgumentResolver;
 import com.example.userauth.service.CompetitionService;
+import com.example.userauth.service.ExportArchiveService;
+import com.example.userauth.service.ExportJobService;
 import com.example.userauth.service.RatingDataService;
+import com.example.userauth.service.ResourceVersionService;
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CompetitionController.class)
-@ContextConfiguration(classes = {CompetitionController.class, TestConfig.class})
+@ContextConfiguration(classes = {CompetitionController.class, TestConfig.class, WebConfig.class, CurrentUserArgumentResolver.class})
 @DisplayName("CompetitionController Tests")
 class CompetitionControllerTest {
 
@@ -50,6 +72,18 @@ class CompetitionControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private ExportJobService exportJobService;
+
+    @MockBean
+    private ExportArchiveService exportArchiveService;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    @TempDir
+    Path tempDir;
+
     private CompetitionRequest validRequest;
     private CompetitionResponse responseDto;
     private User mockUser;
@@ -72,6 +106,15 @@ class CompetitionControllerTest {
         return request;
     }
 
+    private ExportJob exportJob(ExportJob.ExportStatus status) {
+        ExportJob job = new ExportJob(1L, "4-30-1759320000000", 1L);
+        job.setId(5L);
+        job.setStatus(status);
+        job.setRowsWritten(40L);
+        job.setTotalRows(100L);
+        return job;
+    }
+
     private CompetitionResponse createResponseDto() {
         CompetitionResponse dto = new CompetitionResponse();
         dto.setId(1L);
@@ -121,6 +164,36 @@ class CompetitionControllerTest {
                 .andExpect(jsonPath("$.name").value("Test Competition"));
     }
 
+    @Test
+    @DisplayName("Should send the competition's ETag and let clients keep an ended competition")
+    void getCompetitionById_SendsValidators() throws Exception {
+        when(resourceVersionService.competitionVersion(1L)).thenReturn(Optional.of(
+                new ResourceVersion("\"competition-1-5-7-9\"", Duration.ofDays(1))));
+        when(competitionService.getCompetitionById(1L)).thenReturn(Optional.of(responseDto));
+
+        mockMvc.perform(get("/api/competitions/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"competition-1-5-7-9\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without loading the competition when the ETag matches")
+    void getCompetitionById_NotModified() throws Exception {
+        when(resourceVersionService.competitionVersion(1L)).thenReturn(Optional.of(
+                new ResourceVersion("\"competition-1-5-7-9\"", Duration.ZERO)));
+
+        mockMvc.perform(get("/api/competitions/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"competition-1-5-7-9\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"competition-1-5-7-9\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().string(""));
+
+        verify(competitionService, never()).getCompetitionById(anyLong());
+    }
+
     @Test
     @DisplayName("Should return 404 when competition not found")
     void getCompetitionById_NotFound() throws Exception {
@@ -185,13 +258,150 @@ class CompetitionControllerTest {
     void exportCompetition_Success() throws Exception {
         when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
         when(ratingDataService.canExportRatingData(anyLong(), anyLong())).thenReturn(true);
-        when(ratingDataService.generateCompetitionCSV(anyLong())).thenReturn("csv,data");
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("csv,data".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(ratingDataService).writeCompetitionCsv(eq(1L), ArgumentMatchers.any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/competitions/{id}/export", 1L))
+                .andExpect(request().asyncStarted())
+                .andExpect(request().asyncResult(nullValue()))
+                .andReturn();
 
-        mockMvc.perform(get("/api/competitions/{id}/export", 1L))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
                 .andExpect(content().string("csv,data"));
     }
 
+    @Test
+    @DisplayName("Should gzip the export when the client accepts it")
+    void exportCompetition_Gzip() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(ratingDataService.canExportRatingData(anyLong(), anyLong())).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("csv,data".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(ratingDataService).writeCompetitionCsv(eq(1L), ArgumentMatchers.any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/competitions/{id}/export", 1L)
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andExpect(request().asyncResult(nullValue()))
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("csv,data", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return 404 when exporting an unknown competition")
+    void exportCompetition_NotFound() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(ratingDataService.canExportRatingData(anyLong(), anyLong()))
+                .thenThrow(new IllegalArgumentException("赛事不存在"));
+
+        mockMvc.perform(get("/api/competitions/{id}/export", 99L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should stream the archive of the requested competitions")
+    void exportCompetitionArchive_Success() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(exportArchiveService.resolveCompetitions(eq(List.of(1L, 2L)), isNull(), isNull(), eq(1L)))
+                .thenReturn(List.of());
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("PK".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportArchiveService).writeArchive(anyList(), ArgumentMatchers.any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/competitions/export/archive").param("ids", "1,2"))
+                .andExpect(request().asyncStarted())
+                .andExpect(request().asyncResult(nullValue()))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/zip"))
+                .andExpect(content().string("PK"));
+    }
+
+    @Test
+    @DisplayName("Should refuse an archive containing another admin's competition")
+    void exportCompetitionArchive_Forbidden() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(exportArchiveService.resolveCompetitions(any(), any(), any(), eq(1L)))
+                .thenThrow(new AccessDeniedException("只有管理员可以导出评分数据"));
+
+        mockMvc.perform(get("/api/competitions/export/archive").param("ids", "3"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should accept an export job and point to its status")
+    void startExportJob_Accepted() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(ratingDataService.canExportRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(exportJobService.startExport(1L, 1L)).thenReturn(exportJob(ExportJob.ExportStatus.RUNNING));
+
+        mockMvc.perform(post("/api/competitions/{id}/exports", 1L))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/competitions/1/exports/5"))
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.rowsWritten").value(40))
+                .andExpect(jsonPath("$.totalRows").value(100))
+                .andExpect(jsonPath("$.downloadUrl").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After when the export queue is full")
+    void startExportJob_QueueFull() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(ratingDataService.canExportRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(exportJobService.startExport(1L, 1L)).thenThrow(new ExportJobRejectedException("导出任务过多，请稍后重试", 30));
+
+        mockMvc.perform(post("/api/competitions/{id}/exports", 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    @DisplayName("Should serve a byte range of a completed export file")
+    void downloadExportFile_Range() throws Exception {
+        Path file = tempDir.resolve("competition_1_ratings_5.csv");
+        Files.writeString(file, "0123456789");
+        ExportJob job = exportJob(ExportJob.ExportStatus.COMPLETED);
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(ratingDataService.canExportRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(exportJobService.findJob(1L, 5L)).thenReturn(Optional.of(job));
+        when(exportJobService.findArtifact(job)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/api/competitions/{id}/exports/{jobId}/file", 1L, 5L)
+                        .header("Range", "bytes=4-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 4-9/10"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().string("456789"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to download an export that is still running")
+    void downloadExportFile_NotCompleted() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(ratingDataService.canExportRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(exportJobService.findJob(1L, 5L)).thenReturn(Optional.of(exportJob(ExportJob.ExportStatus.RUNNING)));
+
+        mockMvc.perform(get("/api/competitions/{id}/exports/{jobId}/file", 1L, 5L))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("Should get created competitions successfully")
     void getCreatedCompetitions_Success() throws Exception {
@@ -260,6 +470,66 @@ class CompetitionControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("Should get competition summaries of the requested scope")
+    void getCompetitionSummaries_Success() throws Exception {
+        CompetitionSummaryResponse summary = new CompetitionSummaryResponse(1L, "Judged Competition 1", null,
+                1L, "Model", 1L, "creator", LocalDateTime.now().plusDays(7), "ACTIVE",
+                1, 4, 0, 2, 6, 75, LocalDateTime.now(), LocalDateTime.now());
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(competitionService.getCompetitionSummaries(eq("judged"), anyLong())).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/api/competitions/summaries").param("scope", "judged"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].approvedEntries").value(4))
+                .andExpect(jsonPath("$[0].ratingProgress").value(75))
+                .andExpect(jsonPath("$[0].judges").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown summary scope")
+    void getCompetitionSummaries_UnknownScope() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(competitionService.getCompetitionSummaries(eq("mine"), anyLong()))
+                .thenThrow(new IllegalArgumentException("不支持的赛事列表范围：mine"));
+
+        mockMvc.perform(get("/api/competitions/summaries").param("scope", "mine"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return a page of competitions when paging parameters are given")
+    void getAllCompetitions_Paged() throws Exception {
+        CompetitionResponse competition = new CompetitionResponse();
+        competition.setId(3L);
+        competition.setName("Competition 3");
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(competitionService.getCompetitionPage(eq("all"), anyLong(), ArgumentMatchers.any(ListPageRequest.class)))
+                .thenReturn(new CursorPageResponse<>(List.of(competition), "next-cursor"));
+
+        mockMvc.perform(get("/api/competitions").param("limit", "1").param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("Competition 3"))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+
+        verify(competitionService).getCompetitionPage(eq("all"), anyLong(),
+                argThat(page -> page.getLimit() == 1 && "ACTIVE".equals(page.getStatus())));
+        verify(competitionService, never()).getAllCompetitions(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid page cursor")
+    void getCreatedCompetitions_InvalidCursor() throws Exception {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(mockUser));
+        when(competitionService.getCompetitionPage(eq("created"), anyLong(), ArgumentMatchers.any(ListPageRequest.class)))
+                .thenThrow(new IllegalArgumentException("无效的分页游标"));
+
+        mockMvc.perform(get("/api/competitions/created").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should add judges to competition successfully")
     void addJudges_Success() throws Exception {
@@ -377,6 +647,25 @@ class CompetitionControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("Should return a page of competition entries, or 404 for an unknown competition")
+    void getCompetitionEntries_Paged() throws Exception {
+        CompetitionResponse.EntryResponse entry = new CompetitionResponse.EntryResponse();
+        entry.setId(1L);
+        entry.setEntryName("Entry 1");
+        when(competitionService.getCompetitionEntryPage(eq(1L), ArgumentMatchers.any(ListPageRequest.class)))
+                .thenReturn(Optional.of(new CursorPageResponse<>(List.of(entry), null)));
+        when(competitionService.getCompetitionEntryPage(eq(2L), ArgumentMatchers.any(ListPageRequest.class)))
+                .thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/competitions/{id}/entries", 1L).param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].entryName").value("Entry 1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/competitions/{id}/entries", 2L).param("limit", "20"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should delete entry successfully")
     void deleteEntry_Success() throws Exception {
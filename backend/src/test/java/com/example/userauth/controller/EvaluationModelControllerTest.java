@@ -3,6 +3,8 @@ package com.example.userauth.controller;
 import com.example.userauth.dto.ModelRequest;
 import com.example.userauth.dto.ModelResponse;
 import com.example.userauth.service.EvaluationModelService;
+import com.example.userauth.service.ResourceVersionService;
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -12,8 +14,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +38,9 @@ public class EvaluationModelControllerTest {
     @MockBean
     private EvaluationModelService evaluationModelService;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     @Test
     void getAllModels_success() throws Exception {
         ModelResponse m = new ModelResponse();
@@ -56,6 +63,16 @@ public class EvaluationModelControllerTest {
         mockMvc.perform(get("/api/evaluation-models/1")).andExpect(status().isOk());
     }
 
+    @Test
+    void getAllModels_notModified() throws Exception {
+        when(resourceVersionService.modelsVersion()).thenReturn(Optional.of(
+                new ResourceVersion("\"models-1-0-3\"", Duration.ZERO)));
+        mockMvc.perform(get("/api/evaluation-models").header(HttpHeaders.IF_NONE_MATCH, "\"models-1-0-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"models-1-0-3\""));
+        Mockito.verify(evaluationModelService, Mockito.never()).getAllModels();
+    }
+
     @Test
     void getModelById_notFound() throws Exception {
         when(evaluationModelService.getModelById(2L)).thenReturn(Optional.empty());
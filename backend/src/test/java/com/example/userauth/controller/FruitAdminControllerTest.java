@@ -12,6 +12,7 @@ import com.example.userauth.repository.FruitFileRepository;
 import com.example.userauth.repository.FruitRepository;
 import com.example.userauth.repository.NutritionDataRepository;
 import com.example.userauth.repository.FlavorDataRepository;
+import com.example.userauth.service.ResourceVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,6 +54,9 @@ public class FruitAdminControllerTest {
     @MockBean
     private FruitFileRepository fruitFileRepository;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private Fruit fruit;
 
     @BeforeEach
@@ -7,6 +7,7 @@ import com.example.userauth.entity.FruitDataField;
 import com.example.userauth.repository.FruitDataFieldRepository;
 import com.example.userauth.repository.FruitDataRepository;
 import com.example.userauth.repository.FruitRepository;
+import com.example.userauth.service.ResourceVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,6 +44,9 @@ public class FruitDataAdminControllerTest {
     @MockBean
     private FruitDataFieldRepository fieldRepository;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private Fruit fruit;
     private FruitDataField field;
 
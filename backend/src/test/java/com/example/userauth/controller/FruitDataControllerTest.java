@@ -6,6 +6,7 @@ import com.example.userauth.entity.FruitDataField;
 import com.example.userauth.repository.FruitDataFieldRepository;
 import com.example.userauth.repository.FruitDataRepository;
 import com.example.userauth.repository.FruitRepository;
+import com.example.userauth.service.ResourceVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,9 @@ public class FruitDataControllerTest {
     @MockBean
     private FruitDataFieldRepository fieldRepository;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private Fruit fruit;
     private FruitData data;
 
@@ -1,13 +1,26 @@
 package com.example.userauth.controller;
 
 import com.example.userauth.config.TestConfig;
+import com.example.userauth.config.WebConfig;
+import com.example.userauth.dto.BatchRatingRequest;
+import com.example.userauth.dto.BatchRatingResponse;
 import com.example.userauth.dto.CompetitionRatingDataResponse;
+import com.example.userauth.dto.CompletionMatrixResponse;
+import com.example.userauth.dto.LeaderboardResponse;
 import com.example.userauth.dto.RatingRequest;
 import com.example.userauth.dto.RatingResponse;
 import com.example.userauth.entity.User;
+import com.example.userauth.exception.RatingIngestionRejectedException;
+import com.example.userauth.exception.ScoreStreamRejectedException;
 import com.example.userauth.repository.UserRepository;
+import com.example.userauth.security.AuthenticatedUser;
+import com.example.userauth.security.CurrentUserArgumentResolver;
+import com.example.userauth.service.LeaderboardService;
 import com.example.userauth.service.RatingDataService;
+import com.example.userauth.service.RatingIngestionService;
 import com.example.userauth.service.RatingService;
+import com.example.userauth.service.ResourceVersionService;
+import com.example.userauth.service.ScoreStreamService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,9 +28,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -34,7 +49,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(RatingController.class)
-@ContextConfiguration(classes = {RatingController.class, TestConfig.class})
+@ContextConfiguration(classes = {RatingController.class, TestConfig.class, WebConfig.class, CurrentUserArgumentResolver.class})
 @DisplayName("RatingController Tests")
 class RatingControllerTest {
 
@@ -50,9 +65,21 @@ class RatingControllerTest {
     @MockBean
     private RatingDataService ratingDataService;
 
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @MockBean
+    private ScoreStreamService scoreStreamService;
+
+    @MockBean
+    private RatingIngestionService ratingIngestionService;
+
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
     private User mockUser;
 
     @BeforeEach
@@ -66,7 +93,7 @@ class RatingControllerTest {
     @DisplayName("Should submit rating successfully")
     void submitRating_Success() throws Exception {
         RatingResponse resp = createRatingResponse(1L);
-        when(ratingService.submitRating(any(RatingRequest.class), anyLong())).thenReturn(resp);
+        when(ratingService.submitRating(any(RatingRequest.class), any(AuthenticatedUser.class))).thenReturn(resp);
 
         RatingRequest req = createRatingRequest();
 
@@ -79,7 +106,7 @@ class RatingControllerTest {
     @Test
     @DisplayName("Should return 400 when rating request is invalid")
     void submitRating_InvalidArgument() throws Exception {
-        when(ratingService.submitRating(any(RatingRequest.class), anyLong()))
+        when(ratingService.submitRating(any(RatingRequest.class), any(AuthenticatedUser.class)))
                 .thenThrow(new IllegalArgumentException("Invalid request"));
 
         RatingRequest req = createRatingRequest();
@@ -93,7 +120,7 @@ class RatingControllerTest {
     @Test
     @DisplayName("Should return 400 when rating submission not allowed")
     void submitRating_IllegalState() throws Exception {
-        when(ratingService.submitRating(any(RatingRequest.class), anyLong()))
+        when(ratingService.submitRating(any(RatingRequest.class), any(AuthenticatedUser.class)))
                 .thenThrow(new IllegalStateException("Not allowed"));
 
         RatingRequest req = createRatingRequest();
@@ -107,7 +134,7 @@ class RatingControllerTest {
     @Test
     @DisplayName("Should return 500 on server error")
     void submitRating_ServerError() throws Exception {
-        when(ratingService.submitRating(any(RatingRequest.class), anyLong()))
+        when(ratingService.submitRating(any(RatingRequest.class), any(AuthenticatedUser.class)))
                 .thenThrow(new RuntimeException("Database error"));
 
         RatingRequest req = createRatingRequest();
@@ -118,6 +145,101 @@ class RatingControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    @DisplayName("Should submit through the journal when write-behind ingestion is enabled")
+    void submitRating_Journaled() throws Exception {
+        when(ratingIngestionService.isEnabled()).thenReturn(true);
+        when(ratingIngestionService.submitRating(any(RatingRequest.class), any(AuthenticatedUser.class)))
+                .thenReturn(createRatingResponse(null));
+
+        mockMvc.perform(post("/api/ratings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRatingRequest())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the rating journal is full")
+    void submitRating_JournalFull() throws Exception {
+        when(ratingIngestionService.isEnabled()).thenReturn(true);
+        when(ratingIngestionService.submitRating(any(RatingRequest.class), any(AuthenticatedUser.class)))
+                .thenThrow(new RatingIngestionRejectedException("full", 2));
+
+        mockMvc.perform(post("/api/ratings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRatingRequest())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    @DisplayName("Should return per-item results of a batch submission")
+    void submitRatings_Success() throws Exception {
+        BatchRatingResponse resp = new BatchRatingResponse(1L, List.of(
+                new BatchRatingResponse.ItemResult("k1", 2L, BatchRatingResponse.ItemStatus.SUBMITTED, null),
+                new BatchRatingResponse.ItemResult("k2", 3L, BatchRatingResponse.ItemStatus.REJECTED, "参赛作品不存在")));
+        when(ratingService.submitRatings(any(BatchRatingRequest.class), any(AuthenticatedUser.class))).thenReturn(resp);
+
+        mockMvc.perform(post("/api/ratings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBatchRatingRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.submitted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].message").value("参赛作品不存在"));
+    }
+
+    @Test
+    @DisplayName("Should return 409 while the same batch is being submitted concurrently")
+    void submitRatings_ConcurrentRetry() throws Exception {
+        when(ratingService.submitRatings(any(BatchRatingRequest.class), any(AuthenticatedUser.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_submission_keys_judge_key"));
+
+        mockMvc.perform(post("/api/ratings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createBatchRatingRequest())))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch item without an idempotency key")
+    void submitRatings_MissingIdempotencyKey() throws Exception {
+        BatchRatingRequest req = createBatchRatingRequest();
+        req.getItems().get(0).setIdempotencyKey(" ");
+
+        mockMvc.perform(post("/api/ratings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return the completion matrix to users who may view the rating data")
+    void getCompletionMatrix_Success() throws Exception {
+        when(ratingDataService.canViewRatingData(eq(1L), anyLong())).thenReturn(true);
+        CompletionMatrixResponse matrix = new CompletionMatrixResponse(1L, 2L,
+                List.of(new CompletionMatrixResponse.EntryProgress(5L, "作品A", 1, 100)),
+                List.of(new CompletionMatrixResponse.JudgeProgress(7L, "judge1", 1, 100)),
+                "AQ==", 1, 100);
+        when(ratingService.getCompletionMatrix(1L)).thenReturn(matrix);
+
+        mockMvc.perform(get("/api/ratings/1/completion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matrix").value("AQ=="))
+                .andExpect(jsonPath("$.entries[0].progress").value(100))
+                .andExpect(jsonPath("$.judges[0].judgeName").value("judge1"));
+    }
+
+    @Test
+    @DisplayName("Should refuse the completion matrix to other users")
+    void getCompletionMatrix_Forbidden() throws Exception {
+        when(ratingDataService.canViewRatingData(eq(1L), anyLong())).thenReturn(false);
+
+        mockMvc.perform(get("/api/ratings/1/completion"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Should get ratings by entry successfully")
     void getRatingsByEntry_Success() throws Exception {
@@ -177,6 +299,102 @@ class RatingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("Should get leaderboard top entries")
+    void getLeaderboardTop_Success() throws Exception {
+        LeaderboardResponse resp = new LeaderboardResponse(1L, 2L, 0, 20, List.of(
+                new LeaderboardResponse.LeaderboardEntry(1L, 7L, "Entry A", 92.5),
+                new LeaderboardResponse.LeaderboardEntry(2L, 3L, "Entry B", 88.0)));
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(leaderboardService.getTop(1L, 20)).thenReturn(resp);
+
+        mockMvc.perform(get("/api/ratings/1/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEntries").value(2))
+                .andExpect(jsonPath("$.entries", hasSize(2)))
+                .andExpect(jsonPath("$.entries[0].rank").value(1))
+                .andExpect(jsonPath("$.entries[0].entryId").value(7));
+    }
+
+    @Test
+    @DisplayName("Should return 403 when user cannot view leaderboard")
+    void getLeaderboardTop_Forbidden() throws Exception {
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(false);
+
+        mockMvc.perform(get("/api/ratings/1/leaderboard"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should get a leaderboard page")
+    void getLeaderboardPage_Success() throws Exception {
+        LeaderboardResponse resp = new LeaderboardResponse(1L, 30L, 1, 10, Collections.emptyList());
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(leaderboardService.getPage(1L, 1, 10)).thenReturn(resp);
+
+        mockMvc.perform(get("/api/ratings/1/leaderboard/page").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.size").value(10));
+    }
+
+    @Test
+    @DisplayName("Should get the rank of an entry")
+    void getLeaderboardRank_Success() throws Exception {
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(leaderboardService.getEntryRank(1L, 7L))
+                .thenReturn(new LeaderboardResponse.LeaderboardEntry(3L, 7L, "Entry A", 80.0));
+
+        mockMvc.perform(get("/api/ratings/1/leaderboard/entries/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when entry is not on the leaderboard")
+    void getLeaderboardRank_NotRanked() throws Exception {
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(leaderboardService.getEntryRank(1L, 9L)).thenThrow(new IllegalArgumentException("作品不在该赛事排行榜中"));
+
+        mockMvc.perform(get("/api/ratings/1/leaderboard/entries/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should open a score stream and pass Last-Event-ID through")
+    void streamScoreUpdates_Success() throws Exception {
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(scoreStreamService.subscribe(1L, 42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/ratings/1/stream").header("Last-Event-ID", "42"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("Should return 403 when user cannot view the score stream")
+    void streamScoreUpdates_Forbidden() throws Exception {
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(false);
+
+        mockMvc.perform(get("/api/ratings/1/stream"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the instance is at its stream limit")
+    void streamScoreUpdates_AtCapacity() throws Exception {
+        when(ratingDataService.canViewRatingData(anyLong(), anyLong())).thenReturn(true);
+        when(scoreStreamService.subscribe(1L, null)).thenThrow(new ScoreStreamRejectedException("实时评分连接数已满，请稍后重试", 10));
+
+        mockMvc.perform(get("/api/ratings/1/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "10"));
+    }
+
+    private BatchRatingRequest createBatchRatingRequest() {
+        RatingRequest.ScoreRequest score = new RatingRequest.ScoreRequest(1L, new BigDecimal("8.5"));
+        return new BatchRatingRequest(1L, List.of(new BatchRatingRequest.Item("k1", 2L, List.of(score), null)));
+    }
+    
     private RatingRequest createRatingRequest() {
         RatingRequest req = new RatingRequest();
         req.setCompetitionId(1L);
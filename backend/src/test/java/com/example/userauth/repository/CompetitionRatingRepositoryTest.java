@@ -0,0 +1,197 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The upsert is MySQL syntax, so keep the MySQL-mode H2 from the test profile
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class CompetitionRatingRepositoryTest {
+
+    @Autowired
+    private CompetitionRatingRepository ratingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Competition competition;
+    private CompetitionEntry entry;
+    private User judge;
+    private EvaluationParameter sweetness;
+    private EvaluationParameter texture;
+
+    @BeforeEach
+    public void setUp() {
+        judge = entityManager.persist(new User("judge1", "passwordhash"));
+
+        EvaluationModel model = entityManager.persist(new EvaluationModel("Test Model"));
+        texture = new EvaluationParameter("口感", 20, 2);
+        texture.setModel(model);
+        texture = entityManager.persist(texture);
+        sweetness = new EvaluationParameter("甜度", 10, 1);
+        sweetness.setModel(model);
+        sweetness = entityManager.persist(sweetness);
+
+        competition = entityManager.persist(new Competition(
+            "Test Competition", "Description", model, judge, LocalDateTime.now().plusDays(7)));
+        entry = entityManager.persist(new CompetitionEntry(competition, "Test Entry", "Description", null, 1));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testUpsertScoresInsertsThenUpdatesInPlace() {
+        Map<Long, BigDecimal> first = new LinkedHashMap<>();
+        first.put(sweetness.getId(), new BigDecimal("8.50"));
+        first.put(texture.getId(), new BigDecimal("15.00"));
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            first, "first", LocalDateTime.now());
+
+        List<CompetitionRating> inserted = ratingRepository
+            .findByEntryIdAndJudgeIdWithParameter(entry.getId(), judge.getId());
+        assertEquals(2, inserted.size());
+        Long sweetnessRatingId = inserted.get(0).getId();
+        entityManager.clear();
+
+        Map<Long, BigDecimal> second = new LinkedHashMap<>();
+        second.put(sweetness.getId(), new BigDecimal("6.00"));
+        second.put(texture.getId(), new BigDecimal("18.25"));
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            second, "second", LocalDateTime.now());
+
+        List<CompetitionRating> updated = ratingRepository
+            .findByEntryIdAndJudgeIdWithParameter(entry.getId(), judge.getId());
+        assertEquals(2, updated.size());
+        assertEquals(2L, ratingRepository.countByEntryIdAndJudgeId(entry.getId(), judge.getId()));
+
+        // Ordered by parameter display order, existing rows keep their ids
+        assertEquals(sweetness.getId(), updated.get(0).getParameter().getId());
+        assertEquals(sweetnessRatingId, updated.get(0).getId());
+        assertEquals(0, new BigDecimal("6.00").compareTo(updated.get(0).getScore()));
+        assertEquals(0, new BigDecimal("18.25").compareTo(updated.get(1).getScore()));
+        assertEquals("second", updated.get(1).getNote());
+        assertNotNull(updated.get(1).getSubmittedAt());
+    }
+
+    @Test
+    public void testUpsertScoresWithNullNote() {
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            Map.of(sweetness.getId(), new BigDecimal("7.00")), null, LocalDateTime.now());
+
+        List<CompetitionRating> ratings = ratingRepository
+            .findByEntryIdAndJudgeIdWithParameter(entry.getId(), judge.getId());
+        assertEquals(1, ratings.size());
+        assertNull(ratings.get(0).getNote());
+    }
+
+    @Test
+    public void testUpsertScoresWithNoScoresIsNoOp() {
+        assertEquals(0, ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            Map.of(), "note", LocalDateTime.now()));
+    }
+
+    @Test
+    public void testBatchUpsertAndLockAcrossEntries() {
+        CompetitionEntry second = entityManager.persist(
+            new CompetitionEntry(competition, "Second Entry", "Description", null, 2));
+        entityManager.flush();
+        ratingRepository.upsertScores(competition.getId(), judge.getId(), List.of(
+            new CompetitionRatingRepositoryCustom.EntryScores(entry.getId(),
+                Map.of(sweetness.getId(), new BigDecimal("8.00"), texture.getId(), new BigDecimal("15.00")), "first"),
+            new CompetitionRatingRepositoryCustom.EntryScores(second.getId(),
+                Map.of(sweetness.getId(), new BigDecimal("5.00")), null)),
+            LocalDateTime.now());
+
+        Map<Long, Map<Long, BigDecimal>> scores = ratingRepository.findScoresForUpdate(
+            List.of(entry.getId(), second.getId()), judge.getId());
+        assertEquals(2, scores.size());
+        assertEquals(0, new BigDecimal("15.00").compareTo(scores.get(entry.getId()).get(texture.getId())));
+        assertEquals(Map.of(sweetness.getId(), new BigDecimal("5.00")).keySet(), scores.get(second.getId()).keySet());
+        assertEquals(1L, ratingRepository.countByEntryIdAndJudgeId(second.getId(), judge.getId()));
+    }
+
+    @Test
+    public void testCountRatedParametersGroupsByEntryAndJudge() {
+        User alice = entityManager.persist(new User("alice", "passwordhash"));
+        entityManager.flush();
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            Map.of(sweetness.getId(), new BigDecimal("8.00"), texture.getId(), new BigDecimal("15.00")),
+            null, LocalDateTime.now());
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), alice.getId(),
+            Map.of(sweetness.getId(), new BigDecimal("6.00")), null, LocalDateTime.now());
+
+        Map<Long, RatingCompletionCount> counts = new HashMap<>();
+        for (RatingCompletionCount count : ratingRepository.countRatedParametersByCompetitionId(competition.getId())) {
+            counts.put(count.judgeId(), count);
+        }
+        assertEquals(2, counts.size());
+        assertEquals(2L, counts.get(judge.getId()).ratedParameters());
+        assertEquals(1L, counts.get(alice.getId()).ratedParameters());
+        assertEquals("alice", counts.get(alice.getId()).judgeName());
+        assertEquals(entry.getId(), counts.get(alice.getId()).entryId());
+    }
+
+    @Test
+    public void testStreamExportRowsGroupsByEntryThenJudge() {
+        User alice = entityManager.persist(new User("alice", "passwordhash"));
+        CompetitionEntry firstEntry = entityManager.persist(
+            new CompetitionEntry(competition, "First Entry", "Description", null, 0));
+        for (User rater : List.of(judge, alice)) {
+            for (CompetitionEntry rated : List.of(entry, firstEntry)) {
+                Map<Long, BigDecimal> scores = new LinkedHashMap<>();
+                scores.put(texture.getId(), new BigDecimal("12.00"));
+                scores.put(sweetness.getId(), new BigDecimal("7.00"));
+                ratingRepository.upsertScores(competition.getId(), rated.getId(), rater.getId(),
+                    scores, null, LocalDateTime.now());
+            }
+        }
+
+        List<RatingExportRow> rows;
+        try (Stream<RatingExportRow> stream = ratingRepository.streamExportRows(competition.getId())) {
+            rows = stream.toList();
+        }
+
+        assertEquals(8, rows.size());
+        assertEquals(List.of("First Entry/alice/甜度", "First Entry/alice/口感",
+                             "First Entry/judge1/甜度", "First Entry/judge1/口感",
+                             "Test Entry/alice/甜度", "Test Entry/alice/口感",
+                             "Test Entry/judge1/甜度", "Test Entry/judge1/口感"),
+            rows.stream().map(row -> row.entryName() + "/" + row.judgeUsername() + "/"
+                + (row.parameterId().equals(sweetness.getId()) ? "甜度" : "口感")).toList());
+        assertEquals(0, new BigDecimal("7.00").compareTo(rows.get(0).score()));
+    }
+
+    @Test
+    public void testFindDataVersionChangesWithRatings() {
+        RatingDataVersion empty = ratingRepository.findDataVersion(competition.getId());
+        assertEquals(0L, empty.ratingCount());
+
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            Map.of(sweetness.getId(), new BigDecimal("8.00")), null, LocalDateTime.of(2026, 10, 1, 12, 0));
+        RatingDataVersion first = ratingRepository.findDataVersion(competition.getId());
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            Map.of(sweetness.getId(), new BigDecimal("9.00")), null, LocalDateTime.of(2026, 10, 1, 12, 5));
+        RatingDataVersion second = ratingRepository.findDataVersion(competition.getId());
+
+        assertEquals(1L, first.ratingCount());
+        assertEquals(0, new BigDecimal("9.00").compareTo(second.scoreSum()));
+        assertNotEquals(first.fingerprint(), second.fingerprint());
+        assertEquals(second.fingerprint(), ratingRepository.findDataVersion(competition.getId()).fingerprint());
+    }
+}
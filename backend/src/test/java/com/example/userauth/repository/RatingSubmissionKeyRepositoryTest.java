@@ -0,0 +1,78 @@
+package com.example.userauth.repository;
+
+import com.example.userauth.entity.Competition;
+import com.example.userauth.entity.EvaluationModel;
+import com.example.userauth.entity.RatingSubmissionKey;
+import com.example.userauth.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class RatingSubmissionKeyRepositoryTest {
+
+    @Autowired
+    private RatingSubmissionKeyRepository keyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User judge;
+    private Competition competition;
+
+    @BeforeEach
+    public void setUp() {
+        judge = entityManager.persist(new User("judge1", "passwordhash"));
+        EvaluationModel model = entityManager.persist(new EvaluationModel("Test Model"));
+        competition = entityManager.persist(new Competition(
+            "Test Competition", "Description", model, judge, LocalDateTime.now().plusDays(7)));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testInsertKeysThenFindByJudge() {
+        Map<String, Long> keys = new LinkedHashMap<>();
+        keys.put("k1", 11L);
+        keys.put("k2", 12L);
+        assertEquals(2, keyRepository.insertKeys(judge.getId(), competition.getId(), keys, LocalDateTime.now()));
+
+        List<RatingSubmissionKey> found = keyRepository.findByJudgeIdAndIdempotencyKeyIn(
+            judge.getId(), List.of("k2", "k3"));
+        assertEquals(1, found.size());
+        assertEquals(12L, found.get(0).getEntryId());
+    }
+
+    @Test
+    public void testInsertKeysRejectsReusedKey() {
+        keyRepository.insertKeys(judge.getId(), competition.getId(), Map.of("k1", 11L), LocalDateTime.now());
+
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            keyRepository.insertKeys(judge.getId(), competition.getId(), Map.of("k1", 11L), LocalDateTime.now());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void testDeleteByCreatedAtBefore() {
+        LocalDateTime now = LocalDateTime.now();
+        keyRepository.insertKeys(judge.getId(), competition.getId(), Map.of("old", 11L), now.minusDays(5));
+        keyRepository.insertKeys(judge.getId(), competition.getId(), Map.of("new", 12L), now);
+
+        assertEquals(1, keyRepository.deleteByCreatedAtBefore(now.minusDays(3)));
+        assertEquals(1, keyRepository.count());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.userauth.security;
+
+import com.example.userauth.entity.User;
+import com.example.userauth.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentUserArgumentResolver Tests")
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    private NativeWebRequest webRequest;
+    private MethodParameter currentUserParameter;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        webRequest = new ServletWebRequest(new MockHttpServletRequest());
+        Method method = SampleHandler.class.getDeclaredMethod("handle", AuthenticatedUser.class, AuthenticatedUser.class);
+        currentUserParameter = new MethodParameter(method, 0);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should only support annotated AuthenticatedUser parameters")
+    void supportsParameter() throws NoSuchMethodException {
+        Method method = SampleHandler.class.getDeclaredMethod("handle", AuthenticatedUser.class, AuthenticatedUser.class);
+
+        assertTrue(resolver.supportsParameter(new MethodParameter(method, 0)));
+        assertFalse(resolver.supportsParameter(new MethodParameter(method, 1)));
+    }
+
+    @Test
+    @DisplayName("Should return token principal without querying the database")
+    void resolveArgument_StatelessPrincipal() {
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "judge", false);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+
+        Object resolved = resolver.resolveArgument(currentUserParameter, null, webRequest, null);
+
+        assertSame(principal, resolved);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should look up other principals once per request")
+    void resolveArgument_UsernamePrincipalCachedPerRequest() {
+        User user = new User("testuser", "hash", true);
+        user.setId(3L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testuser", null, Collections.emptyList()));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        AuthenticatedUser first = (AuthenticatedUser) resolver.resolveArgument(currentUserParameter, null, webRequest, null);
+        AuthenticatedUser second = (AuthenticatedUser) resolver.resolveArgument(currentUserParameter, null, webRequest, null);
+
+        assertEquals(new AuthenticatedUser(3L, "testuser", true), first);
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should fail when the authenticated user no longer exists")
+    void resolveArgument_UserNotFound() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("ghost", null, Collections.emptyList()));
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class,
+                () -> resolver.resolveArgument(currentUserParameter, null, webRequest, null));
+    }
+
+    @SuppressWarnings("unused")
+    private static class SampleHandler {
+        void handle(@CurrentUser AuthenticatedUser currentUser, AuthenticatedUser other) {
+        }
+    }
+}
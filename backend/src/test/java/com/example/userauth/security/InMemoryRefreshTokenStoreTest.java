@@ -0,0 +1,97 @@
+package com.example.userauth.security;
+
+import com.example.userauth.security.RefreshTokenStore.RotationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryRefreshTokenStore Tests")
+class InMemoryRefreshTokenStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private InMemoryRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRefreshTokenStore();
+    }
+
+    @Test
+    @DisplayName("Should rotate the current token of a family")
+    void rotate_CurrentToken() {
+        store.create("family", "t1", TTL);
+
+        assertEquals(RotationResult.ROTATED, store.rotate("family", "t1", "t2", TTL));
+        assertEquals(RotationResult.ROTATED, store.rotate("family", "t2", "t3", TTL));
+    }
+
+    @Test
+    @DisplayName("Should revoke the family when a rotated token is replayed")
+    void rotate_ReusedToken() {
+        store.create("family", "t1", TTL);
+        store.rotate("family", "t1", "t2", TTL);
+
+        assertEquals(RotationResult.REUSED, store.rotate("family", "t1", "t3", TTL));
+        // The legitimate holder of t2 is logged out as well
+        assertEquals(RotationResult.UNKNOWN, store.rotate("family", "t2", "t4", TTL));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should not rotate unknown, revoked or expired families")
+    void rotate_UnknownFamily() {
+        assertEquals(RotationResult.UNKNOWN, store.rotate("missing", "t1", "t2", TTL));
+
+        store.create("revoked", "t1", TTL);
+        store.revoke("revoked");
+        assertEquals(RotationResult.UNKNOWN, store.rotate("revoked", "t1", "t2", TTL));
+
+        store.create("expired", "t1", Duration.ofMillis(-1));
+        assertEquals(RotationResult.UNKNOWN, store.rotate("expired", "t1", "t2", TTL));
+    }
+
+    @Test
+    @DisplayName("Should let only one concurrent exchange of a token succeed")
+    void rotate_Concurrent() throws Exception {
+        store.create("family", "t1", TTL);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<RotationResult>> attempts = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String next = "next-" + i;
+                attempts.add(() -> store.rotate("family", "t1", next, TTL));
+            }
+            long rotated = 0;
+            for (Future<RotationResult> result : executor.invokeAll(attempts)) {
+                if (result.get() == RotationResult.ROTATED) {
+                    rotated++;
+                }
+            }
+            assertEquals(1, rotated);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should purge expired families")
+    void purgeExpiredFamilies() {
+        store.create("live", "t1", TTL);
+        store.create("expired", "t1", Duration.ofMillis(-1));
+
+        store.purgeExpiredFamilies();
+
+        assertEquals(1, store.size());
+    }
+}
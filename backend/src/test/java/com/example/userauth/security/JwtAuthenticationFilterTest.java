@@ -1,5 +1,7 @@
 package com.example.userauth.security;
 
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,9 +19,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,6 +39,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -85,9 +93,8 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_ValidToken() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", null, null));
         when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtService.validateToken(token, userDetails)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -102,9 +109,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_InvalidToken() throws ServletException, IOException {
         String token = "invalid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
-        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtService.validateToken(token, userDetails)).thenReturn(false);
+        when(jwtService.verify(token)).thenThrow(new JwtException("Invalid signature"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -117,7 +122,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_UserNotFound() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", null, null));
         when(userDetailsService.loadUserByUsername("testuser"))
                 .thenThrow(new RuntimeException("User not found"));
 
@@ -132,7 +137,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_AlreadyAuthenticated() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn("testuser");
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", null, null));
         
         Authentication existingAuth = mock(Authentication.class);
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
@@ -149,7 +154,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_TokenExtractionException() throws ServletException, IOException {
         String token = "invalid.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenThrow(new RuntimeException("Invalid token"));
+        when(jwtService.verify(token)).thenThrow(new RuntimeException("Invalid token"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -162,11 +167,103 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_NullUsername() throws ServletException, IOException {
         String token = "valid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.extractUsername(token)).thenReturn(null);
+        when(jwtService.verify(token)).thenReturn(verifiedToken(null, null, null));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should authenticate from claims without loading user in stateless mode")
+    void doFilterInternal_StatelessValidToken() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuth", true);
+        String token = "valid.jwt.token";
+        Instant issuedAt = Instant.now();
+        VerifiedToken verified = new VerifiedToken("admin", 7L, true, List.of("ROLE_ADMIN", "ROLE_USER"),
+                null, issuedAt, issuedAt.plusSeconds(3600), Jwts.claims().build());
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified);
+        when(tokenRevocationService.isRevoked(7L, issuedAt)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, auth.getPrincipal());
+        assertEquals(7L, principal.id());
+        assertEquals("admin", auth.getName());
+        assertTrue(auth.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("Should reject revoked token in stateless mode")
+    void doFilterInternal_StatelessRevokedToken() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuth", true);
+        String token = "revoked.jwt.token";
+        Instant issuedAt = Instant.now();
+        VerifiedToken verified = new VerifiedToken("testuser", 1L, false, List.of("ROLE_USER"),
+                null, issuedAt, issuedAt.plusSeconds(3600), Jwts.claims().build());
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verified);
+        when(tokenRevocationService.isRevoked(1L, issuedAt)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should reject refresh token in stateless mode")
+    void doFilterInternal_StatelessRefreshToken() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuth", true);
+        String token = "refresh.jwt.token";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", null, "refresh"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(tokenRevocationService);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should reject refresh token when loading users from the database")
+    void doFilterInternal_RefreshToken() throws ServletException, IOException {
+        String token = "refresh.jwt.token";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", 1L, "refresh"));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should fall back to user lookup when token lacks user id in stateless mode")
+    void doFilterInternal_StatelessMissingUserId() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuth", true);
+        String token = "legacy.jwt.token";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", null, null));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    private VerifiedToken verifiedToken(String subject, Long userId, String type) {
+        Instant now = Instant.now();
+        return new VerifiedToken(subject, userId, false, List.of("ROLE_USER"), type,
+                now, now.plusSeconds(3600), Jwts.claims().build());
+    }
+}
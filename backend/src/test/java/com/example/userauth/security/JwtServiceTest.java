@@ -1,7 +1,8 @@
 package com.example.userauth.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -155,4 +157,122 @@ class JwtServiceTest {
         assertNotNull(token);
         assertEquals("testuser", jwtService.extractUsername(token));
     }
+
+    @Test
+    @DisplayName("Should verify token once and expose identity claims")
+    void verify_ReturnsVerifiedClaims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 42L);
+        claims.put("isAdmin", true);
+        claims.put("roles", List.of("ROLE_ADMIN", "ROLE_USER"));
+
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(claims, "admin"));
+
+        assertEquals("admin", verified.subject());
+        assertEquals(42L, verified.userId());
+        assertTrue(verified.admin());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), verified.roles());
+        assertNotNull(verified.issuedAt());
+        assertFalse(verified.isRefreshToken());
+        assertThrows(UnsupportedOperationException.class, () -> verified.claims().put("isAdmin", false));
+    }
+
+    @Test
+    @DisplayName("Should serve repeat verifications from the cache")
+    void verify_CachesVerifiedToken() {
+        ReflectionTestUtils.setField(jwtService, "verificationCacheSize", 100);
+        String token = jwtService.generateToken(userDetails);
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should reject tampered token even after the original is cached")
+    void verify_TamperedTokenRejected() {
+        ReflectionTestUtils.setField(jwtService, "verificationCacheSize", 100);
+        String token = jwtService.generateToken(userDetails);
+        jwtService.verify(token);
+
+        // Swap in the payload of another user's token, keeping the original signature
+        String[] original = token.split("\\.");
+        String[] other = jwtService.generateToken(new HashMap<>(), "otheruser").split("\\.");
+        String tampered = original[0] + "." + other[1] + "." + original[2];
+
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void verify_ExpiredToken() {
+        String token = Jwts.builder()
+                .subject("testuser")
+                .issuedAt(new Date(System.currentTimeMillis() - 7200000))
+                .expiration(new Date(System.currentTimeMillis() - 3600000))
+                .signWith(signingKey, Jwts.SIG.HS256)
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+        assertFalse(jwtService.isTokenValid(token));
+    }
+
+    @Test
+    @DisplayName("Should stamp tokens with the current key id")
+    void generateToken_StampsKeyId() {
+        String token = jwtService.generateToken(userDetails);
+
+        assertEquals(JwtService.PRIMARY_KEY_ID, Jwts.parser().verifyWith(signingKey).build()
+                .parseSignedClaims(token).getHeader().getKeyId());
+    }
+
+    @Test
+    @DisplayName("Should verify tokens issued without a key id against the primary key")
+    void verify_TokenWithoutKeyId() {
+        String token = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(signingKey, Jwts.SIG.HS256)
+                .compact();
+
+        assertEquals("testuser", jwtService.verify(token).subject());
+    }
+
+    @Test
+    @DisplayName("Should sign with the rotated key and keep accepting live older keys")
+    void publishKeyRing_Rotation() {
+        String oldToken = jwtService.generateToken(userDetails);
+        SecretKey rotatedKey = Keys.hmacShaKeyFor("rotated-secret-key-that-is-long-enough-for-hs256".getBytes(StandardCharsets.UTF_8));
+
+        jwtService.publishKeyRing(new SigningKeyRing("k1", Map.of(
+                JwtService.PRIMARY_KEY_ID, jwtService.getPrimaryKey(),
+                "k1", rotatedKey)));
+        String newToken = jwtService.generateToken(userDetails);
+
+        assertEquals("k1", Jwts.parser().verifyWith(rotatedKey).build()
+                .parseSignedClaims(newToken).getHeader().getKeyId());
+        assertEquals("testuser", jwtService.verify(newToken).subject());
+        assertEquals("testuser", jwtService.verify(oldToken).subject());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with a retired or unknown key, even if cached")
+    void publishKeyRing_RetiredKey() {
+        ReflectionTestUtils.setField(jwtService, "verificationCacheSize", 100);
+        String oldToken = jwtService.generateToken(userDetails);
+        jwtService.verify(oldToken);
+        SecretKey rotatedKey = Keys.hmacShaKeyFor("rotated-secret-key-that-is-long-enough-for-hs256".getBytes(StandardCharsets.UTF_8));
+
+        jwtService.publishKeyRing(SigningKeyRing.single("k1", rotatedKey));
+
+        assertThrows(JwtException.class, () -> jwtService.verify(oldToken));
+        String forged = Jwts.builder()
+                .header().keyId("unknown").and()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(rotatedKey, Jwts.SIG.HS256)
+                .compact();
+        assertThrows(JwtException.class, () -> jwtService.verify(forged));
+    }
 }
@@ -0,0 +1,113 @@
+package com.example.userauth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT verification.
+ * {@code legacyValidate} reproduces the previous validateToken path: the key is rebuilt and
+ * the token parsed twice (username, then expiration). The other benchmarks measure a single
+ * verify with and without the verified-token cache, and an uncached verify against a ring of
+ * {@code RING_SIZE} live keys, which should cost the same as a single key (one lookup, one HMAC).
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    private static final int RING_SIZE = 8;
+
+    private JwtService uncachedService;
+    private JwtService cachedService;
+    private JwtService keyRingService;
+    private String token;
+    private String keyRingToken;
+
+    @Setup
+    public void setUp() {
+        uncachedService = newService(0);
+        cachedService = newService(10000);
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 42L);
+        claims.put("username", "benchmark");
+        claims.put("isAdmin", false);
+        claims.put("roles", List.of("ROLE_USER"));
+        token = uncachedService.generateToken(claims, "benchmark");
+        cachedService.verify(token);
+
+        keyRingService = newService(0);
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        for (int i = 0; i < RING_SIZE; i++) {
+            keys.put("k" + i, Keys.hmacShaKeyFor((SECRET + "-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        keyRingService.publishKeyRing(new SigningKeyRing("k" + (RING_SIZE - 1), keys));
+        keyRingToken = keyRingService.generateToken(claims, "benchmark");
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        String username = legacyParse(token).getSubject();
+        Date expiration = legacyParse(token).getExpiration();
+        return "benchmark".equals(username) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedService.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachedService.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncachedKeyRing() {
+        return keyRingService.verify(keyRingToken);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtService newService(int cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(service, "verificationCacheSize", cacheSize);
+        return service;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.userauth.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KeyManagementService Tests")
+class KeyManagementServiceTest {
+
+    private static final String SECRET = "mySecretKeyForTestingThatIsLongEnoughForHS256Algorithm123";
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(2);
+
+    private InMemorySigningKeyStore sharedStore;
+    private JwtService jwtServiceA;
+    private JwtService jwtServiceB;
+    private KeyManagementService nodeA;
+    private KeyManagementService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        // Two replicas sharing one store
+        sharedStore = new InMemorySigningKeyStore();
+        jwtServiceA = newJwtService();
+        jwtServiceB = newJwtService();
+        nodeA = newKeyManagementService(jwtServiceA);
+        nodeB = newKeyManagementService(jwtServiceB);
+    }
+
+    @Test
+    @DisplayName("Should accept a new key on every node before any node signs with it")
+    void rotate_StagesNewKey() {
+        Instant now = Instant.now();
+
+        nodeA.rotateJwtSecret(now);
+        nodeB.syncKeyRing(now);
+
+        assertEquals(1, sharedStore.loadKeys().size());
+        assertEquals(JwtService.PRIMARY_KEY_ID, jwtServiceA.getKeyRing().currentKid());
+        assertEquals(JwtService.PRIMARY_KEY_ID, jwtServiceB.getKeyRing().currentKid());
+        assertEquals(2, jwtServiceB.getKeyRing().size());
+    }
+
+    @Test
+    @DisplayName("Should let replicas verify each other's tokens after rotation")
+    void rotate_CrossNodeVerification() {
+        Instant now = Instant.now();
+        String primaryToken = jwtServiceA.generateToken(new HashMap<>(), "testuser");
+        nodeA.rotateJwtSecret(now);
+
+        Instant activated = now.plusSeconds(61);
+        nodeA.syncKeyRing(activated);
+        nodeB.syncKeyRing(activated);
+        String rotatedToken = jwtServiceA.generateToken(new HashMap<>(), "testuser");
+
+        String kid = sharedStore.loadKeys().get(0).kid();
+        assertEquals(kid, jwtServiceA.getKeyRing().currentKid());
+        assertEquals(kid, keyIdOf(rotatedToken));
+        assertEquals("testuser", jwtServiceB.verify(rotatedToken).subject());
+        assertEquals("testuser", jwtServiceB.verify(primaryToken).subject());
+    }
+
+    @Test
+    @DisplayName("Should rotate only once per interval across replicas")
+    void rotate_OncePerInterval() {
+        Instant now = Instant.now();
+
+        nodeA.rotateJwtSecret(now);
+        nodeB.rotateJwtSecret(now.plus(Duration.ofMinutes(5)));
+
+        assertEquals(1, sharedStore.loadKeys().size());
+
+        nodeB.rotateJwtSecret(now.plus(Duration.ofHours(25)));
+
+        assertEquals(2, sharedStore.loadKeys().size());
+    }
+
+    @Test
+    @DisplayName("Should retire keys once every token they signed has expired")
+    void rotate_RetiresExpiredKeys() {
+        Instant now = Instant.now();
+        String primaryToken = jwtServiceA.generateToken(new HashMap<>(), "testuser");
+        nodeA.rotateJwtSecret(now);
+        String firstKid = sharedStore.loadKeys().get(0).kid();
+
+        Instant second = now.plus(Duration.ofHours(25));
+        nodeA.rotateJwtSecret(second);
+        nodeA.syncKeyRing(second.plus(TOKEN_LIFETIME).plusSeconds(120));
+
+        assertNull(jwtServiceA.getKeyRing().key(JwtService.PRIMARY_KEY_ID));
+        assertNull(jwtServiceA.getKeyRing().key(firstKid));
+        assertThrows(JwtException.class, () -> jwtServiceA.verify(primaryToken));
+    }
+
+    @Test
+    @DisplayName("Should skip rotation while another node holds the lock")
+    void rotate_LockHeldElsewhere() {
+        assertTrue(sharedStore.tryAcquireRotationLock(Duration.ofMinutes(1)));
+
+        nodeA.rotateJwtSecret(Instant.now());
+
+        assertTrue(sharedStore.loadKeys().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should leave the primary key alone when rotation is disabled")
+    void rotate_Disabled() {
+        ReflectionTestUtils.setField(nodeA, "keyRotationEnabled", false);
+
+        nodeA.rotateJwtSecret();
+        nodeA.syncKeyRing();
+
+        assertTrue(sharedStore.loadKeys().isEmpty());
+        assertEquals(1, nodeA.getKeyRotationStatus().activeKeysCount());
+    }
+
+    private JwtService newJwtService() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(service, "refreshExpiration", TOKEN_LIFETIME.toMillis());
+        return service;
+    }
+
+    private KeyManagementService newKeyManagementService(JwtService jwtService) {
+        KeyManagementService service = new KeyManagementService(jwtService, sharedStore);
+        ReflectionTestUtils.setField(service, "keyRotationEnabled", true);
+        ReflectionTestUtils.setField(service, "rotationIntervalHours", 24);
+        ReflectionTestUtils.setField(service, "syncIntervalMs", 30000L);
+        ReflectionTestUtils.setField(service, "primaryJwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(service, "refreshExpiration", TOKEN_LIFETIME.toMillis());
+        return service;
+    }
+
+    private static String keyIdOf(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        return header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.userauth.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest {
+
+    private InMemoryTokenRevocationStore revocationStore;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        revocationStore = new InMemoryTokenRevocationStore();
+        tokenRevocationService = new TokenRevocationService(revocationStore);
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtExpiration", 3600000L);
+    }
+
+    @Test
+    @DisplayName("Should not revoke tokens for users without a mark")
+    void isRevoked_NoMark() {
+        assertFalse(tokenRevocationService.isRevoked(1L, Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens issued before the mark")
+    void isRevoked_IssuedBeforeMark() {
+        Instant issuedAt = Instant.now().minusSeconds(60);
+
+        tokenRevocationService.revokeUserTokens(1L);
+
+        assertTrue(tokenRevocationService.isRevoked(1L, issuedAt));
+        assertTrue(tokenRevocationService.isRevoked(1L, null));
+        assertFalse(tokenRevocationService.isRevoked(2L, issuedAt));
+    }
+
+    @Test
+    @DisplayName("Should accept tokens issued after the mark")
+    void isRevoked_IssuedAfterMark() {
+        tokenRevocationService.revokeUserTokens(1L);
+
+        Instant issuedAt = Instant.now().plusSeconds(60);
+
+        assertFalse(tokenRevocationService.isRevoked(1L, issuedAt));
+    }
+
+    @Test
+    @DisplayName("Should purge marks older than one token lifetime")
+    void purgeExpiredMarks() {
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtExpiration", -1000L);
+        tokenRevocationService.revokeUserTokens(1L);
+
+        revocationStore.purgeExpiredMarks();
+
+        assertEquals(0, revocationStore.size());
+        assertFalse(tokenRevocationService.isRevoked(1L, null));
+    }
+}
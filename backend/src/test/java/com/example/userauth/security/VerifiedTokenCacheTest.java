@@ -0,0 +1,70 @@
+package com.example.userauth.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Should return cached token until it expires")
+    void get_UntilExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        VerifiedToken verified = token(now.plusSeconds(60));
+
+        cache.put("a.b.c", verified, now);
+
+        assertSame(verified, cache.get("a.b.c", now.plusSeconds(59)));
+        assertNull(cache.get("a.b.c", now.plusSeconds(60)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not return entries for a different token")
+    void get_DifferentToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("a.b.c", token(now.plusSeconds(60)), now);
+
+        assertNull(cache.get("a.b.d", now));
+    }
+
+    @Test
+    @DisplayName("Should stay within its bound, evicting expired entries first")
+    void put_Bounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("t1", token(now.plusSeconds(1)), now);
+        cache.put("t2", token(now.plusSeconds(60)), now);
+
+        // t1 has expired by now, so it makes room for t3
+        cache.put("t3", token(now.plusSeconds(60)), now.plusSeconds(5));
+        // Both remaining entries are live, so t4 is not cached
+        cache.put("t4", token(now.plusSeconds(60)), now.plusSeconds(5));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("t3", now.plusSeconds(5)));
+        assertNull(cache.get("t4", now.plusSeconds(5)));
+    }
+
+    @Test
+    @DisplayName("Should cache nothing when disabled")
+    void put_Disabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+        cache.put("a.b.c", token(now.plusSeconds(60)), now);
+
+        assertNull(cache.get("a.b.c", now));
+        assertEquals(0, cache.size());
+    }
+
+    private VerifiedToken token(Instant expiration) {
+        return new VerifiedToken("testuser", 1L, false, List.of("ROLE_USER"), null,
+                now, expiration, Jwts.claims().build());
+    }
+}
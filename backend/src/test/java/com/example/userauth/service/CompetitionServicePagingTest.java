@@ -0,0 +1,167 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.CompetitionResponse;
+import com.example.userauth.dto.CursorPageResponse;
+import com.example.userauth.dto.ListPageRequest;
+import com.example.userauth.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CompetitionService.class)
+@DisplayName("CompetitionService keyset paging Tests")
+class CompetitionServicePagingTest {
+
+    @Autowired
+    private CompetitionService competitionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private RatingAggregateService ratingAggregateService;
+
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    private User creator;
+    private User judge;
+    private EvaluationModel model;
+
+    @BeforeEach
+    void setUp() {
+        creator = entityManager.persist(new User("creator", "passwordhash"));
+        judge = entityManager.persist(new User("judge", "passwordhash"));
+        model = entityManager.persist(new EvaluationModel("Test Model"));
+    }
+
+    @Test
+    @DisplayName("Pages should cover every competition once, newest first, even with equal creation times")
+    void getCompetitionPage_WalksAllCompetitions() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            created.add(createCompetition("Competition " + i, Competition.CompetitionStatus.ACTIVE).getId());
+        }
+        entityManager.flush();
+        // Same second for all, as MySQL TIMESTAMP columns store them: the id breaks the tie
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Competition c SET c.createdAt = :createdAt")
+                .setParameter("createdAt", LocalDateTime.of(2026, 10, 17, 9, 0))
+                .executeUpdate();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponse<CompetitionResponse> page = competitionService.getCompetitionPage(
+                    "all", creator.getId(), new ListPageRequest(3, cursor, null, null, null, null));
+            page.getItems().forEach(competition -> seen.add(competition.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Collections.reverse(created);
+        assertEquals(3, pages);
+        assertEquals(created, seen);
+    }
+
+    @Test
+    @DisplayName("Should filter competitions by scope, status and name")
+    void getCompetitionPage_Filters() {
+        Competition judged = createCompetition("Spring Apple Cup", Competition.CompetitionStatus.ACTIVE);
+        entityManager.persist(new CompetitionJudge(judged, judge));
+        createCompetition("Autumn Pear Cup", Competition.CompetitionStatus.ENDED);
+        createCompetition("100%_Juice", Competition.CompetitionStatus.ACTIVE);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("Spring Apple Cup"), names(competitionService.getCompetitionPage(
+                "judged", judge.getId(), new ListPageRequest(null, null, null, null, null, null))));
+        assertEquals(List.of("Autumn Pear Cup"), names(competitionService.getCompetitionPage(
+                "created", creator.getId(), new ListPageRequest(null, null, "ended", null, null, null))));
+        assertEquals(List.of("Spring Apple Cup"), names(competitionService.getCompetitionPage(
+                "all", judge.getId(), new ListPageRequest(null, null, null, creator.getId(), null, "apple"))));
+        // Wildcards in the query are matched literally
+        assertEquals(List.of("100%_Juice"), names(competitionService.getCompetitionPage(
+                "all", judge.getId(), new ListPageRequest(null, null, null, null, null, "%_"))));
+    }
+
+    @Test
+    @DisplayName("Should page a competition's entries in display order with a status filter")
+    void getCompetitionEntryPage_DisplayOrder() {
+        Competition competition = createCompetition("Competition", Competition.CompetitionStatus.ACTIVE);
+        for (int i = 1; i <= 5; i++) {
+            CompetitionEntry entry = new CompetitionEntry(competition, "Entry " + i, null, null, 6 - i);
+            entry.setStatus(i == 3 ? CompetitionEntry.EntryStatus.REJECTED : CompetitionEntry.EntryStatus.PENDING);
+            entityManager.persist(entry);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPageResponse<CompetitionResponse.EntryResponse> first = competitionService.getCompetitionEntryPage(
+                competition.getId(), new ListPageRequest(2, null, "PENDING", null, null, null)).orElseThrow();
+        CursorPageResponse<CompetitionResponse.EntryResponse> second = competitionService.getCompetitionEntryPage(
+                competition.getId(), new ListPageRequest(2, first.getNextCursor(), "PENDING", null, null, null))
+                .orElseThrow();
+
+        assertEquals(List.of("Entry 5", "Entry 4"),
+                first.getItems().stream().map(CompetitionResponse.EntryResponse::getEntryName).toList());
+        assertEquals(List.of("Entry 2", "Entry 1"),
+                second.getItems().stream().map(CompetitionResponse.EntryResponse::getEntryName).toList());
+        assertNull(second.getNextCursor());
+        assertTrue(competitionService.getCompetitionEntryPage(999999L, new ListPageRequest()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject cursors that were not issued for the list")
+    void getCompetitionPage_InvalidCursor() {
+        Competition competition = createCompetition("Competition", Competition.CompetitionStatus.ACTIVE);
+        entityManager.persist(new CompetitionEntry(competition, "Entry 1", null, null, 1));
+        entityManager.persist(new CompetitionEntry(competition, "Entry 2", null, null, 2));
+        entityManager.flush();
+        String entryCursor = competitionService.getCompetitionEntryPage(competition.getId(),
+                new ListPageRequest(1, null, null, null, null, null)).orElseThrow().getNextCursor();
+
+        assertNotNull(entryCursor);
+        assertThrows(IllegalArgumentException.class, () -> competitionService.getCompetitionPage(
+                "all", creator.getId(), new ListPageRequest(1, entryCursor, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> competitionService.getCompetitionPage(
+                "all", creator.getId(), new ListPageRequest(1, "not-a-cursor", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> competitionService.getCompetitionPage(
+                "all", creator.getId(), new ListPageRequest(1, null, "RUNNING", null, null, null)));
+    }
+
+    private Competition createCompetition(String name, Competition.CompetitionStatus status) {
+        Competition competition = new Competition(name, "Description", model, creator, LocalDateTime.now().plusDays(7));
+        competition.setStatus(status);
+        return entityManager.persist(competition);
+    }
+
+    private static List<String> names(CursorPageResponse<CompetitionResponse> page) {
+        return page.getItems().stream().map(CompetitionResponse::getName).toList();
+    }
+}
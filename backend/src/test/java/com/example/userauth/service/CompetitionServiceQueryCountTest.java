@@ -0,0 +1,151 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.CompetitionResponse;
+import com.example.userauth.dto.CompetitionSummaryResponse;
+import com.example.userauth.entity.*;
+import com.example.userauth.repository.RatingJudgeTotalRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against the per-competition N+1 in the competition lists: the statement count of the
+ * list and summary methods must not depend on the number of competitions.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CompetitionService.class)
+@DisplayName("CompetitionService query count Tests")
+class CompetitionServiceQueryCountTest {
+
+    private static final int MAX_LIST_STATEMENTS = 3;
+    private static final int MAX_SUMMARY_STATEMENTS = 4;
+
+    @Autowired
+    private CompetitionService competitionService;
+
+    @Autowired
+    private RatingJudgeTotalRepository judgeTotalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private RatingAggregateService ratingAggregateService;
+
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    private EvaluationModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = entityManager.persist(new EvaluationModel("Test Model"));
+    }
+
+    @Test
+    @DisplayName("List statement count should be the same for 2 and 10 competitions")
+    void getCompetitionsByCreator_StatementCountIndependentOfCompetitions() {
+        User small = createCompetitions("small", 2);
+        User large = createCompetitions("large", 10);
+
+        long smallStatements = countStatements(() -> competitionService.getCompetitionsByCreator(small.getId()), 2);
+        long largeStatements = countStatements(() -> competitionService.getCompetitionsByCreator(large.getId()), 10);
+
+        assertTrue(smallStatements > 0, "Hibernate statistics are not enabled");
+        assertEquals(smallStatements, largeStatements);
+        assertTrue(largeStatements <= MAX_LIST_STATEMENTS,
+                "getCompetitionsByCreator ran " + largeStatements + " statements");
+
+        List<CompetitionResponse> responses = competitionService.getCompetitionsByCreator(large.getId());
+        assertEquals(2, responses.get(0).getJudges().size());
+        assertEquals(3, responses.get(0).getEntries().size());
+        assertEquals("Test Model", responses.get(0).getModelName());
+    }
+
+    @Test
+    @DisplayName("Summary statement count should be the same for 2 and 10 competitions")
+    void getCompetitionSummaries_StatementCountIndependentOfCompetitions() {
+        User small = createCompetitions("small", 2);
+        User large = createCompetitions("large", 10);
+
+        long smallStatements = countStatements(() -> competitionService.getCompetitionSummaries("created", small.getId()), 2);
+        long largeStatements = countStatements(() -> competitionService.getCompetitionSummaries("created", large.getId()), 10);
+
+        assertEquals(smallStatements, largeStatements);
+        assertTrue(largeStatements <= MAX_SUMMARY_STATEMENTS,
+                "getCompetitionSummaries ran " + largeStatements + " statements");
+
+        CompetitionSummaryResponse summary = competitionService.getCompetitionSummaries("created", large.getId()).get(0);
+        assertEquals(2, summary.getApprovedEntries());
+        assertEquals(1, summary.getPendingEntries());
+        assertEquals(2, summary.getJudgeCount());
+        // One judge rated both approved entries; the rating of the pending entry does not count
+        assertEquals(2, summary.getJudgedEntries());
+        assertEquals(50, summary.getRatingProgress());
+        assertEquals(large.getUsername(), summary.getCreatorUsername());
+    }
+
+    private long countStatements(Supplier<List<?>> call, int expectedCompetitions) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(expectedCompetitions, call.get().size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Competitions of a new creator, each with two judges, two approved entries and a pending one,
+     * where the first judge has rated every entry
+     */
+    private User createCompetitions(String prefix, int count) {
+        User creator = entityManager.persist(new User(prefix + "_creator", "passwordhash"));
+        for (int i = 1; i <= count; i++) {
+            Competition competition = entityManager.persist(new Competition(prefix + " " + i, "Description",
+                    model, creator, LocalDateTime.now().plusDays(7)));
+            User firstJudge = entityManager.persist(new User(prefix + "_judge_a" + i, "passwordhash"));
+            User secondJudge = entityManager.persist(new User(prefix + "_judge_b" + i, "passwordhash"));
+            entityManager.persist(new CompetitionJudge(competition, firstJudge));
+            entityManager.persist(new CompetitionJudge(competition, secondJudge));
+            for (int e = 1; e <= 3; e++) {
+                CompetitionEntry entry = new CompetitionEntry(competition, prefix + " Entry " + e, null, null, e);
+                entry.setContestant(creator);
+                entry.setStatus(e < 3 ? CompetitionEntry.EntryStatus.APPROVED : CompetitionEntry.EntryStatus.PENDING);
+                entry = entityManager.persist(entry);
+                judgeTotalRepository.addToTotals(competition.getId(), firstJudge.getId(),
+                        Map.of(entry.getId(), new BigDecimal("8.00")), LocalDateTime.now());
+            }
+        }
+        return creator;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.userauth.service;
 
 import com.example.userauth.dto.CompetitionRequest;
 import com.example.userauth.dto.CompetitionResponse;
+import com.example.userauth.dto.CompetitionSummaryResponse;
 import com.example.userauth.dto.EntryRequest;
 import com.example.userauth.entity.*;
 import com.example.userauth.repository.*;
@@ -48,6 +49,18 @@ class CompetitionServiceTest {
     @Mock
     private FileStorageService fileStorageService;
 
+    @Mock
+    private RatingAggregateService ratingAggregateService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private RatingJudgeTotalRepository judgeTotalRepository;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private CompetitionService competitionService;
 
@@ -199,6 +212,69 @@ class CompetitionServiceTest {
         verify(competitionRepository).findByJudgeIdOrderByCreatedAtDesc(2L);
     }
 
+    @Test
+    @DisplayName("Should load the judges and entries of all listed competitions in one query each")
+    void getCompetitionsByJudge_BatchFetchesCollections() {
+        // Given
+        when(competitionRepository.findByJudgeIdOrderByCreatedAtDesc(2L))
+                .thenReturn(Arrays.asList(competition, competition2));
+        when(judgeRepository.findByCompetitionIdInWithJudge(List.of(1L, 2L))).thenReturn(List.of(competitionJudge));
+        when(entryRepository.findByCompetitionIdInWithContestant(List.of(1L, 2L))).thenReturn(List.of(entry));
+
+        // When
+        List<CompetitionResponse> responses = competitionService.getCompetitionsByJudge(2L);
+
+        // Then
+        assertEquals(1, responses.get(0).getJudges().size());
+        assertEquals("judge", responses.get(0).getJudges().get(0).getUsername());
+        assertEquals(1, responses.get(0).getEntries().size());
+        assertTrue(responses.get(1).getJudges().isEmpty());
+        assertTrue(responses.get(1).getEntries().isEmpty());
+        verify(judgeRepository).findByCompetitionIdInWithJudge(anyCollection());
+        verify(entryRepository).findByCompetitionIdInWithContestant(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should build competition summaries from grouped counts")
+    void getCompetitionSummaries_Success() {
+        // Given
+        when(competitionRepository.findActiveSummaries()).thenReturn(List.of(
+                new CompetitionSummaryRow(1L, "测试赛事", "测试描述", 1L, "测试模型", 1L, "creator",
+                        competition.getDeadline(), Competition.CompetitionStatus.ACTIVE, null, null),
+                new CompetitionSummaryRow(2L, "测试赛事2", null, 1L, "测试模型", 1L, "creator",
+                        competition2.getDeadline(), Competition.CompetitionStatus.ACTIVE, null, null)));
+        when(entryRepository.countByCompetitionIdInGroupByStatus(List.of(1L, 2L))).thenReturn(List.of(
+                new EntryStatusCount(1L, CompetitionEntry.EntryStatus.APPROVED, 4L),
+                new EntryStatusCount(1L, CompetitionEntry.EntryStatus.PENDING, 1L)));
+        when(judgeRepository.countByCompetitionIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new CompetitionCount(1L, 2L), new CompetitionCount(2L, 3L)));
+        when(judgeTotalRepository.countJudgedEntriesByCompetitionIdIn(List.of(1L, 2L), CompetitionEntry.EntryStatus.APPROVED))
+                .thenReturn(List.of(new CompetitionCount(1L, 6L)));
+
+        // When
+        List<CompetitionSummaryResponse> summaries = competitionService.getCompetitionSummaries("all", 1L);
+
+        // Then
+        assertEquals(2, summaries.size());
+        CompetitionSummaryResponse first = summaries.get(0);
+        assertEquals("测试模型", first.getModelName());
+        assertEquals(4, first.getApprovedEntries());
+        assertEquals(1, first.getPendingEntries());
+        assertEquals(0, first.getRejectedEntries());
+        assertEquals(2, first.getJudgeCount());
+        assertEquals(6, first.getJudgedEntries());
+        assertEquals(75, first.getRatingProgress());
+        assertEquals(3, summaries.get(1).getJudgeCount());
+        assertEquals(0, summaries.get(1).getRatingProgress());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown summary scope")
+    void getCompetitionSummaries_UnknownScope() {
+        assertThrows(IllegalArgumentException.class, () -> competitionService.getCompetitionSummaries("mine", 1L));
+        verifyNoInteractions(competitionRepository);
+    }
+
     @Test
     @DisplayName("Should get active competition by id successfully")
     void getCompetitionById_Success() {
@@ -632,6 +708,7 @@ class CompetitionServiceTest {
 
         // Then
         verify(entryRepository).delete(entry);
+        verify(ratingAggregateService).removeEntry(1L);
     }
 
     @Test
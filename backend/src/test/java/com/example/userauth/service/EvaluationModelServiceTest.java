@@ -34,6 +34,9 @@ class EvaluationModelServiceTest {
     @Mock
     private EvaluationParameterRepository parameterRepository;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private EvaluationModelService modelService;
 
@@ -0,0 +1,203 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.Competition;
+import com.example.userauth.entity.User;
+import com.example.userauth.repository.CompetitionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportArchiveService Tests")
+class ExportArchiveServiceTest {
+
+    @Mock
+    private CompetitionRepository competitionRepository;
+
+    @Mock
+    private RatingDataService ratingDataService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should put every competition's CSV and a manifest with rows and checksums in the archive")
+    void writeArchive_WritesEntriesAndManifest() throws Exception {
+        Competition first = competition(1L, "春季赛", 7L);
+        Competition second = competition(2L, "秋季赛", 7L);
+        when(ratingDataService.writeCompetitionCsv(anyLong(), any(OutputStream.class), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    Long competitionId = invocation.getArgument(0);
+                    OutputStream out = invocation.getArgument(1);
+                    out.write(("header\nrow-" + competitionId + "\n").getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service().writeArchive(List.of(first, second), out);
+
+        Map<String, byte[]> entries = unzip(out.toByteArray());
+        assertEquals(List.of("competition_1_ratings.csv", "competition_2_ratings.csv"),
+                entries.keySet().stream().filter(name -> name.endsWith(".csv")).sorted().toList());
+        assertEquals("header\nrow-2\n", new String(entries.get("competition_2_ratings.csv"), StandardCharsets.UTF_8));
+
+        JsonNode manifest = objectMapper.readTree(entries.get(ExportArchiveService.MANIFEST_ENTRY));
+        JsonNode competitions = manifest.get("competitions");
+        assertEquals(2, competitions.size());
+        assertEquals(1L, competitions.get(0).get("competitionId").asLong());
+        assertEquals("春季赛", competitions.get(0).get("competitionName").asText());
+        assertEquals(1L, competitions.get(0).get("rows").asLong());
+        byte[] csv = entries.get("competition_1_ratings.csv");
+        assertEquals(csv.length, competitions.get(0).get("bytes").asLong());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(csv)),
+                competitions.get(0).get("sha256").asText());
+    }
+
+    @Test
+    @DisplayName("Should send the first competition to the client before the others are finished")
+    void writeArchive_FirstEntryFlushedEarly() throws Exception {
+        Competition first = competition(1L, "春季赛", 7L);
+        Competition second = competition(2L, "秋季赛", 7L);
+        CountDownLatch firstSent = new CountDownLatch(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                if (size() > 0) {
+                    firstSent.countDown();
+                }
+            }
+        };
+        when(ratingDataService.writeCompetitionCsv(eq(1L), any(OutputStream.class), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, OutputStream.class).write("header\nrow-1\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+        when(ratingDataService.writeCompetitionCsv(eq(2L), any(OutputStream.class), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    // Only finishes once the client has the first entry
+                    if (!firstSent.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("first entry was not sent");
+                    }
+                    invocation.getArgument(1, OutputStream.class).write("header\nrow-2\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        service().writeArchive(List.of(first, second), out);
+
+        Map<String, byte[]> entries = unzip(out.toByteArray());
+        assertEquals("header\nrow-1\n", new String(entries.get("competition_1_ratings.csv"), StandardCharsets.UTF_8));
+        assertEquals("header\nrow-2\n", new String(entries.get("competition_2_ratings.csv"), StandardCharsets.UTF_8));
+        JsonNode competitions = objectMapper.readTree(entries.get(ExportArchiveService.MANIFEST_ENTRY)).get("competitions");
+        assertFalse(competitions.get(1).has("error"));
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                        .digest(entries.get("competition_1_ratings.csv"))),
+                competitions.get(0).get("sha256").asText());
+    }
+
+    @Test
+    @DisplayName("Should leave a failed competition out of the archive and report it in the manifest")
+    void writeArchive_FailedCompetition_ReportedInManifest() throws Exception {
+        Competition first = competition(1L, "春季赛", 7L);
+        Competition second = competition(2L, "秋季赛", 7L);
+        when(ratingDataService.writeCompetitionCsv(eq(1L), any(OutputStream.class), any(LongConsumer.class)))
+                .thenReturn(0L);
+        when(ratingDataService.writeCompetitionCsv(eq(2L), any(OutputStream.class), any(LongConsumer.class)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service().writeArchive(List.of(first, second), out);
+
+        Map<String, byte[]> entries = unzip(out.toByteArray());
+        assertTrue(entries.containsKey("competition_1_ratings.csv"));
+        assertFalse(entries.containsKey("competition_2_ratings.csv"));
+        JsonNode failed = objectMapper.readTree(entries.get(ExportArchiveService.MANIFEST_ENTRY))
+                .get("competitions").get(1);
+        assertEquals(2L, failed.get("competitionId").asLong());
+        assertTrue(failed.has("error"));
+        assertFalse(failed.has("sha256"));
+    }
+
+    @Test
+    @DisplayName("Should refuse competitions created by someone else")
+    void resolveCompetitions_OtherCreator_Denied() {
+        when(competitionRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(competition(1L, "春季赛", 7L), competition(2L, "秋季赛", 8L)));
+
+        assertThrows(AccessDeniedException.class,
+                () -> service().resolveCompetitions(List.of(1L, 2L, 1L), null, null, 7L));
+    }
+
+    @Test
+    @DisplayName("Should select ended competitions by deadline, including the last day of the range")
+    void resolveCompetitions_DateRange() {
+        List<Competition> ended = List.of(competition(3L, "冬季赛", 7L));
+        when(competitionRepository.findEndedByCreatorIdAndDeadlineBetween(7L,
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 4, 1, 0, 0)))
+                .thenReturn(ended);
+
+        assertEquals(ended, service().resolveCompetitions(null,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31), 7L));
+        assertThrows(IllegalArgumentException.class,
+                () -> service().resolveCompetitions(null, null, null, 7L));
+    }
+
+    private ExportArchiveService service() {
+        return new ExportArchiveService(competitionRepository, ratingDataService, objectMapper, executor, 50);
+    }
+
+    private static Competition competition(Long id, String name, Long creatorId) {
+        User creator = new User("creator" + creatorId, "password", true);
+        creator.setId(creatorId);
+        Competition competition = new Competition();
+        competition.setId(id);
+        competition.setName(name);
+        competition.setCreator(creator);
+        return competition;
+    }
+
+    private static Map<String, byte[]> unzip(byte[] archive) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.ExportJob;
+import com.example.userauth.entity.ExportJob.ExportStatus;
+import com.example.userauth.exception.ExportJobRejectedException;
+import com.example.userauth.repository.CompetitionRatingRepository;
+import com.example.userauth.repository.ExportJobRepository;
+import com.example.userauth.repository.RatingDataVersion;
+import com.example.userauth.repository.RatingJudgeTotalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportJobService Tests")
+class ExportJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ExportJobRepository exportJobRepository;
+
+    @Mock
+    private CompetitionRatingRepository ratingRepository;
+
+    @Mock
+    private RatingJudgeTotalRepository judgeTotalRepository;
+
+    @Mock
+    private RatingDataService ratingDataService;
+
+    @Mock
+    private FileValidationService fileValidationService;
+
+    private FileStorageService fileStorageService;
+
+    private static final RatingDataVersion VERSION =
+            new RatingDataVersion(4L, new BigDecimal("30.00"), LocalDateTime.of(2026, 10, 1, 12, 0));
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(tempDir.toString(), fileValidationService);
+        lenient().when(ratingRepository.findDataVersion(1L)).thenReturn(VERSION);
+    }
+
+    @Test
+    @DisplayName("Should run a new job and publish the file once it is complete")
+    void startExport_NewVersion_WritesArtifact() throws Exception {
+        ExportJob job = job(5L, ExportStatus.PENDING, LocalDateTime.now());
+        when(exportJobRepository.findByCompetitionIdAndDataVersion(1L, VERSION.fingerprint()))
+                .thenReturn(Optional.empty());
+        when(exportJobRepository.saveAndFlush(any(ExportJob.class))).thenReturn(job);
+        when(exportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(judgeTotalRepository.countByCompetitionId(1L)).thenReturn(2L);
+        when(exportJobRepository.markRunning(eq(5L), eq(0), eq(2L), any())).thenReturn(1);
+        when(exportJobRepository.updateProgress(eq(5L), eq(0), anyLong(), any())).thenReturn(1);
+        when(exportJobRepository.markCompleted(eq(5L), eq(0), anyLong(), anyString(), anyLong(), any()))
+                .thenReturn(1);
+        when(ratingDataService.writeCompetitionCsv(eq(1L), any(OutputStream.class), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(1);
+                    LongConsumer progress = invocation.getArgument(2);
+                    out.write("header\n".getBytes(StandardCharsets.UTF_8));
+                    out.write("row1\n".getBytes(StandardCharsets.UTF_8));
+                    progress.accept(1);
+                    out.write("row2\n".getBytes(StandardCharsets.UTF_8));
+                    progress.accept(2);
+                    return 2L;
+                });
+
+        ExportJob started = service(Runnable::run).startExport(1L, 9L);
+
+        assertEquals(5L, started.getId());
+        Path file = fileStorageService.getExportFilePath("competition_1_ratings_5.csv");
+        assertEquals("header\nrow1\nrow2\n", Files.readString(file));
+        assertFalse(Files.exists(file.resolveSibling("competition_1_ratings_5.csv.0.part")));
+        verify(exportJobRepository).updateProgress(eq(5L), eq(0), eq(2L), any());
+        verify(exportJobRepository, never()).updateProgress(eq(5L), eq(0), eq(1L), any());
+        verify(exportJobRepository).markCompleted(eq(5L), eq(0), eq(2L), eq("competition_1_ratings_5.csv"),
+                eq(Files.size(file)), any());
+    }
+
+    @Test
+    @DisplayName("Should return the running job for an unchanged competition")
+    void startExport_SameVersion_ReturnsExistingJob() {
+        ExportJob running = job(5L, ExportStatus.RUNNING, LocalDateTime.now());
+        when(exportJobRepository.findByCompetitionIdAndDataVersion(1L, VERSION.fingerprint()))
+                .thenReturn(Optional.of(running));
+        Executor executor = mock(Executor.class);
+
+        ExportJob started = service(executor).startExport(1L, 9L);
+
+        assertSame(running, started);
+        verify(exportJobRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    @DisplayName("Should start a failed job again")
+    void startExport_FailedJob_Restarts() {
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(1);
+        ExportJob failed = job(5L, ExportStatus.FAILED, updatedAt);
+        ExportJob restarted = job(5L, ExportStatus.PENDING, LocalDateTime.now());
+        restarted.setAttempt(1);
+        when(exportJobRepository.findByCompetitionIdAndDataVersion(1L, VERSION.fingerprint()))
+                .thenReturn(Optional.of(failed));
+        when(exportJobRepository.restart(eq(5L), eq(ExportStatus.FAILED), eq(updatedAt), eq(9L), any()))
+                .thenReturn(1);
+        when(exportJobRepository.findById(5L)).thenReturn(Optional.of(restarted));
+        Executor executor = mock(Executor.class);
+
+        ExportJob started = service(executor).startExport(1L, 9L);
+
+        assertSame(restarted, started);
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse the job and mark it failed when the queue is full")
+    void startExport_QueueFull_Rejects() {
+        ExportJob job = job(5L, ExportStatus.PENDING, LocalDateTime.now());
+        when(exportJobRepository.findByCompetitionIdAndDataVersion(1L, VERSION.fingerprint()))
+                .thenReturn(Optional.empty());
+        when(exportJobRepository.saveAndFlush(any(ExportJob.class))).thenReturn(job);
+
+        ExportJobService service = service(runnable -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        ExportJobRejectedException exception = assertThrows(ExportJobRejectedException.class,
+                () -> service.startExport(1L, 9L));
+
+        assertEquals(30, exception.getRetryAfterSeconds());
+        verify(exportJobRepository).markFailed(eq(5L), eq(0), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep a queued job alive with heartbeats instead of restarting it")
+    void startExport_QueuedJob_HeartbeatKeepsItFromGoingStale() {
+        ExportJob job = job(5L, ExportStatus.PENDING, LocalDateTime.now());
+        when(exportJobRepository.findByCompetitionIdAndDataVersion(1L, VERSION.fingerprint()))
+                .thenReturn(Optional.empty());
+        when(exportJobRepository.saveAndFlush(any(ExportJob.class))).thenReturn(job);
+        when(exportJobRepository.heartbeat(eq(5L), eq(0), any())).thenReturn(1);
+        // Never dequeued while the test runs
+        ExportJobService service = service(runnable -> { });
+
+        service.startExport(1L, 9L);
+        service.heartbeat();
+        service.heartbeat();
+
+        verify(exportJobRepository, times(2)).heartbeat(eq(5L), eq(0), any());
+    }
+
+    @Test
+    @DisplayName("Should not run an attempt that was restarted while it waited in the queue")
+    void runExport_ClaimLost_DoesNothing() throws Exception {
+        ExportJob job = job(5L, ExportStatus.PENDING, LocalDateTime.now());
+        when(exportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.markRunning(eq(5L), eq(0), anyLong(), any())).thenReturn(0);
+
+        service(Runnable::run).runExport(5L, 0);
+
+        verifyNoInteractions(ratingDataService);
+        verify(exportJobRepository, never()).markFailed(anyLong(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop writing and leave the job alone once a newer attempt took it over")
+    void runExport_Superseded_StopsWithoutTouchingJob() throws Exception {
+        ExportJob job = job(5L, ExportStatus.PENDING, LocalDateTime.now());
+        when(exportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.markRunning(eq(5L), eq(0), anyLong(), any())).thenReturn(1);
+        when(exportJobRepository.updateProgress(eq(5L), eq(0), anyLong(), any())).thenReturn(0);
+        when(ratingDataService.writeCompetitionCsv(eq(1L), any(OutputStream.class), any(LongConsumer.class)))
+                .thenAnswer(invocation -> {
+                    LongConsumer progress = invocation.getArgument(2);
+                    progress.accept(2);
+                    return 2L;
+                });
+
+        service(Runnable::run).runExport(5L, 0);
+
+        verify(exportJobRepository, never()).markCompleted(anyLong(), anyInt(), anyLong(), anyString(), anyLong(), any());
+        verify(exportJobRepository, never()).markFailed(anyLong(), anyInt(), anyString(), any());
+        try (var files = Files.list(tempDir.resolve("exports"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should mark the job failed and leave no partial file when writing fails")
+    void runExport_WriteFails_MarksFailed() throws Exception {
+        ExportJob job = job(5L, ExportStatus.PENDING, LocalDateTime.now());
+        when(exportJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.markRunning(eq(5L), eq(0), anyLong(), any())).thenReturn(1);
+        when(ratingDataService.writeCompetitionCsv(eq(1L), any(OutputStream.class), any(LongConsumer.class)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        service(Runnable::run).runExport(5L, 0);
+
+        verify(exportJobRepository).markFailed(eq(5L), eq(0), anyString(), any());
+        verify(exportJobRepository, never()).markCompleted(anyLong(), anyInt(), anyLong(), anyString(), anyLong(), any());
+        try (var files = Files.list(tempDir.resolve("exports"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private ExportJobService service(Executor executor) {
+        return new ExportJobService(exportJobRepository, ratingRepository, judgeTotalRepository,
+                ratingDataService, fileStorageService, executor, TransactionOperations.withoutTransaction(),
+                new SimpleMeterRegistry(), 2L, 600_000L, 24L, 30L);
+    }
+
+    private static ExportJob job(Long id, ExportStatus status, LocalDateTime updatedAt) {
+        ExportJob job = new ExportJob(1L, VERSION.fingerprint(), 9L);
+        job.setId(id);
+        job.setStatus(status);
+        job.setUpdatedAt(updatedAt);
+        return job;
+    }
+}
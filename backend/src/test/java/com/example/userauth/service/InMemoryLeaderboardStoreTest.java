@@ -0,0 +1,92 @@
+package com.example.userauth.service;
+
+import com.example.userauth.service.LeaderboardStore.RankedEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryLeaderboardStore Tests")
+class InMemoryLeaderboardStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private InMemoryLeaderboardStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryLeaderboardStore();
+    }
+
+    @Test
+    @DisplayName("Should rank entries by score, highest first")
+    void range_HighestFirst() {
+        store.replace(1L, Map.of(10L, 70.0, 11L, 95.5, 12L, 82.0), TTL);
+
+        List<RankedEntry> top = store.range(1L, 0, 2);
+
+        assertEquals(List.of(new RankedEntry(1, 11L, 95.5), new RankedEntry(2, 12L, 82.0)), top);
+        assertEquals(List.of(new RankedEntry(3, 10L, 70.0)), store.range(1L, 2, 10));
+        assertTrue(store.range(1L, 3, 10).isEmpty());
+        assertEquals(3, store.size(1L));
+    }
+
+    @Test
+    @DisplayName("Should break ties like a reversed Redis sorted set")
+    void range_TiesByMemberDescending() {
+        store.replace(1L, Map.of(9L, 50.0, 10L, 50.0, 2L, 50.0), TTL);
+
+        // Members compare as strings: "9" > "2" > "10"
+        List<RankedEntry> ranked = store.range(1L, 0, 3);
+
+        assertEquals(List.of(9L, 2L, 10L), ranked.stream().map(RankedEntry::entryId).toList());
+    }
+
+    @Test
+    @DisplayName("Should report the rank of an entry")
+    void rankOf_Entry() {
+        store.replace(1L, Map.of(10L, 70.0, 11L, 95.5), TTL);
+
+        assertEquals(new RankedEntry(2, 10L, 70.0), store.rankOf(1L, 10L));
+        assertNull(store.rankOf(1L, 99L));
+    }
+
+    @Test
+    @DisplayName("Should only update boards that exist")
+    void updateIfPresent_OnlyExistingBoards() {
+        store.updateIfPresent(1L, Map.of(10L, 70.0));
+        assertFalse(store.exists(1L));
+
+        store.replace(1L, Map.of(10L, 70.0), TTL);
+        store.updateIfPresent(1L, Map.of(11L, 90.0, 10L, 60.0));
+
+        assertEquals(1, store.rankOf(1L, 11L).rank());
+        assertEquals(new RankedEntry(2, 10L, 60.0), store.rankOf(1L, 10L));
+    }
+
+    @Test
+    @DisplayName("Should remove entries and evict boards")
+    void removeEntryAndEvict() {
+        store.replace(1L, Map.of(10L, 70.0, 11L, 95.5), TTL);
+
+        store.removeEntry(1L, 11L);
+        assertEquals(1, store.size(1L));
+
+        store.evict(1L);
+        assertFalse(store.exists(1L));
+    }
+
+    @Test
+    @DisplayName("Should drop boards once their TTL has passed")
+    void exists_ExpiredBoard() {
+        store.replace(1L, Map.of(10L, 70.0), Duration.ZERO);
+
+        assertFalse(store.exists(1L));
+        assertTrue(store.range(1L, 0, 10).isEmpty());
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.LeaderboardResponse;
+import com.example.userauth.entity.CompetitionEntry;
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
+import com.example.userauth.entity.RatingJudgeTotal;
+import com.example.userauth.entity.RatingParameterAggregate;
+import com.example.userauth.repository.CompetitionEntryRepository;
+import com.example.userauth.repository.CompetitionRepository;
+import com.example.userauth.repository.JudgeTotalSummary;
+import com.example.userauth.repository.ParameterScoreSummary;
+import com.example.userauth.repository.RatingJudgeTotalRepository;
+import com.example.userauth.repository.RatingParameterAggregateRepository;
+import com.example.userauth.service.RatingAggregateService.EntryAggregates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderboardService Tests")
+class LeaderboardServiceTest {
+
+    @Spy
+    private LeaderboardStore leaderboardStore = new InMemoryLeaderboardStore();
+
+    @Mock
+    private CompetitionEntryRepository entryRepository;
+
+    @Mock
+    private RatingParameterAggregateRepository parameterAggregateRepository;
+
+    @Mock
+    private RatingJudgeTotalRepository judgeTotalRepository;
+
+    @Mock
+    private CompetitionRepository competitionRepository;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    private CompetitionEntry entryA;
+    private CompetitionEntry entryB;
+    private CompetitionEntry entryC;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(leaderboardService, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(leaderboardService, "maxPageSize", 2);
+
+        entryA = entry(1L, "作品A");
+        entryB = entry(2L, "作品B");
+        entryC = entry(3L, "作品C");
+    }
+
+    @Test
+    @DisplayName("Should rebuild from aggregates on a cache miss, then serve from the store")
+    void getTop_RebuildsOnMiss() {
+        stubCompetition();
+
+        LeaderboardResponse top = leaderboardService.getTop(1L, 10);
+
+        // Capped at the maximum page size; entry C has no ratings and ranks last
+        assertEquals(3L, top.getTotalEntries());
+        assertEquals(2, top.getSize());
+        assertEquals(List.of(2L, 1L), top.getEntries().stream().map(LeaderboardResponse.LeaderboardEntry::getEntryId).toList());
+        assertEquals(75.0, top.getEntries().get(0).getAverageTotalScore());
+        assertEquals("作品B", top.getEntries().get(0).getEntryName());
+
+        leaderboardService.getTop(1L, 10);
+        verify(parameterAggregateRepository, times(1)).findByCompetitionId(1L);
+    }
+
+    @Test
+    @DisplayName("Should page through the leaderboard")
+    void getPage_SecondPage() {
+        stubCompetition();
+
+        LeaderboardResponse page = leaderboardService.getPage(1L, 1, 2);
+
+        assertEquals(1, page.getEntries().size());
+        assertEquals(3L, page.getEntries().get(0).getRank());
+        assertEquals(3L, page.getEntries().get(0).getEntryId());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid paging parameters")
+    void getPage_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getPage(1L, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getPage(1L, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should report an entry's rank and reject unranked entries")
+    void getEntryRank() {
+        stubCompetition();
+
+        assertEquals(2L, leaderboardService.getEntryRank(1L, 1L).getRank());
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getEntryRank(1L, 99L));
+    }
+
+    @Test
+    @DisplayName("Should move entries when their scores change, in one store update from the loaded aggregates")
+    void onEntriesScoresChanged_UpdatesRanks() {
+        stubCompetition();
+        leaderboardService.getTop(1L, 2);
+
+        leaderboardService.onEntriesScoresChanged(1L, List.of(
+                changed(3L, List.of(parameterScore(3L, 1L, "180.00", 2)), List.of()),
+                changed(1L, List.of(parameterScore(1L, 1L, "20.00", 2)), List.of())));
+
+        assertEquals(1L, leaderboardService.getEntryRank(1L, 3L).getRank());
+        assertEquals(3L, leaderboardService.getEntryRank(1L, 1L).getRank());
+        verify(leaderboardStore).updateIfPresent(1L, Map.of(3L, 90.0, 1L, 10.0));
+        verify(parameterAggregateRepository, never()).findByEntryId(any());
+    }
+
+    @Test
+    @DisplayName("Should not create a board when scores change before the first read")
+    void onEntriesScoresChanged_NoBoard() {
+        leaderboardService.onEntriesScoresChanged(1L,
+                List.of(changed(3L, List.of(parameterScore(3L, 1L, "180.00", 2)), List.of())));
+
+        assertFalse(leaderboardStore.exists(1L));
+    }
+
+    @Test
+    @DisplayName("Should drop the board on evict so the next read rebuilds it")
+    void evict_ForcesRebuild() {
+        stubCompetition();
+        leaderboardService.getTop(1L, 2);
+
+        leaderboardService.evict(1L);
+        leaderboardService.getTop(1L, 2);
+
+        verify(parameterAggregateRepository, times(2)).findByCompetitionId(1L);
+    }
+
+    @Test
+    @DisplayName("Should rank by the median when the model aggregates by median, even where the mean disagrees")
+    void rebuild_MedianModel_RanksByMedian() {
+        stubMedianCompetition();
+
+        LeaderboardResponse top = leaderboardService.getTop(1L, 2);
+
+        // Means: A 65, B 70; medians: A 90, B 70
+        assertEquals(List.of(1L, 2L), top.getEntries().stream().map(LeaderboardResponse.LeaderboardEntry::getEntryId).toList());
+        assertEquals(90.0, top.getEntries().get(0).getAverageTotalScore());
+        assertEquals(70.0, top.getEntries().get(1).getAverageTotalScore());
+        assertEquals(3L, leaderboardService.getEntryRank(1L, 3L).getRank());
+        verify(parameterAggregateRepository, never()).findByCompetitionId(any());
+    }
+
+    @Test
+    @DisplayName("Should push the entry's new median when its scores change")
+    void onEntriesScoresChanged_MedianModel_UpdatesRank() {
+        stubMedianCompetition();
+        leaderboardService.getTop(1L, 2);
+
+        leaderboardService.onEntriesScoresChanged(1L, List.of(changed(2L, List.of(), List.of(
+                totalSummary(2L, 11L, "95.00"), totalSummary(2L, 12L, "92.00"), totalSummary(2L, 13L, "10.00")))));
+
+        assertEquals(1L, leaderboardService.getEntryRank(1L, 2L).getRank());
+        assertEquals(92.0, leaderboardService.getEntryRank(1L, 2L).getAverageTotalScore());
+    }
+
+    @Test
+    @DisplayName("Should drop the board when a judge-normalised score changes, since every entry moves")
+    void onEntriesScoresChanged_ZScoreModel_Evicts() {
+        stubCompetition();
+        leaderboardService.getTop(1L, 2);
+        when(competitionRepository.findAggregationMethodById(1L)).thenReturn(Optional.of(AggregationMethod.Z_SCORE));
+
+        leaderboardService.onEntriesScoresChanged(1L, List.of(changed(3L, List.of(), List.of())));
+
+        assertFalse(leaderboardStore.exists(1L));
+        verifyNoInteractions(judgeTotalRepository);
+    }
+
+    private void stubMedianCompetition() {
+        when(competitionRepository.findAggregationMethodById(1L)).thenReturn(Optional.of(AggregationMethod.MEDIAN));
+        when(entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(1L, CompetitionEntry.EntryStatus.APPROVED))
+                .thenReturn(Arrays.asList(entryA, entryB, entryC));
+        // A: one harsh judge pulls the mean below B's, the median stays high; C: unrated
+        when(judgeTotalRepository.findByCompetitionId(1L)).thenReturn(List.of(
+                judgeTotal(1L, 11L, "10.00"), judgeTotal(1L, 12L, "90.00"), judgeTotal(1L, 13L, "95.00"),
+                judgeTotal(2L, 11L, "70.00"), judgeTotal(2L, 12L, "70.00"), judgeTotal(2L, 13L, "70.00")));
+        lenient().when(entryRepository.findAllById(anyIterable()))
+                .thenReturn(Arrays.asList(entryA, entryB, entryC));
+    }
+
+    private static RatingJudgeTotal judgeTotal(Long entryId, Long judgeId, String totalScore) {
+        RatingJudgeTotal total = new RatingJudgeTotal(1L, entryId, judgeId);
+        total.setTotalScore(new BigDecimal(totalScore));
+        return total;
+    }
+
+    private static EntryAggregates changed(Long entryId, List<ParameterScoreSummary> parameterScores,
+                                           List<JudgeTotalSummary> judgeTotals) {
+        return new EntryAggregates(entryId, parameterScores, judgeTotals);
+    }
+
+    private static ParameterScoreSummary parameterScore(Long entryId, Long parameterId, String scoreSum, long ratingCount) {
+        return new ParameterScoreSummary(1L, entryId, parameterId, new BigDecimal(scoreSum), BigDecimal.ZERO, ratingCount);
+    }
+
+    private static JudgeTotalSummary totalSummary(Long entryId, Long judgeId, String totalScore) {
+        return new JudgeTotalSummary(1L, entryId, judgeId, new BigDecimal(totalScore));
+    }
+
+    private void stubCompetition() {
+        when(entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(1L, CompetitionEntry.EntryStatus.APPROVED))
+                .thenReturn(Arrays.asList(entryA, entryB, entryC));
+        // A: 30 + 30 = 60, B: 40 + 35 = 75, C: unrated
+        when(parameterAggregateRepository.findByCompetitionId(1L)).thenReturn(Arrays.asList(
+                aggregate(1L, 1L, "60.00", 2), aggregate(1L, 2L, "30.00", 1),
+                aggregate(2L, 1L, "80.00", 2), aggregate(2L, 2L, "70.00", 2)));
+        lenient().when(entryRepository.findAllById(anyIterable()))
+                .thenReturn(Arrays.asList(entryA, entryB, entryC));
+    }
+
+    private static CompetitionEntry entry(Long id, String name) {
+        CompetitionEntry entry = new CompetitionEntry();
+        entry.setId(id);
+        entry.setEntryName(name);
+        return entry;
+    }
+
+    private static RatingParameterAggregate aggregate(Long entryId, Long parameterId, String scoreSum, int ratingCount) {
+        RatingParameterAggregate aggregate = new RatingParameterAggregate(1L, entryId, parameterId);
+        aggregate.setScoreSum(new BigDecimal(scoreSum));
+        aggregate.setRatingCount(ratingCount);
+        return aggregate;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.userauth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordCostCalibrator.
+ */
+class PasswordCostCalibratorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** Simulated machine: 50ms at cost 10, doubling with each step. */
+    private final IntToLongFunction simulatedHashNanos = cost -> (long) (50_000_000L * Math.pow(2, cost - 10));
+
+    @Test
+    void testCalibrate_RecommendsHighestCostWithinBudget() {
+        // When
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(
+                meterRegistry, 11, true, 250, 10, 14, simulatedHashNanos);
+
+        // Then: 50 -> 100 -> 200 fits, 400 does not; the configured cost is still the one used
+        assertEquals(12, calibrator.getRecommendedStrength());
+        assertEquals(11, calibrator.getStrength());
+        assertEquals(100.0, calibrator.getEstimatedHashMillis(), 0.001);
+        assertTrue(calibrator.isCalibrated());
+        assertEquals(11.0, meterRegistry.get("auth.password.bcrypt.cost").gauge().value());
+        assertEquals(12.0, meterRegistry.get("auth.password.bcrypt.recommended.cost").gauge().value());
+    }
+
+    @Test
+    void testCalibrate_SlowMachine_NeverBelowFloor() {
+        // When
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(
+                meterRegistry, 12, true, 20, 10, 14, simulatedHashNanos);
+
+        // Then
+        assertEquals(10, calibrator.getRecommendedStrength());
+        assertEquals(12, calibrator.getStrength());
+    }
+
+    @Test
+    void testCalibrate_FastMachine_NeverAboveCeiling() {
+        // When
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(
+                meterRegistry, 12, true, 10_000, 10, 13, simulatedHashNanos);
+
+        // Then
+        assertEquals(13, calibrator.getRecommendedStrength());
+    }
+
+    @Test
+    void testCalibrate_Disabled_UsesConfiguredStrength() {
+        // When
+        PasswordCostCalibrator calibrator = new PasswordCostCalibrator(
+                meterRegistry, 11, false, 250, 10, 14, cost -> {
+                    throw new AssertionError("should not measure when disabled");
+                });
+
+        // Then
+        assertEquals(11, calibrator.getStrength());
+        assertFalse(calibrator.isCalibrated());
+    }
+}
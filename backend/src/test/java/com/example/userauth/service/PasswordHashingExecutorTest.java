@@ -0,0 +1,102 @@
+package com.example.userauth.service;
+
+import com.example.userauth.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHashingExecutor.
+ */
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor hashingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (hashingExecutor != null) {
+            hashingExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testExecute_RunsTaskAndRecordsLatency() {
+        // Given
+        hashingExecutor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5000, 3);
+
+        // When
+        String result = hashingExecutor.execute(PasswordHashingExecutor.OPERATION_HASH, () -> "hashed");
+
+        // Then
+        assertEquals("hashed", result);
+        assertEquals(1, meterRegistry.get("auth.password.hashing.duration").tag("operation", "hash").timer().count());
+        assertNotNull(meterRegistry.get("auth.password.hashing.queue.depth").gauge());
+    }
+
+    @Test
+    void testExecute_QueueFull_RejectsImmediately() throws Exception {
+        // Given: one worker busy and the single queue slot taken
+        hashingExecutor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5000, 3);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread busy = new Thread(() -> hashingExecutor.execute(PasswordHashingExecutor.OPERATION_VERIFY, () -> {
+            started.countDown();
+            return await(release);
+        }));
+        busy.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread queued = new Thread(() -> hashingExecutor.execute(PasswordHashingExecutor.OPERATION_VERIFY, () -> true));
+        queued.start();
+        while (hashingExecutor.getQueueDepth() < 1) {
+            Thread.sleep(5);
+        }
+
+        // When & Then
+        PasswordHashingRejectedException exception = assertThrows(PasswordHashingRejectedException.class,
+                () -> hashingExecutor.execute(PasswordHashingExecutor.OPERATION_VERIFY, () -> true));
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        busy.join(5000);
+        queued.join(5000);
+    }
+
+    @Test
+    void testExecute_Timeout_Rejects() {
+        // Given
+        hashingExecutor = new PasswordHashingExecutor(meterRegistry, 1, 1, 50, 2);
+
+        // When & Then
+        assertThrows(PasswordHashingRejectedException.class,
+                () -> hashingExecutor.execute(PasswordHashingExecutor.OPERATION_HASH, () -> await(release)));
+    }
+
+    @Test
+    void testExecute_TaskFailure_PropagatesException() {
+        // Given
+        hashingExecutor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5000, 2);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> hashingExecutor.execute(PasswordHashingExecutor.OPERATION_HASH, () -> {
+                    throw new IllegalArgumentException("bad input");
+                }));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.userauth.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -116,6 +117,27 @@ class PasswordServiceTest {
         assertFalse(result);
     }
 
+    @Test
+    void testNeedsRehash_LowerCost_ReturnsTrue() {
+        // Given
+        PasswordService lowCostService = new PasswordService(null, 4);
+        String lowCostHash = lowCostService.hashPassword("testPassword123");
+
+        // When & Then
+        assertTrue(passwordService.needsRehash(lowCostHash));
+        assertFalse(lowCostService.needsRehash(lowCostHash));
+    }
+
+    @Test
+    void testNeedsRehash_HigherCost_ReturnsFalse() {
+        // Given: an instance still configured with a lower cost must not downgrade the hash
+        PasswordService lowCostService = new PasswordService(null, 4);
+        String hash = new PasswordService(null, 5).hashPassword("testPassword123");
+
+        // When & Then
+        assertFalse(lowCostService.needsRehash(hash));
+    }
+
     @Test
     void testNeedsRehash_InvalidHash_ReturnsTrue() {
         // Given
@@ -136,4 +158,25 @@ class PasswordServiceTest {
         // Then
         assertTrue(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHashAndVerify_WithHashingExecutor_RunsOnPool() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingExecutor hashingExecutor = new PasswordHashingExecutor(meterRegistry, 1, 10, 10000, 2);
+        PasswordService pooledService = new PasswordService(hashingExecutor, 12);
+
+        try {
+            // When
+            String hashedPassword = pooledService.hashPassword("testPassword123");
+            boolean matches = pooledService.verifyPassword("testPassword123", hashedPassword);
+
+            // Then
+            assertTrue(matches);
+            assertEquals(1, meterRegistry.get("auth.password.hashing.duration").tag("operation", "hash").timer().count());
+            assertEquals(1, meterRegistry.get("auth.password.hashing.duration").tag("operation", "verify").timer().count());
+        } finally {
+            hashingExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.*;
+import com.example.userauth.repository.CompetitionRatingRepository;
+import com.example.userauth.repository.ParameterScoreSummary;
+import com.example.userauth.repository.RatingJudgeTotalRepository;
+import com.example.userauth.repository.RatingParameterAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aggregates maintained by deltas must match what the reconciler rebuilds from the raw ratings.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({RatingAggregateService.class, RatingAggregateReconciler.class})
+@DisplayName("RatingAggregateService Tests")
+class RatingAggregateServiceTest {
+
+    @Autowired
+    private RatingAggregateService aggregateService;
+
+    @Autowired
+    private RatingAggregateReconciler reconciler;
+
+    @Autowired
+    private CompetitionRatingRepository ratingRepository;
+
+    @Autowired
+    private RatingParameterAggregateRepository parameterAggregateRepository;
+
+    @Autowired
+    private RatingJudgeTotalRepository judgeTotalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    private Competition competition;
+    private CompetitionEntry entry;
+    private User judge1;
+    private User judge2;
+    private EvaluationParameter sweetness;
+    private EvaluationParameter texture;
+
+    @BeforeEach
+    void setUp() {
+        judge1 = entityManager.persist(new User("judge1", "passwordhash"));
+        judge2 = entityManager.persist(new User("judge2", "passwordhash"));
+
+        EvaluationModel model = entityManager.persist(new EvaluationModel("Test Model"));
+        sweetness = new EvaluationParameter("甜度", 10, 1);
+        sweetness.setModel(model);
+        sweetness = entityManager.persist(sweetness);
+        texture = new EvaluationParameter("口感", 20, 2);
+        texture.setModel(model);
+        texture = entityManager.persist(texture);
+
+        competition = entityManager.persist(new Competition(
+            "Test Competition", "Description", model, judge1, LocalDateTime.now().plusDays(7)));
+        entry = entityManager.persist(new CompetitionEntry(competition, "Test Entry", "Description", null, 1));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Deltas from submissions and re-submissions should match the raw ratings")
+    void recordSubmission_MatchesRawRatings() {
+        submit(judge1, "8.00", "15.00");
+        submit(judge2, "6.50", "12.00");
+        submit(judge1, "9.00", "15.00");
+
+        entityManager.clear();
+        RatingParameterAggregate sweetnessAggregate = aggregateFor(sweetness);
+        assertEquals(2, sweetnessAggregate.getRatingCount());
+        assertEquals(0, new BigDecimal("15.50").compareTo(sweetnessAggregate.getScoreSum()));
+        assertEquals(0, new BigDecimal("123.25").compareTo(sweetnessAggregate.getScoreSquareSum()));
+        assertEquals(7.75, sweetnessAggregate.getAverageScore());
+
+        List<RatingJudgeTotal> totals = judgeTotalRepository.findByCompetitionId(competition.getId());
+        totals.sort(Comparator.comparing(RatingJudgeTotal::getJudgeId));
+        assertEquals(0, new BigDecimal("24.00").compareTo(totals.get(0).getTotalScore()));
+        assertEquals(0, new BigDecimal("18.50").compareTo(totals.get(1).getTotalScore()));
+
+        assertEquals(0, reconciler.reconcileAll());
+    }
+
+    @Test
+    @DisplayName("A judge's submissions for several entries should be applied together and read back once")
+    void recordSubmissions_SeveralEntries() {
+        CompetitionEntry second = entityManager.persist(
+            new CompetitionEntry(competition, "Second Entry", "Description", null, 2));
+        submit(judge2, "5.00", "10.00");
+        // Loaded into this persistence context before the next deltas are applied
+        parameterAggregateRepository.findByCompetitionId(competition.getId());
+
+        Map<Long, Map<Long, BigDecimal>> submitted = new LinkedHashMap<>();
+        submitted.put(entry.getId(), Map.of(sweetness.getId(), new BigDecimal("7.00"),
+            texture.getId(), new BigDecimal("12.00")));
+        submitted.put(second.getId(), Map.of(sweetness.getId(), new BigDecimal("4.00")));
+        for (Map.Entry<Long, Map<Long, BigDecimal>> scores : submitted.entrySet()) {
+            ratingRepository.upsertScores(competition.getId(), scores.getKey(), judge1.getId(),
+                scores.getValue(), null, LocalDateTime.now());
+        }
+
+        List<Long> changedIds = aggregateService.recordSubmissions(
+            competition.getId(), judge1.getId(), Map.of(), submitted);
+
+        assertEquals(List.of(entry.getId(), second.getId()), changedIds);
+        List<RatingAggregateService.EntryAggregates> changed = aggregateService.loadAggregates(changedIds);
+        assertEquals(changedIds, changed.stream().map(RatingAggregateService.EntryAggregates::entryId).toList());
+        ParameterScoreSummary sweetnessScore = changed.get(0).parameterScores().stream()
+            .filter(summary -> summary.parameterId().equals(sweetness.getId()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(2L, sweetnessScore.ratingCount());
+        assertEquals(6.0, sweetnessScore.averageScore());
+        assertEquals(2, changed.get(0).judgeTotals().size());
+        assertEquals(1, changed.get(1).parameterScores().size());
+        assertEquals(0, new BigDecimal("4.00").compareTo(changed.get(1).judgeTotals().get(0).totalScore()));
+
+        // Submitting the same scores again changes nothing and reports nothing
+        Map<Long, Map<Long, BigDecimal>> previous = ratingRepository.findScoresForUpdate(
+            List.copyOf(submitted.keySet()), judge1.getId());
+        assertTrue(aggregateService.recordSubmissions(
+            competition.getId(), judge1.getId(), previous, submitted).isEmpty());
+
+        entityManager.clear();
+        assertEquals(0, reconciler.reconcileAll());
+    }
+
+    @Test
+    @DisplayName("Reconciliation should repair drifted, missing and orphaned aggregate rows")
+    void reconcileEntries_RepairsDrift() {
+        submit(judge1, "8.00", "15.00");
+        submit(judge2, "6.00", "10.00");
+        entityManager.clear();
+
+        RatingParameterAggregate drifted = aggregateFor(sweetness);
+        drifted.setScoreSum(new BigDecimal("99.00"));
+        drifted.setRatingCount(7);
+        parameterAggregateRepository.delete(aggregateFor(texture));
+        RatingJudgeTotal orphan = new RatingJudgeTotal(competition.getId(), entry.getId(), 424242L);
+        judgeTotalRepository.save(orphan);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, reconciler.reconcileAll());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, aggregateFor(sweetness).getRatingCount());
+        assertEquals(0, new BigDecimal("14.00").compareTo(aggregateFor(sweetness).getScoreSum()));
+        assertEquals(0, new BigDecimal("25.00").compareTo(aggregateFor(texture).getScoreSum()));
+        assertEquals(2, judgeTotalRepository.findByCompetitionId(competition.getId()).size());
+        assertEquals(0, reconciler.reconcileAll());
+    }
+
+    @Test
+    @DisplayName("Removing a competition should drop its aggregates")
+    void removeCompetition_DeletesAggregates() {
+        submit(judge1, "8.00", "15.00");
+
+        aggregateService.removeCompetition(competition.getId());
+
+        assertTrue(parameterAggregateRepository.findByCompetitionId(competition.getId()).isEmpty());
+        assertTrue(judgeTotalRepository.findByCompetitionId(competition.getId()).isEmpty());
+    }
+
+    private void submit(User judge, String sweetnessScore, String textureScore) {
+        Map<Long, BigDecimal> scores = new LinkedHashMap<>();
+        scores.put(sweetness.getId(), new BigDecimal(sweetnessScore));
+        scores.put(texture.getId(), new BigDecimal(textureScore));
+        Map<Long, BigDecimal> previous = new HashMap<>(
+            ratingRepository.findScoresForUpdate(entry.getId(), judge.getId()));
+        ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+            scores, null, LocalDateTime.now());
+        aggregateService.recordSubmission(competition.getId(), entry.getId(), judge.getId(), previous, scores);
+    }
+
+    private RatingParameterAggregate aggregateFor(EvaluationParameter parameter) {
+        return parameterAggregateRepository.findByCompetitionId(competition.getId()).stream()
+            .filter(aggregate -> aggregate.getParameterId().equals(parameter.getId()))
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.CompetitionRatingDataResponse;
+import com.example.userauth.entity.*;
+import com.example.userauth.repository.CompetitionRatingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against the per-entry N+1 in the results view: the statement count of
+ * getCompetitionRatingData must not depend on the number of entries.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({RatingDataService.class, RatingAggregateService.class})
+@DisplayName("RatingDataService query count Tests")
+class RatingDataServiceQueryCountTest {
+
+    private static final int MAX_STATEMENTS = 6;
+
+    @Autowired
+    private RatingDataService ratingDataService;
+
+    @Autowired
+    private RatingAggregateService aggregateService;
+
+    @Autowired
+    private CompetitionRatingRepository ratingRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    private User judge;
+    private EvaluationModel model;
+    private EvaluationParameter sweetness;
+    private EvaluationParameter texture;
+
+    @BeforeEach
+    void setUp() {
+        judge = entityManager.persist(new User("judge1", "passwordhash"));
+        model = entityManager.persist(new EvaluationModel("Test Model"));
+        sweetness = new EvaluationParameter("甜度", 10, 1);
+        sweetness.setModel(model);
+        sweetness = entityManager.persist(sweetness);
+        texture = new EvaluationParameter("口感", 20, 2);
+        texture.setModel(model);
+        texture = entityManager.persist(texture);
+    }
+
+    @Test
+    @DisplayName("Statement count should be the same for 3 and 30 entries")
+    void getCompetitionRatingData_StatementCountIndependentOfEntries() {
+        Long small = createRatedCompetition("Small", 3);
+        Long large = createRatedCompetition("Large", 30);
+
+        long smallStatements = countStatements(small, 3);
+        long largeStatements = countStatements(large, 30);
+
+        assertTrue(smallStatements > 0, "Hibernate statistics are not enabled");
+        assertEquals(smallStatements, largeStatements);
+        assertTrue(largeStatements <= MAX_STATEMENTS,
+                "getCompetitionRatingData ran " + largeStatements + " statements");
+    }
+
+    private long countStatements(Long competitionId, int expectedEntries) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CompetitionRatingDataResponse response = ratingDataService.getCompetitionRatingData(competitionId);
+
+        assertEquals(expectedEntries, response.getEntries().size());
+        CompetitionRatingDataResponse.EntryRatingData first = response.getEntries().get(0);
+        assertEquals(2, first.getParameterScores().size());
+        assertEquals(20.0, first.getAverageTotalScore());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long createRatedCompetition(String name, int entryCount) {
+        Competition competition = entityManager.persist(
+                new Competition(name, "Description", model, judge, LocalDateTime.now().plusDays(7)));
+        for (int i = 1; i <= entryCount; i++) {
+            CompetitionEntry entry = new CompetitionEntry(competition, name + " Entry " + i, "Description", null, i);
+            entry.setStatus(CompetitionEntry.EntryStatus.APPROVED);
+            entry = entityManager.persist(entry);
+
+            Map<Long, BigDecimal> scores = new LinkedHashMap<>();
+            scores.put(sweetness.getId(), new BigDecimal("8.00"));
+            scores.put(texture.getId(), new BigDecimal("12.00"));
+            ratingRepository.upsertScores(competition.getId(), entry.getId(), judge.getId(),
+                    scores, null, LocalDateTime.now());
+            aggregateService.recordSubmission(competition.getId(), entry.getId(), judge.getId(), Map.of(), scores);
+        }
+        return competition.getId();
+    }
+}
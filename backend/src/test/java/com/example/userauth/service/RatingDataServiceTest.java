@@ -10,11 +10,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +41,12 @@ class RatingDataServiceTest {
     @Mock
     private EvaluationParameterRepository parameterRepository;
     
+    @Mock
+    private RatingParameterAggregateRepository parameterAggregateRepository;
+    
+    @Mock
+    private RatingJudgeTotalRepository judgeTotalRepository;
+    
     @InjectMocks
     private RatingDataService ratingDataService;
     
@@ -80,16 +89,18 @@ class RatingDataServiceTest {
     @Test
     void getCompetitionRatingData_ShouldReturnAggregatedData() {
         // Arrange
-        when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
+        when(competitionRepository.findByIdWithCreator(1L)).thenReturn(Optional.of(competition));
         when(entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(1L, CompetitionEntry.EntryStatus.APPROVED))
                 .thenReturn(Arrays.asList(entry));
         when(judgeRepository.countByCompetitionId(1L)).thenReturn(2L);
+        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L))
+                .thenReturn(Arrays.asList(parameter1, parameter2));
         
-        // Mock rating data: parameter1 avg=25.0, parameter2 avg=60.0
-        Object[] ratingData1 = {1L, "外观", 30, 25.0, 2L};
-        Object[] ratingData2 = {2L, "风味", 70, 60.0, 2L};
-        when(ratingRepository.findDetailedAverageScoresByEntryId(1L))
-                .thenReturn(Arrays.asList(ratingData1, ratingData2));
+        // Aggregates: parameter1 avg=25.0, parameter2 avg=60.0, judge totals 80 and 90
+        when(parameterAggregateRepository.findByCompetitionId(1L))
+                .thenReturn(Arrays.asList(aggregate(1L, "50.00", 2), aggregate(2L, "120.00", 2)));
+        when(judgeTotalRepository.findByCompetitionId(1L))
+                .thenReturn(Arrays.asList(judgeTotal(2L, "80.00"), judgeTotal(3L, "90.00")));
         
         // Act
         CompetitionRatingDataResponse result = ratingDataService.getCompetitionRatingData(1L);
@@ -105,34 +116,110 @@ class RatingDataServiceTest {
         assertEquals("Test Entry", entryData.getEntryName());
         assertEquals(2, entryData.getParameterScores().size());
         assertEquals(85.0, entryData.getAverageTotalScore()); // 25.0 + 60.0
+        assertEquals(90.0, entryData.getHighestScore());
         assertEquals(2, entryData.getNumberOfRatings());
+        verifyNoInteractions(ratingRepository);
+    }
+    
+    @Test
+    void getCompetitionRatingData_TrimmedMeanModel_ShouldRankByTrimmedMean() {
+        // Arrange
+        model.setAggregationMethod(EvaluationModel.AggregationMethod.TRIMMED_MEAN);
+        when(competitionRepository.findByIdWithCreator(1L)).thenReturn(Optional.of(competition));
+        when(entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(1L, CompetitionEntry.EntryStatus.APPROVED))
+                .thenReturn(Arrays.asList(entry));
+        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L))
+                .thenReturn(Arrays.asList(parameter1, parameter2));
+        
+        // One judge far below the others
+        when(judgeTotalRepository.findByCompetitionId(1L))
+                .thenReturn(Arrays.asList(judgeTotal(2L, "80.00"), judgeTotal(3L, "90.00"),
+                        judgeTotal(4L, "85.00"), judgeTotal(5L, "10.00")));
+        
+        // Act
+        CompetitionRatingDataResponse result = ratingDataService.getCompetitionRatingData(1L);
+        
+        // Assert
+        assertEquals(EvaluationModel.AggregationMethod.TRIMMED_MEAN, result.getAggregationMethod());
+        CompetitionRatingDataResponse.EntryRatingData entryData = result.getEntries().get(0);
+        assertEquals(82.5, entryData.getRankingScore(), 1e-9);
+        assertEquals(82.5, entryData.getTrimmedMeanScore(), 1e-9);
+        assertEquals(82.5, entryData.getMedianScore(), 1e-9);
+        assertNotNull(entryData.getScoreStddev());
+    }
+    
+    @Test
+    void getCompetitionRatingData_EntryWithoutRatings_ShouldReturnEmptyScores() {
+        // Arrange
+        when(competitionRepository.findByIdWithCreator(1L)).thenReturn(Optional.of(competition));
+        when(entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(1L, CompetitionEntry.EntryStatus.APPROVED))
+                .thenReturn(Arrays.asList(entry));
+        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L))
+                .thenReturn(Arrays.asList(parameter1, parameter2));
+        
+        // Act
+        CompetitionRatingDataResponse result = ratingDataService.getCompetitionRatingData(1L);
+        
+        // Assert
+        CompetitionRatingDataResponse.EntryRatingData entryData = result.getEntries().get(0);
+        assertTrue(entryData.getParameterScores().isEmpty());
+        assertEquals(0.0, entryData.getAverageTotalScore());
+        assertEquals(0.0, entryData.getHighestScore());
+        assertEquals(0, entryData.getNumberOfRatings());
+        assertNull(entryData.getRankingScore());
+    }
+    
+    private RatingParameterAggregate aggregate(Long parameterId, String scoreSum, int ratingCount) {
+        RatingParameterAggregate aggregate = new RatingParameterAggregate(1L, 1L, parameterId);
+        aggregate.setScoreSum(new BigDecimal(scoreSum));
+        aggregate.setRatingCount(ratingCount);
+        return aggregate;
+    }
+    
+    private RatingJudgeTotal judgeTotal(Long judgeId, String totalScore) {
+        RatingJudgeTotal total = new RatingJudgeTotal(1L, 1L, judgeId);
+        total.setTotalScore(new BigDecimal(totalScore));
+        return total;
     }
     
     @Test
-    void generateCompetitionCSV_ShouldReturnCSVString() {
+    void writeCompetitionCsv_ShouldWriteOneRowPerEntryAndJudge() throws Exception {
         // Arrange
         when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
         when(parameterRepository.findByModelIdOrderByDisplayOrder(1L))
                 .thenReturn(Arrays.asList(parameter1, parameter2));
         
-        // Mock rating data
-        CompetitionRating rating1 = new CompetitionRating(competition, entry, judge, parameter1, new BigDecimal("25.0"), "Good");
-        CompetitionRating rating2 = new CompetitionRating(competition, entry, judge, parameter2, new BigDecimal("60.0"), "Good");
-        when(ratingRepository.findByCompetitionIdForExport(1L))
-                .thenReturn(Arrays.asList(rating1, rating2));
+        // Rows arrive grouped by entry, then judge; the second judge skipped parameter2
+        when(ratingRepository.streamExportRows(1L)).thenReturn(Stream.of(
+                new RatingExportRow(1L, "Test Entry", 2L, "judge1", 1L, new BigDecimal("25.0"), "Good"),
+                new RatingExportRow(1L, "Test Entry", 2L, "judge1", 2L, new BigDecimal("60.0"), "Good"),
+                new RatingExportRow(1L, "Test Entry", 3L, "judge2", 1L, new BigDecimal("20.0"), "say \"hi\""),
+                new RatingExportRow(4L, "Other Entry", 2L, "judge1", 1L, new BigDecimal("10.0"), null)));
         
         // Act
-        String csvResult = ratingDataService.generateCompetitionCSV(1L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ratingDataService.writeCompetitionCsv(1L, out);
         
         // Assert
-        assertNotNull(csvResult);
-        assertTrue(csvResult.contains("参赛作品,评委,外观(30分),风味(70分),总分,备注"));
-        assertTrue(csvResult.contains("Test Entry"));
-        assertTrue(csvResult.contains("judge1"));
-        assertTrue(csvResult.contains("25.0"));
-        assertTrue(csvResult.contains("60.0"));
-        assertTrue(csvResult.contains("85.0")); // Total score
-        assertTrue(csvResult.contains("Good"));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("参赛作品,评委,外观(30分),风味(70分),总分,备注", lines[0]);
+        assertEquals("\"Test Entry\",\"judge1\",25.0,60.0,85.0,\"Good\"", lines[1]);
+        assertEquals("\"Test Entry\",\"judge2\",20.0,0,20.0,\"say \"\"hi\"\"\"", lines[2]);
+        assertEquals("\"Other Entry\",\"judge1\",10.0,0,10.0,", lines[3]);
+    }
+    
+    @Test
+    void writeCompetitionCsv_NoRatings_ShouldWriteHeaderOnly() throws Exception {
+        when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
+        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L))
+                .thenReturn(Arrays.asList(parameter1, parameter2));
+        when(ratingRepository.streamExportRows(1L)).thenReturn(Stream.empty());
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ratingDataService.writeCompetitionCsv(1L, out);
+        
+        assertEquals("参赛作品,评委,外观(30分),风味(70分),总分,备注\n", out.toString(StandardCharsets.UTF_8));
     }
     
     @Test
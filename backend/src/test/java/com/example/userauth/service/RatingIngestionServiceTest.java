@@ -0,0 +1,269 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.BatchRatingRequest;
+import com.example.userauth.dto.BatchRatingResponse;
+import com.example.userauth.dto.RatingRequest;
+import com.example.userauth.dto.RatingResponse;
+import com.example.userauth.entity.Competition;
+import com.example.userauth.entity.CompetitionEntry;
+import com.example.userauth.entity.CompetitionJudge;
+import com.example.userauth.entity.EvaluationModel;
+import com.example.userauth.entity.EvaluationParameter;
+import com.example.userauth.entity.User;
+import com.example.userauth.exception.RatingIngestionRejectedException;
+import com.example.userauth.repository.CompetitionEntryRepository;
+import com.example.userauth.repository.CompetitionJudgeRepository;
+import com.example.userauth.repository.CompetitionRepository;
+import com.example.userauth.repository.EvaluationParameterRepository;
+import com.example.userauth.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RatingIngestionService Tests")
+class RatingIngestionServiceTest {
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private CompetitionRepository competitionRepository;
+
+    @Mock
+    private CompetitionEntryRepository entryRepository;
+
+    @Mock
+    private CompetitionJudgeRepository judgeRepository;
+
+    @Mock
+    private EvaluationParameterRepository parameterRepository;
+
+    @TempDir
+    Path directory;
+
+    private RatingJournal journal;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthenticatedUser judge = new AuthenticatedUser(5L, "judge1", false);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new RatingJournal(directory, 1 << 20);
+
+        Competition competition = new Competition();
+        competition.setId(1L);
+        competition.setStatus(Competition.CompetitionStatus.ACTIVE);
+        competition.setDeadline(LocalDateTime.now().plusDays(7));
+        EvaluationModel model = new EvaluationModel();
+        model.setId(3L);
+        competition.setModel(model);
+
+        CompetitionEntry entry = new CompetitionEntry();
+        entry.setId(10L);
+        entry.setEntryName("测试作品");
+        User judgeUser = new User();
+        judgeUser.setId(5L);
+        CompetitionJudge assignment = new CompetitionJudge();
+        assignment.setJudge(judgeUser);
+        EvaluationParameter parameter = new EvaluationParameter();
+        parameter.setId(1L);
+        parameter.setName("甜度");
+        parameter.setWeight(10);
+
+        lenient().when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
+        lenient().when(entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(1L, CompetitionEntry.EntryStatus.APPROVED))
+                .thenReturn(List.of(entry));
+        lenient().when(judgeRepository.findByCompetitionIdWithJudge(1L)).thenReturn(List.of(assignment));
+        lenient().when(parameterRepository.findByModelIdOrderByDisplayOrder(3L)).thenReturn(List.of(parameter));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a submission from the journal and show it to the judge before it is written")
+    void submitRating_JournaledAndOverlaid() {
+        RatingIngestionService service = service(100);
+
+        RatingResponse response = service.submitRating(request(10L, "8.5"), judge);
+
+        assertNull(response.getId());
+        assertEquals("测试作品", response.getEntryName());
+        assertEquals(0, new BigDecimal("8.5").compareTo(response.getScores().get(0).getScore()));
+        assertEquals(1, journal.pendingCount());
+        verify(ratingService, never()).submitRating(any(), any());
+
+        assertTrue(service.hasPendingRating(10L, 5L));
+        List<RatingResponse> mine = service.withPendingRatings(1L, judge, List.of());
+        assertEquals(1, mine.size());
+        assertEquals(10L, mine.get(0).getEntryId());
+    }
+
+    @Test
+    @DisplayName("Should write directly when the cached state does not know the entry")
+    void submitRating_UnknownEntry_WritesDirectly() {
+        RatingIngestionService service = service(100);
+        RatingResponse direct = new RatingResponse();
+        when(ratingService.submitRating(any(RatingRequest.class), eq(judge))).thenReturn(direct);
+
+        assertSame(direct, service.submitRating(request(99L, "8.5"), judge));
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should reject an out-of-range score without journaling it")
+    void submitRating_InvalidScore() {
+        RatingIngestionService service = service(100);
+
+        assertThrows(IllegalArgumentException.class, () -> service.submitRating(request(10L, "11"), judge));
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should refuse submissions while the backlog is full")
+    void submitRating_BacklogFull() {
+        RatingIngestionService service = service(1);
+        service.submitRating(request(10L, "8.5"), judge);
+
+        RatingIngestionRejectedException e = assertThrows(RatingIngestionRejectedException.class,
+                () -> service.submitRating(request(10L, "9"), judge));
+        assertEquals(2, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("Should write the backlog to the database and clear the overlay")
+    void drainJournal_AppliesBacklog() {
+        RatingIngestionService service = service(100);
+        service.submitRating(request(10L, "8.5"), judge);
+        service.submitRating(request(10L, "9"), judge);
+
+        service.drainJournal();
+
+        verify(ratingService).applyJournaledRatings(argThat(batch -> batch.size() == 2));
+        assertEquals(0, journal.pendingCount());
+        assertEquals(2L, journal.appliedSequence());
+        assertFalse(service.hasPendingRating(10L, 5L));
+        assertEquals(2.0, meterRegistry.counter("ratings.ingest.applied").count());
+    }
+
+    @Test
+    @DisplayName("Should drop a submission the database refuses and apply the rest")
+    void drainJournal_DropsRefusedSubmission() {
+        RatingIngestionService service = service(100);
+        service.submitRating(request(10L, "8.5"), judge);
+        service.submitRating(request(10L, "9"), judge);
+        doThrow(new DataIntegrityViolationException("fk"))
+                .when(ratingService).applyJournaledRatings(argThat(batch -> batch.stream()
+                        .anyMatch(rating -> rating.sequence() == 1L)));
+
+        service.drainJournal();
+
+        assertEquals(0, journal.pendingCount());
+        assertEquals(1.0, meterRegistry.counter("ratings.ingest.dropped").count());
+        assertEquals(1.0, meterRegistry.counter("ratings.ingest.applied").count());
+    }
+
+    @Test
+    @DisplayName("Should keep the backlog when the database is unavailable")
+    void drainJournal_KeepsBacklogOnFailure() {
+        RatingIngestionService service = service(100);
+        service.submitRating(request(10L, "8.5"), judge);
+        doThrow(new IllegalStateException("down")).when(ratingService).applyJournaledRatings(anyList());
+
+        service.drainJournal();
+
+        assertEquals(1, journal.pendingCount());
+        assertTrue(service.hasPendingRating(10L, 5L));
+    }
+
+    @Test
+    @DisplayName("A direct write should follow the journaled submission it supersedes, not precede it")
+    void submitRating_DirectWriteAfterPendingSubmission() {
+        RatingIngestionService service = service(100);
+        Competition competition = competitionRepository.findById(1L).orElseThrow();
+        service.submitRating(request(10L, "8.5"), judge);
+        // The cached state now sends the next submission to the database directly
+        competition.setStatus(Competition.CompetitionStatus.ENDED);
+        when(ratingService.submitRating(any(RatingRequest.class), eq(judge))).thenReturn(new RatingResponse());
+
+        service.submitRating(request(10L, "9"), judge);
+
+        InOrder order = inOrder(ratingService);
+        order.verify(ratingService).applyJournaledRatings(argThat(batch -> batch.size() == 1));
+        order.verify(ratingService).submitRating(any(RatingRequest.class), eq(judge));
+        assertFalse(service.hasPendingRating(10L, 5L));
+    }
+
+    @Test
+    @DisplayName("A batch should be written after the judge's journaled submissions for its entries")
+    void submitRatings_AfterPendingSubmission() {
+        RatingIngestionService service = service(100);
+        service.submitRating(request(10L, "8.5"), judge);
+        BatchRatingRequest batch = batchRequest(10L, "9");
+        when(ratingService.submitRatings(batch, judge)).thenReturn(new BatchRatingResponse());
+
+        service.submitRatings(batch, judge);
+
+        InOrder order = inOrder(ratingService);
+        order.verify(ratingService).applyJournaledRatings(anyList());
+        order.verify(ratingService).submitRatings(batch, judge);
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    @DisplayName("A batch should be refused while the journaled submissions it supersedes cannot be applied")
+    void submitRatings_PendingSubmissionNotApplied() {
+        RatingIngestionService service = service(100);
+        service.submitRating(request(10L, "8.5"), judge);
+        doThrow(new IllegalStateException("down")).when(ratingService).applyJournaledRatings(anyList());
+
+        assertThrows(RatingIngestionRejectedException.class,
+                () -> service.submitRatings(batchRequest(10L, "9"), judge));
+        verify(ratingService, never()).submitRatings(any(), any());
+        assertTrue(service.hasPendingRating(10L, 5L));
+    }
+
+    @Test
+    @DisplayName("Should refuse journal mode when several instances serve the API")
+    void journalMode_SeveralInstances_Refused() {
+        assertTrue(RatingIngestionService.journalMode("journal", 1));
+        assertFalse(RatingIngestionService.journalMode("direct", 2));
+        assertThrows(IllegalStateException.class, () -> RatingIngestionService.journalMode("journal", 2));
+    }
+
+    private RatingIngestionService service(int maxBacklog) {
+        return new RatingIngestionService(ratingService, competitionRepository, entryRepository, judgeRepository,
+                parameterRepository, journal, TransactionOperations.withoutTransaction(), meterRegistry,
+                500, maxBacklog, 30000, 2);
+    }
+
+    private static BatchRatingRequest batchRequest(Long entryId, String score) {
+        return new BatchRatingRequest(1L, List.of(new BatchRatingRequest.Item("key-" + entryId, entryId,
+                List.of(new RatingRequest.ScoreRequest(1L, new BigDecimal(score))), null)));
+    }
+
+    private static RatingRequest request(Long entryId, String score) {
+        return new RatingRequest(1L, entryId, List.of(new RatingRequest.ScoreRequest(1L, new BigDecimal(score))), null);
+    }
+}
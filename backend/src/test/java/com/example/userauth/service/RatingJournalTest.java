@@ -0,0 +1,96 @@
+package com.example.userauth.service;
+
+import com.example.userauth.service.RatingJournal.JournaledRating;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RatingJournal Tests")
+class RatingJournalTest {
+
+    private static final LocalDateTime SUBMITTED_AT = LocalDateTime.of(2024, 5, 1, 10, 30);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should give back every unapplied submission after a restart")
+    void reopen_RecoversPendingSubmissions() throws Exception {
+        try (RatingJournal journal = new RatingJournal(directory, 1 << 20)) {
+            append(journal, 10L);
+            append(journal, 11L);
+        }
+
+        try (RatingJournal journal = new RatingJournal(directory, 1 << 20)) {
+            List<JournaledRating> pending = journal.peek(10);
+            assertEquals(2, pending.size());
+            assertEquals(List.of(1L, 2L), pending.stream().map(JournaledRating::sequence).toList());
+            assertEquals(11L, pending.get(1).entryId());
+            assertEquals(0, new BigDecimal("8.5").compareTo(pending.get(0).scores().get(1L)));
+            assertEquals(SUBMITTED_AT, pending.get(0).submittedAt());
+
+            // Sequences continue after the recovered ones
+            assertEquals(3L, append(journal, 12L).sequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip a record torn by a crash")
+    void reopen_SkipsTornRecord() throws Exception {
+        try (RatingJournal journal = new RatingJournal(directory, 1 << 20)) {
+            append(journal, 10L);
+        }
+        Path segment = segments().get(0);
+        Files.writeString(segment, "{\"sequence\":2,\"compet", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (RatingJournal journal = new RatingJournal(directory, 1 << 20)) {
+            assertEquals(1, journal.pendingCount());
+            assertEquals(2L, append(journal, 11L).sequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete applied segments and remember the checkpoint across restarts")
+    void markApplied_DeletesSegmentsAndKeepsCheckpoint() throws Exception {
+        try (RatingJournal journal = new RatingJournal(directory, 1)) {
+            // Every record exceeds one byte, so each goes into its own segment
+            append(journal, 10L);
+            append(journal, 11L);
+            append(journal, 12L);
+            assertEquals(3, segments().size());
+
+            journal.markApplied(2L);
+
+            assertEquals(2L, journal.appliedSequence());
+            assertEquals(1, journal.pendingCount());
+            assertEquals(1, segments().size());
+        }
+
+        try (RatingJournal journal = new RatingJournal(directory, 1)) {
+            assertEquals(List.of(3L), journal.peek(10).stream().map(JournaledRating::sequence).toList());
+            assertEquals(2L, journal.appliedSequence());
+        }
+    }
+
+    private static JournaledRating append(RatingJournal journal, Long entryId) throws Exception {
+        return journal.append(1L, entryId, 5L, Map.of(1L, new BigDecimal("8.5")), "note", SUBMITTED_AT);
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+}
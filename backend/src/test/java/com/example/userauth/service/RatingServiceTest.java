@@ -1,9 +1,13 @@
 package com.example.userauth.service;
 
+import com.example.userauth.dto.BatchRatingRequest;
+import com.example.userauth.dto.BatchRatingResponse;
+import com.example.userauth.dto.CompletionMatrixResponse;
 import com.example.userauth.dto.RatingRequest;
 import com.example.userauth.dto.RatingResponse;
 import com.example.userauth.entity.*;
 import com.example.userauth.repository.*;
+import com.example.userauth.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,12 +15,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,7 +51,19 @@ class RatingServiceTest {
     private EvaluationParameterRepository parameterRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private RatingAggregateService aggregateService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private ScoreStreamService scoreStreamService;
+
+    @Mock
+    private RatingSubmissionKeyRepository submissionKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private RatingService ratingService;
@@ -54,6 +74,8 @@ class RatingServiceTest {
     private User admin;
     private EvaluationParameter parameter;
     private CompetitionRating rating;
+    private AuthenticatedUser judgePrincipal;
+    private AuthenticatedUser adminPrincipal;
 
     @BeforeEach
     void setUp() {
@@ -83,6 +105,9 @@ class RatingServiceTest {
         admin.setUsername("admin");
         admin.setIsAdmin(true);
 
+        judgePrincipal = new AuthenticatedUser(1L, "judge1", false);
+        adminPrincipal = new AuthenticatedUser(2L, "admin", true);
+
         parameter = new EvaluationParameter();
         parameter.setId(1L);
         parameter.setName("甜度");
@@ -107,19 +132,27 @@ class RatingServiceTest {
 
         when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
         when(entryRepository.findById(1L)).thenReturn(Optional.of(entry));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(judge));
         when(judgeRepository.existsByCompetitionIdAndJudgeId(1L, 1L)).thenReturn(true);
         when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(Arrays.asList(parameter));
-        when(ratingRepository.findByEntryIdAndJudgeIdAndParameterId(1L, 1L, 1L)).thenReturn(Optional.empty());
-        when(ratingRepository.saveAll(anyList())).thenReturn(Arrays.asList(rating));
+        when(ratingRepository.findByEntryIdAndJudgeIdWithParameter(1L, 1L)).thenReturn(Arrays.asList(rating));
+        List<RatingAggregateService.EntryAggregates> changed =
+                List.of(new RatingAggregateService.EntryAggregates(1L, List.of(), List.of()));
+        when(aggregateService.recordSubmission(1L, 1L, 1L, Map.of(), Map.of(1L, new BigDecimal("8.5"))))
+                .thenReturn(List.of(1L));
+        when(aggregateService.loadAggregates(List.of(1L))).thenReturn(changed);
 
         // When
-        RatingResponse response = ratingService.submitRating(request, 1L);
+        RatingResponse response = ratingService.submitRating(request, judgePrincipal);
 
         // Then
         assertNotNull(response);
         assertEquals(1L, response.getEntryId());
-        verify(ratingRepository).saveAll(anyList());
+        assertEquals("judge1", response.getJudgeName());
+        verify(ratingRepository).upsertScores(eq(1L), eq(1L), eq(1L),
+                eq(Map.of(1L, new BigDecimal("8.5"))), eq("测试评分"), any(LocalDateTime.class));
+        verify(ratingRepository, never()).saveAll(anyList());
+        verify(leaderboardService).onEntriesScoresChanged(1L, changed);
+        verify(scoreStreamService).onEntriesScoresChanged(1L, changed);
     }
 
     @Test
@@ -131,7 +164,7 @@ class RatingServiceTest {
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> ratingService.submitRating(request, 1L));
+                () -> ratingService.submitRating(request, judgePrincipal));
         assertEquals("赛事不存在", exception.getMessage());
     }
 
@@ -146,7 +179,7 @@ class RatingServiceTest {
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class,
-                () -> ratingService.submitRating(request, 1L));
+                () -> ratingService.submitRating(request, judgePrincipal));
         assertEquals("赛事已截止，无法提交评分", exception.getMessage());
     }
 
@@ -161,7 +194,7 @@ class RatingServiceTest {
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> ratingService.submitRating(request, 1L));
+                () -> ratingService.submitRating(request, judgePrincipal));
         assertEquals("参赛作品不存在", exception.getMessage());
     }
 
@@ -177,7 +210,7 @@ class RatingServiceTest {
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class,
-                () -> ratingService.submitRating(request, 1L));
+                () -> ratingService.submitRating(request, judgePrincipal));
         assertEquals("只能为已审核通过的作品评分", exception.getMessage());
     }
 
@@ -189,12 +222,11 @@ class RatingServiceTest {
 
         when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
         when(entryRepository.findById(1L)).thenReturn(Optional.of(entry));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(judge));
         when(judgeRepository.existsByCompetitionIdAndJudgeId(1L, 1L)).thenReturn(false);
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> ratingService.submitRating(request, 1L));
+                () -> ratingService.submitRating(request, judgePrincipal));
         assertEquals("您不是该赛事的评委", exception.getMessage());
     }
 
@@ -206,13 +238,11 @@ class RatingServiceTest {
 
         when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
         when(entryRepository.findById(1L)).thenReturn(Optional.of(entry));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(admin));
         when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(Arrays.asList(parameter));
-        when(ratingRepository.findByEntryIdAndJudgeIdAndParameterId(1L, 2L, 1L)).thenReturn(Optional.empty());
-        when(ratingRepository.saveAll(anyList())).thenReturn(Arrays.asList(rating));
+        when(ratingRepository.findByEntryIdAndJudgeIdWithParameter(1L, 2L)).thenReturn(Arrays.asList(rating));
 
         // When
-        RatingResponse response = ratingService.submitRating(request, 2L);
+        RatingResponse response = ratingService.submitRating(request, adminPrincipal);
 
         // Then
         assertNotNull(response);
@@ -228,13 +258,12 @@ class RatingServiceTest {
 
         when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
         when(entryRepository.findById(1L)).thenReturn(Optional.of(entry));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(judge));
         when(judgeRepository.existsByCompetitionIdAndJudgeId(1L, 1L)).thenReturn(true);
         when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(Arrays.asList(parameter));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> ratingService.submitRating(request, 1L));
+                () -> ratingService.submitRating(request, judgePrincipal));
         assertTrue(exception.getMessage().contains("评分必须在"));
     }
 
@@ -253,19 +282,22 @@ class RatingServiceTest {
 
         when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
         when(entryRepository.findById(1L)).thenReturn(Optional.of(entry));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(judge));
         when(judgeRepository.existsByCompetitionIdAndJudgeId(1L, 1L)).thenReturn(true);
         when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(Arrays.asList(parameter));
-        when(ratingRepository.findByEntryIdAndJudgeIdAndParameterId(1L, 1L, 1L))
-                .thenReturn(Optional.of(existingRating));
-        when(ratingRepository.saveAll(anyList())).thenReturn(Arrays.asList(existingRating));
+        when(ratingRepository.findByEntryIdAndJudgeIdWithParameter(1L, 1L))
+                .thenReturn(Arrays.asList(existingRating));
+
+        when(ratingRepository.findScoresForUpdate(1L, 1L)).thenReturn(Map.of(1L, new BigDecimal("5.0")));
 
         // When
-        RatingResponse response = ratingService.submitRating(request, 1L);
+        RatingResponse response = ratingService.submitRating(request, judgePrincipal);
 
         // Then
         assertNotNull(response);
-        verify(ratingRepository).saveAll(anyList());
+        verify(ratingRepository).upsertScores(eq(1L), eq(1L), eq(1L), anyMap(), any(), any(LocalDateTime.class));
+        verify(aggregateService).recordSubmission(1L, 1L, 1L,
+                Map.of(1L, new BigDecimal("5.0")), Map.of(1L, new BigDecimal("8.5")));
+        verify(ratingRepository, never()).findByEntryIdAndJudgeIdAndParameterId(anyLong(), anyLong(), anyLong());
     }
 
     @Test
@@ -354,7 +386,7 @@ class RatingServiceTest {
         // Given
         CompetitionEntry entryWithModel = entry;
         when(entryRepository.findByIdWithCompetition(1L)).thenReturn(Optional.of(entryWithModel));
-        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(Arrays.asList(parameter));
+        when(parameterRepository.countByModelId(1L)).thenReturn(1L);
         when(ratingRepository.countByEntryIdAndJudgeId(1L, 1L)).thenReturn(1L);
 
         // When
@@ -369,9 +401,7 @@ class RatingServiceTest {
     void hasJudgeCompletedRating_False() {
         // Given
         when(entryRepository.findByIdWithCompetition(1L)).thenReturn(Optional.of(entry));
-        EvaluationParameter param2 = new EvaluationParameter();
-        param2.setId(2L);
-        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(Arrays.asList(parameter, param2));
+        when(parameterRepository.countByModelId(1L)).thenReturn(2L);
         when(ratingRepository.countByEntryIdAndJudgeId(1L, 1L)).thenReturn(1L);
 
         // When
@@ -392,6 +422,165 @@ class RatingServiceTest {
 
         // Then
         verify(ratingRepository).deleteAll(anyList());
+        verify(aggregateService).removeCompetition(1L);
+        verify(leaderboardService).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should save the valid items of a batch and report the invalid ones")
+    void submitRatings_PartialFailure() {
+        // Given
+        CompetitionEntry pending = new CompetitionEntry();
+        pending.setId(2L);
+        pending.setCompetition(competition);
+        pending.setStatus(CompetitionEntry.EntryStatus.PENDING);
+        BatchRatingRequest request = new BatchRatingRequest(1L, List.of(
+                batchItem("k1", 1L, "8.5"),
+                batchItem("k2", 2L, "7.0"),
+                batchItem("k3", 3L, "7.0"),
+                batchItem("k4", 1L, "99")));
+
+        when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
+        when(judgeRepository.existsByCompetitionIdAndJudgeId(1L, 1L)).thenReturn(true);
+        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(List.of(parameter));
+        when(submissionKeyRepository.findByJudgeIdAndIdempotencyKeyIn(1L, List.of("k1", "k2", "k3", "k4")))
+                .thenReturn(List.of());
+        when(entryRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(entry, pending));
+        when(ratingRepository.findScoresForUpdate(List.of(1L), 1L))
+                .thenReturn(Map.of(1L, Map.of(1L, new BigDecimal("6.0"))));
+        List<RatingAggregateService.EntryAggregates> changed =
+                List.of(new RatingAggregateService.EntryAggregates(1L, List.of(), List.of()));
+        when(aggregateService.recordSubmissions(1L, 1L, Map.of(1L, Map.of(1L, new BigDecimal("6.0"))),
+                Map.of(1L, Map.of(1L, new BigDecimal("8.5"))))).thenReturn(List.of(1L));
+        when(aggregateService.loadAggregates(List.of(1L))).thenReturn(changed);
+
+        // When
+        BatchRatingResponse response = ratingService.submitRatings(request, judgePrincipal);
+
+        // Then
+        assertEquals(1, response.getSubmitted());
+        assertEquals(3, response.getRejected());
+        List<BatchRatingResponse.ItemStatus> statuses = response.getResults().stream()
+                .map(BatchRatingResponse.ItemResult::getStatus).toList();
+        assertEquals(List.of(BatchRatingResponse.ItemStatus.SUBMITTED, BatchRatingResponse.ItemStatus.REJECTED,
+                BatchRatingResponse.ItemStatus.REJECTED, BatchRatingResponse.ItemStatus.REJECTED), statuses);
+        assertEquals("只能为已审核通过的作品评分", response.getResults().get(1).getMessage());
+        assertEquals("参赛作品不存在", response.getResults().get(2).getMessage());
+        assertEquals("同一作品在批次中重复", response.getResults().get(3).getMessage());
+        verify(submissionKeyRepository).insertKeys(eq(1L), eq(1L), eq(Map.of("k1", 1L)), any(LocalDateTime.class));
+        verify(ratingRepository).upsertScores(eq(1L), eq(1L),
+                eq(List.of(new CompetitionRatingRepositoryCustom.EntryScores(1L, Map.of(1L, new BigDecimal("8.5")), null))),
+                any(LocalDateTime.class));
+        verify(leaderboardService).onEntriesScoresChanged(1L, changed);
+        verify(scoreStreamService).onEntriesScoresChanged(1L, changed);
+    }
+
+    @Test
+    @DisplayName("Should apply only the latest journaled submission of a judge for an entry")
+    void applyJournaledRatings_LatestSubmissionWins() {
+        // Given
+        LocalDateTime first = LocalDateTime.of(2024, 5, 1, 10, 0);
+        LocalDateTime second = first.plusMinutes(5);
+        List<RatingJournal.JournaledRating> ratings = List.of(
+                new RatingJournal.JournaledRating(1L, 1L, 1L, 1L, Map.of(1L, new BigDecimal("6.0")), null, first),
+                new RatingJournal.JournaledRating(2L, 1L, 1L, 1L, Map.of(1L, new BigDecimal("8.5")), "改", second));
+        when(ratingRepository.findScoresForUpdate(List.of(1L), 1L)).thenReturn(Map.of());
+
+        // When
+        ratingService.applyJournaledRatings(ratings);
+
+        // Then
+        verify(ratingRepository).upsertScores(1L, 1L,
+                List.of(new CompetitionRatingRepositoryCustom.EntryScores(1L, Map.of(1L, new BigDecimal("8.5")), "改")),
+                second);
+        verify(aggregateService).recordSubmissions(1L, 1L, Map.of(), Map.of(1L, Map.of(1L, new BigDecimal("8.5"))));
+    }
+
+    @Test
+    @DisplayName("Should not write items of a retried batch again")
+    void submitRatings_RetriedBatch_SkipsSubmittedItems() {
+        // Given
+        BatchRatingRequest request = new BatchRatingRequest(1L, List.of(batchItem("k1", 1L, "8.5")));
+
+        when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
+        when(judgeRepository.existsByCompetitionIdAndJudgeId(1L, 1L)).thenReturn(true);
+        when(parameterRepository.findByModelIdOrderByDisplayOrder(1L)).thenReturn(List.of(parameter));
+        when(submissionKeyRepository.findByJudgeIdAndIdempotencyKeyIn(1L, List.of("k1")))
+                .thenReturn(List.of(new RatingSubmissionKey(1L, "k1", 1L, 1L)));
+        when(entryRepository.findAllById(List.of(1L))).thenReturn(List.of(entry));
+
+        // When
+        BatchRatingResponse response = ratingService.submitRatings(request, judgePrincipal);
+
+        // Then
+        assertEquals(1, response.getAlreadySubmitted());
+        verify(submissionKeyRepository, never()).insertKeys(anyLong(), anyLong(), anyMap(), any());
+        verify(ratingRepository, never()).upsertScores(anyLong(), anyLong(), anyList(), any());
+        verifyNoInteractions(aggregateService, leaderboardService, scoreStreamService);
+    }
+
+    @Test
+    @DisplayName("Should refuse the whole batch when the user does not judge the competition")
+    void submitRatings_NotAuthorizedJudge() {
+        // Given
+        BatchRatingRequest request = new BatchRatingRequest(1L, List.of(batchItem("k1", 1L, "8.5")));
+
+        when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
+        when(judgeRepository.existsByCompetitionIdAndJudgeId(1L, 1L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> ratingService.submitRatings(request, judgePrincipal));
+        verifyNoInteractions(submissionKeyRepository);
+    }
+
+    @Test
+    @DisplayName("Should build the completion matrix from one grouped count")
+    void getCompletionMatrix_Success() {
+        // Given
+        CompetitionEntry second = new CompetitionEntry();
+        second.setId(2L);
+        second.setEntryName("第二件作品");
+        User judge2 = new User();
+        judge2.setId(3L);
+        judge2.setUsername("judge2");
+        CompetitionJudge firstJudge = new CompetitionJudge();
+        firstJudge.setJudge(judge);
+        CompetitionJudge secondJudge = new CompetitionJudge();
+        secondJudge.setJudge(judge2);
+
+        when(competitionRepository.findById(1L)).thenReturn(Optional.of(competition));
+        when(entryRepository.findByCompetitionIdAndStatusOrderByDisplayOrder(1L, CompetitionEntry.EntryStatus.APPROVED))
+                .thenReturn(List.of(entry, second));
+        when(parameterRepository.countByModelId(1L)).thenReturn(2L);
+        when(judgeRepository.findByCompetitionIdWithJudge(1L)).thenReturn(List.of(firstJudge, secondJudge));
+        when(ratingRepository.countRatedParametersByCompetitionId(1L)).thenReturn(List.of(
+                new RatingCompletionCount(1L, 1L, "judge1", 2L),
+                new RatingCompletionCount(1L, 3L, "judge2", 1L),
+                new RatingCompletionCount(2L, 3L, "judge2", 2L),
+                new RatingCompletionCount(2L, 2L, "admin", 2L),
+                new RatingCompletionCount(99L, 1L, "judge1", 2L)));
+
+        // When
+        CompletionMatrixResponse matrix = ratingService.getCompletionMatrix(1L);
+
+        // Then
+        assertEquals(List.of(1L, 3L, 2L), matrix.getJudges().stream()
+                .map(CompletionMatrixResponse.JudgeProgress::getJudgeId).toList());
+        // Row-major 2 x 3: entry 1 by judge1, entry 2 by judge2 and admin
+        BitSet bits = BitSet.valueOf(Base64.getDecoder().decode(matrix.getMatrix()));
+        assertEquals(BitSet.valueOf(new long[] {0b110001}), bits);
+        assertEquals(3, matrix.getCompletedCount());
+        assertEquals(50, matrix.getProgress());
+        assertEquals(33, matrix.getEntries().get(0).getProgress());
+        assertEquals(2, matrix.getEntries().get(1).getCompletedJudges());
+        assertEquals(50, matrix.getJudges().get(1).getProgress());
+        assertEquals(1, matrix.getJudges().get(2).getCompletedEntries());
+    }
+
+    private BatchRatingRequest.Item batchItem(String key, Long entryId, String score) {
+        return new BatchRatingRequest.Item(key, entryId,
+                List.of(new RatingRequest.ScoreRequest(1L, new BigDecimal(score))), null);
     }
 
     private RatingRequest createValidRatingRequest() {
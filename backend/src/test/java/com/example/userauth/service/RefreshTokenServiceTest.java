@@ -0,0 +1,120 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.AuthResponse;
+import com.example.userauth.entity.User;
+import com.example.userauth.exception.InvalidRefreshTokenException;
+import com.example.userauth.repository.UserRepository;
+import com.example.userauth.security.InMemoryRefreshTokenStore;
+import com.example.userauth.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtService jwtService;
+    private InMemoryRefreshTokenStore refreshTokenStore;
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "mySecretKeyForTestingThatIsLongEnoughForHS256Algorithm123");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 7200000L);
+        ReflectionTestUtils.setField(jwtService, "verificationCacheSize", 100);
+
+        refreshTokenStore = new InMemoryRefreshTokenStore();
+        refreshTokenService = new RefreshTokenService(new TokenService(jwtService), refreshTokenStore, userRepository);
+
+        user = new User("testuser", "hashedPassword", false);
+        user.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Should issue a refresh token that starts a new family")
+    void issue_Success() {
+        String refreshToken = refreshTokenService.issue(user);
+
+        assertTrue(jwtService.isRefreshToken(refreshToken));
+        assertEquals(1L, jwtService.verify(refreshToken).userId());
+        assertEquals(1, refreshTokenStore.size());
+    }
+
+    @Test
+    @DisplayName("Should exchange a refresh token for new access and refresh tokens")
+    void refresh_Success() {
+        String refreshToken = refreshTokenService.issue(user);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        AuthResponse response = refreshTokenService.refresh(refreshToken);
+
+        assertEquals("testuser", response.getUsername());
+        assertFalse(jwtService.isRefreshToken(response.getToken()));
+        assertEquals(1L, jwtService.verify(response.getToken()).userId());
+        assertNotEquals(refreshToken, response.getRefreshToken());
+        assertTrue(jwtService.isRefreshToken(response.getRefreshToken()));
+        verify(userRepository).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should pick up role changes at the next refresh")
+    void refresh_ReloadsRoles() {
+        String refreshToken = refreshTokenService.issue(user);
+        user.setIsAdmin(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        AuthResponse response = refreshTokenService.refresh(refreshToken);
+
+        assertTrue(jwtService.verify(response.getToken()).admin());
+        assertTrue(response.getRoles().contains("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Should revoke the family when a rotated refresh token is replayed")
+    void refresh_ReuseDetected() {
+        String first = refreshTokenService.issue(user);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        String second = refreshTokenService.refresh(first).getRefreshToken();
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(first));
+        // The stolen-or-not second token dies with its family
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(second));
+        assertEquals(0, refreshTokenStore.size());
+    }
+
+    @Test
+    @DisplayName("Should reject access tokens and malformed tokens")
+    void refresh_NotARefreshToken() {
+        String accessToken = new TokenService(jwtService).generateToken(user);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(accessToken));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("not-a-jwt"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should revoke the family when the user no longer exists")
+    void refresh_UserDeleted() {
+        String refreshToken = refreshTokenService.issue(user);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(refreshToken));
+        assertEquals(0, refreshTokenStore.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.Competition;
+import com.example.userauth.repository.CompetitionRepository;
+import com.example.userauth.repository.CompetitionVersion;
+import com.example.userauth.repository.EvaluationModelRepository;
+import com.example.userauth.repository.FruitDataRepository;
+import com.example.userauth.repository.TableVersion;
+import com.example.userauth.service.ResourceVersionService.ResourceVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResourceVersionService Tests")
+class ResourceVersionServiceTest {
+
+    @Spy
+    private ResourceVersionStore versionStore = new InMemoryResourceVersionStore();
+
+    @Mock
+    private CompetitionRepository competitionRepository;
+
+    @Mock
+    private EvaluationModelRepository modelRepository;
+
+    @Mock
+    private FruitDataRepository fruitDataRepository;
+
+    @InjectMocks
+    private ResourceVersionService resourceVersionService;
+
+    private final LocalDateTime updatedAt = LocalDateTime.of(2026, 10, 17, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resourceVersionService, "endedMaxAgeSeconds", 600L);
+    }
+
+    @Test
+    @DisplayName("Competition ETag should change with its own counter and the models, not with its ratings")
+    void competitionVersion_ChangesWithCompetitionAndModels() {
+        stubCompetition(Competition.CompetitionStatus.ACTIVE);
+        String initial = eTag(resourceVersionService.competitionVersion(1L));
+
+        resourceVersionService.ratingsChanged(1L);
+        resourceVersionService.competitionChanged(2L);
+        assertEquals(initial, eTag(resourceVersionService.competitionVersion(1L)));
+
+        resourceVersionService.competitionChanged(1L);
+        String afterEntryChange = eTag(resourceVersionService.competitionVersion(1L));
+        assertNotEquals(initial, afterEntryChange);
+
+        resourceVersionService.modelsChanged();
+        assertNotEquals(afterEntryChange, eTag(resourceVersionService.competitionVersion(1L)));
+    }
+
+    @Test
+    @DisplayName("Rating data ETag should change with the competition's ratings")
+    void ratingDataVersion_ChangesWithRatings() {
+        stubCompetition(Competition.CompetitionStatus.ACTIVE);
+        String initial = eTag(resourceVersionService.ratingDataVersion(1L));
+
+        resourceVersionService.ratingsChanged(1L);
+
+        assertNotEquals(initial, eTag(resourceVersionService.ratingDataVersion(1L)));
+        assertNotEquals(eTag(resourceVersionService.competitionVersion(1L)),
+                eTag(resourceVersionService.ratingDataVersion(1L)));
+    }
+
+    @Test
+    @DisplayName("Only ended competition details may be reused without revalidating, never rating data")
+    void competitionVersion_MaxAgeByStatus() {
+        stubCompetition(Competition.CompetitionStatus.ACTIVE);
+        assertEquals(Duration.ZERO, resourceVersionService.competitionVersion(1L).orElseThrow().maxAge());
+
+        stubCompetition(Competition.CompetitionStatus.ENDED);
+        assertEquals(Duration.ofSeconds(600), resourceVersionService.competitionVersion(1L).orElseThrow().maxAge());
+        assertEquals(Duration.ZERO, resourceVersionService.ratingDataVersion(1L).orElseThrow().maxAge());
+    }
+
+    @Test
+    @DisplayName("Models ETag should change with the table and the counter")
+    void modelsVersion_ChangesWithTableAndCounter() {
+        when(modelRepository.findTableVersion()).thenReturn(new TableVersion(2L, updatedAt));
+        String initial = eTag(resourceVersionService.modelsVersion());
+        assertTrue(initial.startsWith("\"models-2-"));
+
+        resourceVersionService.modelsChanged();
+        String afterChange = eTag(resourceVersionService.modelsVersion());
+        assertNotEquals(initial, afterChange);
+
+        when(modelRepository.findTableVersion()).thenReturn(new TableVersion(1L, updatedAt));
+        assertNotEquals(afterChange, eTag(resourceVersionService.modelsVersion()));
+    }
+
+    @Test
+    @DisplayName("Should give no validator for a missing competition or unreadable counters")
+    void versions_EmptyWhenUnavailable() {
+        when(competitionRepository.findVersionById(9L)).thenReturn(Optional.empty());
+        assertTrue(resourceVersionService.competitionVersion(9L).isEmpty());
+
+        when(fruitDataRepository.findTableVersion()).thenReturn(new TableVersion(0L, null));
+        doThrow(new IllegalStateException("store down")).when(versionStore).current(anyList());
+        assertTrue(resourceVersionService.fruitDataVersion().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A failing bump should not fail the write that caused it")
+    void changed_StoreFailureIsSwallowed() {
+        doThrow(new IllegalStateException("store down")).when(versionStore).increment("fruit-data");
+
+        assertDoesNotThrow(() -> resourceVersionService.fruitDataChanged());
+    }
+
+    private void stubCompetition(Competition.CompetitionStatus status) {
+        when(competitionRepository.findVersionById(1L)).thenReturn(Optional.of(new CompetitionVersion(status, updatedAt)));
+    }
+
+    private static String eTag(Optional<ResourceVersion> version) {
+        return version.orElseThrow().eTag();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.userauth.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the result statistics on a synthetic competition, 1,000 entries × 50 judges ×
+ * 10 parameters by default: feeding every parameter score into the matrix, and computing
+ * all per-entry statistics from a filled matrix.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ScoreStatisticsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreStatisticsBenchmark {
+
+  @Param("1000")
+  public int entries;
+
+  @Param("50")
+  public int judges;
+
+  @Param("10")
+  public int parameters;
+
+  private double[] parameterScores;
+  private ScoreStatistics filled;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(17);
+    parameterScores = new double[entries * judges * parameters];
+    for (int i = 0; i < parameterScores.length; i++) {
+      parameterScores[i] = random.nextInt(11);
+    }
+    filled = fill();
+  }
+
+  @Benchmark
+  public ScoreStatistics fillMatrix() {
+    return fill();
+  }
+
+  @Benchmark
+  public ScoreStatistics.Result compute() {
+    return filled.compute();
+  }
+
+  private ScoreStatistics fill() {
+    ScoreStatistics statistics = new ScoreStatistics(entries, judges);
+    int i = 0;
+    for (int e = 0; e < entries; e++) {
+      for (int j = 0; j < judges; j++) {
+        for (int p = 0; p < parameters; p++) {
+          statistics.add(e, j, parameterScores[i++]);
+        }
+      }
+    }
+    return statistics;
+  }
+}
@@ -0,0 +1,101 @@
+package com.example.userauth.service;
+
+import com.example.userauth.entity.EvaluationModel.AggregationMethod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScoreStatistics Tests")
+class ScoreStatisticsTest {
+
+    @Test
+    @DisplayName("Should compute mean, median, sample deviation and trimmed mean per entry")
+    void compute_PerEntryStatistics() {
+        ScoreStatistics statistics = new ScoreStatistics(1, 5);
+        double[] totals = {70, 80, 90, 85, 20};
+        for (int judge = 0; judge < totals.length; judge++) {
+            statistics.add(0, judge, totals[judge]);
+        }
+
+        ScoreStatistics.Result result = statistics.compute();
+
+        assertEquals(5, result.count()[0]);
+        assertEquals(69.0, result.mean()[0], 1e-9);
+        assertEquals(80.0, result.median()[0], 1e-9);
+        assertEquals(Math.sqrt(3220.0 / 4), result.stddev()[0], 1e-9);
+        assertEquals(235.0 / 3, result.trimmedMean()[0], 1e-9);
+        assertEquals(80.0, result.score(0, AggregationMethod.MEDIAN), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should add parameter scores into one judge total and skip judges who did not rate")
+    void add_SumsParametersAndIgnoresMissing() {
+        ScoreStatistics statistics = new ScoreStatistics(2, 3);
+        statistics.add(0, 0, 30);
+        statistics.add(0, 0, 40);
+        statistics.add(0, 2, 60);
+
+        ScoreStatistics.Result result = statistics.compute();
+
+        assertEquals(2, result.count()[0]);
+        assertEquals(65.0, result.mean()[0], 1e-9);
+        assertEquals(65.0, result.median()[0], 1e-9);
+        // Two judges: nothing to trim
+        assertEquals(65.0, result.trimmedMean()[0], 1e-9);
+        assertEquals(0, result.count()[1]);
+        assertTrue(Double.isNaN(result.mean()[1]));
+        assertTrue(Double.isNaN(result.normalized()[1]));
+    }
+
+    @Test
+    @DisplayName("Should cancel out a judge who scores everything lower than the others")
+    void compute_ZScoreRemovesJudgeBias() {
+        ScoreStatistics statistics = new ScoreStatistics(2, 2);
+        // Both judges prefer entry 0 by the same margin in their own scale
+        statistics.add(0, 0, 90);
+        statistics.add(1, 0, 80);
+        statistics.add(0, 1, 50);
+        statistics.add(1, 1, 40);
+
+        ScoreStatistics.Result result = statistics.compute();
+
+        assertTrue(result.normalized()[0] > result.normalized()[1]);
+        double grandMean = (90 + 80 + 50 + 40) / 4.0;
+        assertEquals(grandMean, (result.normalized()[0] + result.normalized()[1]) / 2, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should match a two-pass computation on an unevenly rated matrix")
+    void compute_MatchesTwoPassReference() {
+        int entries = 40;
+        int judges = 7;
+        ScoreStatistics statistics = new ScoreStatistics(entries, judges);
+        double[][] matrix = new double[entries][judges];
+        Random random = new Random(42);
+        for (int e = 0; e < entries; e++) {
+            for (int j = 0; j < judges; j++) {
+                matrix[e][j] = random.nextInt(5) == 0 ? Double.NaN : 1_000_000 + random.nextDouble() * 100;
+                if (!Double.isNaN(matrix[e][j])) {
+                    statistics.add(e, j, matrix[e][j]);
+                }
+            }
+        }
+
+        ScoreStatistics.Result result = statistics.compute();
+
+        for (int e = 0; e < entries; e++) {
+            double[] row = Arrays.stream(matrix[e]).filter(x -> !Double.isNaN(x)).toArray();
+            if (row.length < 2) {
+                continue;
+            }
+            double mean = Arrays.stream(row).average().orElseThrow();
+            double variance = Arrays.stream(row).map(x -> (x - mean) * (x - mean)).sum() / (row.length - 1);
+            assertEquals(mean, result.mean()[e], 1e-6);
+            assertEquals(Math.sqrt(variance), result.stddev()[e], 1e-6);
+        }
+    }
+}
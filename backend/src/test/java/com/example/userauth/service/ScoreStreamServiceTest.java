@@ -0,0 +1,223 @@
+package com.example.userauth.service;
+
+import com.example.userauth.dto.ScoreUpdateEvent;
+import com.example.userauth.exception.ScoreStreamRejectedException;
+import com.example.userauth.repository.JudgeTotalSummary;
+import com.example.userauth.repository.ParameterScoreSummary;
+import com.example.userauth.service.RatingAggregateService.EntryAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScoreStreamService Tests")
+class ScoreStreamServiceTest {
+
+    private final InMemoryScoreEventBroker broker = new InMemoryScoreEventBroker();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should publish the entry's current averages, highest total and rating count")
+    void onEntriesScoresChanged_PublishesCurrentScores() {
+        ScoreStreamService service = service(10, 16);
+        List<ScoreUpdateEvent> published = new ArrayList<>();
+        broker.subscribe(published::add);
+        EntryAggregates changed = new EntryAggregates(7L,
+                List.of(parameterScore(7L, 2L, "16.00", 2),
+                        parameterScore(7L, 1L, "9.00", 2),
+                        parameterScore(7L, 3L, "0.00", 0)),
+                List.of(judgeTotal(7L, 1L, "14.00"), judgeTotal(7L, 2L, "11.00")));
+
+        service.onEntriesScoresChanged(1L, List.of(changed));
+
+        assertEquals(1, published.size());
+        ScoreUpdateEvent event = published.get(0);
+        assertEquals(1L, event.getEventId());
+        assertEquals(7L, event.getEntryId());
+        assertEquals(12.5, event.getAverageTotalScore(), 0.0001);
+        assertEquals(14.0, event.getHighestScore(), 0.0001);
+        assertEquals(2, event.getNumberOfRatings());
+        assertEquals(List.of(1L, 2L), event.getParameterAverages().stream()
+                .map(ScoreUpdateEvent.ParameterAverage::getParameterId).toList());
+        assertEquals(4.5, event.getParameterAverages().get(0).getAverageScore(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Should deliver published events to open streams")
+    void deliver_ReachesOpenStreams() throws Exception {
+        ScoreStreamService service = service(10, 16);
+        MvcResult result = open(service, 1L, null);
+
+        broker.publish(event(1L, 7L));
+        broker.publish(event(2L, 8L));
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("retry:"));
+        assertTrue(body.contains("id:1\nevent:score-update\ndata:"));
+        assertTrue(body.contains("\"entryId\":7"));
+        assertFalse(body.contains("\"entryId\":8"), "Events of other competitions must not be delivered");
+        assertEquals(1, service.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should replay buffered events after Last-Event-ID")
+    void subscribe_ReplaysMissedEvents() throws Exception {
+        ScoreStreamService service = service(10, 16);
+        broker.publish(event(1L, 7L));
+        broker.publish(event(1L, 8L));
+        broker.publish(event(1L, 9L));
+
+        String body = open(service, 1L, 1L).getResponse().getContentAsString();
+
+        assertFalse(body.contains("id:1\n"));
+        assertTrue(body.indexOf("id:2\n") < body.indexOf("id:3\n"));
+        assertTrue(body.contains("\"entryId\":9"));
+        assertFalse(body.contains("event:resync"));
+    }
+
+    @Test
+    @DisplayName("Should ask for a resync when the missed events are no longer buffered")
+    void subscribe_ResyncsWhenGapNotBuffered() throws Exception {
+        ScoreStreamService service = service(10, 2);
+        for (long entryId = 1; entryId <= 4; entryId++) {
+            broker.publish(event(1L, entryId));
+        }
+
+        String body = open(service, 1L, 1L).getResponse().getContentAsString();
+
+        assertTrue(body.contains("id:4\nevent:resync"));
+        assertFalse(body.contains("event:score-update"));
+    }
+
+    @Test
+    @DisplayName("Should ask for a resync when this instance has never seen the client's event id")
+    void subscribe_ResyncsAfterRestart() throws Exception {
+        ScoreStreamService service = service(10, 16);
+
+        String body = open(service, 1L, 57L).getResponse().getContentAsString();
+
+        assertTrue(body.contains("event:resync"));
+    }
+
+    @Test
+    @DisplayName("Should refuse streams beyond the per-instance limit")
+    void subscribe_RejectsBeyondLimit() {
+        ScoreStreamService service = service(1, 16);
+        service.subscribe(1L, null);
+
+        ScoreStreamRejectedException exception = assertThrows(ScoreStreamRejectedException.class,
+                () -> service.subscribe(2L, null));
+
+        assertEquals(10, exception.getRetryAfterSeconds());
+        assertEquals(1, service.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should send heartbeat comments to open streams")
+    void sendHeartbeats_WritesComment() throws Exception {
+        ScoreStreamService service = service(10, 16);
+        MvcResult result = open(service, 1L, null);
+
+        service.sendHeartbeats();
+
+        assertTrue(result.getResponse().getContentAsString().contains(":heartbeat"));
+    }
+
+    @Test
+    @DisplayName("Should drop a client that falls behind without holding up the others")
+    void deliver_DropsClientThatFallsBehind() throws Exception {
+        List<Runnable> stalledSends = new ArrayList<>();
+        ScoreStreamService service = new ScoreStreamService(broker, meterRegistry, Runnable::run, stalledSends::add, mock(ScheduledExecutorService.class),
+                10, 16, 2, 60_000L, 30_000L, 3000L, 10L, 60_000L);
+        service.subscribe(1L, null);
+        ScoreStreamService other = service(10, 16);
+        MvcResult otherResult = open(other, 1L, null);
+
+        broker.publish(event(1L, 7L));
+        broker.publish(event(1L, 8L));
+
+        assertEquals(0, service.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.counter("ratings.stream.evicted").count());
+        assertTrue(otherResult.getResponse().getContentAsString().contains("\"entryId\":8"));
+    }
+
+    @Test
+    @DisplayName("Should forget a competition without subscribers once it has been idle for the retention time")
+    void sendHeartbeats_RemovesIdleCompetitions() {
+        ScoreStreamService service = service(10, 16, 0L);
+        service.subscribe(1L, null);
+        broker.publish(event(2L, 7L));
+
+        service.sendHeartbeats();
+
+        assertEquals(1, service.getCompetitionCount());
+        service.subscribe(2L, null);
+        assertEquals(2, service.getCompetitionCount());
+    }
+
+    private ScoreStreamService service(int maxSubscribers, int replayBufferSize) {
+        return service(maxSubscribers, replayBufferSize, 60_000L);
+    }
+
+    private ScoreStreamService service(int maxSubscribers, int replayBufferSize, long idleRetentionMs) {
+        return new ScoreStreamService(broker, new SimpleMeterRegistry(), Runnable::run, Runnable::run, mock(ScheduledExecutorService.class),
+                maxSubscribers, replayBufferSize, 64, 60_000L, 30_000L, 3000L, 10L, idleRetentionMs);
+    }
+
+    private static MvcResult open(ScoreStreamService service, Long competitionId, Long lastEventId) throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(service)).build();
+        var builder = get("/stream/" + competitionId);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static ScoreUpdateEvent event(Long competitionId, Long entryId) {
+        return new ScoreUpdateEvent(competitionId, entryId, 10.0, 10.0, 1, List.of());
+    }
+
+    private static ParameterScoreSummary parameterScore(Long entryId, Long parameterId, String scoreSum, long ratingCount) {
+        return new ParameterScoreSummary(1L, entryId, parameterId, new BigDecimal(scoreSum), BigDecimal.ZERO, ratingCount);
+    }
+
+    private static JudgeTotalSummary judgeTotal(Long entryId, Long judgeId, String totalScore) {
+        return new JudgeTotalSummary(1L, entryId, judgeId, new BigDecimal(totalScore));
+    }
+
+    @RestController
+    static class StreamController {
+        private final ScoreStreamService service;
+
+        StreamController(ScoreStreamService service) {
+            this.service = service;
+        }
+
+        @GetMapping("/stream/{competitionId}")
+        SseEmitter stream(@PathVariable Long competitionId,
+                          @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+            return service.subscribe(competitionId, lastEventId);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.userauth.service;
 
 import com.example.userauth.entity.User;
 import com.example.userauth.security.JwtService;
+import com.example.userauth.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -137,7 +140,7 @@ class TokenServiceTest {
         // Given
         String token = "valid.jwt.token";
         Long expectedUserId = 123L;
-        when(jwtService.extractClaim(eq(token), any())).thenReturn(expectedUserId);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", expectedUserId, false, List.of("ROLE_USER")));
 
         // When
         Long userId = tokenService.extractUserId(token);
@@ -150,7 +153,7 @@ class TokenServiceTest {
     void testExtractIsAdmin_AdminToken_ReturnsTrue() {
         // Given
         String token = "admin.jwt.token";
-        when(jwtService.extractClaim(eq(token), any())).thenReturn(true);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("admin", 1L, true, List.of("ROLE_ADMIN", "ROLE_USER")));
 
         // When
         boolean isAdmin = tokenService.extractIsAdmin(token);
@@ -163,7 +166,7 @@ class TokenServiceTest {
     void testExtractIsAdmin_UserToken_ReturnsFalse() {
         // Given
         String token = "user.jwt.token";
-        when(jwtService.extractClaim(eq(token), any())).thenReturn(false);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", 1L, false, List.of("ROLE_USER")));
 
         // When
         boolean isAdmin = tokenService.extractIsAdmin(token);
@@ -177,7 +180,7 @@ class TokenServiceTest {
         // Given
         String token = "admin.jwt.token";
         List<String> expectedRoles = List.of("ROLE_ADMIN", "ROLE_USER");
-        when(jwtService.extractClaim(eq(token), any())).thenReturn(expectedRoles);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("admin", 1L, true, expectedRoles));
 
         // When
         List<String> roles = tokenService.extractRoles(token);
@@ -196,8 +199,7 @@ class TokenServiceTest {
         String username = "testuser";
         List<String> roles = List.of("ROLE_USER");
         
-        when(jwtService.extractUsername(token)).thenReturn(username);
-        when(jwtService.extractClaim(eq(token), any())).thenReturn(roles);
+        when(jwtService.verify(token)).thenReturn(verifiedToken(username, 1L, false, roles));
 
         // When
         UserDetails userDetails = tokenService.createUserDetailsFromToken(token);
@@ -214,8 +216,8 @@ class TokenServiceTest {
     void testIsTokenExpired_ExpiredToken_ReturnsTrue() {
         // Given
         String token = "expired.jwt.token";
-        Date pastDate = new Date(System.currentTimeMillis() - 1000);
-        when(jwtService.extractExpiration(token)).thenReturn(pastDate);
+        Instant pastDate = Instant.now().minusSeconds(1);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", pastDate));
 
         // When
         boolean isExpired = tokenService.isTokenExpired(token);
@@ -228,8 +230,8 @@ class TokenServiceTest {
     void testIsTokenExpired_ValidToken_ReturnsFalse() {
         // Given
         String token = "valid.jwt.token";
-        Date futureDate = new Date(System.currentTimeMillis() + 10000);
-        when(jwtService.extractExpiration(token)).thenReturn(futureDate);
+        Instant futureDate = Instant.now().plusSeconds(10);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", futureDate));
 
         // When
         boolean isExpired = tokenService.isTokenExpired(token);
@@ -242,14 +244,39 @@ class TokenServiceTest {
     void testGetTokenExpiration_ValidToken_ReturnsExpirationDate() {
         // Given
         String token = "valid.jwt.token";
-        Date expectedExpiration = new Date(System.currentTimeMillis() + 10000);
-        when(jwtService.extractExpiration(token)).thenReturn(expectedExpiration);
+        Instant expectedExpiration = Instant.now().plusSeconds(10);
+        when(jwtService.verify(token)).thenReturn(verifiedToken("testuser", expectedExpiration));
 
         // When
         Date expiration = tokenService.getTokenExpiration(token);
 
         // Then
-        assertEquals(expectedExpiration, expiration);
-        verify(jwtService).extractExpiration(token);
+        assertEquals(Date.from(expectedExpiration), expiration);
+        verify(jwtService).verify(token);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateUserDetailsFromToken_VerifiesTokenOnce() {
+        // Given
+        String token = "valid.jwt.token";
+        when(jwtService.verify(token)).thenReturn(verifiedToken("admin", 1L, true, List.of("ROLE_ADMIN", "ROLE_USER")));
+
+        // When
+        UserDetails userDetails = tokenService.createUserDetailsFromToken(token);
+
+        // Then
+        assertEquals(2, userDetails.getAuthorities().size());
+        verify(jwtService, times(1)).verify(token);
+        verifyNoMoreInteractions(jwtService);
+    }
+
+    private VerifiedToken verifiedToken(String subject, Long userId, boolean admin, List<String> roles) {
+        Instant now = Instant.now();
+        return new VerifiedToken(subject, userId, admin, roles, null, now, now.plusSeconds(3600), Jwts.claims().build());
+    }
+
+    private VerifiedToken verifiedToken(String subject, Instant expiration) {
+        return new VerifiedToken(subject, 1L, false, List.of("ROLE_USER"), null,
+                expiration.minusSeconds(3600), expiration, Jwts.claims().build());
+    }
+}
@@ -1,24 +1,33 @@
 package com.example.userauth.service;
 
+import com.example.userauth.dto.AdminUserResponse;
 import com.example.userauth.dto.AuthResponse;
+import com.example.userauth.dto.CursorPageResponse;
+import com.example.userauth.dto.ListPageRequest;
 import com.example.userauth.dto.LoginRequest;
 import com.example.userauth.dto.RegisterRequest;
 import com.example.userauth.dto.UserResponse;
 import com.example.userauth.entity.User;
+import com.example.userauth.exception.PasswordHashingRejectedException;
 import com.example.userauth.repository.UserRepository;
+import com.example.userauth.security.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,6 +45,12 @@ class UserServiceTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserService userService;
 
@@ -194,6 +209,7 @@ class UserServiceTest {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
         when(passwordService.verifyPassword("password123", "hashedPassword")).thenReturn(true);
         when(tokenService.generateToken(mockUser)).thenReturn("jwt-token");
+        when(refreshTokenService.issue(mockUser)).thenReturn("refresh-token");
 
         // Act
         AuthResponse result = userService.authenticateUser(validLoginRequest);
@@ -201,6 +217,7 @@ class UserServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("jwt-token", result.getToken());
+        assertEquals("refresh-token", result.getRefreshToken());
         assertEquals("testuser", result.getUsername());
         assertTrue(result.getRoles().contains("USER"));
         assertFalse(result.getRoles().contains("ADMIN"));
@@ -277,4 +294,108 @@ class UserServiceTest {
         
         assertEquals("Password cannot be null or empty", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateUserAdminRole_RoleChanged_ShouldRevokeTokens() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.save(mockUser)).thenReturn(mockUser);
+
+        // Act
+        userService.updateUserAdminRole(1L, true, "admin");
+
+        // Assert
+        assertTrue(mockUser.isAdmin());
+        verify(tokenRevocationService).revokeUserTokens(1L);
+    }
+
+    @Test
+    void updateUserAdminRole_RoleUnchanged_ShouldNotRevokeTokens() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(userRepository.save(mockUser)).thenReturn(mockUser);
+
+        // Act
+        userService.updateUserAdminRole(1L, false, "admin");
+
+        // Assert
+        verify(tokenRevocationService, never()).revokeUserTokens(any());
+    }
+
+    @Test
+    void deleteUserById_ShouldRevokeTokens() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+
+        // Act
+        userService.deleteUserById(1L, "admin");
+
+        // Assert
+        verify(userRepository).delete(mockUser);
+        verify(tokenRevocationService).revokeUserTokens(1L);
+    }
+
+    @Test
+    void authenticateUser_OutdatedHash_ShouldRehashPassword() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
+        when(passwordService.verifyPassword("password123", "hashedPassword")).thenReturn(true);
+        when(passwordService.needsRehash("hashedPassword")).thenReturn(true);
+        when(passwordService.hashPassword("password123")).thenReturn("rehashedPassword");
+        when(tokenService.generateToken(mockUser)).thenReturn("jwt-token");
+
+        // Act
+        userService.authenticateUser(validLoginRequest);
+
+        // Assert
+        assertEquals("rehashedPassword", mockUser.getPasswordHash());
+        verify(userRepository).save(mockUser);
+    }
+
+    @Test
+    void authenticateUser_RehashRejected_ShouldStillAuthenticate() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
+        when(passwordService.verifyPassword("password123", "hashedPassword")).thenReturn(true);
+        when(passwordService.needsRehash("hashedPassword")).thenReturn(true);
+        when(passwordService.hashPassword("password123"))
+            .thenThrow(new PasswordHashingRejectedException("busy", 2));
+        when(tokenService.generateToken(mockUser)).thenReturn("jwt-token");
+
+        // Act
+        AuthResponse result = userService.authenticateUser(validLoginRequest);
+
+        // Assert
+        assertEquals("jwt-token", result.getToken());
+        assertEquals("hashedPassword", mockUser.getPasswordHash());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void getUserPage_MoreRows_ShouldReturnNextCursorForFollowingPage() {
+        // Arrange
+        User second = new User("second", "hashedPassword", true);
+        second.setId(2L);
+        second.setCreatedAt(mockUser.getCreatedAt().minusDays(1));
+        User third = new User("third", "hashedPassword", false);
+        third.setId(3L);
+        third.setCreatedAt(mockUser.getCreatedAt().minusDays(2));
+        when(userRepository.findPage(eq(null), eq("%test%"), eq(null), eq(null), any(Pageable.class)))
+            .thenReturn(List.of(mockUser, second, third));
+
+        // Act
+        CursorPageResponse<AdminUserResponse> first = userService.getUserPage(
+            new ListPageRequest(2, null, null, null, null, " Test "));
+        when(userRepository.findPage(eq(null), eq("%test%"), eq(second.getCreatedAt()), eq(2L), any(Pageable.class)))
+            .thenReturn(List.of(third));
+        CursorPageResponse<AdminUserResponse> next = userService.getUserPage(
+            new ListPageRequest(2, first.getNextCursor(), null, null, null, " Test "));
+
+        // Assert
+        assertEquals(List.of("testuser", "second"),
+            first.getItems().stream().map(AdminUserResponse::getUsername).toList());
+        assertEquals(List.of("third"), next.getItems().stream().map(AdminUserResponse::getUsername).toList());
+        assertNull(next.getNextCursor());
+        verify(userRepository, times(2)).findPage(any(), any(), any(), any(), argThat(page -> page.getPageSize() == 3));
+    }
+}